@@ -0,0 +1,55 @@
+// Teste de carga do endpoint de compra de ingressos (k6: https://k6.io).
+//
+// Uso:
+//   k6 run -e EVENT_ID=<id de um evento existente> -e MODE=platform load-test/create-ticket.js
+//   k6 run -e EVENT_ID=<id de um evento existente> -e MODE=virtual  load-test/create-ticket.js
+//   k6 run -e EVENT_ID=<id de um evento existente> -e MODE=reactive load-test/create-ticket.js
+//
+// Variáveis opcionais: BASE_URL (padrão http://localhost:8081), VUS (padrão 400), DURATION (padrão 2m).
+import http from 'k6/http';
+import { check } from 'k6';
+
+const baseUrl = __ENV.BASE_URL || 'http://localhost:8081';
+const mode = __ENV.MODE || 'platform';
+const apiPath = mode === 'reactive' ? '/br/com/compass/ticketmanagement/reactive/v1' : '/br/com/compass/ticketmanagement/v1';
+
+export const options = {
+    scenarios: {
+        compra: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: Number(__ENV.VUS || 400) },
+                { duration: __ENV.DURATION || '2m', target: Number(__ENV.VUS || 400) },
+                { duration: '15s', target: 0 },
+            ],
+            tags: { mode },
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+    const payload = JSON.stringify({
+        customerName: 'Cliente Carga',
+        cpf: '12345678900',
+        customerMail: 'carga@email.com',
+        eventId: __ENV.EVENT_ID,
+        brlAmount: 100.0,
+        usdAmount: 20.0,
+    });
+    const response = http.post(`${baseUrl}${apiPath}/create-ticket`, payload, {
+        headers: { 'Content-Type': 'application/json' },
+    });
+    check(response, { 'status 200': (r) => r.status === 200 });
+}
+
+export function handleSummary(data) {
+    return {
+        [`load-test/result-${mode}.json`]: JSON.stringify(data, null, 2),
+        stdout: `\n[${mode}] req/s: ${data.metrics.http_reqs.values.rate.toFixed(1)}`
+            + ` | p95: ${data.metrics.http_req_duration.values['p(95)'].toFixed(1)} ms`
+            + ` | p99: ${data.metrics.http_req_duration.values['p(99)'].toFixed(1)} ms`
+            + ` | falhas: ${(data.metrics.http_req_failed.values.rate * 100).toFixed(2)}%\n`,
+    };
+}
@@ -0,0 +1,65 @@
+// Teste de esgotamento: muitos compradores simultâneos disputando um evento com capacidade limitada (k6: https://k6.io).
+//
+// Uso:
+//   k6 run -e EVENT_ID=<id de um evento com capacity> -e CAPACITY=<capacidade do evento> load-test/sell-out.js
+//
+// Variáveis opcionais: BASE_URL (padrão http://localhost:8081), MODE (platform ou reactive), SECTOR,
+// VUS (padrão 1000) e ITERATIONS (padrão 2x CAPACITY).
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+
+const baseUrl = __ENV.BASE_URL || 'http://localhost:8081';
+const mode = __ENV.MODE || 'platform';
+const apiPath = mode === 'reactive' ? '/br/com/compass/ticketmanagement/reactive/v1' : '/br/com/compass/ticketmanagement/v1';
+const capacity = Number(__ENV.CAPACITY || 1000);
+
+const sold = new Counter('tickets_sold');
+const rejected = new Counter('tickets_rejected');
+
+export const options = {
+    scenarios: {
+        esgotamento: {
+            executor: 'shared-iterations',
+            vus: Number(__ENV.VUS || 1000),
+            iterations: Number(__ENV.ITERATIONS || capacity * 2),
+            maxDuration: '5m',
+            tags: { mode },
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+    const payload = JSON.stringify({
+        customerName: 'Cliente Carga',
+        cpf: '12345678900',
+        customerMail: 'carga@email.com',
+        eventId: __ENV.EVENT_ID,
+        brlAmount: 100.0,
+        usdAmount: 20.0,
+        sector: __ENV.SECTOR,
+    });
+    const response = http.post(`${baseUrl}${apiPath}/create-ticket`, payload, {
+        headers: { 'Content-Type': 'application/json' },
+        responseCallback: http.expectedStatuses(200, 409),
+    });
+    if (response.status === 200) {
+        sold.add(1);
+    } else if (response.status === 409) {
+        rejected.add(1);
+    }
+    check(response, { 'status 200 ou 409': (r) => r.status === 200 || r.status === 409 });
+}
+
+export function handleSummary(data) {
+    const vendidos = data.metrics.tickets_sold ? data.metrics.tickets_sold.values.count : 0;
+    const recusados = data.metrics.tickets_rejected ? data.metrics.tickets_rejected.values.count : 0;
+    return {
+        [`load-test/result-sell-out-${mode}.json`]: JSON.stringify(data, null, 2),
+        stdout: `\n[${mode}] vendidos: ${vendidos} | recusados: ${recusados} | capacidade: ${capacity}`
+            + (vendidos > capacity ? ' | VENDA ACIMA DA CAPACIDADE' : '')
+            + ` | req/s: ${data.metrics.http_reqs.values.rate.toFixed(1)}`
+            + ` | p99: ${data.metrics.http_req_duration.values['p(99)'].toFixed(1)} ms\n`,
+    };
+}
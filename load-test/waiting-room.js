@@ -0,0 +1,64 @@
+// Abertura de vendas com a sala de espera ativa (waiting-room.enabled=true): cada comprador entra na fila,
+// consulta a posição respeitando o Retry-After e só compra depois de admitido (k6: https://k6.io).
+//
+// Uso:
+//   k6 run -e EVENT_ID=<id do evento> load-test/waiting-room.js
+//
+// Variáveis opcionais: BASE_URL (padrão http://localhost:8081) e VUS (padrão 2000).
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Counter, Trend } from 'k6/metrics';
+
+const baseUrl = __ENV.BASE_URL || 'http://localhost:8081';
+const apiPath = '/br/com/compass/ticketmanagement/v1';
+const eventId = __ENV.EVENT_ID;
+
+const sold = new Counter('tickets_sold');
+const throttled = new Counter('purchases_throttled');
+const polls = new Counter('queue_polls');
+const queueWait = new Trend('queue_wait', true);
+
+export const options = {
+    scenarios: {
+        abertura: {
+            executor: 'per-vu-iterations',
+            vus: Number(__ENV.VUS || 2000),
+            iterations: 1,
+            maxDuration: '10m',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+    const joinedAt = Date.now();
+    const joined = http.post(`${baseUrl}${apiPath}/waiting-room/${eventId}`);
+    check(joined, { 'entrou na fila': (r) => r.status === 201 });
+    const token = joined.json('token');
+    let status = joined;
+    while (!status.json('admitted')) {
+        sleep(Number(status.headers['Retry-After'] || 1));
+        status = http.get(`${baseUrl}${apiPath}/waiting-room/${eventId}`, { headers: { 'X-Queue-Token': token } });
+        polls.add(1);
+    }
+    queueWait.add(Date.now() - joinedAt);
+
+    const payload = JSON.stringify({
+        customerName: 'Cliente Carga',
+        cpf: '12345678900',
+        customerMail: 'carga@email.com',
+        eventId,
+        brlAmount: 100.0,
+        usdAmount: 20.0,
+    });
+    const response = http.post(`${baseUrl}${apiPath}/create-ticket`, payload, {
+        headers: { 'Content-Type': 'application/json', 'X-Queue-Token': token },
+        responseCallback: http.expectedStatuses(200, 409),
+    });
+    if (response.status === 200) {
+        sold.add(1);
+    } else if (response.status === 429) {
+        throttled.add(1);
+    }
+    check(response, { 'status 200 ou 409': (r) => r.status === 200 || r.status === 409 });
+}
@@ -0,0 +1,44 @@
+package br.com.compass.ms_event_management.web.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização da listagem de eventos com o mesmo {@link ObjectMapper} configurado pelo Spring: uma
+ * página padrão (50) e a listagem completa de um catálogo grande.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventResponseJsonBenchmark {
+
+    @Param({"50", "1000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<EventResponseDto> events;
+
+    @Setup
+    public void setUp() {
+        events = new ArrayList<>(size);
+        LocalDateTime dateTime = LocalDateTime.of(2024, 12, 30, 21, 0);
+        for (int i = 0; i < size; i++) {
+            events.add(new EventResponseDto(String.valueOf(i), "Show da Banda Quarto " + i, dateTime.plusDays(i),
+                    "01020-000", "Rua Fulano", "Bairro Tal", "São Paulo", "SP", 0L, null, null));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeEvents() throws Exception {
+        return objectMapper.writeValueAsBytes(events);
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.compass.ms_event_management.web.dto.mapper;
+
+import br.com.compass.ms_event_management.domain.Event;
+import br.com.compass.ms_event_management.web.dto.EventCreateDto;
+import br.com.compass.ms_event_management.web.dto.EventResponseDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventMapperBenchmark {
+
+    private EventCreateDto createDto;
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        createDto = new EventCreateDto("Show da Banda Quarto 666", LocalDateTime.of(2024, 12, 30, 21, 0), "01020-000", null, null, null);
+        event = EventMapper.toEntity(createDto);
+        event.setId("666");
+        event.setLogradouro("Rua Fulano");
+        event.setBairro("Bairro Tal");
+        event.setCidade("São Paulo");
+        event.setUf("SP");
+    }
+
+    @Benchmark
+    public Event toEntity() {
+        return EventMapper.toEntity(createDto);
+    }
+
+    @Benchmark
+    public EventResponseDto toDto() {
+        return EventMapper.toDto(event);
+    }
+}
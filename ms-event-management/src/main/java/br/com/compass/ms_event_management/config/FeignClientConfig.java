@@ -0,0 +1,39 @@
+package br.com.compass.ms_event_management.config;
+
+import feign.Capability;
+import feign.micrometer.MicrometerCapability;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publica no actuator as métricas do pool de conexões HTTP (Apache HttpClient 5) usado pelos clientes Feign
+ * e o tempo de cada método dos clientes ({@code feign.Client}, {@code feign.Feign}).
+ */
+@Configuration
+public class FeignClientConfig {
+
+    /**
+     * Substitui a observação padrão do spring-cloud-openfeign, que só encerra a medição em {@code FeignException}:
+     * falhas de conexão (serviço fora, timeout) ficavam sem tempo registrado. O {@link MicrometerCapability}
+     * registra o timer também nesses casos, com a exceção na tag.
+     */
+    @Bean
+    public Capability feignMicrometerCapability(MeterRegistry meterRegistry) {
+        return new MicrometerCapability(meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return registry -> connectionManager.ifAvailable(manager -> {
+            if (manager instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+            }
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.compass.ms_event_management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitMQConfig {
+    public static final String TICKET_EVENTS_EXCHANGE = "ticket.events";
+    public static final String TICKET_EVENTS_QUEUE = "event-management.ticket-events";
+
+    @Bean
+    public TopicExchange ticketEventsExchange() {
+        return new TopicExchange(TICKET_EVENTS_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Queue ticketEventsQueue() {
+        return new Queue(TICKET_EVENTS_QUEUE, true);
+    }
+
+    @Bean
+    public Binding ticketEventsBinding(Queue ticketEventsQueue, TopicExchange ticketEventsExchange) {
+        return BindingBuilder.bind(ticketEventsQueue).to(ticketEventsExchange).with("ticket.*");
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter(objectMapper);
+        DefaultJackson2JavaTypeMapper typeMapper = new DefaultJackson2JavaTypeMapper();
+        typeMapper.setTypePrecedence(Jackson2JavaTypeMapper.TypePrecedence.INFERRED);
+        converter.setJavaTypeMapper(typeMapper);
+        return converter;
+    }
+}
@@ -1,16 +1,27 @@
 package br.com.compass.ms_event_management.domain;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Document(collection = "events")
+@CompoundIndexes({
+        @CompoundIndex(name = "eventName_id", def = "{'eventName': 1, '_id': 1}"),
+        @CompoundIndex(name = "dateTime_id", def = "{'dateTime': 1, '_id': 1}")
+})
 public class Event {
     @Id
     private String id;
@@ -21,9 +32,22 @@ public class Event {
     private LocalDateTime dateTime;
     @NotNull(message = "O CEP é obrigatório")
     @Pattern(regexp = "\\d{5}-\\d{3}", message = "O CEP deve estar no formato 00000-000")
+    @Indexed(name = "cep")
     private String cep;
     private String logradouro;
     private String bairro;
     private String cidade;
     private String uf;
+    /**
+     * Limite total de ingressos do evento; {@code null} para vendas sem limite.
+     */
+    @Positive(message = "A capacidade deve ser maior que 0")
+    private Integer capacity;
+    /**
+     * Setores com capacidade própria. Quando informados, todo ingresso precisa indicar o setor.
+     */
+    @Valid
+    private List<EventSector> sectors;
+    @Version
+    private Long version;
 }
@@ -0,0 +1,19 @@
+package br.com.compass.ms_event_management.domain;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventSector {
+    @NotBlank(message = "O nome do setor é obrigatório")
+    private String name;
+    @NotNull(message = "A capacidade do setor é obrigatória")
+    @Positive(message = "A capacidade do setor deve ser maior que 0")
+    private Integer capacity;
+}
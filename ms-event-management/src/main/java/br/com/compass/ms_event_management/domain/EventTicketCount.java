@@ -0,0 +1,32 @@
+package br.com.compass.ms_event_management.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Projeção local da quantidade de ingressos de um evento, alimentada pelos eventos publicados pelo
+ * ms-ticket-management na exchange "ticket.events".
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "event_ticket_counts")
+public class EventTicketCount {
+    @Id
+    private String eventId;
+    private long sold;
+    private long cancelled;
+    private Instant updatedAt;
+    private Instant reconciledAt;
+
+    public boolean hasTickets() {
+        return sold + cancelled > 0;
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.compass.ms_event_management.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Estado conhecido de cada ingresso, usado para aplicar os eventos de ciclo de vida de forma idempotente.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "ticket_projection")
+public class TicketProjection {
+    public static final String ACTIVE = "ACTIVE";
+    public static final String CANCELLED = "CANCELLED";
+
+    @Id
+    private String ticketId;
+    private String eventId;
+    private String status;
+    private Instant occurredAt;
+}
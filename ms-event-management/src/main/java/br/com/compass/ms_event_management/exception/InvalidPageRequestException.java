@@ -0,0 +1,7 @@
+package br.com.compass.ms_event_management.exception;
+
+public class InvalidPageRequestException extends RuntimeException {
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.compass.ms_event_management.repository;
+
+import br.com.compass.ms_event_management.domain.CepAddress;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CepAddressRepository extends MongoRepository<CepAddress, String> {
+}
@@ -0,0 +1,198 @@
+package br.com.compass.ms_event_management.service;
+
+import br.com.compass.ms_event_management.domain.CepAddress;
+import br.com.compass.ms_event_management.domain.Event;
+import br.com.compass.ms_event_management.repository.CepAddressRepository;
+import br.com.compass.ms_event_management.web.dto.ViaCepResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Cache de endereços em dois níveis na frente do {@link ViaCepClient}: um cache em memória limitado
+ * por tamanho e a coleção "cep_cache" no Mongo, com expiração por índice TTL. Só consulta o ViaCEP
+ * quando o CEP não está em nenhum dos dois níveis. As chamadas ao ViaCEP passam por um bulkhead e um
+ * circuit breaker; se o ViaCEP estiver indisponível, usa o endereço de um evento já cadastrado com o mesmo CEP.
+ */
+@Slf4j
+@Service
+@Timed("service.calls")
+public class CepAddressService {
+
+    static final String CACHE_NAME = "cepCache";
+    static final String DOWNSTREAM = "viacep";
+
+    private final ViaCepClient viaCepClient;
+    private final CepAddressRepository cepAddressRepository;
+    private final MongoTemplate mongoTemplate;
+    private final AsyncCache<String, ViaCepResponse> cache;
+    private final long maximumSize;
+    private final Duration ttl;
+    private final boolean warmUpEnabled;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public CepAddressService(ViaCepClient viaCepClient,
+                             CepAddressRepository cepAddressRepository,
+                             MongoTemplate mongoTemplate,
+                             MeterRegistry meterRegistry,
+                             CircuitBreakerRegistry circuitBreakerRegistry,
+                             BulkheadRegistry bulkheadRegistry,
+                             @Qualifier("applicationTaskExecutor") Executor executor,
+                             @Value("${cep-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${cep-cache.ttl:30d}") Duration ttl,
+                             @Value("${cep-cache.warm-up.enabled:true}") boolean warmUpEnabled) {
+        this.viaCepClient = viaCepClient;
+        this.cepAddressRepository = cepAddressRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.maximumSize = maximumSize;
+        this.ttl = ttl;
+        this.warmUpEnabled = warmUpEnabled;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(DOWNSTREAM);
+        this.bulkhead = bulkheadRegistry.bulkhead(DOWNSTREAM);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .executor(executor)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public ViaCepResponse getAddressByCep(String cep) {
+        String key = normalize(cep);
+        CompletableFuture<ViaCepResponse> address = cache.get(key, (normalizedCep, loaderExecutor) ->
+                CompletableFuture.supplyAsync(() -> loadAddress(normalizedCep, cep), loaderExecutor));
+        try {
+            ViaCepResponse resolved = address.join();
+            if (!isValid(resolved)) {
+                // CEP inexistente ou ainda não resolvido: devolve a resposta, mas não a guarda por cep-cache.ttl.
+                cache.asMap().remove(key, address);
+            }
+            return resolved;
+        } catch (CompletionException ex) {
+            cache.asMap().remove(key, address);
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            mongoTemplate.indexOps(CepAddress.class)
+                    .ensureIndex(new Index().on("cachedAt", Sort.Direction.ASC).expire(ttl).named("cachedAt_ttl"));
+        } catch (RuntimeException ex) {
+            log.warn("Não foi possível criar o índice TTL da coleção cep_cache: {}", ex.getMessage());
+        }
+        if (!warmUpEnabled) {
+            return;
+        }
+        try {
+            Query query = new Query()
+                    .with(Sort.by(Sort.Direction.DESC, "_id"))
+                    .limit((int) Math.min(maximumSize, Integer.MAX_VALUE));
+            query.fields().include("cep", "logradouro", "bairro", "cidade", "uf");
+            for (Event event : mongoTemplate.find(query, Event.class)) {
+                if (event.getCep() != null && event.getCidade() != null) {
+                    cache.asMap().putIfAbsent(normalize(event.getCep()), CompletableFuture.completedFuture(toResponse(event)));
+                }
+            }
+            log.info("Cache de CEP pré-carregado com {} endereços", cache.synchronous().estimatedSize());
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao pré-carregar o cache de CEP: {}", ex.getMessage());
+        }
+    }
+
+    private ViaCepResponse loadAddress(String key, String cep) {
+        return cepAddressRepository.findById(key)
+                .map(CepAddressService::toResponse)
+                .orElseGet(() -> fetchFromViaCep(key, cep));
+    }
+
+    private ViaCepResponse fetchFromViaCep(String key, String cep) {
+        log.info("CEP {} não encontrado no cache, consultando o ViaCEP", cep);
+        ViaCepResponse address;
+        try {
+            address = circuitBreaker.executeSupplier(
+                    Bulkhead.decorateSupplier(bulkhead, () -> viaCepClient.getAddressByCep(cep)));
+        } catch (FeignException.FeignClientException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            ViaCepResponse known = findAddressOfExistingEvent(key);
+            if (known == null) {
+                throw ex;
+            }
+            log.warn("ViaCEP indisponível ({}), usando o endereço de um evento já cadastrado para o CEP {}", ex.getMessage(), cep);
+            return known;
+        }
+        if (isValid(address)) {
+            cepAddressRepository.save(new CepAddress(key, address.getLogradouro(), address.getBairro(),
+                    address.getLocalidade(), address.getUf(), Instant.now()));
+        }
+        return address;
+    }
+
+    /** Procura pelo CEP normalizado, com e sem hífen, já que os eventos guardam o CEP como foi digitado. */
+    private ViaCepResponse findAddressOfExistingEvent(String key) {
+        List<String> forms = key.length() == 8 ? List.of(key, key.substring(0, 5) + "-" + key.substring(5)) : List.of(key);
+        Query query = Query.query(Criteria.where("cep").in(forms).and("cidade").ne(null));
+        query.fields().include("logradouro", "bairro", "cidade", "uf");
+        Event event = mongoTemplate.findOne(query, Event.class);
+        return event != null ? toResponse(event) : null;
+    }
+
+    /** O ViaCEP responde 200 com {@code {"erro": true}} para CEPs inexistentes. */
+    private static boolean isValid(ViaCepResponse address) {
+        return address != null && address.getLocalidade() != null;
+    }
+
+    private static String normalize(String cep) {
+        return cep.replaceAll("\\D", "");
+    }
+
+    private static ViaCepResponse toResponse(CepAddress cepAddress) {
+        ViaCepResponse response = new ViaCepResponse();
+        response.setLogradouro(cepAddress.getLogradouro());
+        response.setBairro(cepAddress.getBairro());
+        response.setLocalidade(cepAddress.getLocalidade());
+        response.setUf(cepAddress.getUf());
+        return response;
+    }
+
+    private static ViaCepResponse toResponse(Event event) {
+        ViaCepResponse response = new ViaCepResponse();
+        response.setLogradouro(event.getLogradouro());
+        response.setBairro(event.getBairro());
+        response.setLocalidade(event.getCidade());
+        response.setUf(event.getUf());
+        return response;
+    }
+}
@@ -4,33 +4,56 @@ import br.com.compass.ms_event_management.domain.Event;
 import br.com.compass.ms_event_management.exception.EventCannotBeDeletedException;
 import br.com.compass.ms_event_management.exception.EventCannotBeUpdateException;
 import br.com.compass.ms_event_management.exception.EventNotFoundException;
+import br.com.compass.ms_event_management.exception.InvalidPageRequestException;
 import br.com.compass.ms_event_management.repository.EventRepository;
 import br.com.compass.ms_event_management.web.dto.EventCreateDto;
+import br.com.compass.ms_event_management.web.dto.EventPageDto;
 import br.com.compass.ms_event_management.web.dto.EventResponseDto;
 import br.com.compass.ms_event_management.web.dto.ViaCepResponse;
 import br.com.compass.ms_event_management.web.dto.mapper.EventMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
+@Timed("service.calls")
 public class EventService {
     private final EventRepository eventRepository;
-    private final ViaCepClient viaCepClient;
-    private final TicketClient ticketClient;
+    private final CepAddressService cepAddressService;
+    private final TicketProjectionService ticketProjectionService;
+    private final MongoTemplate mongoTemplate;
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final String CURSOR_SEPARATOR = "\n";
+    /** Valor do cursor quando o campo de ordenação do último evento é nulo (o Mongo ordena os nulos primeiro). */
+    private static final String CURSOR_NULL = "\u0000";
+    private static final String VERSION = "version";
 
     @Transactional
     public EventResponseDto createEvent(EventCreateDto dto) {
         log.info("Iniciando a criação de um novo evento: {}", dto.getEventName());
-        ViaCepResponse address = viaCepClient.getAddressByCep(dto.getCep());
+        ViaCepResponse address = cepAddressService.getAddressByCep(dto.getCep());
 
         Event event = EventMapper.toEntity(dto);
         event.setLogradouro(address.getLogradouro());
@@ -39,6 +62,7 @@ public class EventService {
         event.setUf(address.getUf());
 
         Event savedEvent = eventRepository.save(event);
+        ticketProjectionService.initialize(savedEvent.getId());
         log.info("Evento criado com sucesso: {}", savedEvent.getId());
         return EventMapper.toDto(savedEvent);
     }
@@ -72,33 +96,77 @@ public class EventService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public EventPageDto getEventsPage(EventSortField sortField, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("O tamanho da página deve estar entre 1 e " + MAX_PAGE_SIZE);
+        }
+        log.info("Buscando página de eventos ordenada por {} com limite {}", sortField.getProperty(), limit);
+        Query query = new Query().with(sortOf(sortField)).limit(limit + 1);
+        if (cursor != null && !cursor.isBlank()) {
+            query.addCriteria(after(sortField, decodeCursor(sortField, cursor)));
+        }
+        List<Event> events = mongoTemplate.find(query, Event.class);
+
+        boolean hasMore = events.size() > limit;
+        List<Event> page = hasMore ? events.subList(0, limit) : events;
+        String nextCursor = hasMore ? encodeCursor(sortField, page.get(page.size() - 1)) : null;
+        return new EventPageDto(page.stream().map(EventMapper::toDto).collect(Collectors.toList()), nextCursor);
+    }
+
+    public void streamAllEvents(EventSortField sortField, Consumer<EventResponseDto> consumer) {
+        log.info("Transmitindo todos os eventos ordenados por {}", sortField.getProperty());
+        Query query = new Query().with(sortOf(sortField)).cursorBatchSize(STREAM_BATCH_SIZE);
+        try (Stream<Event> events = mongoTemplate.stream(query, Event.class)) {
+            events.map(EventMapper::toDto).forEach(consumer);
+        }
+    }
+
+    /**
+     * Aplica a alteração com um único {@code findAndModify} que já devolve o documento atualizado e incrementa
+     * a versão, sem ler o evento antes. Se o DTO trouxer {@code version}, a alteração só é aplicada se o
+     * evento ainda estiver nessa versão; caso contrário, {@link OptimisticLockingFailureException}.
+     */
     @Transactional
     public EventResponseDto updateEvent(String id, EventCreateDto dto) {
         log.info("Atualizando evento com ID: {}", id);
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Evento não encontrado para atualização. ID: {}", id);
-                    return new EventNotFoundException("Evento não encontrado com ID: " + id);
-                });
-        ViaCepResponse address = viaCepClient.getAddressByCep(dto.getCep());
-
-        event.setEventName(dto.getEventName());
-        event.setDateTime(dto.getDateTime());
-        event.setCep(dto.getCep());
-        event.setLogradouro(address.getLogradouro());
-        event.setBairro(address.getBairro());
-        event.setCidade(address.getLocalidade());
-        event.setUf(address.getUf());
+        if (!eventRepository.existsById(id)) {
+            log.error("Evento não encontrado para atualização. ID: {}", id);
+            throw new EventNotFoundException("Evento não encontrado com ID: " + id);
+        }
+        ViaCepResponse address = cepAddressService.getAddressByCep(dto.getCep());
 
-        Map<String, Object> ticketResponse = ticketClient.checkTicketsByEvent(id);
-        boolean hasTickets = (boolean) ticketResponse.get("hasTickets");
+        boolean hasTickets = ticketProjectionService.hasTickets(id);
 
         if (hasTickets) {
             log.error("Evento não pode ser atualizado porque possui ingressos vendidos.");
             throw new EventCannotBeUpdateException("O evento não pode ser atualizado porque possui ingressos vendidos.");
         }
 
-        Event updatedEvent = eventRepository.save(event);
+        Query query = Query.query(Criteria.where("_id").is(id));
+        if (dto.getVersion() != null) {
+            query.addCriteria(Criteria.where(VERSION).is(dto.getVersion()));
+        }
+        Update update = new Update()
+                .set("eventName", dto.getEventName())
+                .set("dateTime", dto.getDateTime())
+                .set("cep", dto.getCep())
+                .set("logradouro", address.getLogradouro())
+                .set("bairro", address.getBairro())
+                .set("cidade", address.getLocalidade())
+                .set("uf", address.getUf())
+                .set("capacity", dto.getCapacity())
+                .set("sectors", dto.getSectors())
+                .inc(VERSION, 1);
+        Event updatedEvent = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Event.class);
+        if (updatedEvent == null) {
+            if (dto.getVersion() != null && eventRepository.existsById(id)) {
+                log.error("Evento {} foi alterado por outra requisição. Versão esperada: {}", id, dto.getVersion());
+                throw new OptimisticLockingFailureException("O evento " + id + " foi alterado por outra requisição. Busque a versão atual e tente novamente.");
+            }
+            log.error("Evento não encontrado para atualização. ID: {}", id);
+            throw new EventNotFoundException("Evento não encontrado com ID: " + id);
+        }
         log.info("Evento atualizado com sucesso. ID: {}", updatedEvent.getId());
         return EventMapper.toDto(updatedEvent);
     }
@@ -112,8 +180,7 @@ public class EventService {
                     return new EventNotFoundException("Evento não encontrado com ID: " + id);
                 });
 
-        Map<String, Object> ticketResponse = ticketClient.checkTicketsByEvent(id);
-        boolean hasTickets = (boolean) ticketResponse.get("hasTickets");
+        boolean hasTickets = ticketProjectionService.hasTickets(id);
 
         if (hasTickets) {
             log.error("Evento não pode ser deletado porque possui ingressos vendidos.");
@@ -121,6 +188,64 @@ public class EventService {
         }
 
         eventRepository.deleteById(id);
+        ticketProjectionService.remove(id);
         log.info("Evento com ID {} deletado com sucesso", id);
     }
+
+    private static Sort sortOf(EventSortField sortField) {
+        Sort byId = Sort.by(Sort.Direction.ASC, EventSortField.ID.getProperty());
+        return sortField == EventSortField.ID ? byId : Sort.by(Sort.Direction.ASC, sortField.getProperty()).and(byId);
+    }
+
+    private static Criteria after(EventSortField sortField, String[] cursor) {
+        String value = cursor[1];
+        String id = cursor[2];
+        Criteria afterId = Criteria.where(EventSortField.ID.getProperty()).gt(id);
+        if (sortField == EventSortField.ID) {
+            return afterId;
+        }
+        String property = sortField.getProperty();
+        if (CURSOR_NULL.equals(value)) {
+            // Depois dos nulos vêm todos os valores preenchidos.
+            return new Criteria().orOperator(
+                    Criteria.where(property).ne(null),
+                    new Criteria().andOperator(Criteria.where(property).is(null), afterId));
+        }
+        Object sortValue = sortField == EventSortField.DATE_TIME ? LocalDateTime.parse(value) : value;
+        return new Criteria().orOperator(
+                Criteria.where(property).gt(sortValue),
+                new Criteria().andOperator(Criteria.where(property).is(sortValue), afterId));
+    }
+
+    private static String encodeCursor(EventSortField sortField, Event last) {
+        Object sortValue = switch (sortField) {
+            case ID -> "";
+            case EVENT_NAME -> last.getEventName();
+            case DATE_TIME -> last.getDateTime();
+        };
+        String value = sortValue == null ? CURSOR_NULL : sortValue.toString();
+        String raw = sortField.getProperty() + CURSOR_SEPARATOR + value + CURSOR_SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(EventSortField sortField, String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = raw.indexOf(CURSOR_SEPARATOR);
+            int last = raw.lastIndexOf(CURSOR_SEPARATOR);
+            if (first < 0 || first == last) {
+                throw new InvalidPageRequestException("Cursor inválido: " + cursor);
+            }
+            String[] parts = {raw.substring(0, first), raw.substring(first + 1, last), raw.substring(last + 1)};
+            if (!parts[0].equals(sortField.getProperty())) {
+                throw new InvalidPageRequestException("Cursor inválido para a ordenação por " + sortField.getProperty());
+            }
+            if (sortField == EventSortField.DATE_TIME && !CURSOR_NULL.equals(parts[1])) {
+                LocalDateTime.parse(parts[1]);
+            }
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidPageRequestException("Cursor inválido: " + cursor);
+        }
+    }
 }
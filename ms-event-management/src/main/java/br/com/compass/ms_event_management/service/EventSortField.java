@@ -0,0 +1,29 @@
+package br.com.compass.ms_event_management.service;
+
+import br.com.compass.ms_event_management.exception.InvalidPageRequestException;
+
+import java.util.Arrays;
+
+public enum EventSortField {
+    ID("id"),
+    EVENT_NAME("eventName"),
+    DATE_TIME("dateTime");
+
+    private final String property;
+
+    EventSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public static EventSortField from(String parameter) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(parameter))
+                .findFirst()
+                .orElseThrow(() -> new InvalidPageRequestException(
+                        "Campo de ordenação inválido: " + parameter + ". Valores aceitos: id, eventName, dateTime"));
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.compass.ms_event_management.service;
+
+import br.com.compass.ms_event_management.web.dto.EventTicketStatsResponse;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Encapsula o {@link TicketClient} com bulkhead e circuit breaker. Não há resposta segura de fallback
+ * para "o evento possui ingressos?", então com o circuito aberto a chamada falha imediatamente
+ * (503) em vez de ocupar uma thread esperando o ms-ticket-management.
+ */
+@Component
+@Timed("service.calls")
+public class ResilientTicketClient {
+
+    static final String DOWNSTREAM = "ms-ticket-management";
+
+    private final TicketClient ticketClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public ResilientTicketClient(TicketClient ticketClient,
+                                 CircuitBreakerRegistry circuitBreakerRegistry,
+                                 BulkheadRegistry bulkheadRegistry) {
+        this.ticketClient = ticketClient;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(DOWNSTREAM);
+        this.bulkhead = bulkheadRegistry.bulkhead(DOWNSTREAM);
+    }
+
+    public Map<String, Object> checkTicketsByEvent(String eventId) {
+        return call(() -> ticketClient.checkTicketsByEvent(eventId));
+    }
+
+    public EventTicketStatsResponse getEventStats(String eventId) {
+        return call(() -> ticketClient.getEventStats(eventId));
+    }
+
+    private <T> T call(Supplier<T> supplier) {
+        return circuitBreaker.executeSupplier(Bulkhead.decorateSupplier(bulkhead, supplier));
+    }
+}
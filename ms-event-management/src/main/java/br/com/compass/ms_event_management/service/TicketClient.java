@@ -1,5 +1,6 @@
 package br.com.compass.ms_event_management.service;
 
+import br.com.compass.ms_event_management.web.dto.EventTicketStatsResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,4 +11,7 @@ import java.util.Map;
 public interface TicketClient {
     @GetMapping("/check-tickets-by-event/{eventId}")
     Map<String, Object> checkTicketsByEvent(@PathVariable("eventId") String eventId);
+
+    @GetMapping("/event-stats/{eventId}")
+    EventTicketStatsResponse getEventStats(@PathVariable("eventId") String eventId);
 }
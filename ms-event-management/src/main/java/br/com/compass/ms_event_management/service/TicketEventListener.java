@@ -0,0 +1,22 @@
+package br.com.compass.ms_event_management.service;
+
+import br.com.compass.ms_event_management.config.RabbitMQConfig;
+import br.com.compass.ms_event_management.web.dto.TicketLifecycleEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TicketEventListener {
+
+    private final TicketProjectionService ticketProjectionService;
+
+    @RabbitListener(queues = RabbitMQConfig.TICKET_EVENTS_QUEUE)
+    public void onTicketEvent(TicketLifecycleEvent event) {
+        log.debug("Evento {} recebido para o ingresso {} do evento {}", event.getType(), event.getTicketId(), event.getEventId());
+        ticketProjectionService.apply(event);
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.compass.ms_event_management.service;
+
+import br.com.compass.ms_event_management.domain.Event;
+import br.com.compass.ms_event_management.domain.EventTicketCount;
+import br.com.compass.ms_event_management.web.dto.EventTicketStatsResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Corrige periodicamente a projeção local comparando-a com os contadores do ms-ticket-management.
+ * Eventos com atividade mais recente que {@code grace-period} são ignorados para não "corrigir"
+ * mensagens que ainda estão a caminho.
+ */
+@Slf4j
+@Component
+public class TicketProjectionReconciler {
+
+    private final MongoTemplate mongoTemplate;
+    private final ResilientTicketClient ticketClient;
+    private final Duration gracePeriod;
+    private final boolean enabled;
+    private final Counter driftCounter;
+
+    public TicketProjectionReconciler(MongoTemplate mongoTemplate,
+                                      ResilientTicketClient ticketClient,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${ticket-projection.reconciliation.grace-period:1m}") Duration gracePeriod,
+                                      @Value("${ticket-projection.reconciliation.enabled:true}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.ticketClient = ticketClient;
+        this.gracePeriod = gracePeriod;
+        this.enabled = enabled;
+        this.driftCounter = Counter.builder("ticket.projection.drift")
+                .description("Eventos cuja projeção local divergia do ms-ticket-management")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ticket-projection.reconciliation.interval-ms:600000}",
+            initialDelayString = "${ticket-projection.reconciliation.initial-delay-ms:60000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        Query eventIds = new Query();
+        eventIds.fields().include("_id");
+        int checked = 0;
+        int repaired = 0;
+        try (Stream<Event> events = mongoTemplate.stream(eventIds, Event.class)) {
+            Iterator<Event> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                String eventId = iterator.next().getId();
+                try {
+                    if (reconcile(eventId)) {
+                        repaired++;
+                    }
+                    checked++;
+                } catch (RuntimeException ex) {
+                    log.warn("Reconciliação da projeção de ingressos interrompida no evento {}: {}", eventId, ex.getMessage());
+                    break;
+                }
+            }
+        }
+        log.info("Reconciliação da projeção de ingressos concluída: {} eventos verificados, {} corrigidos", checked, repaired);
+    }
+
+    /**
+     * A correção só é gravada se a projeção ainda estiver como foi lida: um incremento do
+     * {@code TicketEventListener} aplicado durante a consulta ao ms-ticket-management muda o {@code updatedAt}
+     * e não seria reaplicado, então nesse caso o evento fica para o próximo ciclo.
+     */
+    boolean reconcile(String eventId) {
+        EventTicketCount local = mongoTemplate.findById(eventId, EventTicketCount.class);
+        Instant now = Instant.now();
+        if (local != null && local.getUpdatedAt() != null && local.getUpdatedAt().isAfter(now.minus(gracePeriod))) {
+            return false;
+        }
+        EventTicketStatsResponse remote = ticketClient.getEventStats(eventId);
+        if (local == null) {
+            try {
+                mongoTemplate.insert(EventTicketCount.builder()
+                        .eventId(eventId)
+                        .sold(remote.getSold())
+                        .cancelled(remote.getCancelled())
+                        .updatedAt(now)
+                        .reconciledAt(now)
+                        .build());
+            } catch (DuplicateKeyException ex) {
+                log.info("Projeção de ingressos do evento {} criada durante a reconciliação; fica para o próximo ciclo", eventId);
+            }
+            return false;
+        }
+
+        boolean drifted = local.getSold() != remote.getSold() || local.getCancelled() != remote.getCancelled();
+        Update update = new Update().set("reconciledAt", now);
+        if (drifted) {
+            update.set("sold", remote.getSold()).set("cancelled", remote.getCancelled()).set("updatedAt", now);
+        }
+        Query unchanged = Query.query(where("_id").is(eventId).and("updatedAt").is(local.getUpdatedAt()));
+        if (mongoTemplate.updateFirst(unchanged, update, EventTicketCount.class).getMatchedCount() == 0) {
+            log.info("Projeção de ingressos do evento {} mudou durante a reconciliação; fica para o próximo ciclo", eventId);
+            return false;
+        }
+        if (drifted) {
+            driftCounter.increment();
+            log.warn("Projeção de ingressos do evento {} divergente (local {}/{}, remoto {}/{}), corrigida",
+                    eventId, local.getSold(), local.getCancelled(), remote.getSold(), remote.getCancelled());
+        }
+        return drifted;
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.compass.ms_event_management.service;
+
+import br.com.compass.ms_event_management.domain.EventTicketCount;
+import br.com.compass.ms_event_management.domain.TicketProjection;
+import br.com.compass.ms_event_management.web.dto.TicketLifecycleEvent;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Mantém a projeção local de ingressos por evento a partir dos eventos de ciclo de vida publicados pelo
+ * ms-ticket-management. Cada ingresso tem um documento em "ticket_projection", o que torna a aplicação
+ * dos eventos idempotente (reentregas e duplicatas não alteram os contadores).
+ */
+@Slf4j
+@Service
+@Timed("service.calls")
+public class TicketProjectionService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ResilientTicketClient ticketClient;
+    private final Timer lagTimer;
+    private final Counter appliedCounter;
+    private final Counter duplicateCounter;
+
+    public TicketProjectionService(MongoTemplate mongoTemplate, ResilientTicketClient ticketClient, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.ticketClient = ticketClient;
+        this.lagTimer = Timer.builder("ticket.projection.lag")
+                .description("Tempo entre o evento no ms-ticket-management e sua aplicação na projeção local")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.appliedCounter = Counter.builder("ticket.projection.applied")
+                .description("Eventos de ingresso aplicados na projeção")
+                .register(meterRegistry);
+        this.duplicateCounter = Counter.builder("ticket.projection.duplicates")
+                .description("Eventos de ingresso ignorados por já terem sido aplicados")
+                .register(meterRegistry);
+    }
+
+    public void apply(TicketLifecycleEvent event) {
+        boolean applied = switch (event.getType()) {
+            case TicketLifecycleEvent.TICKET_CREATED -> applyCreated(event);
+            case TicketLifecycleEvent.TICKET_CANCELLED -> applyCancelled(event);
+            default -> {
+                log.warn("Tipo de evento de ingresso desconhecido: {}", event.getType());
+                yield false;
+            }
+        };
+        (applied ? appliedCounter : duplicateCounter).increment();
+        if (event.getOccurredAt() != null) {
+            lagTimer.record(Duration.between(event.getOccurredAt(), Instant.now()));
+        }
+    }
+
+    public boolean hasTickets(String eventId) {
+        EventTicketCount count = mongoTemplate.findById(eventId, EventTicketCount.class);
+        if (count != null) {
+            return count.hasTickets();
+        }
+        log.info("Evento {} ainda não possui projeção local de ingressos, consultando o ms-ticket-management", eventId);
+        Map<String, Object> ticketResponse = ticketClient.checkTicketsByEvent(eventId);
+        return (boolean) ticketResponse.get("hasTickets");
+    }
+
+    public void initialize(String eventId) {
+        mongoTemplate.upsert(byId(eventId), new Update()
+                .setOnInsert("sold", 0L)
+                .setOnInsert("cancelled", 0L)
+                .setOnInsert("updatedAt", Instant.now()), EventTicketCount.class);
+    }
+
+    public void remove(String eventId) {
+        mongoTemplate.remove(byId(eventId), EventTicketCount.class);
+    }
+
+    private boolean applyCreated(TicketLifecycleEvent event) {
+        UpdateResult result = mongoTemplate.upsert(byId(event.getTicketId()), new Update()
+                .setOnInsert("eventId", event.getEventId())
+                .setOnInsert("status", TicketProjection.ACTIVE)
+                .setOnInsert("occurredAt", event.getOccurredAt()), TicketProjection.class);
+        if (result.getUpsertedId() == null) {
+            log.debug("Ingresso {} já estava na projeção", event.getTicketId());
+            return false;
+        }
+        incrementCount(event.getEventId(), new Update().inc("sold", 1));
+        return true;
+    }
+
+    private boolean applyCancelled(TicketLifecycleEvent event) {
+        UpdateResult result = mongoTemplate.updateFirst(
+                Query.query(where("ticketId").is(event.getTicketId()).and("status").is(TicketProjection.ACTIVE)),
+                new Update().set("status", TicketProjection.CANCELLED).set("occurredAt", event.getOccurredAt()),
+                TicketProjection.class);
+        if (result.getModifiedCount() == 1) {
+            incrementCount(event.getEventId(), new Update().inc("sold", -1).inc("cancelled", 1));
+            return true;
+        }
+        try {
+            mongoTemplate.insert(new TicketProjection(event.getTicketId(), event.getEventId(),
+                    TicketProjection.CANCELLED, event.getOccurredAt()));
+        } catch (DuplicateKeyException ex) {
+            log.debug("Cancelamento do ingresso {} já estava na projeção", event.getTicketId());
+            return false;
+        }
+        incrementCount(event.getEventId(), new Update().inc("cancelled", 1));
+        return true;
+    }
+
+    private void incrementCount(String eventId, Update update) {
+        mongoTemplate.upsert(byId(eventId), update.set("updatedAt", Instant.now()), EventTicketCount.class);
+    }
+
+    private static Query byId(String id) {
+        return Query.query(where("_id").is(id));
+    }
+}
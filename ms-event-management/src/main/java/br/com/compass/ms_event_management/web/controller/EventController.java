@@ -1,8 +1,12 @@
 package br.com.compass.ms_event_management.web.controller;
 
 import br.com.compass.ms_event_management.service.EventService;
+import br.com.compass.ms_event_management.service.EventSortField;
 import br.com.compass.ms_event_management.web.dto.EventCreateDto;
+import br.com.compass.ms_event_management.web.dto.EventPageDto;
 import br.com.compass.ms_event_management.web.dto.EventResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -10,9 +14,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @Slf4j
@@ -22,7 +30,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class EventController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final EventService eventService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Criar um novo evento", description = "Cria um evento com base no payload fornecido.")
     @ApiResponses(value = {
@@ -74,11 +85,61 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    @Operation(summary = "Listar eventos paginados", description = "Retorna uma página de eventos na ordem de cadastro. Use o nextCursor retornado para buscar a próxima página.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de eventos retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido")
+    })
+    @GetMapping("/get-all-events/page")
+    public ResponseEntity<EventPageDto> getEventsPage(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "50") int limit) {
+        log.info("Recebendo requisição para listar uma página de eventos");
+        EventPageDto page = eventService.getEventsPage(EventSortField.ID, cursor, limit);
+        log.info("Total de eventos na página: {}", page.getItems().size());
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "Listar eventos ordenados e paginados", description = "Retorna uma página de eventos ordenada por eventName ou dateTime. Use o nextCursor retornado para buscar a próxima página.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de eventos retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor, ordenação ou tamanho de página inválido")
+    })
+    @GetMapping("/get-all-events/sorted/page")
+    public ResponseEntity<EventPageDto> getEventsSortedPage(@RequestParam(defaultValue = "eventName") String sortBy,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "50") int limit) {
+        log.info("Recebendo requisição para listar uma página de eventos ordenada por {}", sortBy);
+        EventPageDto page = eventService.getEventsPage(EventSortField.from(sortBy), cursor, limit);
+        log.info("Total de eventos na página: {}", page.getItems().size());
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "Transmitir todos os eventos", description = "Transmite todos os eventos em NDJSON, um evento por linha, à medida que são lidos do banco.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Eventos transmitidos com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Ordenação inválida")
+    })
+    @GetMapping(value = "/get-all-events/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAllEvents(@RequestParam(defaultValue = "id") String sortBy) {
+        log.info("Recebendo requisição para transmitir todos os eventos ordenados por {}", sortBy);
+        EventSortField sortField = EventSortField.from(sortBy);
+        ObjectWriter writer = objectMapper.writerFor(EventResponseDto.class);
+        StreamingResponseBody body = outputStream -> eventService.streamAllEvents(sortField, event -> {
+            try {
+                outputStream.write(writer.writeValueAsBytes(event));
+                outputStream.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
     @Operation(summary = "Atualizar um evento", description = "Atualiza as informações de um evento pelo ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Evento atualizado com sucesso"),
             @ApiResponse(responseCode = "404", description = "Evento não encontrado"),
-            @ApiResponse(responseCode = "409", description = "Conflito ao atualizar o evento, devido a ingressos vinculados")
+            @ApiResponse(responseCode = "409", description = "Conflito ao atualizar o evento, devido a ingressos vinculados ou a uma versão desatualizada")
     })
     @PutMapping("/update-event/{id}")
     public ResponseEntity<EventResponseDto> updateEvent(@PathVariable String id, @Valid @RequestBody EventCreateDto dto) {
@@ -1,11 +1,17 @@
 package br.com.compass.ms_event_management.web.dto;
 
+import br.com.compass.ms_event_management.domain.EventSector;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @AllArgsConstructor
@@ -21,4 +27,28 @@ public class EventCreateDto {
     @NotNull(message = "O CEP é obrigatório")
     @Pattern(regexp = "\\d{5}-\\d{3}", message = "O CEP deve estar no formato 00000-000")
     private String cep;
+
+    /**
+     * Limite total de ingressos; opcional.
+     */
+    @Positive(message = "A capacidade deve ser maior que 0")
+    private Integer capacity;
+
+    /**
+     * Setores com capacidade própria; opcional. Os nomes devem ser únicos.
+     */
+    @Valid
+    private List<EventSector> sectors;
+
+    /**
+     * Versão lida pelo cliente. Opcional na atualização: quando informada, a atualização só é aplicada se o
+     * evento ainda estiver nessa versão. Ignorada na criação.
+     */
+    private Long version;
+
+    @JsonIgnore
+    @AssertTrue(message = "Os nomes dos setores devem ser únicos")
+    public boolean isSectorNamesUnique() {
+        return sectors == null || sectors.stream().map(EventSector::getName).distinct().count() == sectors.size();
+    }
 }
@@ -0,0 +1,13 @@
+package br.com.compass.ms_event_management.web.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventPageDto {
+    private List<EventResponseDto> items;
+    private String nextCursor;
+}
@@ -1,8 +1,10 @@
 package br.com.compass.ms_event_management.web.dto;
 
+import br.com.compass.ms_event_management.domain.EventSector;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @AllArgsConstructor
@@ -16,4 +18,7 @@ public class EventResponseDto {
     private String bairro;
     private String cidade;
     private String uf;
+    private Long version;
+    private Integer capacity;
+    private List<EventSector> sectors;
 }
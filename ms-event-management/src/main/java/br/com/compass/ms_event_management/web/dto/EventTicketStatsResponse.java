@@ -0,0 +1,16 @@
+package br.com.compass.ms_event_management.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventTicketStatsResponse {
+    private String eventId;
+    private long sold;
+    private long cancelled;
+}
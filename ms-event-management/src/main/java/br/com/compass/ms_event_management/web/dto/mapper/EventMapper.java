@@ -11,6 +11,8 @@ public class EventMapper {
         event.setEventName(dto.getEventName());
         event.setDateTime(dto.getDateTime());
         event.setCep(dto.getCep());
+        event.setCapacity(dto.getCapacity());
+        event.setSectors(dto.getSectors());
         return event;
     }
 
@@ -23,7 +25,10 @@ public class EventMapper {
                 event.getLogradouro(),
                 event.getBairro(),
                 event.getCidade(),
-                event.getUf()
+                event.getUf(),
+                event.getVersion(),
+                event.getCapacity(),
+                event.getSectors()
         );
     }
 }
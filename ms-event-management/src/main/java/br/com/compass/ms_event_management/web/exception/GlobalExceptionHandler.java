@@ -3,7 +3,14 @@ package br.com.compass.ms_event_management.web.exception;
 import br.com.compass.ms_event_management.exception.EventCannotBeDeletedException;
 import br.com.compass.ms_event_management.exception.EventCannotBeUpdateException;
 import br.com.compass.ms_event_management.exception.EventNotFoundException;
+import br.com.compass.ms_event_management.exception.InvalidPageRequestException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -15,8 +22,11 @@ import java.util.Map;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         log.error("Erro de validação no payload: ", ex);
@@ -24,6 +34,7 @@ public class GlobalExceptionHandler {
         ex.getBindingResult().getFieldErrors().forEach(error ->
                 errors.put(error.getField(), error.getDefaultMessage())
         );
+        countError(HttpStatus.BAD_REQUEST, ex);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
     }
 
@@ -32,14 +43,43 @@ public class GlobalExceptionHandler {
         log.error("Erro: {}", ex.getMessage());
         Map<String, String> response = new HashMap<>();
         response.put("error", ex.getMessage());
+        countError(HttpStatus.NOT_FOUND, ex);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        log.error("Conflito de versão: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("error", ex.getMessage());
+        countError(HttpStatus.CONFLICT, ex);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidPageRequestException(InvalidPageRequestException ex) {
+        log.error("Erro de paginação: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("error", ex.getMessage());
+        countError(HttpStatus.BAD_REQUEST, ex);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    public ResponseEntity<Map<String, String>> handleDownstreamUnavailable(RuntimeException ex) {
+        log.error("Serviço dependente indisponível: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Serviço dependente indisponível no momento, tente novamente em instantes");
+        countError(HttpStatus.SERVICE_UNAVAILABLE, ex);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, String>> handleRuntimeException(RuntimeException ex) {
         log.error("Erro interno no servidor: ", ex);
         Map<String, String> response = new HashMap<>();
         response.put("error", ex.getMessage());
+        countError(HttpStatus.INTERNAL_SERVER_ERROR, ex);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
 
@@ -48,6 +88,7 @@ public class GlobalExceptionHandler {
         log.error("Erro conflict delete: {}", ex.getMessage());
         Map<String, String> response = new HashMap<>();
         response.put("error", ex.getMessage());
+        countError(HttpStatus.CONFLICT, ex);
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
@@ -56,6 +97,28 @@ public class GlobalExceptionHandler {
         log.error("Erro conflict update: {}", ex.getMessage());
         Map<String, String> response = new HashMap<>();
         response.put("error", ex.getMessage());
+        countError(HttpStatus.CONFLICT, ex);
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
+
+    /** Conta os erros respondidos pela API por resultado (not_found, conflict, validation...) e exceção. */
+    private void countError(HttpStatus status, Exception ex) {
+        Counter.builder("api.errors")
+                .description("Erros respondidos pela API, por resultado e exceção")
+                .tag("outcome", outcome(status))
+                .tag("exception", ex.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String outcome(HttpStatus status) {
+        return switch (status) {
+            case BAD_REQUEST, UNPROCESSABLE_ENTITY -> "validation";
+            case NOT_FOUND -> "not_found";
+            case CONFLICT -> "conflict";
+            case TOO_MANY_REQUESTS -> "throttled";
+            case SERVICE_UNAVAILABLE -> "unavailable";
+            default -> "error";
+        };
+    }
 }
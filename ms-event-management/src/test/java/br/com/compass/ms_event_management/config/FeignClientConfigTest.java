@@ -0,0 +1,59 @@
+package br.com.compass.ms_event_management.config;
+
+import org.apache.hc.client5.http.config.Configurable;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Monta o HttpClient dos clientes Feign como o spring-cloud-openfeign faz, a partir dos application-*.yml,
+ * e confere o tempo máximo de espera por uma conexão do pool.
+ */
+public class FeignClientConfigTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"application-local.yml", "application-prod.yml"})
+    void testConnectionRequestTimeout_FailsFastWhenPoolIsExhausted(String file) throws Exception {
+        FeignHttpClientProperties properties = bind(file);
+        HttpClient5FeignConfiguration configuration = new HttpClient5FeignConfiguration();
+        HttpClientConnectionManager connectionManager = configuration.hc5ConnectionManager(properties);
+
+        try (connectionManager; CloseableHttpClient client = configuration.httpClient5(connectionManager, properties, noCustomizers())) {
+            RequestConfig requestConfig = ((Configurable) client).getConfig();
+
+            assertEquals(Timeout.ofMilliseconds(200), requestConfig.getConnectionRequestTimeout());
+            assertEquals(Timeout.ofMilliseconds(1000), requestConfig.getConnectTimeout());
+        }
+    }
+
+    private static FeignHttpClientProperties bind(String file) throws Exception {
+        Binder binder = new Binder(ConfigurationPropertySources.from(
+                new YamlPropertySourceLoader().load(file, new ClassPathResource(file))));
+        return binder.bind("spring.cloud.openfeign.httpclient", FeignHttpClientProperties.class).get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<List<HttpClient5FeignConfiguration.HttpClientBuilderCustomizer>> noCustomizers() {
+        ObjectProvider<List<HttpClient5FeignConfiguration.HttpClientBuilderCustomizer>> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        return provider;
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.compass.ms_event_management.config.database;
+
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * A verificação dos planos é coberta no ms-ticket-management; aqui só as consultas críticas dos eventos.
+ */
+class MongoIndexInitializerTest {
+
+    @Test
+    void initIndexes_ShouldDeclareAndExplainEventQueries() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        MongoDatabase database = mock(MongoDatabase.class);
+        IndexOperations indexOperations = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOperations);
+        when(mongoTemplate.getDb()).thenReturn(database);
+        when(database.runCommand(any(Document.class))).thenReturn(new Document("queryPlanner",
+                new Document("winningPlan", new Document("stage", "COLLSCAN"))));
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new MongoIndexInitializer(mongoTemplate, mappingContext, "fail").initIndexes());
+
+        assertEquals(List.of("events.sortedByEventName", "events.sortedByDateTime", "events.byId"),
+                MongoIndexInitializer.CRITICAL_QUERIES.stream().map(MongoIndexInitializer.CriticalQuery::name).toList());
+        verify(indexOperations, times(3)).ensureIndex(any(IndexDefinition.class));
+        assertTrue(exception.getMessage().contains("events.sortedByEventName"));
+    }
+}
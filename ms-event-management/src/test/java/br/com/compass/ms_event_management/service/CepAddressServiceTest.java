@@ -0,0 +1,138 @@
+package br.com.compass.ms_event_management.service;
+
+import br.com.compass.ms_event_management.domain.CepAddress;
+import br.com.compass.ms_event_management.domain.Event;
+import br.com.compass.ms_event_management.repository.CepAddressRepository;
+import br.com.compass.ms_event_management.web.dto.ViaCepResponse;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class CepAddressServiceTest {
+    @Mock
+    private ViaCepClient viaCepClient;
+
+    @Mock
+    private CepAddressRepository cepAddressRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    private CepAddressService cepAddressService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mongoTemplate.indexOps(CepAddress.class)).thenReturn(indexOperations);
+        cepAddressService = new CepAddressService(viaCepClient, cepAddressRepository, mongoTemplate,
+                new SimpleMeterRegistry(), CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                Executors.newVirtualThreadPerTaskExecutor(), 100, Duration.ofDays(30), true);
+    }
+
+    @Test
+    void testGetAddressByCep_MissCallsViaCepAndPersists() {
+        ViaCepResponse viaCepResponse = new ViaCepResponse();
+        viaCepResponse.setLogradouro("Rua Fulano");
+        viaCepResponse.setBairro("Bairro Tal");
+        viaCepResponse.setLocalidade("Cidade FloriTest");
+        viaCepResponse.setUf("FT");
+
+        when(cepAddressRepository.findById("01020000")).thenReturn(Optional.empty());
+        when(viaCepClient.getAddressByCep("01020-000")).thenReturn(viaCepResponse);
+
+        ViaCepResponse first = cepAddressService.getAddressByCep("01020-000");
+        ViaCepResponse second = cepAddressService.getAddressByCep("01020000");
+
+        assertEquals("Cidade FloriTest", first.getLocalidade());
+        assertSame(first, second);
+        verify(viaCepClient, times(1)).getAddressByCep("01020-000");
+        verify(cepAddressRepository, times(1)).save(any(CepAddress.class));
+    }
+
+    @Test
+    void testGetAddressByCep_PersistentHitSkipsViaCep() {
+        when(cepAddressRepository.findById("01002000")).thenReturn(Optional.of(
+                new CepAddress("01002000", "Rua Dark", "Bairro Sad", "Cidade Des Moines", "IA", Instant.now())));
+
+        ViaCepResponse address = cepAddressService.getAddressByCep("01002-000");
+
+        assertEquals("Rua Dark", address.getLogradouro());
+        assertEquals("Cidade Des Moines", address.getLocalidade());
+        verifyNoInteractions(viaCepClient);
+    }
+
+    @Test
+    void testGetAddressByCep_InvalidCepIsNotCached() {
+        when(cepAddressRepository.findById("99999999")).thenReturn(Optional.empty());
+        when(viaCepClient.getAddressByCep("99999-999")).thenReturn(new ViaCepResponse());
+
+        assertNull(cepAddressService.getAddressByCep("99999-999").getLocalidade());
+        cepAddressService.getAddressByCep("99999-999");
+
+        verify(viaCepClient, times(2)).getAddressByCep("99999-999");
+        verify(cepAddressRepository, never()).save(any());
+    }
+
+    @Test
+    void testWarmUp_PreloadsAddressesFromEvents() {
+        Event event = new Event();
+        event.setCep("01020-000");
+        event.setLogradouro("Rua Fulano");
+        event.setBairro("Bairro Tal");
+        event.setCidade("Cidade FloriTest");
+        event.setUf("FT");
+        when(mongoTemplate.find(any(Query.class), eq(Event.class))).thenReturn(List.of(event));
+
+        cepAddressService.warmUp();
+        ViaCepResponse address = cepAddressService.getAddressByCep("01020-000");
+
+        assertEquals("Cidade FloriTest", address.getLocalidade());
+        verify(indexOperations, times(1)).ensureIndex(any());
+        verifyNoInteractions(viaCepClient, cepAddressRepository);
+    }
+
+    @Test
+    void testGetAddressByCep_ViaCepDownFallsBackToExistingEventAddress() {
+        Event event = new Event();
+        event.setCep("01020-000");
+        event.setLogradouro("Rua Fulano");
+        event.setBairro("Bairro Tal");
+        event.setCidade("São Paulo");
+        event.setUf("SP");
+        when(cepAddressRepository.findById("01020000")).thenReturn(Optional.empty());
+        when(viaCepClient.getAddressByCep("01020000")).thenThrow(new RuntimeException("Read timed out"));
+        when(mongoTemplate.findOne(any(Query.class), eq(Event.class))).thenReturn(event);
+
+        ViaCepResponse address = cepAddressService.getAddressByCep("01020000");
+
+        assertEquals("São Paulo", address.getLocalidade());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(query.capture(), eq(Event.class));
+        assertEquals(List.of("01020000", "01020-000"),
+                query.getValue().getQueryObject().get("cep", Document.class).get("$in"));
+        verify(cepAddressRepository, never()).save(any());
+    }
+}
@@ -4,21 +4,29 @@ import br.com.compass.ms_event_management.domain.Event;
 import br.com.compass.ms_event_management.exception.EventCannotBeDeletedException;
 import br.com.compass.ms_event_management.exception.EventCannotBeUpdateException;
 import br.com.compass.ms_event_management.exception.EventNotFoundException;
+import br.com.compass.ms_event_management.exception.InvalidPageRequestException;
 import br.com.compass.ms_event_management.repository.EventRepository;
 import br.com.compass.ms_event_management.web.dto.EventCreateDto;
+import br.com.compass.ms_event_management.web.dto.EventPageDto;
 import br.com.compass.ms_event_management.web.dto.EventResponseDto;
 import br.com.compass.ms_event_management.web.dto.ViaCepResponse;
 import br.com.compass.ms_event_management.web.dto.mapper.EventMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.bson.Document;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,10 +40,13 @@ public class EventServiceTest {
     private EventRepository eventRepository;
 
     @Mock
-    private ViaCepClient viaCepClient;
+    private CepAddressService cepAddressService;
 
     @Mock
-    private TicketClient ticketClient;
+    private TicketProjectionService ticketProjectionService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
 
     @BeforeEach
     void setUp() {
@@ -55,7 +66,7 @@ public class EventServiceTest {
         viaCepResponse.setLocalidade("Cidade FloriTest");
         viaCepResponse.setUf("FT");
 
-        when(viaCepClient.getAddressByCep(eventCreateDto.getCep())).thenReturn(viaCepResponse);
+        when(cepAddressService.getAddressByCep(eventCreateDto.getCep())).thenReturn(viaCepResponse);
 
         Event event = EventMapper.toEntity(eventCreateDto);
         event.setLogradouro("Rua Fulano");
@@ -74,8 +85,9 @@ public class EventServiceTest {
         assertEquals("Cidade FloriTest", createdEvent.getCidade());
         assertEquals("FT", createdEvent.getUf());
 
-        verify(viaCepClient, times(1)).getAddressByCep(eventCreateDto.getCep());
+        verify(cepAddressService, times(1)).getAddressByCep(eventCreateDto.getCep());
         verify(eventRepository, times(1)).save(any(Event.class));
+        verify(ticketProjectionService, times(1)).initialize("generated-id");
     }
 
     @Test
@@ -151,11 +163,13 @@ public class EventServiceTest {
 
     @Test
     void testUpdateEvent_Success() {
-        Event existingEvent = new Event();
-        existingEvent.setId("1");
-        existingEvent.setEventName("Evento Original");
-        existingEvent.setDateTime(LocalDateTime.parse("2025-01-17T19:30:00"));
-        existingEvent.setCep("01020-000");
+        Event updated = new Event();
+        updated.setId("1");
+        updated.setEventName("Evento Atualizado");
+        updated.setDateTime(LocalDateTime.parse("2025-01-18T22:00:00"));
+        updated.setCep("01020-000");
+        updated.setLogradouro("Rua Atualizada");
+        updated.setVersion(3L);
 
         EventCreateDto updatedEventDto = new EventCreateDto();
         updatedEventDto.setEventName("Evento Atualizado");
@@ -168,10 +182,11 @@ public class EventServiceTest {
         viaCepResponse.setLocalidade("Cidade Atualizada");
         viaCepResponse.setUf("SP");
 
-        when(eventRepository.findById("1")).thenReturn(Optional.of(existingEvent));
-        when(viaCepClient.getAddressByCep("01020-000")).thenReturn(viaCepResponse);
-        when(ticketClient.checkTicketsByEvent("1")).thenReturn(Map.of("hasTickets", false));
-        when(eventRepository.save(any(Event.class))).thenReturn(existingEvent);
+        when(eventRepository.existsById("1")).thenReturn(true);
+        when(cepAddressService.getAddressByCep("01020-000")).thenReturn(viaCepResponse);
+        when(ticketProjectionService.hasTickets("1")).thenReturn(false);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Event.class)))
+                .thenReturn(updated);
 
         EventResponseDto result = eventService.updateEvent("1", updatedEventDto);
 
@@ -179,33 +194,55 @@ public class EventServiceTest {
         assertEquals("Evento Atualizado", result.getEventName());
         assertEquals(LocalDateTime.parse("2025-01-18T22:00:00"), result.getDateTime());
         assertEquals("Rua Atualizada", result.getLogradouro());
-
-        verify(eventRepository, times(1)).findById("1");
-        verify(viaCepClient, times(1)).getAddressByCep("01020-000");
-        verify(ticketClient, times(1)).checkTicketsByEvent("1");
-        verify(eventRepository, times(1)).save(any(Event.class));
+        assertEquals(3L, result.getVersion());
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), options.capture(), eq(Event.class));
+        assertEquals(new Document("_id", "1"), query.getValue().getQueryObject());
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals("Evento Atualizado", set.get("eventName"));
+        assertEquals("Cidade Atualizada", set.get("cidade"));
+        assertEquals(new Document("version", 1), update.getValue().getUpdateObject().get("$inc"));
+        assertTrue(options.getValue().isReturnNew());
+        verify(eventRepository, never()).findById(anyString());
+        verify(eventRepository, never()).save(any(Event.class));
     }
 
     @Test
     void testUpdateEvent_EventNotFound() {
-        when(eventRepository.findById("2")).thenReturn(Optional.empty());
+        EventCreateDto dto = new EventCreateDto();
+        dto.setCep("01020-000");
 
         EventNotFoundException exception = assertThrows(EventNotFoundException.class, () -> {
-            eventService.updateEvent("2", new EventCreateDto());
+            eventService.updateEvent("2", dto);
         });
 
         assertEquals("Evento não encontrado com ID: 2", exception.getMessage());
 
-        verify(eventRepository, times(1)).findById("2");
+        verifyNoInteractions(cepAddressService, ticketProjectionService);
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Event.class));
     }
 
     @Test
-    void testUpdateEvent_TicketsExist() {
-        Event existingEvent = new Event();
-        existingEvent.setId("666");
-        existingEvent.setEventName("Show do Slipknot");
-        existingEvent.setCep("01020-000");
+    void testUpdateEvent_StaleVersion() {
+        EventCreateDto dto = new EventCreateDto();
+        dto.setEventName("Show do Slipknot - 25 anos");
+        dto.setCep("01020-000");
+        dto.setVersion(2L);
+        when(cepAddressService.getAddressByCep("01020-000")).thenReturn(new ViaCepResponse());
+        when(eventRepository.existsById("666")).thenReturn(true);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> eventService.updateEvent("666", dto));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndModify(query.capture(), any(Update.class), any(FindAndModifyOptions.class), eq(Event.class));
+        assertEquals(new Document("_id", "666").append("version", 2L), query.getValue().getQueryObject());
+    }
 
+    @Test
+    void testUpdateEvent_TicketsExist() {
         EventCreateDto updatedEvent = new EventCreateDto();
         updatedEvent.setEventName("Show do Slipknot - 25 anos");
         updatedEvent.setCep("01002-000");
@@ -216,9 +253,9 @@ public class EventServiceTest {
         viaCepResponse.setLocalidade("Cidade Des Moines");
         viaCepResponse.setUf("IA");
 
-        when(eventRepository.findById("666")).thenReturn(Optional.of(existingEvent));
-        when(viaCepClient.getAddressByCep("01002-000")).thenReturn(viaCepResponse);
-        when(ticketClient.checkTicketsByEvent("666")).thenReturn(Map.of("hasTickets", true));
+        when(eventRepository.existsById("666")).thenReturn(true);
+        when(cepAddressService.getAddressByCep("01002-000")).thenReturn(viaCepResponse);
+        when(ticketProjectionService.hasTickets("666")).thenReturn(true);
 
         Exception exception = assertThrows(EventCannotBeUpdateException.class, () -> {
             eventService.updateEvent("666", updatedEvent);
@@ -226,7 +263,7 @@ public class EventServiceTest {
 
         assertEquals("O evento não pode ser atualizado porque possui ingressos vendidos.", exception.getMessage());
 
-        verify(eventRepository, never()).save(any(Event.class));
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Event.class));
     }
 
     @Test
@@ -236,7 +273,7 @@ public class EventServiceTest {
         event.setEventName("Show CPM 22");
 
         when(eventRepository.findById("22")).thenReturn(Optional.of(event));
-        when(ticketClient.checkTicketsByEvent("22")).thenReturn(Map.of("hasTickets", true));
+        when(ticketProjectionService.hasTickets("22")).thenReturn(true);
 
         Exception exception = assertThrows(EventCannotBeDeletedException.class, () -> {
             eventService.deleteEvent("22");
@@ -245,7 +282,7 @@ public class EventServiceTest {
         assertEquals("O evento não pode ser deletado porque possui ingressos vendidos.", exception.getMessage());
 
         verify(eventRepository, times(1)).findById("22");
-        verify(ticketClient, times(1)).checkTicketsByEvent("22");
+        verify(ticketProjectionService, times(1)).hasTickets("22");
         verify(eventRepository, never()).deleteById("22");
     }
 
@@ -256,13 +293,14 @@ public class EventServiceTest {
         event.setEventName("Evento para Deletar");
 
         when(eventRepository.findById("1")).thenReturn(Optional.of(event));
-        when(ticketClient.checkTicketsByEvent("1")).thenReturn(Map.of("hasTickets", false));
+        when(ticketProjectionService.hasTickets("1")).thenReturn(false);
 
         eventService.deleteEvent("1");
 
         verify(eventRepository, times(1)).findById("1");
-        verify(ticketClient, times(1)).checkTicketsByEvent("1");
+        verify(ticketProjectionService, times(1)).hasTickets("1");
         verify(eventRepository, times(1)).deleteById("1");
+        verify(ticketProjectionService, times(1)).remove("1");
     }
 
     @Test
@@ -275,8 +313,78 @@ public class EventServiceTest {
         assertEquals("Evento não encontrado com ID: 2", exception.getMessage());
 
         verify(eventRepository, times(1)).findById("2");
-        verify(ticketClient, never()).checkTicketsByEvent(any());
+        verify(ticketProjectionService, never()).hasTickets(any());
         verify(eventRepository, never()).deleteById(any());
     }
 
+    @Test
+    void testGetEventsPage_ReturnsCursorWhenMoreResultsExist() {
+        Event first = new Event();
+        first.setId("65a000000000000000000001");
+        first.setEventName("Show A");
+        first.setDateTime(LocalDateTime.parse("2024-12-30T21:00:00"));
+        Event second = new Event();
+        second.setId("65a000000000000000000002");
+        second.setEventName("Show B");
+        second.setDateTime(LocalDateTime.parse("2024-12-31T21:00:00"));
+
+        when(mongoTemplate.find(any(Query.class), eq(Event.class))).thenReturn(List.of(first, second));
+
+        EventPageDto page = eventService.getEventsPage(EventSortField.DATE_TIME, null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals("Show A", page.getItems().get(0).getEventName());
+        assertNotNull(page.getNextCursor());
+
+        when(mongoTemplate.find(any(Query.class), eq(Event.class))).thenReturn(List.of(second));
+
+        EventPageDto nextPage = eventService.getEventsPage(EventSortField.DATE_TIME, page.getNextCursor(), 1);
+
+        assertEquals("Show B", nextPage.getItems().get(0).getEventName());
+        assertNull(nextPage.getNextCursor());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(query.capture(), eq(Event.class));
+        assertTrue(query.getValue().getQueryObject().containsKey("$or"));
+        assertEquals(2, query.getValue().getLimit());
+    }
+
+    @Test
+    void testGetEventsPage_CursorAfterNullSortValueMovesPastTheNulls() {
+        Event undated = new Event();
+        undated.setId("65a000000000000000000001");
+        undated.setEventName("Show Sem Data");
+        Event dated = new Event();
+        dated.setId("65a000000000000000000002");
+        dated.setEventName("Show B");
+        dated.setDateTime(LocalDateTime.parse("2024-12-31T21:00:00"));
+        when(mongoTemplate.find(any(Query.class), eq(Event.class))).thenReturn(List.of(undated, dated));
+
+        String cursor = eventService.getEventsPage(EventSortField.DATE_TIME, null, 1).getNextCursor();
+        when(mongoTemplate.find(any(Query.class), eq(Event.class))).thenReturn(List.of(dated));
+        eventService.getEventsPage(EventSortField.DATE_TIME, cursor, 1);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(query.capture(), eq(Event.class));
+        List<?> or = query.getValue().getQueryObject().get("$or", List.class);
+        assertEquals(new Document("dateTime", new Document("$ne", null)), or.get(0));
+        assertTrue(or.get(1).toString().contains("65a000000000000000000001"));
+    }
+
+    @Test
+    void testGetEventsPage_CursorFromOtherSortIsRejected() {
+        Event event = new Event();
+        event.setId("65a000000000000000000001");
+        event.setEventName("Show A");
+        event.setDateTime(LocalDateTime.parse("2024-12-30T21:00:00"));
+        when(mongoTemplate.find(any(Query.class), eq(Event.class))).thenReturn(List.of(event, event));
+
+        String cursor = eventService.getEventsPage(EventSortField.EVENT_NAME, null, 1).getNextCursor();
+
+        assertThrows(InvalidPageRequestException.class,
+                () -> eventService.getEventsPage(EventSortField.DATE_TIME, cursor, 1));
+        assertThrows(InvalidPageRequestException.class,
+                () -> eventService.getEventsPage(EventSortField.DATE_TIME, "não-é-base64", 1));
+        assertThrows(InvalidPageRequestException.class,
+                () -> eventService.getEventsPage(EventSortField.ID, null, 0));
+    }
 }
@@ -0,0 +1,146 @@
+package br.com.compass.ms_event_management.service;
+
+import br.com.compass.ms_event_management.domain.EventTicketCount;
+import br.com.compass.ms_event_management.web.dto.EventTicketStatsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TicketProjectionReconcilerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ResilientTicketClient ticketClient;
+
+    private MeterRegistry meterRegistry;
+    private TicketProjectionReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        reconciler = new TicketProjectionReconciler(mongoTemplate, ticketClient, meterRegistry, Duration.ofMinutes(1), true);
+    }
+
+    @Test
+    void testReconcile_RepairsDriftedCounts() {
+        when(mongoTemplate.findById("666", EventTicketCount.class)).thenReturn(EventTicketCount.builder()
+                .eventId("666").sold(1).updatedAt(Instant.now().minus(Duration.ofHours(1))).build());
+        when(ticketClient.getEventStats("666")).thenReturn(new EventTicketStatsResponse("666", 3, 1));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(EventTicketCount.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertTrue(reconciler.reconcile("666"));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(EventTicketCount.class));
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals(3L, set.get("sold"));
+        assertEquals(1L, set.get("cancelled"));
+        assertEquals(1.0, meterRegistry.counter("ticket.projection.drift").count());
+    }
+
+    @Test
+    void testReconcile_SkipsEventsWithRecentActivity() {
+        when(mongoTemplate.findById("666", EventTicketCount.class)).thenReturn(EventTicketCount.builder()
+                .eventId("666").sold(1).updatedAt(Instant.now()).build());
+
+        assertFalse(reconciler.reconcile("666"));
+
+        verifyNoInteractions(ticketClient);
+    }
+
+    @Test
+    void testReconcile_KeepsMatchingCounts() {
+        when(mongoTemplate.findById("666", EventTicketCount.class)).thenReturn(EventTicketCount.builder()
+                .eventId("666").sold(3).cancelled(1).updatedAt(Instant.now().minus(Duration.ofHours(1))).build());
+        when(ticketClient.getEventStats("666")).thenReturn(new EventTicketStatsResponse("666", 3, 1));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(EventTicketCount.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertFalse(reconciler.reconcile("666"));
+        assertEquals(0.0, meterRegistry.counter("ticket.projection.drift").count());
+    }
+
+    @Test
+    void testReconcile_ListenerUpdateDuringRemoteCallIsNotOverwritten() {
+        Instant readAt = Instant.now().minus(Duration.ofHours(1));
+        AtomicReference<EventTicketCount> stored = new AtomicReference<>(EventTicketCount.builder()
+                .eventId("666").sold(1).updatedAt(readAt).build());
+        when(mongoTemplate.findById("666", EventTicketCount.class)).thenAnswer(invocation -> copy(stored.get()));
+        when(ticketClient.getEventStats("666")).thenAnswer(invocation -> {
+            // O listener aplica um ticket-created enquanto o ms-ticket-management responde.
+            stored.set(EventTicketCount.builder().eventId("666").sold(2).updatedAt(Instant.now()).build());
+            return new EventTicketStatsResponse("666", 3, 0);
+        });
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(EventTicketCount.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            boolean matches = Objects.equals(query.getQueryObject().get("updatedAt"), stored.get().getUpdatedAt());
+            if (matches) {
+                Document set = invocation.<Update>getArgument(1).getUpdateObject().get("$set", Document.class);
+                stored.get().setSold(set.get("sold", 0L));
+            }
+            return UpdateResult.acknowledged(matches ? 1 : 0, matches ? 1L : 0L, null);
+        });
+
+        assertFalse(reconciler.reconcile("666"));
+
+        assertEquals(2, stored.get().getSold());
+        assertEquals(0.0, meterRegistry.counter("ticket.projection.drift").count());
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(EventTicketCount.class));
+    }
+
+    @Test
+    void testReconcile_MissingProjectionIsOnlyInserted() {
+        when(ticketClient.getEventStats("666")).thenReturn(new EventTicketStatsResponse("666", 3, 1));
+
+        assertFalse(reconciler.reconcile("666"));
+
+        ArgumentCaptor<EventTicketCount> inserted = ArgumentCaptor.forClass(EventTicketCount.class);
+        verify(mongoTemplate).insert(inserted.capture());
+        assertEquals(3, inserted.getValue().getSold());
+        assertEquals(1, inserted.getValue().getCancelled());
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(EventTicketCount.class));
+    }
+
+    @Test
+    void testReconcile_ProjectionCreatedDuringRemoteCallIsKept() {
+        when(ticketClient.getEventStats("666")).thenReturn(new EventTicketStatsResponse("666", 3, 1));
+        when(mongoTemplate.insert(any(EventTicketCount.class))).thenThrow(new DuplicateKeyException("E11000"));
+
+        assertFalse(reconciler.reconcile("666"));
+
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(EventTicketCount.class));
+    }
+
+    private static EventTicketCount copy(EventTicketCount count) {
+        return EventTicketCount.builder()
+                .eventId(count.getEventId())
+                .sold(count.getSold())
+                .cancelled(count.getCancelled())
+                .updatedAt(count.getUpdatedAt())
+                .build();
+    }
+}
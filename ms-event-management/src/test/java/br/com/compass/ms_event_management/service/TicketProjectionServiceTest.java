@@ -0,0 +1,124 @@
+package br.com.compass.ms_event_management.service;
+
+import br.com.compass.ms_event_management.domain.EventTicketCount;
+import br.com.compass.ms_event_management.domain.TicketProjection;
+import br.com.compass.ms_event_management.web.dto.TicketLifecycleEvent;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TicketProjectionServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ResilientTicketClient ticketClient;
+
+    private MeterRegistry meterRegistry;
+    private TicketProjectionService ticketProjectionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        ticketProjectionService = new TicketProjectionService(mongoTemplate, ticketClient, meterRegistry);
+    }
+
+    @Test
+    void testApplyCreated_IncrementsSoldOnFirstDelivery() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(TicketProjection.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, new BsonString("1")));
+
+        ticketProjectionService.apply(event(TicketLifecycleEvent.TICKET_CREATED));
+
+        Document inc = captureCountUpdate().getUpdateObject().get("$inc", Document.class);
+        assertEquals(1, inc.get("sold"));
+        assertEquals(1.0, meterRegistry.counter("ticket.projection.applied").count());
+        assertEquals(1, meterRegistry.timer("ticket.projection.lag").count());
+    }
+
+    @Test
+    void testApplyCreated_IgnoresRedelivery() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(TicketProjection.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 0L, null));
+
+        ticketProjectionService.apply(event(TicketLifecycleEvent.TICKET_CREATED));
+
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(EventTicketCount.class));
+        assertEquals(1.0, meterRegistry.counter("ticket.projection.duplicates").count());
+    }
+
+    @Test
+    void testApplyCancelled_MovesActiveTicketToCancelled() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(TicketProjection.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        ticketProjectionService.apply(event(TicketLifecycleEvent.TICKET_CANCELLED));
+
+        Document inc = captureCountUpdate().getUpdateObject().get("$inc", Document.class);
+        assertEquals(-1, inc.get("sold"));
+        assertEquals(1, inc.get("cancelled"));
+    }
+
+    @Test
+    void testApplyCancelled_IgnoresAlreadyCancelledTicket() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(TicketProjection.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        when(mongoTemplate.insert(any(TicketProjection.class))).thenThrow(new DuplicateKeyException("duplicado"));
+
+        ticketProjectionService.apply(event(TicketLifecycleEvent.TICKET_CANCELLED));
+
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(EventTicketCount.class));
+    }
+
+    @Test
+    void testHasTickets_ReadsLocalProjection() {
+        when(mongoTemplate.findById("666", EventTicketCount.class))
+                .thenReturn(EventTicketCount.builder().eventId("666").sold(2).build());
+
+        assertTrue(ticketProjectionService.hasTickets("666"));
+        verifyNoInteractions(ticketClient);
+    }
+
+    @Test
+    void testHasTickets_FallsBackToTicketServiceWithoutProjection() {
+        when(ticketClient.checkTicketsByEvent("666")).thenReturn(Map.of("hasTickets", true));
+
+        assertTrue(ticketProjectionService.hasTickets("666"));
+    }
+
+    private Update captureCountUpdate() {
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), update.capture(), eq(EventTicketCount.class));
+        return update.getValue();
+    }
+
+    private static TicketLifecycleEvent event(String type) {
+        return TicketLifecycleEvent.builder()
+                .type(type)
+                .ticketId("1")
+                .eventId("666")
+                .occurredAt(Instant.now().minusMillis(50))
+                .build();
+    }
+}
@@ -1,34 +1,44 @@
 package br.com.compass.ms_event_management.web.controller;
 
 import br.com.compass.ms_event_management.domain.Event;
+import br.com.compass.ms_event_management.domain.EventSector;
 import br.com.compass.ms_event_management.exception.EventCannotBeDeletedException;
 import br.com.compass.ms_event_management.exception.EventCannotBeUpdateException;
 import br.com.compass.ms_event_management.exception.EventNotFoundException;
 import br.com.compass.ms_event_management.service.EventService;
+import br.com.compass.ms_event_management.service.EventSortField;
 import br.com.compass.ms_event_management.web.dto.EventCreateDto;
+import br.com.compass.ms_event_management.web.dto.EventPageDto;
 import br.com.compass.ms_event_management.web.dto.EventResponseDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import br.com.compass.ms_event_management.web.controller.EventController;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.mock.http.server.reactive.MockServerHttpRequest.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(EventController.class)
+@Import(SimpleMeterRegistry.class)
 public class EventControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -58,7 +68,10 @@ public class EventControllerTest {
                 "Rua da Fe",
                 "Pelotas",
                 "Sao Paulo",
-                "SP"
+                "SP",
+                0L,
+                null,
+                null
         );
 
         when(eventService.createEvent(any(EventCreateDto.class))).thenReturn(createdEvent);
@@ -72,6 +85,24 @@ public class EventControllerTest {
         verify(eventService, times(1)).createEvent(any(EventCreateDto.class));
     }
 
+    @Test
+    void testCreateEvent_DuplicateSectorNames() throws Exception {
+        EventCreateDto eventDto = new EventCreateDto();
+        eventDto.setEventName("Show da Xuxa");
+        eventDto.setDateTime(LocalDateTime.parse("2024-12-30T21:00:00"));
+        eventDto.setCep("01001-000");
+        eventDto.setCapacity(1000);
+        eventDto.setSectors(List.of(new EventSector("Pista", 800), new EventSector("Pista", 200)));
+
+        mockMvc.perform(post("/br/com/compass/eventmanagement/v1/create-event")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.sectorNamesUnique").value("Os nomes dos setores devem ser únicos"));
+
+        verifyNoInteractions(eventService);
+    }
+
     @Test
     void testGetEventById_Success() throws Exception {
         EventResponseDto eventResponse = new EventResponseDto(
@@ -82,7 +113,10 @@ public class EventControllerTest {
                 "Rua da Fe",
                 "Pelotas",
                 "Sao Paulo",
-                "SP"
+                "SP",
+                0L,
+                null,
+                null
         );
 
         when(eventService.getEventById("1")).thenReturn(eventResponse);
@@ -116,7 +150,10 @@ public class EventControllerTest {
                 "Rua da Fe",
                 "Pelotas",
                 "Sao Paulo",
-                "SP"
+                "SP",
+                0L,
+                null,
+                null
         );
         EventResponseDto event2 = new EventResponseDto(
                 "2",
@@ -126,7 +163,10 @@ public class EventControllerTest {
                 "Rua da Fe",
                 "Pelotas",
                 "Sao Paulo",
-                "SP"
+                "SP",
+                0L,
+                null,
+                null
         );
 
         List<EventResponseDto> events = List.of(event1, event2);
@@ -152,7 +192,10 @@ public class EventControllerTest {
                 "Rua da Fe",
                 "Pelotas",
                 "Sao Paulo",
-                "SP"
+                "SP",
+                0L,
+                null,
+                null
         );
         EventResponseDto event2 = new EventResponseDto(
                 "2",
@@ -162,7 +205,10 @@ public class EventControllerTest {
                 "Rua da Fe",
                 "Pelotas",
                 "Sao Paulo",
-                "SP"
+                "SP",
+                0L,
+                null,
+                null
         );
 
         List<EventResponseDto> events = List.of(event1, event2);
@@ -193,7 +239,10 @@ public class EventControllerTest {
                 "Rua da Fe",
                 "Pelotas",
                 "Sao Paulo",
-                "SP"
+                "SP",
+                0L,
+                null,
+                null
         );
 
         when(eventService.updateEvent(eq("2"), any(EventCreateDto.class))).thenReturn(updatedEvent);
@@ -260,5 +309,67 @@ public class EventControllerTest {
 
         verify(eventService, times(1)).deleteEvent("9");
     }
-}
 
+    @Test
+    void testGetEventsPage_Success() throws Exception {
+        EventResponseDto event = new EventResponseDto(
+                "1",
+                "Show da Xuxa",
+                LocalDateTime.parse("2024-12-30T21:00:00"),
+                "01020-000",
+                "Rua da Fe",
+                "Pelotas",
+                "Sao Paulo",
+                "SP",
+                0L,
+                null,
+                null
+        );
+
+        when(eventService.getEventsPage(EventSortField.ID, null, 1)).thenReturn(new EventPageDto(List.of(event), "abc"));
+
+        mockMvc.perform(get("/br/com/compass/eventmanagement/v1/get-all-events/page").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].eventName").value("Show da Xuxa"))
+                .andExpect(jsonPath("$.nextCursor").value("abc"));
+    }
+
+    @Test
+    void testGetEventsSortedPage_InvalidSortField() throws Exception {
+        mockMvc.perform(get("/br/com/compass/eventmanagement/v1/get-all-events/sorted/page").param("sortBy", "cep"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+
+        verifyNoInteractions(eventService);
+    }
+
+    @Test
+    void testStreamAllEvents_WritesOneEventPerLine() throws Exception {
+        EventResponseDto event1 = new EventResponseDto("1", "Show da Xuxa", LocalDateTime.parse("2024-12-30T21:00:00"),
+                "01020-000", "Rua da Fe", "Pelotas", "Sao Paulo", "SP", 0L, null, null);
+        EventResponseDto event2 = new EventResponseDto("2", "Show do Roberto Carlos", LocalDateTime.parse("2024-12-31T21:00:00"),
+                "01020-000", "Rua da Fe", "Pelotas", "Sao Paulo", "SP", 0L, null, null);
+
+        doAnswer(invocation -> {
+            Consumer<EventResponseDto> consumer = invocation.getArgument(1);
+            consumer.accept(event1);
+            consumer.accept(event2);
+            return null;
+        }).when(eventService).streamAllEvents(eq(EventSortField.DATE_TIME), any());
+
+        MvcResult result = mockMvc.perform(get("/br/com/compass/eventmanagement/v1/get-all-events/stream").param("sortBy", "dateTime"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Show da Xuxa", objectMapper.readValue(lines[0], EventResponseDto.class).getEventName());
+        assertEquals("Show do Roberto Carlos", objectMapper.readValue(lines[1], EventResponseDto.class).getEventName());
+    }
+}
@@ -1,9 +1,9 @@
 package br.com.compass.ms_event_management.web.exception;
 
+import br.com.compass.ms_event_management.exception.EventNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
-import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -13,12 +13,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class GlobalExceptionHandlerTest {
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
     private GlobalExceptionHandler globalExceptionHandler;
 
     @BeforeEach
     void setUp() {
-        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        globalExceptionHandler = new GlobalExceptionHandler(meterRegistry);
     }
 
     @Test
@@ -29,5 +30,16 @@ public class GlobalExceptionHandlerTest {
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertEquals("Erro interno no servidor", response.getBody().get("error"));
+        assertEquals(1.0, meterRegistry.counter("api.errors", "outcome", "error", "exception", "RuntimeException").count());
+    }
+
+    @Test
+    void testHandleEventNotFoundException_CountsOutcome() {
+        ResponseEntity<Map<String, String>> response = globalExceptionHandler.handleEventNotFoundException(
+                new EventNotFoundException("Evento não encontrado"));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(1.0, meterRegistry.counter("api.errors",
+                "outcome", "not_found", "exception", "EventNotFoundException").count());
     }
 }
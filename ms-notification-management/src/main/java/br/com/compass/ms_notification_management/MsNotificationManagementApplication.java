@@ -0,0 +1,19 @@
+package br.com.compass.ms_notification_management;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Slf4j
+@SpringBootApplication
+@EnableScheduling
+public class MsNotificationManagementApplication {
+
+	public static void main(String[] args) {
+		log.info("Iniciando o microsserviço Notification Management...");
+		SpringApplication.run(MsNotificationManagementApplication.class, args);
+		log.info("Microsserviço Notification Management iniciado com sucesso!");
+	}
+
+}
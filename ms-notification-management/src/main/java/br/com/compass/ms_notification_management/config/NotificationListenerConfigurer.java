@@ -0,0 +1,85 @@
+package br.com.compass.ms_notification_management.config;
+
+import br.com.compass.ms_notification_management.listener.TicketConfirmationListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Registra um container por partição, com um único consumidor cada, para manter a ordem das confirmações de um
+ * mesmo evento. As filas têm single-active-consumer: todas as instâncias se inscrevem em todas as partições e o
+ * broker entrega cada partição a um consumidor só. As partições em {@code notification.consumer.partitions}
+ * são inscritas com prioridade maior, então cada instância fica ativa nas suas e assume as das outras se elas
+ * caírem (prioridade com single-active-consumer em filas quorum exige RabbitMQ 3.12+). Lista vazia = todas.
+ * A fila antiga (ticket-queue) não tem ordem a preservar e usa a concorrência do container factory.
+ */
+@Slf4j
+@Configuration
+public class NotificationListenerConfigurer implements RabbitListenerConfigurer {
+
+    static final int ASSIGNED_PRIORITY = 10;
+    static final int STANDBY_PRIORITY = 0;
+
+    private final TicketConfirmationTopology topology;
+    private final TicketConfirmationListener listener;
+    private final SimpleRabbitListenerContainerFactory containerFactory;
+    private final Set<Integer> assignedPartitions;
+
+    public NotificationListenerConfigurer(TicketConfirmationTopology topology,
+                                          TicketConfirmationListener listener,
+                                          @Qualifier("notificationListenerContainerFactory") SimpleRabbitListenerContainerFactory containerFactory,
+                                          @Value("${notification.consumer.partitions:}") List<Integer> assignedPartitions) {
+        this.topology = topology;
+        this.listener = listener;
+        this.containerFactory = containerFactory;
+        this.assignedPartitions = Set.copyOf(assignedPartitions);
+        for (Integer partition : assignedPartitions) {
+            if (partition < 0 || partition >= topology.partitions()) {
+                throw new IllegalArgumentException("Partição inexistente em notification.consumer.partitions: " + partition);
+            }
+        }
+    }
+
+    @Override
+    public void configureRabbitListeners(RabbitListenerEndpointRegistrar registrar) {
+        for (SimpleRabbitListenerEndpoint endpoint : endpoints()) {
+            registrar.registerEndpoint(endpoint, containerFactory);
+        }
+        log.info("Consumindo {} partições das confirmações (ativas nesta instância: {})", topology.partitions(),
+                assignedPartitions.isEmpty() ? "todas" : assignedPartitions);
+    }
+
+    List<SimpleRabbitListenerEndpoint> endpoints() {
+        List<SimpleRabbitListenerEndpoint> endpoints = new ArrayList<>();
+        for (int partition = 0; partition < topology.partitions(); partition++) {
+            SimpleRabbitListenerEndpoint endpoint = endpoint("ticketConfirmations-" + partition, topology.queueName(partition));
+            endpoint.setConcurrency("1");
+            endpoint.setPriority(isAssigned(partition) ? ASSIGNED_PRIORITY : STANDBY_PRIORITY);
+            endpoints.add(endpoint);
+        }
+        endpoints.add(endpoint("ticketQueue", RabbitMQConfig.TICKET_QUEUE));
+        return endpoints;
+    }
+
+    private boolean isAssigned(int partition) {
+        return assignedPartitions.isEmpty() || assignedPartitions.contains(partition);
+    }
+
+    private SimpleRabbitListenerEndpoint endpoint(String id, String queue) {
+        SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+        endpoint.setId(id);
+        endpoint.setQueueNames(queue);
+        endpoint.setBatchListener(true);
+        endpoint.setMessageListener(listener);
+        return endpoint;
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.compass.ms_notification_management.config;
+
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class RabbitMQConfig {
+    public static final String TICKET_QUEUE = "ticket-queue";
+    public static final String RETRY_COUNT_HEADER = "x-retry-count";
+    public static final String FAILURE_REASON_HEADER = "x-failure-reason";
+
+    /**
+     * Fila antiga das confirmações, mantida com a mesma declaração do produtor (sem argumentos) até ser
+     * drenada. Também fica ligada à exchange das confirmações com a routing key {@value #TICKET_QUEUE}, para
+     * que as mensagens dela que voltam do retry caiam de novo aqui.
+     */
+    @Bean
+    public Queue ticketQueue() {
+        return new Queue(TICKET_QUEUE, true);
+    }
+
+    @Bean
+    public Declarables ticketConfirmationDeclarables(TicketConfirmationTopology topology) {
+        return topology.declarables();
+    }
+
+    @Bean
+    public Binding legacyTicketQueueBinding(TicketConfirmationTopology topology) {
+        return BindingBuilder.bind(ticketQueue())
+                .to(new TopicExchange(topology.exchange(), true, false))
+                .with(TICKET_QUEUE);
+    }
+
+    @Bean
+    public Declarables ticketRetryDeclarables(TicketConfirmationTopology topology, RetryBackoff retryBackoff) {
+        List<Declarable> declarables = new ArrayList<>();
+        for (int attempt = 1; attempt <= retryBackoff.maxAttempts(); attempt++) {
+            FanoutExchange exchange = new FanoutExchange(retryBackoff.exchangeFor(attempt), true, false);
+            QueueBuilder builder = topology.durable(retryBackoff.queueFor(attempt))
+                    .ttl((int) retryBackoff.delayFor(attempt).toMillis())
+                    .deadLetterExchange(topology.exchange());
+            if (topology.quorum()) {
+                builder.withArgument("x-dead-letter-strategy", "at-least-once")
+                        .overflow(QueueBuilder.Overflow.rejectPublish);
+            }
+            Queue queue = builder.build();
+            declarables.add(exchange);
+            declarables.add(queue);
+            declarables.add(BindingBuilder.bind(queue).to(exchange));
+        }
+        return new Declarables(declarables);
+    }
+
+    @Bean
+    public MessageConverter ticketQueueMessageConverter() {
+        return new TicketQueueMessageConverter(new SimpleMessageConverter());
+    }
+
+    /**
+     * Consumo em lotes com ack manual: o container junta até {@code batch-size} mensagens (ou o que chegar em
+     * {@code batch-receive-timeout}) e o listener confirma o lote inteiro com um único basicAck múltiplo.
+     * O prefetch precisa ser pelo menos o tamanho do lote para que o broker consiga completá-lo.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory notificationListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${notification.consumer.concurrency:4}") int concurrency,
+            @Value("${notification.consumer.max-concurrency:8}") int maxConcurrency,
+            @Value("${notification.consumer.prefetch:250}") int prefetch,
+            @Value("${notification.consumer.batch-size:100}") int batchSize,
+            @Value("${notification.consumer.batch-receive-timeout:50ms}") Duration batchReceiveTimeout) {
+        if (prefetch < batchSize) {
+            throw new IllegalArgumentException("notification.consumer.prefetch deve ser maior ou igual a batch-size");
+        }
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(maxConcurrency);
+        factory.setPrefetchCount(prefetch);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setBatchReceiveTimeout(batchReceiveTimeout.toMillis());
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.compass.ms_notification_management.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Backoff exponencial das notificações que falharam: a tentativa {@code n} espera
+ * {@code initialInterval * multiplier^(n-1)}. Cada atraso tem uma exchange fanout e uma fila com TTL cujo
+ * dead-letter devolve a mensagem para a exchange das confirmações com a routing key original, ou seja, para
+ * a mesma partição. O atraso não ocupa nenhum consumidor.
+ */
+@Component
+public class RetryBackoff {
+
+    private final TicketConfirmationTopology topology;
+    private final List<Duration> delays;
+
+    public RetryBackoff(TicketConfirmationTopology topology,
+                        @Value("${notification.retry.initial-interval:1s}") Duration initialInterval,
+                        @Value("${notification.retry.multiplier:5}") double multiplier,
+                        @Value("${notification.retry.max-attempts:4}") int maxAttempts) {
+        if (initialInterval.isNegative() || initialInterval.isZero() || multiplier < 1 || maxAttempts < 0) {
+            throw new IllegalArgumentException("Configuração de retry inválida");
+        }
+        List<Duration> delays = new ArrayList<>(maxAttempts);
+        double delayMillis = initialInterval.toMillis();
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            delays.add(Duration.ofMillis(Math.round(delayMillis)));
+            delayMillis *= multiplier;
+        }
+        this.topology = topology;
+        this.delays = List.copyOf(delays);
+    }
+
+    public int maxAttempts() {
+        return delays.size();
+    }
+
+    public List<Duration> delays() {
+        return delays;
+    }
+
+    public Duration delayFor(int attempt) {
+        return delays.get(attempt - 1);
+    }
+
+    /**
+     * Exchange de espera da tentativa {@code attempt} (1..maxAttempts). Os nomes levam o atraso, porque o TTL
+     * de uma fila não pode ser alterado depois de declarada: mudar o backoff cria filas novas em vez de
+     * conflitar com as existentes.
+     */
+    public String exchangeFor(int attempt) {
+        return topology.exchange() + ".retry." + delayFor(attempt).toMillis() + "ms";
+    }
+
+    public String queueFor(int attempt) {
+        return topology.queuePrefix() + ".retry." + delayFor(attempt).toMillis() + "ms";
+    }
+}
@@ -0,0 +1,170 @@
+package br.com.compass.ms_notification_management.config;
+
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Topologia das confirmações de compra: exchange topic com N filas particionadas por evento
+ * ({@code ticket.confirmation.<partição>}), todas com dead-letter para uma DLQ. A partição é
+ * {@code hash(eventId) mod N}, então as confirmações de um mesmo evento ficam sempre na mesma fila e
+ * mantêm a ordem. Este serviço é o dono da topologia: o produtor (ms-ticket-management) declara só a
+ * exchange e calcula a routing key, então apenas {@code exchange} e {@code partitions} precisam ser iguais
+ * nos dois serviços.
+ */
+@Component
+public class TicketConfirmationTopology {
+
+    public static final String ROUTING_KEY_PREFIX = "ticket.confirmation.";
+    public static final String QUORUM = "quorum";
+    public static final String CLASSIC = "classic";
+
+    private final String exchange;
+    private final String queuePrefix;
+    private final int partitions;
+    private final String queueType;
+    private final int deliveryLimit;
+    private final Duration messageTtl;
+    private final long maxLength;
+    private final boolean singleActiveConsumer;
+    private final String deadLetterExchange;
+    private final String deadLetterQueue;
+
+    public TicketConfirmationTopology(@Value("${messaging.ticket-confirmations.exchange:ticket.confirmations}") String exchange,
+                                      @Value("${messaging.ticket-confirmations.queue-prefix:ticket-confirmations}") String queuePrefix,
+                                      @Value("${messaging.ticket-confirmations.partitions:4}") int partitions,
+                                      @Value("${messaging.ticket-confirmations.queue-type:quorum}") String queueType,
+                                      @Value("${messaging.ticket-confirmations.delivery-limit:10}") int deliveryLimit,
+                                      @Value("${messaging.ticket-confirmations.message-ttl:0s}") Duration messageTtl,
+                                      @Value("${messaging.ticket-confirmations.max-length:0}") long maxLength,
+                                      @Value("${messaging.ticket-confirmations.single-active-consumer:true}") boolean singleActiveConsumer,
+                                      @Value("${messaging.ticket-confirmations.dead-letter-exchange:ticket.confirmations.dlx}") String deadLetterExchange,
+                                      @Value("${messaging.ticket-confirmations.dead-letter-queue:ticket-confirmations.dlq}") String deadLetterQueue) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("messaging.ticket-confirmations.partitions deve ser pelo menos 1");
+        }
+        if (!QUORUM.equals(queueType) && !CLASSIC.equals(queueType)) {
+            throw new IllegalArgumentException("messaging.ticket-confirmations.queue-type inválido: " + queueType);
+        }
+        if (messageTtl.isNegative() || maxLength < 0 || deliveryLimit < 0) {
+            throw new IllegalArgumentException("Limites das filas de confirmação não podem ser negativos");
+        }
+        this.exchange = exchange;
+        this.queuePrefix = queuePrefix;
+        this.partitions = partitions;
+        this.queueType = queueType;
+        this.deliveryLimit = deliveryLimit;
+        this.messageTtl = messageTtl;
+        this.maxLength = maxLength;
+        this.singleActiveConsumer = singleActiveConsumer;
+        this.deadLetterExchange = deadLetterExchange;
+        this.deadLetterQueue = deadLetterQueue;
+    }
+
+    public String exchange() {
+        return exchange;
+    }
+
+    public String queuePrefix() {
+        return queuePrefix;
+    }
+
+    public int partitions() {
+        return partitions;
+    }
+
+    public String deadLetterExchange() {
+        return deadLetterExchange;
+    }
+
+    public String deadLetterQueue() {
+        return deadLetterQueue;
+    }
+
+    /**
+     * {@link String#hashCode()} é definido pela especificação da linguagem, então a partição de um evento é a
+     * mesma em qualquer instância e versão da JVM.
+     */
+    public int partition(String eventId) {
+        return Math.floorMod(eventId.hashCode(), partitions);
+    }
+
+    public String routingKey(String eventId) {
+        return ROUTING_KEY_PREFIX + partition(eventId);
+    }
+
+    public String queueName(int partition) {
+        return queuePrefix + "." + partition;
+    }
+
+    public List<String> queueNames() {
+        return IntStream.range(0, partitions).mapToObj(this::queueName).toList();
+    }
+
+    public Declarables declarables() {
+        List<Declarable> declarables = new ArrayList<>();
+        TopicExchange topicExchange = new TopicExchange(exchange, true, false);
+        FanoutExchange deadLetters = new FanoutExchange(deadLetterExchange, true, false);
+        Queue deadLetterQueue = durable(this.deadLetterQueue).build();
+        declarables.add(topicExchange);
+        declarables.add(deadLetters);
+        declarables.add(deadLetterQueue);
+        declarables.add(BindingBuilder.bind(deadLetterQueue).to(deadLetters));
+        for (int partition = 0; partition < partitions; partition++) {
+            Queue queue = partitionQueue(queueName(partition));
+            declarables.add(queue);
+            declarables.add(bind(queue, topicExchange, ROUTING_KEY_PREFIX + partition));
+        }
+        return new Declarables(declarables);
+    }
+
+    Queue partitionQueue(String name) {
+        QueueBuilder builder = durable(name).deadLetterExchange(deadLetterExchange);
+        if (quorum()) {
+            // at-least-once evita perder a mensagem entre a fila e a DLQ; exige overflow reject-publish.
+            builder.withArgument("x-dead-letter-strategy", "at-least-once")
+                    .overflow(QueueBuilder.Overflow.rejectPublish);
+            if (deliveryLimit > 0) {
+                builder.deliveryLimit(deliveryLimit);
+            }
+        }
+        if (singleActiveConsumer) {
+            builder.singleActiveConsumer();
+        }
+        if (!messageTtl.isZero()) {
+            builder.ttl((int) messageTtl.toMillis());
+        }
+        if (maxLength > 0) {
+            builder.maxLength(maxLength);
+        }
+        return builder.build();
+    }
+
+    public boolean quorum() {
+        return QUORUM.equals(queueType);
+    }
+
+    /**
+     * Fila durável do tipo configurado ({@code queue-type}).
+     */
+    public QueueBuilder durable(String name) {
+        QueueBuilder builder = QueueBuilder.durable(name);
+        return quorum() ? builder.quorum() : builder;
+    }
+
+    private static Binding bind(Queue queue, TopicExchange exchange, String routingKey) {
+        return BindingBuilder.bind(queue).to(exchange).with(routingKey);
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.compass.ms_notification_management.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Notificação já renderizada, pronta para o {@code NotificationSender}. {@code idempotencyKey} é o ticketId
+ * nas confirmações em Avro e o id da mensagem no texto legado, que não carrega o ticket nem o e-mail.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Notification {
+    private String idempotencyKey;
+    private String ticketId;
+    private String recipient;
+    private String subject;
+    private String body;
+    private Instant createdAt;
+}
@@ -0,0 +1,35 @@
+package br.com.compass.ms_notification_management.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Registro de idempotência por notificação. O documento é inserido como PENDING antes do envio (a chave
+ * primária garante um único dono por vez) e vira SENT depois; um PENDING com {@code claimedUntil} vencido
+ * pode ser retomado por outro consumidor.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "processed_notifications")
+public class ProcessedNotification {
+
+    public enum Status {
+        PENDING,
+        SENT
+    }
+
+    @Id
+    private String id;
+    private Status status;
+    private Instant claimedUntil;
+    private Instant createdAt;
+    private Instant sentAt;
+}
@@ -0,0 +1,22 @@
+package br.com.compass.ms_notification_management.exception;
+
+import lombok.Getter;
+
+/**
+ * Falha no envio de uma notificação. Falhas não recuperáveis (destinatário ausente, mensagem inválida)
+ * vão direto para a DLQ; as demais seguem para as filas de retry.
+ */
+@Getter
+public class NotificationDeliveryException extends RuntimeException {
+    private final boolean retryable;
+
+    public NotificationDeliveryException(String message, boolean retryable) {
+        super(message);
+        this.retryable = retryable;
+    }
+
+    public NotificationDeliveryException(String message, Throwable cause, boolean retryable) {
+        super(message, cause);
+        this.retryable = retryable;
+    }
+}
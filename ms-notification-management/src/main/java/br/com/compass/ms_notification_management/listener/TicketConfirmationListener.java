@@ -0,0 +1,160 @@
+package br.com.compass.ms_notification_management.listener;
+
+import br.com.compass.ms_notification_management.domain.Notification;
+import br.com.compass.ms_notification_management.service.NotificationIdempotencyStore;
+import br.com.compass.ms_notification_management.service.NotificationRenderer;
+import br.com.compass.ms_notification_management.service.NotificationRetryRouter;
+import br.com.compass.ms_notification_management.service.NotificationRetryRouter.FailedMessage;
+import br.com.compass.ms_notification_management.service.sender.NotificationSender;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.listener.api.ChannelAwareBatchMessageListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consome as confirmações em lotes: renderiza, reserva as chaves de idempotência com uma ida ao Mongo,
+ * envia o lote pelo {@link NotificationSender}, encaminha as falhas para retry/DLQ e só então confirma o lote
+ * com um único ack múltiplo. Os containers (um por partição) são registrados pelo
+ * {@code NotificationListenerConfigurer}. Se algo de infraestrutura falhar no meio (Mongo, broker), o lote
+ * inteiro volta para a fila; as chaves já reservadas ficam com o lease e as reentregas passam pelo retry.
+ */
+@Slf4j
+@Component
+public class TicketConfirmationListener implements ChannelAwareBatchMessageListener {
+
+    private final NotificationRenderer renderer;
+    private final NotificationIdempotencyStore idempotencyStore;
+    private final NotificationSender sender;
+    private final NotificationRetryRouter retryRouter;
+    private final Timer lagTimer;
+    private final Timer processingTimer;
+    private final DistributionSummary batchSize;
+    private final Counter sentCounter;
+    private final Counter duplicateCounter;
+
+    public TicketConfirmationListener(NotificationRenderer renderer,
+                                      NotificationIdempotencyStore idempotencyStore,
+                                      NotificationSender sender,
+                                      NotificationRetryRouter retryRouter,
+                                      MeterRegistry meterRegistry) {
+        this.renderer = renderer;
+        this.idempotencyStore = idempotencyStore;
+        this.sender = sender;
+        this.retryRouter = retryRouter;
+        this.lagTimer = Timer.builder("notification.consumer.lag")
+                .description("Tempo entre a criação da mensagem no produtor e o início do processamento")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.processingTimer = Timer.builder("notification.processing")
+                .description("Tempo entre a entrega da mensagem ao consumidor e o ack")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("notification.batch.size").register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("notification.messages", "result", "sent");
+        this.duplicateCounter = meterRegistry.counter("notification.messages", "result", "duplicate");
+    }
+
+    @Override
+    public void onMessageBatch(List<Message> messages, Channel channel) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        long lastDeliveryTag = messages.get(messages.size() - 1).getMessageProperties().getDeliveryTag();
+        batchSize.record(messages.size());
+        try {
+            try {
+                process(messages);
+            } catch (RuntimeException ex) {
+                log.error("Falha ao processar um lote de {} notificações, devolvendo para a fila: {}", messages.size(), ex.getMessage());
+                channel.basicNack(lastDeliveryTag, true, true);
+                return;
+            }
+            channel.basicAck(lastDeliveryTag, true);
+        } catch (IOException ex) {
+            throw new AmqpIOException(ex);
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        for (int i = 0; i < messages.size(); i++) {
+            processingTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void process(List<Message> messages) {
+        Instant now = Instant.now();
+        List<FailedMessage> failures = new ArrayList<>();
+        Map<String, Notification> notifications = new LinkedHashMap<>();
+        Map<String, Message> sourceMessages = new LinkedHashMap<>();
+        int duplicatesInBatch = 0;
+        for (Message message : messages) {
+            Notification notification;
+            try {
+                notification = renderer.render(message);
+            } catch (RuntimeException ex) {
+                // Mensagem ilegível não melhora com retry: vai direto para a DLQ em vez de travar o lote.
+                failures.add(new FailedMessage(message, message.getMessageProperties().getMessageId(), ex.getMessage(), false));
+                continue;
+            }
+            recordLag(message, notification, now);
+            if (notifications.putIfAbsent(notification.getIdempotencyKey(), notification) == null) {
+                sourceMessages.put(notification.getIdempotencyKey(), message);
+            } else {
+                duplicatesInBatch++;
+            }
+        }
+
+        NotificationIdempotencyStore.Claim claim = idempotencyStore.claim(notifications.keySet());
+        List<Notification> toSend = new ArrayList<>(claim.claimed().size());
+        for (Notification notification : notifications.values()) {
+            String key = notification.getIdempotencyKey();
+            if (claim.claimed().contains(key)) {
+                toSend.add(notification);
+            } else if (claim.inFlight().contains(key)) {
+                failures.add(new FailedMessage(sourceMessages.get(key), key, "Notificação em processamento por outro consumidor", true));
+            }
+        }
+
+        Map<String, RuntimeException> sendFailures;
+        try {
+            sendFailures = sender.sendAll(toSend);
+        } catch (RuntimeException ex) {
+            idempotencyStore.release(claim.claimed());
+            throw ex;
+        }
+        Set<String> sent = new HashSet<>(claim.claimed());
+        sent.removeAll(sendFailures.keySet());
+        idempotencyStore.markSent(sent);
+        idempotencyStore.release(sendFailures.keySet());
+        sendFailures.forEach((key, ex) -> failures.add(FailedMessage.of(sourceMessages.get(key), key, ex)));
+
+        retryRouter.route(failures);
+        sentCounter.increment(sent.size());
+        duplicateCounter.increment(claim.alreadySent().size() + duplicatesInBatch);
+    }
+
+    private void recordLag(Message message, Notification notification, Instant now) {
+        Instant createdAt = message.getMessageProperties().getTimestamp() != null
+                ? message.getMessageProperties().getTimestamp().toInstant()
+                : notification.getCreatedAt();
+        if (createdAt != null && createdAt.isBefore(now)) {
+            lagTimer.record(Duration.between(createdAt, now));
+        }
+    }
+}
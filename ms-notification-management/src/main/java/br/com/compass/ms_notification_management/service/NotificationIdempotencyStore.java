@@ -0,0 +1,146 @@
+package br.com.compass.ms_notification_management.service;
+
+import br.com.compass.ms_notification_management.domain.ProcessedNotification;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Idempotência das notificações por chave (ticketId). Cada lote faz um insert não ordenado das chaves: as
+ * que entram são do consumidor atual, as que batem na chave primária já foram enviadas ou estão com outro
+ * consumidor. Os registros expiram depois de {@code notification.idempotency.retention}.
+ */
+@Slf4j
+@Service
+public class NotificationIdempotencyStore {
+
+    static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration claimDuration;
+    private final Duration retention;
+
+    public NotificationIdempotencyStore(MongoTemplate mongoTemplate,
+                                        @Value("${notification.idempotency.claim-duration:30s}") Duration claimDuration,
+                                        @Value("${notification.idempotency.retention:7d}") Duration retention) {
+        this.mongoTemplate = mongoTemplate;
+        this.claimDuration = claimDuration;
+        this.retention = retention;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            mongoTemplate.indexOps(ProcessedNotification.class)
+                    .ensureIndex(new Index("createdAt", Sort.Direction.ASC).expire(retention));
+        } catch (RuntimeException ex) {
+            log.warn("ATENÇÃO: não foi possível criar o índice TTL de processed_notifications: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Reserva as chaves para envio. Chaves em {@link Claim#inFlight()} estão reservadas por outro consumidor
+     * e ainda não foram enviadas: a mensagem não pode ser descartada, volta pelo retry.
+     */
+    public Claim claim(Collection<String> keys) {
+        List<String> unique = List.copyOf(new LinkedHashSet<>(keys));
+        if (unique.isEmpty()) {
+            return new Claim(Set.of(), Set.of(), Set.of());
+        }
+        Instant now = Instant.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProcessedNotification.class);
+        bulk.insert(unique.stream()
+                .map(key -> ProcessedNotification.builder()
+                        .id(key)
+                        .status(ProcessedNotification.Status.PENDING)
+                        .claimedUntil(now.plus(claimDuration))
+                        .createdAt(now)
+                        .build())
+                .toList());
+
+        Set<String> duplicates = new HashSet<>();
+        try {
+            bulk.execute();
+        } catch (BulkOperationException ex) {
+            for (BulkWriteError error : ex.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw ex;
+                }
+                duplicates.add(unique.get(error.getIndex()));
+            }
+        }
+
+        Set<String> claimed = new HashSet<>(unique);
+        claimed.removeAll(duplicates);
+        Set<String> alreadySent = new HashSet<>();
+        Set<String> inFlight = new HashSet<>();
+        if (!duplicates.isEmpty()) {
+            for (ProcessedNotification existing : mongoTemplate.find(
+                    query(where("_id").in(duplicates)), ProcessedNotification.class)) {
+                if (existing.getStatus() == ProcessedNotification.Status.SENT) {
+                    alreadySent.add(existing.getId());
+                } else if (existing.getClaimedUntil().isBefore(now) && takeOver(existing.getId(), now)) {
+                    claimed.add(existing.getId());
+                }
+            }
+            for (String key : duplicates) {
+                if (!alreadySent.contains(key) && !claimed.contains(key)) {
+                    inFlight.add(key);
+                }
+            }
+        }
+        return new Claim(claimed, alreadySent, inFlight);
+    }
+
+    public void markSent(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        mongoTemplate.updateMulti(query(where("_id").in(keys)),
+                new Update().set("status", ProcessedNotification.Status.SENT).set("sentAt", Instant.now()),
+                ProcessedNotification.class);
+    }
+
+    /**
+     * Libera as chaves que falharam, para que a próxima tentativa consiga reservá-las de novo.
+     */
+    public void release(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        mongoTemplate.remove(query(where("_id").in(keys).and("status").is(ProcessedNotification.Status.PENDING)),
+                ProcessedNotification.class);
+    }
+
+    private boolean takeOver(String key, Instant now) {
+        return mongoTemplate.updateFirst(
+                query(where("_id").is(key)
+                        .and("status").is(ProcessedNotification.Status.PENDING)
+                        .and("claimedUntil").lt(now)),
+                new Update().set("claimedUntil", now.plus(claimDuration)),
+                ProcessedNotification.class).getModifiedCount() == 1;
+    }
+
+    public record Claim(Set<String> claimed, Set<String> alreadySent, Set<String> inFlight) {
+    }
+}
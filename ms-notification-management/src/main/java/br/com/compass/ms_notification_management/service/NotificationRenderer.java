@@ -0,0 +1,89 @@
+package br.com.compass.ms_notification_management.service;
+
+import br.com.compass.ms_notification_management.domain.Notification;
+import br.com.compass.ms_notification_management.dto.TicketConfirmationMessage;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.text.NumberFormat;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Monta a notificação a partir da mensagem da ticket-queue. Confirmações em Avro são renderizadas aqui com o
+ * mesmo texto que o ms-ticket-management gerava; o texto legado é repassado como está.
+ */
+@Component
+public class NotificationRenderer {
+
+    static final String LEGACY_SUBJECT = "Seu ingresso está confirmado! 🎟️";
+
+    private static final Locale PT_BR = new Locale("pt", "BR");
+
+    private final MessageConverter ticketQueueMessageConverter;
+
+    public NotificationRenderer(MessageConverter ticketQueueMessageConverter) {
+        this.ticketQueueMessageConverter = ticketQueueMessageConverter;
+    }
+
+    public Notification render(Message message) {
+        Object payload = ticketQueueMessageConverter.fromMessage(message);
+        if (payload instanceof TicketConfirmationMessage confirmation) {
+            return render(confirmation);
+        }
+        if (payload instanceof String text) {
+            return renderLegacy(text, message.getMessageProperties());
+        }
+        throw new MessageConversionException("Formato de mensagem não suportado: " + message.getMessageProperties().getContentType());
+    }
+
+    public Notification render(TicketConfirmationMessage confirmation) {
+        if (confirmation.getTicketId() == null) {
+            throw new MessageConversionException("Confirmação sem ticketId");
+        }
+        TicketConfirmationMessage.Customer customer = confirmation.getCustomer();
+        TicketConfirmationMessage.Event event = confirmation.getEvent();
+        return Notification.builder()
+                .idempotencyKey(confirmation.getTicketId())
+                .ticketId(confirmation.getTicketId())
+                .recipient(customer.getEmail())
+                .subject("Ingresso confirmado: " + event.getEventName())
+                .body(confirmationMessage(customer, event,
+                        NumberFormat.getCurrencyInstance(PT_BR).format(confirmation.getBrlAmount()),
+                        NumberFormat.getCurrencyInstance(Locale.US).format(confirmation.getUsdAmount())))
+                .createdAt(confirmation.getCreatedAt())
+                .build();
+    }
+
+    private static Notification renderLegacy(String text, MessageProperties properties) {
+        String messageId = properties.getMessageId() != null
+                ? properties.getMessageId()
+                : UUID.nameUUIDFromBytes(text.getBytes(StandardCharsets.UTF_8)).toString();
+        return Notification.builder()
+                .idempotencyKey("message:" + messageId)
+                .subject(LEGACY_SUBJECT)
+                .body(text)
+                .createdAt(properties.getTimestamp() != null ? properties.getTimestamp().toInstant() : Instant.now())
+                .build();
+    }
+
+    private static String confirmationMessage(TicketConfirmationMessage.Customer customer,
+                                              TicketConfirmationMessage.Event event,
+                                              String brlAmount, String usdAmount) {
+        return "🎉 Ei " + customer.getName() +
+                ", seu ingresso está confirmado! 🎟️\nDetalhes:\n🎤 Evento: " + event.getEventName() +
+                "\n📅 Data: " + event.getDateTime() +
+                "\n📍 Local: " + event.getLogradouro() +
+                ", " + event.getBairro() +
+                " - " + event.getCidade() +
+                "/" + event.getUf() +
+                "\n💰 Valor: " + brlAmount +
+                " (ou " + usdAmount +
+                ")\n\nAproveite o show e não esqueça de contar pros amigos! 🤩";
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.compass.ms_notification_management.service;
+
+import br.com.compass.ms_notification_management.config.RabbitMQConfig;
+import br.com.compass.ms_notification_management.config.RetryBackoff;
+import br.com.compass.ms_notification_management.config.TicketConfirmationTopology;
+import br.com.compass.ms_notification_management.exception.NotificationDeliveryException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Encaminha as mensagens que falharam: falhas recuperáveis vão para a exchange de retry da próxima tentativa
+ * (com backoff exponencial), as demais e as que esgotaram as tentativas vão para a DLQ. As duas publicações
+ * mantêm a routing key com que a mensagem chegou, então o retry volta para a mesma partição. A publicação
+ * espera a confirmação do broker, então o listener só dá o ack depois que a mensagem está segura.
+ */
+@Slf4j
+@Service
+public class NotificationRetryRouter {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final RetryBackoff retryBackoff;
+    private final TicketConfirmationTopology topology;
+    private final MeterRegistry meterRegistry;
+    private final Duration confirmTimeout;
+
+    public NotificationRetryRouter(RabbitTemplate rabbitTemplate,
+                                   RetryBackoff retryBackoff,
+                                   TicketConfirmationTopology topology,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${notification.retry.confirm-timeout:5s}") Duration confirmTimeout) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.retryBackoff = retryBackoff;
+        this.topology = topology;
+        this.meterRegistry = meterRegistry;
+        this.confirmTimeout = confirmTimeout;
+    }
+
+    public void route(List<FailedMessage> failures) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        rabbitTemplate.invoke(operations -> {
+            for (FailedMessage failure : failures) {
+                Message message = failure.message();
+                int attempt = retryCount(message) + 1;
+                String routingKey = routingKey(message);
+                if (failure.retryable() && attempt <= retryBackoff.maxAttempts()) {
+                    String exchange = retryBackoff.exchangeFor(attempt);
+                    operations.send(exchange, routingKey, MessageBuilder.fromClonedMessage(message)
+                            .setHeader(RabbitMQConfig.RETRY_COUNT_HEADER, attempt)
+                            .setHeader(RabbitMQConfig.FAILURE_REASON_HEADER, failure.reason())
+                            .build());
+                    meterRegistry.counter("notification.messages", "result", "retried").increment();
+                    log.warn("Notificação {} falhou ({}), tentativa {} em {}", failure.key(), failure.reason(), attempt,
+                            retryBackoff.delayFor(attempt));
+                } else {
+                    operations.send(topology.deadLetterExchange(), routingKey, MessageBuilder.fromClonedMessage(message)
+                            .setHeader(RabbitMQConfig.FAILURE_REASON_HEADER, failure.reason())
+                            .build());
+                    meterRegistry.counter("notification.messages", "result", "dead_lettered").increment();
+                    log.error("Notificação {} enviada para a DLQ: {}", failure.key(), failure.reason());
+                }
+            }
+            operations.waitForConfirmsOrDie(confirmTimeout.toMillis());
+            return null;
+        });
+    }
+
+    /**
+     * Mensagens da fila antiga chegam pela exchange padrão com a routing key {@code ticket-queue}; a ligação
+     * dessa fila à exchange das confirmações faz o retry voltar para ela.
+     */
+    static String routingKey(Message message) {
+        String routingKey = message.getMessageProperties().getReceivedRoutingKey();
+        return routingKey != null ? routingKey : RabbitMQConfig.TICKET_QUEUE;
+    }
+
+    static int retryCount(Message message) {
+        Object count = message.getMessageProperties().getHeader(RabbitMQConfig.RETRY_COUNT_HEADER);
+        return count instanceof Number number ? number.intValue() : 0;
+    }
+
+    public record FailedMessage(Message message, String key, String reason, boolean retryable) {
+
+        public static FailedMessage of(Message message, String key, RuntimeException ex) {
+            boolean retryable = !(ex instanceof NotificationDeliveryException delivery) || delivery.isRetryable();
+            return new FailedMessage(message, key,
+                    ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName(), retryable);
+        }
+    }
+}
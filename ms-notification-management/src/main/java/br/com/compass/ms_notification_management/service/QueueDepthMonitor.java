@@ -0,0 +1,61 @@
+package br.com.compass.ms_notification_management.service;
+
+import br.com.compass.ms_notification_management.config.RabbitMQConfig;
+import br.com.compass.ms_notification_management.config.TicketConfirmationTopology;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publica a profundidade e o número de consumidores de cada partição, da ticket-queue e da DLQ como gauges
+ * ({@code notification.queue.depth} e {@code notification.queue.consumers}). A consulta ao broker é um
+ * queue.declare passivo, feito em intervalo fixo e não a cada leitura do gauge.
+ */
+@Slf4j
+@Component
+public class QueueDepthMonitor {
+
+    private final AmqpAdmin amqpAdmin;
+    private final List<String> monitoredQueues;
+    private final Map<String, AtomicLong> depths = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> consumers = new ConcurrentHashMap<>();
+
+    public QueueDepthMonitor(AmqpAdmin amqpAdmin, TicketConfirmationTopology topology, MeterRegistry meterRegistry) {
+        this.amqpAdmin = amqpAdmin;
+        List<String> queues = new ArrayList<>(topology.queueNames());
+        queues.add(RabbitMQConfig.TICKET_QUEUE);
+        queues.add(topology.deadLetterQueue());
+        this.monitoredQueues = List.copyOf(queues);
+        for (String queue : monitoredQueues) {
+            AtomicLong depth = new AtomicLong(-1);
+            AtomicLong consumerCount = new AtomicLong(-1);
+            depths.put(queue, depth);
+            consumers.put(queue, consumerCount);
+            Gauge.builder("notification.queue.depth", depth, AtomicLong::get).tag("queue", queue).register(meterRegistry);
+            Gauge.builder("notification.queue.consumers", consumerCount, AtomicLong::get).tag("queue", queue).register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.metrics.queue-depth-interval-ms:5000}")
+    public void refresh() {
+        for (String queue : monitoredQueues) {
+            try {
+                QueueInformation information = amqpAdmin.getQueueInfo(queue);
+                depths.get(queue).set(information != null ? information.getMessageCount() : -1);
+                consumers.get(queue).set(information != null ? information.getConsumerCount() : -1);
+            } catch (RuntimeException ex) {
+                log.warn("Não foi possível consultar a fila {}: {}", queue, ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.compass.ms_notification_management.service.sender;
+
+import br.com.compass.ms_notification_management.domain.Notification;
+import br.com.compass.ms_notification_management.exception.NotificationDeliveryException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sink local que substitui o SMTP em desenvolvimento e testes: cada notificação vira uma linha JSON no
+ * arquivo {@code notification.sender.file.path}. O lote é gravado com um único flush.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.sender.type", havingValue = "file", matchIfMissing = true)
+public class FileNotificationSender implements NotificationSender {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final BufferedWriter writer;
+
+    public FileNotificationSender(ObjectMapper objectMapper,
+                                  @Value("${notification.sender.file.path:notifications/notifications.jsonl}") Path path) {
+        this.objectMapper = objectMapper;
+        this.path = path;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Não foi possível abrir o arquivo de notificações " + path, ex);
+        }
+        log.info("Notificações serão gravadas em {}", path.toAbsolutePath());
+    }
+
+    @Override
+    public void send(Notification notification) {
+        Map<String, RuntimeException> failures = sendAll(List.of(notification));
+        if (!failures.isEmpty()) {
+            throw failures.values().iterator().next();
+        }
+    }
+
+    @Override
+    public synchronized Map<String, RuntimeException> sendAll(List<Notification> notifications) {
+        Map<String, RuntimeException> failures = new HashMap<>();
+        try {
+            for (Notification notification : notifications) {
+                try {
+                    writer.write(objectMapper.writeValueAsString(notification));
+                    writer.newLine();
+                } catch (JsonProcessingException ex) {
+                    failures.put(notification.getIdempotencyKey(),
+                            new NotificationDeliveryException("Notificação inválida: " + ex.getOriginalMessage(), ex, false));
+                }
+            }
+            writer.flush();
+        } catch (IOException ex) {
+            NotificationDeliveryException failure = new NotificationDeliveryException(
+                    "Falha ao gravar em " + path + ": " + ex.getMessage(), ex, true);
+            notifications.forEach(notification -> failures.put(notification.getIdempotencyKey(), failure));
+        }
+        return failures;
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.compass.ms_notification_management.service.sender;
+
+import br.com.compass.ms_notification_management.domain.Notification;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canal de entrega das notificações, escolhido por {@code notification.sender.type} (file ou smtp).
+ */
+public interface NotificationSender {
+
+    void send(Notification notification);
+
+    /**
+     * Envia um lote e devolve as falhas por {@code idempotencyKey}; o lote inteiro é processado mesmo que
+     * algumas notificações falhem. Implementações podem sobrescrever para reaproveitar conexão ou buffer.
+     */
+    default Map<String, RuntimeException> sendAll(List<Notification> notifications) {
+        Map<String, RuntimeException> failures = new HashMap<>();
+        for (Notification notification : notifications) {
+            try {
+                send(notification);
+            } catch (RuntimeException ex) {
+                failures.put(notification.getIdempotencyKey(), ex);
+            }
+        }
+        return failures;
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.compass.ms_notification_management.service.sender;
+
+import br.com.compass.ms_notification_management.domain.Notification;
+import br.com.compass.ms_notification_management.exception.NotificationDeliveryException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Envio por SMTP. O lote é enviado por uma única conexão com o servidor ({@link JavaMailSender#send(SimpleMailMessage...)})
+ * e as falhas individuais vêm de {@link MailSendException#getFailedMessages()}.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.sender.type", havingValue = "smtp")
+public class SmtpNotificationSender implements NotificationSender {
+
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public SmtpNotificationSender(JavaMailSender mailSender,
+                                  @Value("${notification.mail.from:no-reply@compass.com.br}") String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    @Override
+    public void send(Notification notification) {
+        Map<String, RuntimeException> failures = sendAll(List.of(notification));
+        if (!failures.isEmpty()) {
+            throw failures.values().iterator().next();
+        }
+    }
+
+    @Override
+    public Map<String, RuntimeException> sendAll(List<Notification> notifications) {
+        Map<String, RuntimeException> failures = new HashMap<>();
+        List<SimpleMailMessage> batch = new ArrayList<>(notifications.size());
+        Map<SimpleMailMessage, Notification> messages = new IdentityHashMap<>();
+        for (Notification notification : notifications) {
+            if (notification.getRecipient() == null || notification.getRecipient().isBlank()) {
+                failures.put(notification.getIdempotencyKey(), new NotificationDeliveryException(
+                        "Notificação " + notification.getIdempotencyKey() + " sem destinatário", false));
+            } else {
+                SimpleMailMessage message = toMailMessage(notification);
+                batch.add(message);
+                messages.put(message, notification);
+            }
+        }
+        if (batch.isEmpty()) {
+            return failures;
+        }
+        try {
+            mailSender.send(batch.toArray(SimpleMailMessage[]::new));
+        } catch (MailSendException ex) {
+            if (ex.getFailedMessages().isEmpty()) {
+                messages.values().forEach(notification -> failures.put(notification.getIdempotencyKey(), ex));
+            }
+            ex.getFailedMessages().forEach((message, cause) -> {
+                Notification notification = messages.get(message);
+                if (notification != null) {
+                    failures.put(notification.getIdempotencyKey(), new NotificationDeliveryException(
+                            "Falha ao enviar para " + notification.getRecipient() + ": " + cause.getMessage(), cause, true));
+                }
+            });
+        } catch (MailException ex) {
+            messages.values().forEach(notification -> failures.put(notification.getIdempotencyKey(), ex));
+        }
+        return failures;
+    }
+
+    private SimpleMailMessage toMailMessage(Notification notification) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(notification.getRecipient());
+        message.setSubject(notification.getSubject());
+        message.setText(notification.getBody());
+        return message;
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.compass.ms_notification_management.config;
+
+import br.com.compass.ms_notification_management.listener.TicketConfirmationListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class NotificationListenerConfigurerTest {
+
+    private final TicketConfirmationListener listener = mock(TicketConfirmationListener.class);
+    private final SimpleRabbitListenerContainerFactory containerFactory = new SimpleRabbitListenerContainerFactory();
+
+    @Test
+    void testEndpoints_OneSingleConsumerContainerPerPartition() {
+        NotificationListenerConfigurer configurer = new NotificationListenerConfigurer(
+                TicketConfirmationTopologyTest.defaultTopology(), listener, containerFactory, List.of(1, 3));
+
+        List<SimpleRabbitListenerEndpoint> endpoints = configurer.endpoints();
+
+        assertEquals(5, endpoints.size());
+        for (int partition = 0; partition < 4; partition++) {
+            SimpleRabbitListenerEndpoint endpoint = endpoints.get(partition);
+            assertEquals(List.of("ticket-confirmations." + partition), endpoint.getQueueNames());
+            assertEquals("1", endpoint.getConcurrency());
+            assertTrue(endpoint.isBatchListener());
+            assertSame(listener, endpoint.getMessageListener());
+        }
+        assertEquals(NotificationListenerConfigurer.STANDBY_PRIORITY, endpoints.get(0).getPriority());
+        assertEquals(NotificationListenerConfigurer.ASSIGNED_PRIORITY, endpoints.get(1).getPriority());
+        assertEquals(NotificationListenerConfigurer.ASSIGNED_PRIORITY, endpoints.get(3).getPriority());
+        assertEquals(List.of("ticket-queue"), endpoints.get(4).getQueueNames());
+        assertNull(endpoints.get(4).getConcurrency());
+    }
+
+    @Test
+    void testEndpoints_NoAssignmentMeansAllPartitions() {
+        NotificationListenerConfigurer configurer = new NotificationListenerConfigurer(
+                TicketConfirmationTopologyTest.defaultTopology(), listener, containerFactory, List.of());
+
+        assertTrue(configurer.endpoints().stream().limit(4)
+                .allMatch(endpoint -> endpoint.getPriority() == NotificationListenerConfigurer.ASSIGNED_PRIORITY));
+    }
+
+    @Test
+    void testUnknownPartitionIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new NotificationListenerConfigurer(
+                TicketConfirmationTopologyTest.defaultTopology(), listener, containerFactory, List.of(4)));
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.compass.ms_notification_management.config;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.support.GenericApplicationContext;
+import org.testcontainers.containers.RabbitMQContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Declara a topologia completa (partições, DLX, retry e a fila antiga) num RabbitMQ de verdade e confere o
+ * roteamento. Roda apenas quando há Docker disponível.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class RabbitMQTopologyIntegrationTest {
+
+    @Container
+    static final RabbitMQContainer RABBITMQ = new RabbitMQContainer("rabbitmq:3.13-management");
+
+    private static final TicketConfirmationTopology TOPOLOGY = TicketConfirmationTopologyTest.defaultTopology();
+    private static final RetryBackoff RETRY_BACKOFF = new RetryBackoff(TOPOLOGY, Duration.ofMillis(200), 2, 2);
+
+    private static CachingConnectionFactory connectionFactory;
+    private static RabbitTemplate rabbitTemplate;
+
+    @BeforeAll
+    static void declareTopology() {
+        connectionFactory = new CachingConnectionFactory(RABBITMQ.getHost(), RABBITMQ.getAmqpPort());
+        connectionFactory.setUsername(RABBITMQ.getAdminUsername());
+        connectionFactory.setPassword(RABBITMQ.getAdminPassword());
+        rabbitTemplate = new RabbitTemplate(connectionFactory);
+        rabbitTemplate.setReceiveTimeout(5000);
+
+        RabbitMQConfig config = new RabbitMQConfig();
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean("ticketQueue", Queue.class, config::ticketQueue);
+        context.registerBean("legacyBinding", Binding.class,
+                () -> config.legacyTicketQueueBinding(TOPOLOGY));
+        context.registerBean("confirmations", Declarables.class, () -> config.ticketConfirmationDeclarables(TOPOLOGY));
+        context.registerBean("retries", Declarables.class, () -> config.ticketRetryDeclarables(TOPOLOGY, RETRY_BACKOFF));
+        context.refresh();
+        RabbitAdmin admin = new RabbitAdmin(connectionFactory);
+        admin.setApplicationContext(context);
+        admin.afterPropertiesSet();
+        admin.initialize();
+        // Redeclarar com os mesmos argumentos (o que o produtor faz) não pode falhar.
+        admin.initialize();
+    }
+
+    @AfterAll
+    static void close() {
+        connectionFactory.destroy();
+    }
+
+    private static Message message(String body) {
+        return new Message(body.getBytes(), new MessageProperties());
+    }
+
+    @Test
+    void testConfirmationsOfAnEventLandInItsPartition() {
+        String routingKey = TOPOLOGY.routingKey("666");
+        rabbitTemplate.send(TOPOLOGY.exchange(), routingKey, message("primeira"));
+        rabbitTemplate.send(TOPOLOGY.exchange(), routingKey, message("segunda"));
+
+        String queue = TOPOLOGY.queueName(TOPOLOGY.partition("666"));
+        assertEquals("primeira", new String(rabbitTemplate.receive(queue).getBody()));
+        assertEquals("segunda", new String(rabbitTemplate.receive(queue).getBody()));
+    }
+
+    @Test
+    void testRejectedMessageIsDeadLettered() {
+        String queue = TOPOLOGY.queueName(0);
+        rabbitTemplate.send(TOPOLOGY.exchange(), TicketConfirmationTopology.ROUTING_KEY_PREFIX + 0, message("rejeitada"));
+
+        rabbitTemplate.execute(channel -> {
+            var response = channel.basicGet(queue, false);
+            channel.basicReject(response.getEnvelope().getDeliveryTag(), false);
+            return null;
+        });
+
+        Message deadLetter = rabbitTemplate.receive(TOPOLOGY.deadLetterQueue());
+        assertNotNull(deadLetter);
+        assertEquals("rejeitada", new String(deadLetter.getBody()));
+    }
+
+    @Test
+    void testRetryReturnsToTheSamePartitionAfterTheDelay() {
+        String routingKey = TicketConfirmationTopology.ROUTING_KEY_PREFIX + 3;
+        rabbitTemplate.send(RETRY_BACKOFF.exchangeFor(1), routingKey, message("retry"));
+
+        Message retried = rabbitTemplate.receive(TOPOLOGY.queueName(3));
+        assertNotNull(retried);
+        assertEquals("retry", new String(retried.getBody()));
+        assertEquals(routingKey, retried.getMessageProperties().getReceivedRoutingKey());
+    }
+
+    @Test
+    void testLegacyQueueMessagesReturnFromRetry() {
+        rabbitTemplate.send(RETRY_BACKOFF.exchangeFor(1), RabbitMQConfig.TICKET_QUEUE, message("legado"));
+
+        Message retried = rabbitTemplate.receive(RabbitMQConfig.TICKET_QUEUE);
+        assertNotNull(retried);
+        assertEquals("legado", new String(retried.getBody()));
+    }
+
+    @Test
+    void testPartitionQueuesAreQuorumQueues() {
+        // O broker recusa redeclarar uma fila quorum como clássica (PRECONDITION_FAILED).
+        assertThrows(AmqpException.class, () -> rabbitTemplate.execute(channel ->
+                channel.queueDeclare(TOPOLOGY.queueName(1), true, false, false, Map.of("x-queue-type", "classic"))));
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.compass.ms_notification_management.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetryBackoffTest {
+
+    @Test
+    void testDelays_GrowExponentially() {
+        RetryBackoff backoff = new RetryBackoff(TicketConfirmationTopologyTest.defaultTopology(), Duration.ofSeconds(1), 5, 4);
+
+        assertEquals(4, backoff.maxAttempts());
+        assertEquals(List.of(Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(25), Duration.ofSeconds(125)),
+                backoff.delays());
+        assertEquals("ticket.confirmations.retry.1000ms", backoff.exchangeFor(1));
+        assertEquals("ticket-confirmations.retry.1000ms", backoff.queueFor(1));
+        assertEquals("ticket-confirmations.retry.125000ms", backoff.queueFor(4));
+    }
+
+    @Test
+    void testInvalidConfigurationIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new RetryBackoff(TicketConfirmationTopologyTest.defaultTopology(), Duration.ZERO, 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> new RetryBackoff(TicketConfirmationTopologyTest.defaultTopology(), Duration.ofSeconds(1), 0.5, 3));
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.compass.ms_notification_management.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketConfirmationTopologyTest {
+
+    /**
+     * Mesmos valores de {@code messaging.ticket-confirmations} nos application-*.yml.
+     */
+    public static TicketConfirmationTopology defaultTopology() {
+        return new TicketConfirmationTopology("ticket.confirmations", "ticket-confirmations", 4, "quorum", 10,
+                Duration.ZERO, 0, true, "ticket.confirmations.dlx", "ticket-confirmations.dlq");
+    }
+
+    @Test
+    void testRoutingKey_IsStablePerEvent() {
+        TicketConfirmationTopology topology = defaultTopology();
+
+        assertEquals("ticket.confirmation.2", topology.routingKey("666"));
+        assertEquals("ticket.confirmation.1", topology.routingKey("1"));
+        assertEquals(topology.routingKey("666"), topology.routingKey(new String("666")));
+        assertEquals(List.of("ticket-confirmations.0", "ticket-confirmations.1", "ticket-confirmations.2",
+                "ticket-confirmations.3"), topology.queueNames());
+    }
+
+    @Test
+    void testDeclarables_QuorumPartitionsWithDeadLettering() {
+        Declarables declarables = defaultTopology().declarables();
+
+        assertEquals("ticket.confirmations", declarables.getDeclarablesByType(TopicExchange.class).get(0).getName());
+        assertEquals("ticket.confirmations.dlx", declarables.getDeclarablesByType(FanoutExchange.class).get(0).getName());
+        List<Queue> queues = declarables.getDeclarablesByType(Queue.class);
+        assertEquals(5, queues.size());
+        assertEquals(Map.of("x-queue-type", "quorum"), queues.get(0).getArguments());
+        assertEquals(Map.of(
+                "x-queue-type", "quorum",
+                "x-dead-letter-exchange", "ticket.confirmations.dlx",
+                "x-dead-letter-strategy", "at-least-once",
+                "x-overflow", "reject-publish",
+                "x-delivery-limit", 10,
+                "x-single-active-consumer", true), queues.get(1).getArguments());
+        List<Binding> bindings = declarables.getDeclarablesByType(Binding.class);
+        assertEquals(5, bindings.size());
+        assertTrue(bindings.stream().anyMatch(binding -> binding.getDestination().equals("ticket-confirmations.3")
+                && binding.getRoutingKey().equals("ticket.confirmation.3")));
+    }
+
+    @Test
+    void testDeclarables_ClassicQueuesWithTtlAndMaxLength() {
+        TicketConfirmationTopology topology = new TicketConfirmationTopology("ticket.confirmations", "ticket-confirmations",
+                2, "classic", 10, Duration.ofHours(1), 100_000, false, "ticket.confirmations.dlx", "ticket-confirmations.dlq");
+
+        Queue partition = topology.declarables().getDeclarablesByType(Queue.class).get(1);
+
+        assertEquals(Map.of(
+                "x-dead-letter-exchange", "ticket.confirmations.dlx",
+                "x-message-ttl", 3_600_000,
+                "x-max-length", 100_000L), partition.getArguments());
+    }
+
+    @Test
+    void testInvalidConfigurationIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TicketConfirmationTopology("x", "q", 0, "quorum", 10,
+                Duration.ZERO, 0, true, "dlx", "dlq"));
+        assertThrows(IllegalArgumentException.class, () -> new TicketConfirmationTopology("x", "q", 4, "stream", 10,
+                Duration.ZERO, 0, true, "dlx", "dlq"));
+    }
+}
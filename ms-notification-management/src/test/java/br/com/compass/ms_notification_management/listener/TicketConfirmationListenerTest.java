@@ -0,0 +1,151 @@
+package br.com.compass.ms_notification_management.listener;
+
+import br.com.compass.ms_notification_management.config.TicketQueueMessageConverter;
+import br.com.compass.ms_notification_management.domain.Notification;
+import br.com.compass.ms_notification_management.service.NotificationIdempotencyStore;
+import br.com.compass.ms_notification_management.service.NotificationRenderer;
+import br.com.compass.ms_notification_management.service.NotificationRetryRouter;
+import br.com.compass.ms_notification_management.service.NotificationRetryRouter.FailedMessage;
+import br.com.compass.ms_notification_management.service.sender.NotificationSender;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static br.com.compass.ms_notification_management.service.NotificationRendererTest.confirmation;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class TicketConfirmationListenerTest {
+    @Mock
+    private NotificationIdempotencyStore idempotencyStore;
+
+    @Mock
+    private NotificationSender sender;
+
+    @Mock
+    private NotificationRetryRouter retryRouter;
+
+    @Mock
+    private Channel channel;
+
+    private final TicketQueueMessageConverter converter = new TicketQueueMessageConverter(new SimpleMessageConverter());
+    private SimpleMeterRegistry meterRegistry;
+    private TicketConfirmationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new TicketConfirmationListener(new NotificationRenderer(converter), idempotencyStore, sender,
+                retryRouter, meterRegistry);
+        when(sender.sendAll(anyList())).thenReturn(Map.of());
+    }
+
+    private Message avroMessage(String ticketId, long deliveryTag) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(deliveryTag);
+        properties.setTimestamp(new Date(System.currentTimeMillis() - 200));
+        return converter.toMessage(confirmation(ticketId), properties);
+    }
+
+    @Test
+    void testOnMessages_SendsTheBatchAndAcksItOnce() throws Exception {
+        when(idempotencyStore.claim(any())).thenReturn(new NotificationIdempotencyStore.Claim(Set.of("1", "2"), Set.of(), Set.of()));
+
+        listener.onMessageBatch(List.of(avroMessage("1", 10), avroMessage("2", 11)), channel);
+
+        verify(sender).sendAll(argThat(notifications -> notifications.size() == 2));
+        verify(idempotencyStore).markSent(Set.of("1", "2"));
+        verify(channel).basicAck(11, true);
+        verify(retryRouter).route(List.of());
+        assertEquals(2.0, meterRegistry.counter("notification.messages", "result", "sent").count());
+        assertEquals(2, meterRegistry.get("notification.processing").timer().count());
+        assertEquals(2, meterRegistry.get("notification.consumer.lag").timer().count());
+    }
+
+    @Test
+    void testOnMessages_AlreadySentTicketIsSkipped() throws Exception {
+        when(idempotencyStore.claim(any())).thenReturn(new NotificationIdempotencyStore.Claim(Set.of("2"), Set.of("1"), Set.of()));
+
+        listener.onMessageBatch(List.of(avroMessage("1", 1), avroMessage("2", 2), avroMessage("2", 3)), channel);
+
+        verify(sender).sendAll(argThat(notifications -> notifications.size() == 1
+                && "2".equals(notifications.get(0).getTicketId())));
+        verify(channel).basicAck(3, true);
+        assertEquals(2.0, meterRegistry.counter("notification.messages", "result", "duplicate").count());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testOnMessages_FailuresAreRoutedAndReleased() throws Exception {
+        when(idempotencyStore.claim(any())).thenReturn(new NotificationIdempotencyStore.Claim(Set.of("1", "2"), Set.of(), Set.of("3")));
+        when(sender.sendAll(anyList())).thenReturn(Map.of("2", new RuntimeException("SMTP indisponível")));
+        MessageProperties corrupted = new MessageProperties();
+        corrupted.setContentType(TicketQueueMessageConverter.AVRO_CONTENT_TYPE);
+        corrupted.setDeliveryTag(5);
+
+        listener.onMessageBatch(List.of(avroMessage("1", 1), avroMessage("2", 2), avroMessage("3", 3),
+                new Message(new byte[]{1, 2, 3}, corrupted)), channel);
+
+        verify(idempotencyStore).markSent(Set.of("1"));
+        verify(idempotencyStore).release(Set.of("2"));
+        ArgumentCaptor<List<FailedMessage>> routed = ArgumentCaptor.forClass(List.class);
+        verify(retryRouter).route(routed.capture());
+        assertEquals(3, routed.getValue().size());
+        assertFalse(routed.getValue().get(0).retryable());
+        assertTrue(routed.getValue().stream().filter(failure -> "3".equals(failure.key())).allMatch(FailedMessage::retryable));
+        assertTrue(routed.getValue().stream().filter(failure -> "2".equals(failure.key())).allMatch(FailedMessage::retryable));
+        verify(channel).basicAck(5, true);
+    }
+
+    @Test
+    void testOnMessages_InfrastructureFailureRequeuesTheBatch() throws Exception {
+        when(idempotencyStore.claim(any())).thenThrow(new DataAccessResourceFailureException("Mongo indisponível"));
+
+        listener.onMessageBatch(List.of(avroMessage("1", 7), avroMessage("2", 8)), channel);
+
+        verify(channel).basicNack(8, true, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        verify(sender, never()).sendAll(anyList());
+    }
+
+    @Test
+    void testOnMessages_SenderCrashReleasesTheClaims() throws Exception {
+        when(idempotencyStore.claim(any())).thenReturn(new NotificationIdempotencyStore.Claim(Set.of("1"), Set.of(), Set.of()));
+        when(sender.sendAll(anyList())).thenThrow(new IllegalStateException("Sink fechado"));
+
+        listener.onMessageBatch(List.of(avroMessage("1", 1)), channel);
+
+        verify(idempotencyStore).release(Set.of("1"));
+        verify(channel).basicNack(1, true, true);
+    }
+
+    @Test
+    void testOnMessages_LegacyTextIsDelivered() throws Exception {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId("outbox-9");
+        properties.setDeliveryTag(4);
+        Message legacy = converter.toMessage("🎉 Ei Fulano, seu ingresso está confirmado!", properties);
+        when(idempotencyStore.claim(any())).thenReturn(new NotificationIdempotencyStore.Claim(Set.of("message:outbox-9"), Set.of(), Set.of()));
+
+        listener.onMessageBatch(List.of(legacy), channel);
+
+        verify(sender).sendAll(argThat((List<Notification> notifications) ->
+                "🎉 Ei Fulano, seu ingresso está confirmado!".equals(notifications.get(0).getBody())));
+        verify(channel).basicAck(4, true);
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.compass.ms_notification_management.service;
+
+import br.com.compass.ms_notification_management.domain.ProcessedNotification;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class NotificationIdempotencyStoreTest {
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private NotificationIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProcessedNotification.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        store = new NotificationIdempotencyStore(mongoTemplate, Duration.ofSeconds(30), Duration.ofDays(7));
+    }
+
+    private static BulkOperationException duplicateKeys(int... indexes) {
+        List<BulkWriteError> errors = Arrays.stream(indexes)
+                .mapToObj(index -> new BulkWriteError(NotificationIdempotencyStore.DUPLICATE_KEY, "E11000 duplicate key", new BsonDocument(), index))
+                .toList();
+        return new BulkOperationException("duplicate key", new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()), errors, null, new ServerAddress(), Set.of()));
+    }
+
+    @Test
+    void testClaim_NewKeysAreClaimedWithOneBulkInsert() {
+        NotificationIdempotencyStore.Claim claim = store.claim(List.of("1", "2", "1"));
+
+        assertEquals(Set.of("1", "2"), claim.claimed());
+        assertTrue(claim.alreadySent().isEmpty());
+        verify(bulkOperations).insert(argThat((List<?> documents) -> documents.size() == 2));
+        verify(bulkOperations, times(1)).execute();
+        verify(mongoTemplate, never()).find(any(Query.class), eq(ProcessedNotification.class));
+    }
+
+    @Test
+    void testClaim_SeparatesSentInFlightAndExpiredClaims() {
+        when(bulkOperations.execute()).thenThrow(duplicateKeys(1, 2, 3));
+        Instant past = Instant.now().minusSeconds(60);
+        Instant future = Instant.now().plusSeconds(60);
+        when(mongoTemplate.find(any(Query.class), eq(ProcessedNotification.class))).thenReturn(List.of(
+                ProcessedNotification.builder().id("2").status(ProcessedNotification.Status.SENT).claimedUntil(past).build(),
+                ProcessedNotification.builder().id("3").status(ProcessedNotification.Status.PENDING).claimedUntil(future).build(),
+                ProcessedNotification.builder().id("4").status(ProcessedNotification.Status.PENDING).claimedUntil(past).build()));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ProcessedNotification.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        NotificationIdempotencyStore.Claim claim = store.claim(List.of("1", "2", "3", "4"));
+
+        assertEquals(Set.of("1", "4"), claim.claimed());
+        assertEquals(Set.of("2"), claim.alreadySent());
+        assertEquals(Set.of("3"), claim.inFlight());
+    }
+
+    @Test
+    void testClaim_OtherWriteErrorsAreNotSwallowed() {
+        BulkOperationException failure = new BulkOperationException("write failed", new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()),
+                List.of(new BulkWriteError(121, "Document failed validation", new BsonDocument(), 0)),
+                null, new ServerAddress(), Set.of()));
+        when(bulkOperations.execute()).thenThrow(failure);
+
+        assertThrows(BulkOperationException.class, () -> store.claim(List.of("1")));
+    }
+
+    @Test
+    void testMarkSentAndRelease_IgnoreEmptyBatches() {
+        store.markSent(List.of());
+        store.release(Set.of());
+
+        verifyNoInteractions(mongoTemplate);
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.compass.ms_notification_management.service;
+
+import br.com.compass.ms_notification_management.config.TicketQueueMessageConverter;
+import br.com.compass.ms_notification_management.domain.Notification;
+import br.com.compass.ms_notification_management.dto.TicketConfirmationMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NotificationRendererTest {
+
+    private final TicketQueueMessageConverter converter = new TicketQueueMessageConverter(new SimpleMessageConverter());
+    private final NotificationRenderer renderer = new NotificationRenderer(converter);
+
+    public static TicketConfirmationMessage confirmation(String ticketId) {
+        return TicketConfirmationMessage.builder()
+                .ticketId(ticketId)
+                .eventId("666")
+                .customer(TicketConfirmationMessage.Customer.builder()
+                        .name("Fulano").cpf("12345678901").email("fulano@email.com").build())
+                .brlAmount(100.0)
+                .usdAmount(20.0)
+                .event(TicketConfirmationMessage.Event.builder()
+                        .eventName("Show da Banda Quarto 666").dateTime("2025-12-25T20:00:00")
+                        .logradouro("Rua Fulano").bairro("Bairro Tal").cidade("Cidade FloriTest").uf("FT").build())
+                .createdAt(Instant.parse("2025-01-10T12:00:00Z"))
+                .build();
+    }
+
+    @Test
+    void testRender_AvroConfirmationUsesTheTicketTemplate() {
+        Message message = converter.toMessage(confirmation("7"), new MessageProperties());
+
+        Notification notification = renderer.render(message);
+
+        assertEquals("7", notification.getIdempotencyKey());
+        assertEquals("fulano@email.com", notification.getRecipient());
+        assertEquals("Ingresso confirmado: Show da Banda Quarto 666", notification.getSubject());
+        assertEquals("🎉 Ei Fulano, seu ingresso está confirmado! 🎟️\nDetalhes:\n🎤 Evento: Show da Banda Quarto 666"
+                + "\n📅 Data: 2025-12-25T20:00:00\n📍 Local: Rua Fulano, Bairro Tal - Cidade FloriTest/FT"
+                + "\n💰 Valor: R$\u00a0100,00 (ou $20.00)\n\nAproveite o show e não esqueça de contar pros amigos! 🤩",
+                notification.getBody());
+        assertEquals(Instant.parse("2025-01-10T12:00:00Z"), notification.getCreatedAt());
+    }
+
+    @Test
+    void testRender_LegacyTextIsKeyedByMessageId() {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId("outbox-1");
+        properties.setTimestamp(Date.from(Instant.parse("2025-01-10T12:00:00Z")));
+        Message message = converter.toMessage("🎉 Ei Fulano, seu ingresso está confirmado!", properties);
+
+        Notification notification = renderer.render(message);
+
+        assertEquals("message:outbox-1", notification.getIdempotencyKey());
+        assertNull(notification.getRecipient());
+        assertEquals("🎉 Ei Fulano, seu ingresso está confirmado!", notification.getBody());
+        assertEquals(Instant.parse("2025-01-10T12:00:00Z"), notification.getCreatedAt());
+    }
+
+    @Test
+    void testRender_CorruptedAvroIsRejected() {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(TicketQueueMessageConverter.AVRO_CONTENT_TYPE);
+
+        assertThrows(MessageConversionException.class, () -> renderer.render(new Message(new byte[]{1, 2, 3}, properties)));
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.compass.ms_notification_management.service;
+
+import br.com.compass.ms_notification_management.config.RabbitMQConfig;
+import br.com.compass.ms_notification_management.config.RetryBackoff;
+import br.com.compass.ms_notification_management.config.TicketConfirmationTopology;
+import br.com.compass.ms_notification_management.config.TicketConfirmationTopologyTest;
+import br.com.compass.ms_notification_management.exception.NotificationDeliveryException;
+import br.com.compass.ms_notification_management.service.NotificationRetryRouter.FailedMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class NotificationRetryRouterTest {
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private RabbitOperations operations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationRetryRouter retryRouter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        TicketConfirmationTopology topology = TicketConfirmationTopologyTest.defaultTopology();
+        retryRouter = new NotificationRetryRouter(rabbitTemplate, new RetryBackoff(topology, Duration.ofSeconds(1), 5, 2),
+                topology, meterRegistry, Duration.ofSeconds(5));
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operations));
+    }
+
+    private static Message message(Integer retryCount) {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId("outbox-1");
+        properties.setReceivedRoutingKey("ticket.confirmation.2");
+        if (retryCount != null) {
+            properties.setHeader(RabbitMQConfig.RETRY_COUNT_HEADER, retryCount);
+        }
+        return new Message("Oi".getBytes(), properties);
+    }
+
+    @Test
+    void testRoute_RetryableFailureGoesToNextRetryQueue() {
+        retryRouter.route(List.of(FailedMessage.of(message(1), "7", new RuntimeException("SMTP indisponível"))));
+
+        ArgumentCaptor<Message> sent = ArgumentCaptor.forClass(Message.class);
+        verify(operations).send(eq("ticket.confirmations.retry.5000ms"), eq("ticket.confirmation.2"), sent.capture());
+        verify(operations).waitForConfirmsOrDie(5000);
+        assertEquals(2, (Integer) sent.getValue().getMessageProperties().getHeader(RabbitMQConfig.RETRY_COUNT_HEADER));
+        assertEquals("SMTP indisponível", sent.getValue().getMessageProperties().getHeader(RabbitMQConfig.FAILURE_REASON_HEADER));
+        assertEquals("outbox-1", sent.getValue().getMessageProperties().getMessageId());
+        assertEquals(1.0, meterRegistry.counter("notification.messages", "result", "retried").count());
+    }
+
+    @Test
+    void testRoute_ExhaustedAttemptsGoToDeadLetterQueue() {
+        retryRouter.route(List.of(FailedMessage.of(message(2), "7", new RuntimeException("SMTP indisponível"))));
+
+        verify(operations).send(eq("ticket.confirmations.dlx"), eq("ticket.confirmation.2"), any(Message.class));
+        assertEquals(1.0, meterRegistry.counter("notification.messages", "result", "dead_lettered").count());
+    }
+
+    @Test
+    void testRoute_NonRetryableFailureSkipsRetries() {
+        retryRouter.route(List.of(FailedMessage.of(message(null), "7",
+                new NotificationDeliveryException("Notificação 7 sem destinatário", false))));
+
+        verify(operations).send(eq("ticket.confirmations.dlx"), eq("ticket.confirmation.2"), any(Message.class));
+        verify(operations, never()).send(startsWith("ticket.confirmations.retry"), anyString(), any(Message.class));
+    }
+
+    @Test
+    void testRoute_LegacyQueueMessagesKeepTheirRoutingKey() {
+        Message legacy = new Message("Oi".getBytes(), new MessageProperties());
+
+        retryRouter.route(List.of(FailedMessage.of(legacy, "message:1", new RuntimeException("SMTP indisponível"))));
+
+        verify(operations).send(eq("ticket.confirmations.retry.1000ms"), eq("ticket-queue"), any(Message.class));
+    }
+
+    @Test
+    void testRoute_NothingToRouteDoesNotTouchTheBroker() {
+        retryRouter.route(List.of());
+
+        verifyNoInteractions(rabbitTemplate);
+    }
+}
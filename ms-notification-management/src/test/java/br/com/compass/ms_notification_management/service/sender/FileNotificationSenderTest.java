@@ -0,0 +1,43 @@
+package br.com.compass.ms_notification_management.service.sender;
+
+import br.com.compass.ms_notification_management.domain.Notification;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileNotificationSenderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSendAll_WritesOneJsonLinePerNotification() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        Path path = tempDir.resolve("sink/notifications.jsonl");
+        FileNotificationSender sender = new FileNotificationSender(objectMapper, path);
+
+        var failures = sender.sendAll(List.of(
+                Notification.builder().idempotencyKey("1").recipient("a@email.com").subject("S").body("linha 1\nlinha 2")
+                        .createdAt(Instant.parse("2025-01-10T12:00:00Z")).build(),
+                Notification.builder().idempotencyKey("2").recipient("b@email.com").subject("S").body("Oi").build()));
+        sender.send(Notification.builder().idempotencyKey("3").body("Legado").build());
+        sender.close();
+
+        assertTrue(failures.isEmpty());
+        List<String> lines = Files.readAllLines(path);
+        assertEquals(3, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals("a@email.com", first.get("recipient").asText());
+        assertEquals("linha 1\nlinha 2", first.get("body").asText());
+        assertEquals("3", objectMapper.readTree(lines.get(2)).get("idempotencyKey").asText());
+    }
+}
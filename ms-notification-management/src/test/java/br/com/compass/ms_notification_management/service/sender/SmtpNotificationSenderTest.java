@@ -0,0 +1,73 @@
+package br.com.compass.ms_notification_management.service.sender;
+
+import br.com.compass.ms_notification_management.domain.Notification;
+import br.com.compass.ms_notification_management.exception.NotificationDeliveryException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class SmtpNotificationSenderTest {
+    @Mock
+    private JavaMailSender mailSender;
+
+    private SmtpNotificationSender sender;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        sender = new SmtpNotificationSender(mailSender, "no-reply@compass.com.br");
+    }
+
+    private static Notification notification(String key, String recipient) {
+        return Notification.builder().idempotencyKey(key).recipient(recipient).subject("Assunto").body("Corpo").build();
+    }
+
+    @Test
+    void testSendAll_SendsTheWholeBatchInOneCall() {
+        Map<String, RuntimeException> failures = sender.sendAll(List.of(
+                notification("1", "a@email.com"), notification("2", "b@email.com")));
+
+        ArgumentCaptor<SimpleMailMessage[]> sent = ArgumentCaptor.forClass(SimpleMailMessage[].class);
+        verify(mailSender, times(1)).send(sent.capture());
+        assertTrue(failures.isEmpty());
+        assertEquals(2, sent.getValue().length);
+        assertArrayEquals(new String[]{"a@email.com"}, sent.getValue()[0].getTo());
+        assertEquals("no-reply@compass.com.br", sent.getValue()[0].getFrom());
+    }
+
+    @Test
+    void testSendAll_ReportsOnlyTheMessagesThatFailed() {
+        doAnswer(invocation -> {
+            Object[] messages = invocation.getArguments();
+            SimpleMailMessage rejected = (SimpleMailMessage) messages[1];
+            throw new MailSendException(Map.of(rejected, new Exception("550 mailbox unavailable")));
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        Map<String, RuntimeException> failures = sender.sendAll(List.of(
+                notification("1", "a@email.com"), notification("2", "b@email.com")));
+
+        assertEquals(1, failures.size());
+        assertTrue(failures.values().iterator().next().getMessage().contains("550 mailbox unavailable"));
+    }
+
+    @Test
+    void testSendAll_MissingRecipientIsNotRetryable() {
+        Map<String, RuntimeException> failures = sender.sendAll(List.of(notification("message:outbox-1", null)));
+
+        NotificationDeliveryException failure = (NotificationDeliveryException) failures.get("message:outbox-1");
+        assertFalse(failure.isRetryable());
+        verifyNoInteractions(mailSender);
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.compass.ms_ticket_management.config;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da instrumentação por chamada no registry do Prometheus, com e sem o histograma de percentis
+ * configurado no application.yml (1ms a 10s): o método sem medição, o {@code Timer} chamado direto, o
+ * {@code @Timed} aplicado pelo {@link TimedAspect} num proxy e o contador {@code api.errors} registrado
+ * a cada erro pelo {@code GlobalExceptionHandler}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObservabilityOverheadBenchmark {
+
+    @Param({"false", "true"})
+    private boolean histogram;
+
+    private PrometheusMeterRegistry registry;
+    private TicketIds direct;
+    private TicketIds timed;
+    private Timer timer;
+    private long id;
+
+    @Setup
+    public void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id meterId, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(histogram)
+                        .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(10).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        });
+        direct = new TicketIds();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new TicketIds());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new TimedAspect(registry));
+        timed = proxyFactory.getProxy();
+        timer = Timer.builder("service.calls").tag("class", "TicketIds").tag("method", "format").register(registry);
+    }
+
+    @Benchmark
+    public String baseline() {
+        return direct.format(++id);
+    }
+
+    @Benchmark
+    public String timerRecord() {
+        return timer.record(() -> direct.format(++id));
+    }
+
+    @Benchmark
+    public String timedAspect() {
+        return timed.format(++id);
+    }
+
+    @Benchmark
+    public Counter errorCounter() {
+        Counter counter = Counter.builder("api.errors")
+                .description("Erros respondidos pela API, por resultado e exceção")
+                .tag("outcome", "not_found")
+                .tag("exception", "TicketNotFoundException")
+                .register(registry);
+        counter.increment();
+        return counter;
+    }
+
+    @Timed("service.calls")
+    public static class TicketIds {
+        public String format(long id) {
+            return Long.toString(id);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.compass.ms_ticket_management.config;
+
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.service.TicketMessageFormatter;
+import br.com.compass.ms_ticket_management.service.TicketQueuePayloadFactory;
+import br.com.compass.ms_ticket_management.web.dto.EventResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização e leitura da confirmação de compra na ticket-queue: texto renderizado (legado) contra a
+ * mensagem estruturada em Avro. O tamanho de cada payload é impresso ao final da execução.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TicketQueuePayloadBenchmark {
+
+    private final TicketQueueMessageConverter converter = new TicketQueueMessageConverter(new SimpleMessageConverter());
+    private Object textPayload;
+    private Object avroPayload;
+    private Message textMessage;
+    private Message avroMessage;
+
+    @Setup
+    public void setUp() {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId("789");
+        ticket.setEventId("6771a3f5c2b1e24d8f0a1b2c");
+        ticket.setCustomerName("João da Silva");
+        ticket.setCpf("12345678900");
+        ticket.setCustomerMail("joao@email.com");
+        ticket.setBrlAmount(1234.56);
+        ticket.setUsdAmount(246.91);
+        EventResponse event = EventResponse.builder()
+                .id("6771a3f5c2b1e24d8f0a1b2c")
+                .eventName("Show da Banda Quarto 666")
+                .dateTime("2024-12-30T21:00:00")
+                .logradouro("Rua Fulano")
+                .bairro("Bairro Tal")
+                .cidade("Cidade Catumbi")
+                .uf("CI")
+                .build();
+        TicketMessageFormatter formatter = new TicketMessageFormatter();
+        String brl = formatter.formatBrl(ticket.getBrlAmount());
+        String usd = formatter.formatUsd(ticket.getUsdAmount());
+        textPayload = new TicketQueuePayloadFactory(formatter, TicketQueuePayloadFactory.Format.TEXT)
+                .create(ticket, event, brl, usd);
+        avroPayload = new TicketQueuePayloadFactory(formatter, TicketQueuePayloadFactory.Format.AVRO)
+                .create(ticket, event, brl, usd);
+        textMessage = serializeText();
+        avroMessage = serializeAvro();
+    }
+
+    @TearDown
+    public void printPayloadSizes() {
+        System.out.printf("%nTamanho do payload: texto = %d bytes, Avro = %d bytes%n",
+                textMessage.getBody().length, avroMessage.getBody().length);
+    }
+
+    @Benchmark
+    public Message serializeText() {
+        return converter.toMessage(textPayload, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message serializeAvro() {
+        return converter.toMessage(avroPayload, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object deserializeText() {
+        return converter.fromMessage(textMessage);
+    }
+
+    @Benchmark
+    public Object deserializeAvro() {
+        return converter.fromMessage(avroMessage);
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.compass.ms_ticket_management.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de agendar, cancelar e vencer reservas com o wheel já carregado com {@code activeHolds} reservas
+ * espalhadas pelos próximos 5 minutos. Com o timing wheel, o custo por operação não deve crescer com o
+ * número de reservas ativas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HoldExpiryWheelBenchmark {
+
+    private static final long HOLD_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    @Param({"10000", "300000"})
+    private int activeHolds;
+
+    private HoldExpiryWheel wheel;
+    private long now;
+    private long sequence;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        now = 0;
+        sequence = 0;
+        wheel = new HoldExpiryWheel(1000, 64, 4, now);
+        for (int i = 0; i < activeHolds; i++) {
+            wheel.schedule("carga-" + i, now + ThreadLocalRandom.current().nextLong(1, HOLD_MILLIS));
+        }
+    }
+
+    /**
+     * Uma reserva nova e uma confirmação, mantendo o número de reservas ativas estável.
+     */
+    @Benchmark
+    public boolean scheduleAndCancel() {
+        String id = "hold-" + sequence++;
+        wheel.schedule(id, now + HOLD_MILLIS);
+        return wheel.cancel(id);
+    }
+
+    /**
+     * Um tick de 1 s; em regime, vence {@code activeHolds / 300} reservas por tick, que são repostas para
+     * manter a carga.
+     */
+    @Benchmark
+    public int tick() {
+        now += 1000;
+        int expired = 0;
+        for (String id : wheel.advance(now)) {
+            wheel.schedule(id, now + HOLD_MILLIS);
+            expired++;
+        }
+        return expired;
+    }
+}
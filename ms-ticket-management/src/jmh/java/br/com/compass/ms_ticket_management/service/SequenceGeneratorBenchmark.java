@@ -0,0 +1,74 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.config.database.DatabaseSequence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Geração de IDs de ticket contra um contador em memória no lugar do Mongo. Sem a latência de rede,
+ * o resultado mostra apenas o custo do lado da aplicação (montagem da query/update e mapeamento) e
+ * quanto o alocador hi/lo economiza ao reservar blocos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SequenceGeneratorBenchmark {
+
+    @Param({"1", "50"})
+    private int blockSize;
+
+    private SequenceGeneratorService sequenceGeneratorService;
+    private TicketIdAllocator ticketIdAllocator;
+
+    @Setup
+    public void setUp() {
+        sequenceGeneratorService = new SequenceGeneratorService();
+        ReflectionTestUtils.setField(sequenceGeneratorService, "mongoOperations", inMemoryCounters());
+        ticketIdAllocator = new TicketIdAllocator(sequenceGeneratorService, new SimpleMeterRegistry(), blockSize);
+    }
+
+    @Benchmark
+    public long reserveBlock() {
+        return sequenceGeneratorService.reserveBlock(TicketIdAllocator.SEQUENCE_NAME, blockSize);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long allocatorNextId() {
+        return ticketIdAllocator.nextId();
+    }
+
+    private static MongoOperations inMemoryCounters() {
+        Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+        return (MongoOperations) Proxy.newProxyInstance(MongoOperations.class.getClassLoader(),
+                new Class<?>[]{MongoOperations.class}, (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.invoke(counters, args);
+                    }
+                    if (!method.getName().equals("findAndModify") || args.length != 4) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    String id = ((Query) args[0]).getQueryObject().getString("id");
+                    Document inc = ((UpdateDefinition) args[1]).getUpdateObject().get("$inc", Document.class);
+                    DatabaseSequence sequence = new DatabaseSequence();
+                    sequence.setId(id);
+                    sequence.setSequenceValue(counters.computeIfAbsent(id, key -> new AtomicLong())
+                            .addAndGet(((Number) inc.get("sequenceValue")).longValue()));
+                    return sequence;
+                });
+    }
+}
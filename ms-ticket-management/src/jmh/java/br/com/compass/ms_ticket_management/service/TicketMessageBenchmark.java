@@ -0,0 +1,105 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.web.dto.EventResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatação dos valores e montagem da mensagem enviada à fila a cada compra de ingresso: a implementação
+ * original ({@link NumberFormat} + {@code String.format}) comparada ao {@link TicketMessageFormatter}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TicketMessageBenchmark {
+
+    private static final String ORIGINAL_TEMPLATE = "🎉 Ei %s, seu ingresso está confirmado! 🎟️\n" +
+            "Detalhes:\n" +
+            "🎤 Evento: %s\n" +
+            "📅 Data: %s\n" +
+            "📍 Local: %s, %s - %s/%s\n" +
+            "💰 Valor: %s (ou %s)\n\n" +
+            "Aproveite o show e não esqueça de contar pros amigos! 🤩";
+
+    private final TicketMessageFormatter formatter = new TicketMessageFormatter();
+    private Ticket ticket;
+    private EventResponse event;
+    private String brlAmount;
+    private String usdAmount;
+
+    @Setup
+    public void setUp() {
+        ticket = new Ticket();
+        ticket.setTicketId("789");
+        ticket.setEventId("666");
+        ticket.setCustomerName("João da Silva");
+        ticket.setCpf("12345678900");
+        ticket.setCustomerMail("joao@email.com");
+        ticket.setBrlAmount(1234.56);
+        ticket.setUsdAmount(246.91);
+        event = EventResponse.builder()
+                .id("666")
+                .eventName("Show da Banda Quarto 666")
+                .dateTime("2024-12-30T21:00:00")
+                .logradouro("Rua Fulano")
+                .bairro("Bairro Tal")
+                .cidade("Cidade Catumbi")
+                .uf("CI")
+                .build();
+        brlAmount = baselineFormatBrl();
+        usdAmount = baselineFormatUsd();
+    }
+
+    @Benchmark
+    public String baselineFormatBrl() {
+        return NumberFormat.getCurrencyInstance(new Locale("pt", "BR")).format(ticket.getBrlAmount());
+    }
+
+    @Benchmark
+    public String baselineFormatUsd() {
+        return NumberFormat.getCurrencyInstance(Locale.US).format(ticket.getUsdAmount());
+    }
+
+    @Benchmark
+    public String baselineMessage() {
+        return baselineMessage(brlAmount, usdAmount);
+    }
+
+    @Benchmark
+    public String baselineFormatAndMessage() {
+        return baselineMessage(baselineFormatBrl(), baselineFormatUsd());
+    }
+
+    @Benchmark
+    public String formatterFormatBrl() {
+        return formatter.formatBrl(ticket.getBrlAmount());
+    }
+
+    @Benchmark
+    public String formatterFormatUsd() {
+        return formatter.formatUsd(ticket.getUsdAmount());
+    }
+
+    @Benchmark
+    public String formatterMessage() {
+        return formatter.confirmationMessage(ticket, event, brlAmount, usdAmount);
+    }
+
+    @Benchmark
+    public String formatterFormatAndMessage() {
+        return formatter.confirmationMessage(ticket, event,
+                formatter.formatBrl(ticket.getBrlAmount()), formatter.formatUsd(ticket.getUsdAmount()));
+    }
+
+    private String baselineMessage(String brl, String usd) {
+        return String.format(ORIGINAL_TEMPLATE, ticket.getCustomerName(), event.getEventName(), event.getDateTime(),
+                event.getLogradouro(), event.getBairro(), event.getCidade(), event.getUf(), brl, usd);
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.compass.ms_ticket_management.web.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização das respostas de compra com o mesmo {@link ObjectMapper} configurado pelo Spring.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TicketResponseJsonBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private TicketResponse ticket;
+
+    @State(Scope.Benchmark)
+    public static class Batch {
+        @Param({"100", "5000"})
+        private int size;
+
+        private TicketBatchResponse response;
+
+        @Setup
+        public void setUp() {
+            List<TicketBatchResponse.Item> results = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                results.add(TicketBatchResponse.Item.builder()
+                        .index(i)
+                        .status(TicketBatchResponse.CREATED)
+                        .ticket(ticket(i))
+                        .build());
+            }
+            response = TicketBatchResponse.builder()
+                    .requested(size)
+                    .created(size)
+                    .failed(0)
+                    .results(results)
+                    .build();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        ticket = ticket(1);
+    }
+
+    @Benchmark
+    public byte[] serializeTicket() throws Exception {
+        return objectMapper.writeValueAsBytes(ticket);
+    }
+
+    @Benchmark
+    public byte[] serializeBatch(Batch batch) throws Exception {
+        return objectMapper.writeValueAsBytes(batch.response);
+    }
+
+    static TicketResponse ticket(int id) {
+        return TicketResponse.builder()
+                .ticketId(String.valueOf(id))
+                .cpf("12345678900")
+                .customerName("João da Silva")
+                .customerMail("joao@email.com")
+                .event(TicketResponse.Event.builder()
+                        .eventId("666")
+                        .eventName("Show da Banda Quarto 666")
+                        .eventDateTime("2024-12-30T21:00:00")
+                        .logradouro("Rua Fulano")
+                        .bairro("Bairro Tal")
+                        .cidade("Cidade Catumbi")
+                        .uf("CI")
+                        .build())
+                .brlTotalAmount("R$ 1.234,56")
+                .usdTotalAmount("$246.91")
+                .status("Concluído")
+                .build();
+    }
+}
@@ -1,15 +1,42 @@
 package br.com.compass.ms_ticket_management.config;
 
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class RabbitMQConfig {
+    public static final String TICKET_EVENTS_EXCHANGE = "ticket.events";
+    public static final String TICKET_CREATED_ROUTING_KEY = "ticket.created";
+    public static final String TICKET_CANCELLED_ROUTING_KEY = "ticket.cancelled";
+
     private final String queueName = "ticket-queue";
 
+    /**
+     * Fila antiga das confirmações. Não recebe mais publicações novas, mas continua declarada para que as
+     * mensagens ainda pendentes no outbox sejam entregues e drenadas pelo ms-notification-management.
+     */
     @Bean
     public Queue ticketQueue() {
         return new Queue(queueName, true);
     }
+
+    @Bean
+    public Declarables ticketConfirmationDeclarables(TicketConfirmationTopology topology) {
+        return topology.declarables();
+    }
+
+    @Bean
+    public TopicExchange ticketEventsExchange() {
+        return new TopicExchange(TICKET_EVENTS_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public MessageConverter ticketQueueMessageConverter() {
+        return new TicketQueueMessageConverter(new SimpleMessageConverter());
+    }
 }
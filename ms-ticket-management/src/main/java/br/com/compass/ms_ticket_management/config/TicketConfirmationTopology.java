@@ -0,0 +1,55 @@
+package br.com.compass.ms_ticket_management.config;
+
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lado produtor da topologia das confirmações de compra: exchange topic e routing key
+ * {@code ticket.confirmation.<partição>}, com partição {@code hash(eventId) mod N}, então as confirmações de um
+ * mesmo evento vão sempre para a mesma fila e mantêm a ordem. As filas particionadas, a DLQ e os bindings são
+ * declarados só pelo consumidor (ms-notification-management), dono da topologia; aqui só a exchange, para que
+ * a publicação não falhe se o produtor subir antes. {@code partitions} precisa ser igual nos dois serviços.
+ */
+@Component
+public class TicketConfirmationTopology {
+
+    public static final String ROUTING_KEY_PREFIX = "ticket.confirmation.";
+
+    private final String exchange;
+    private final int partitions;
+
+    public TicketConfirmationTopology(@Value("${messaging.ticket-confirmations.exchange:ticket.confirmations}") String exchange,
+                                      @Value("${messaging.ticket-confirmations.partitions:4}") int partitions) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("messaging.ticket-confirmations.partitions deve ser pelo menos 1");
+        }
+        this.exchange = exchange;
+        this.partitions = partitions;
+    }
+
+    public String exchange() {
+        return exchange;
+    }
+
+    public int partitions() {
+        return partitions;
+    }
+
+    /**
+     * {@link String#hashCode()} é definido pela especificação da linguagem, então a partição de um evento é a
+     * mesma em qualquer instância e versão da JVM.
+     */
+    public int partition(String eventId) {
+        return Math.floorMod(eventId.hashCode(), partitions);
+    }
+
+    public String routingKey(String eventId) {
+        return ROUTING_KEY_PREFIX + partition(eventId);
+    }
+
+    public Declarables declarables() {
+        return new Declarables(new TopicExchange(exchange, true, false));
+    }
+}
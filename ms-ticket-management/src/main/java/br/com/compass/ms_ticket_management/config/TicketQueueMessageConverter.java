@@ -0,0 +1,136 @@
+package br.com.compass.ms_ticket_management.config;
+
+import br.com.compass.ms_ticket_management.web.dto.TicketConfirmationMessage;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+
+/**
+ * Converte as confirmações de compra da ticket-queue. {@link TicketConfirmationMessage} é serializada em
+ * Avro no formato "single object encoding" (o corpo carrega o fingerprint do schema, então consumidores
+ * conseguem resolver versões antigas e novas do schema). Os demais payloads, incluindo o texto legado,
+ * continuam com o conversor padrão. Na leitura, o formato é escolhido pelo content-type da mensagem.
+ */
+public class TicketQueueMessageConverter implements MessageConverter {
+
+    public static final String AVRO_CONTENT_TYPE = "application/avro";
+    public static final Schema SCHEMA = loadSchema("avro/ticket-confirmation.avsc");
+
+    private static final Schema CUSTOMER_SCHEMA = SCHEMA.getField("customer").schema();
+    private static final Schema EVENT_SCHEMA = SCHEMA.getField("event").schema();
+
+    private final MessageConverter legacyConverter;
+    private final BinaryMessageEncoder<GenericRecord> encoder = new BinaryMessageEncoder<>(GenericData.get(), SCHEMA);
+    private final BinaryMessageDecoder<GenericRecord> decoder = new BinaryMessageDecoder<>(GenericData.get(), SCHEMA);
+
+    public TicketQueueMessageConverter(MessageConverter legacyConverter) {
+        this.legacyConverter = legacyConverter;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        if (!(object instanceof TicketConfirmationMessage confirmation)) {
+            return legacyConverter.toMessage(object, messageProperties);
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        try {
+            encoder.encode(toRecord(confirmation), body);
+        } catch (IOException ex) {
+            throw new MessageConversionException("Não foi possível serializar a confirmação do ticket " + confirmation.getTicketId(), ex);
+        }
+        messageProperties.setContentType(AVRO_CONTENT_TYPE);
+        messageProperties.setContentLength(body.size());
+        return new Message(body.toByteArray(), messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        if (!AVRO_CONTENT_TYPE.equals(message.getMessageProperties().getContentType())) {
+            return legacyConverter.fromMessage(message);
+        }
+        try {
+            return fromRecord(decoder.decode(message.getBody()));
+        } catch (IOException ex) {
+            throw new MessageConversionException("Não foi possível ler a confirmação de ticket em Avro", ex);
+        }
+    }
+
+    private static GenericRecord toRecord(TicketConfirmationMessage confirmation) {
+        GenericRecord customer = new GenericData.Record(CUSTOMER_SCHEMA);
+        if (confirmation.getCustomer() != null) {
+            customer.put("name", confirmation.getCustomer().getName());
+            customer.put("cpf", confirmation.getCustomer().getCpf());
+            customer.put("email", confirmation.getCustomer().getEmail());
+        }
+        GenericRecord event = new GenericData.Record(EVENT_SCHEMA);
+        if (confirmation.getEvent() != null) {
+            event.put("eventName", confirmation.getEvent().getEventName());
+            event.put("dateTime", confirmation.getEvent().getDateTime());
+            event.put("logradouro", confirmation.getEvent().getLogradouro());
+            event.put("bairro", confirmation.getEvent().getBairro());
+            event.put("cidade", confirmation.getEvent().getCidade());
+            event.put("uf", confirmation.getEvent().getUf());
+        }
+        GenericRecord record = new GenericData.Record(SCHEMA);
+        record.put("ticketId", confirmation.getTicketId());
+        record.put("eventId", confirmation.getEventId());
+        record.put("customer", customer);
+        record.put("brlAmount", confirmation.getBrlAmount());
+        record.put("usdAmount", confirmation.getUsdAmount());
+        record.put("event", event);
+        record.put("createdAt", confirmation.getCreatedAt().toEpochMilli());
+        return record;
+    }
+
+    private static TicketConfirmationMessage fromRecord(GenericRecord record) {
+        GenericRecord customer = (GenericRecord) record.get("customer");
+        GenericRecord event = (GenericRecord) record.get("event");
+        return TicketConfirmationMessage.builder()
+                .ticketId(string(record.get("ticketId")))
+                .eventId(string(record.get("eventId")))
+                .customer(TicketConfirmationMessage.Customer.builder()
+                        .name(string(customer.get("name")))
+                        .cpf(string(customer.get("cpf")))
+                        .email(string(customer.get("email")))
+                        .build())
+                .brlAmount((Double) record.get("brlAmount"))
+                .usdAmount((Double) record.get("usdAmount"))
+                .event(TicketConfirmationMessage.Event.builder()
+                        .eventName(string(event.get("eventName")))
+                        .dateTime(string(event.get("dateTime")))
+                        .logradouro(string(event.get("logradouro")))
+                        .bairro(string(event.get("bairro")))
+                        .cidade(string(event.get("cidade")))
+                        .uf(string(event.get("uf")))
+                        .build())
+                .createdAt(Instant.ofEpochMilli((Long) record.get("createdAt")))
+                .build();
+    }
+
+    private static String string(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static Schema loadSchema(String path) {
+        try (InputStream schema = TicketQueueMessageConverter.class.getClassLoader().getResourceAsStream(path)) {
+            if (schema == null) {
+                throw new IllegalStateException("Schema Avro não encontrado: " + path);
+            }
+            return new Schema.Parser().parse(schema);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package br.com.compass.ms_ticket_management.config.database;
+
+import br.com.compass.ms_ticket_management.domain.IdempotencyRecord;
+import br.com.compass.ms_ticket_management.domain.OutboxMessage;
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.domain.TicketHold;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Cria na inicialização os índices declarados nos documentos (a criação automática do Spring Data
+ * fica desligada) e confere, via explain, se as consultas críticas do serviço usam índice.
+ * Com {@code mongo.indexes.verification=fail} a aplicação não sobe se alguma consulta fizer COLLSCAN.
+ */
+@Slf4j
+@Component
+public class MongoIndexInitializer {
+
+    static final List<Class<?>> INDEXED_DOCUMENTS = List.of(Ticket.class, OutboxMessage.class, TicketHold.class, IdempotencyRecord.class);
+
+    static final List<CriticalQuery> CRITICAL_QUERIES = List.of(
+            new CriticalQuery("tickets.existsByEventId", "tickets",
+                    new Document("eventId", "index-check"), null),
+            new CriticalQuery("tickets.byEventIdAndStatus", "tickets",
+                    new Document("eventId", "index-check").append("status", "Concluído"), null),
+            new CriticalQuery("tickets.byCpf", "tickets",
+                    new Document("cpf", "00000000000"), null),
+            new CriticalQuery("tickets.pendingOutbox", "tickets",
+                    new Document("pendingOutbox.createdAt", new Document("$lt", new Date())), null),
+            new CriticalQuery("outbox.pendingByCreatedAt", "outbox",
+                    new Document("status", OutboxMessage.Status.PENDING.name()), new Document("createdAt", 1)),
+            new CriticalQuery("ticket_holds.expiredActive", "ticket_holds",
+                    new Document("status", TicketHold.Status.ACTIVE.name()).append("expiresAt", new Document("$lte", new Date())),
+                    new Document("expiresAt", 1))
+    );
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final String verification;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate,
+                                 MongoMappingContext mappingContext,
+                                 @Value("${mongo.indexes.verification:warn}") String verification) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.verification = verification;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initIndexes() {
+        if ("off".equals(verification)) {
+            return;
+        }
+        List<String> uncovered;
+        try {
+            createIndexes();
+            uncovered = findUncoveredQueries();
+        } catch (RuntimeException ex) {
+            reportProblem("Falha ao criar ou verificar os índices do Mongo: " + ex.getMessage(), ex);
+            return;
+        }
+        if (!uncovered.isEmpty()) {
+            reportProblem("Consultas sem índice (COLLSCAN): " + String.join(", ", uncovered), null);
+        }
+    }
+
+    void createIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (Class<?> type : INDEXED_DOCUMENTS) {
+            IndexOperations indexOperations = mongoTemplate.indexOps(type);
+            resolver.resolveIndexFor(type).forEach(index -> {
+                String name = indexOperations.ensureIndex(index);
+                log.info("Índice {} garantido para {}", name, type.getSimpleName());
+            });
+        }
+    }
+
+    List<String> findUncoveredQueries() {
+        List<String> uncovered = new ArrayList<>();
+        for (CriticalQuery query : CRITICAL_QUERIES) {
+            Document find = new Document("find", query.collection()).append("filter", query.filter());
+            if (query.sort() != null) {
+                find.append("sort", query.sort());
+            }
+            Document explain = mongoTemplate.getDb()
+                    .runCommand(new Document("explain", find).append("verbosity", "queryPlanner"));
+            Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+            if (!usesIndex(winningPlan)) {
+                uncovered.add(query.name());
+            }
+        }
+        return uncovered;
+    }
+
+    static boolean usesIndex(Object plan) {
+        List<String> stages = new ArrayList<>();
+        collectStages(plan, stages);
+        return stages.stream().noneMatch("COLLSCAN"::equals)
+                && stages.stream().anyMatch(stage -> stage.contains("IXSCAN") || stage.contains("IDHACK"));
+    }
+
+    private static void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            Object stage = document.get("stage");
+            if (stage instanceof String name) {
+                stages.add(name);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+
+    private void reportProblem(String message, RuntimeException cause) {
+        if ("fail".equals(verification)) {
+            throw new IllegalStateException(message, cause);
+        }
+        log.warn("ATENÇÃO: {}", message);
+    }
+
+    record CriticalQuery(String name, String collection, Document filter, Document sort) {
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.compass.ms_ticket_management.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Contadores materializados de ingressos por evento, mantidos com $inc a cada criação, atualização e
+ * cancelamento. {@code sold} conta os ingressos ativos e a receita soma apenas os ingressos ativos.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "event_ticket_stats")
+public class EventTicketStats {
+
+    @Id
+    private String eventId;
+    private long sold;
+    private long cancelled;
+    private double brlRevenue;
+    private double usdRevenue;
+    private Instant updatedAt;
+
+    public boolean hasTickets() {
+        return sold + cancelled > 0;
+    }
+}
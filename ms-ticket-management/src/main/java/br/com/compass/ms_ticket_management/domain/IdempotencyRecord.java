@@ -0,0 +1,35 @@
+package br.com.compass.ms_ticket_management.domain;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Resultado de uma requisição com {@code Idempotency-Key}, guardado para ser devolvido às repetições.
+ * O {@code _id} é a operação mais a chave, e {@code requestHash} impede reutilizar a chave com outro payload.
+ * Enquanto {@code IN_PROGRESS}, a requisição original ainda está rodando; se a instância cair, outra pode
+ * assumir a chave depois de {@code lockedUntil}. O índice TTL de {@code expiresAt} remove o registro.
+ */
+@Data
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+
+    public enum Status {
+        IN_PROGRESS,
+        COMPLETED
+    }
+
+    @Id
+    private String id;
+    private String requestHash;
+    private Status status;
+    private int httpStatus;
+    private String body;
+    private Instant createdAt;
+    private Instant lockedUntil;
+    @Indexed(name = "expiresAt_ttl", expireAfter = "0s")
+    private Instant expiresAt;
+}
@@ -0,0 +1,33 @@
+package br.com.compass.ms_ticket_management.domain;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Document(collection = "outbox")
+@CompoundIndex(name = "status_createdAt", def = "{'status': 1, 'createdAt': 1}")
+public class OutboxMessage {
+
+    public enum Status {
+        PENDING,
+        FAILED
+    }
+
+    @Id
+    private String id;
+    private String exchange;
+    private String routingKey;
+    private byte[] body;
+    private String contentType;
+    private String contentEncoding;
+    private Status status;
+    private int attempts;
+    private String lastError;
+    private String claimToken;
+    private Instant claimedUntil;
+    private Instant createdAt;
+}
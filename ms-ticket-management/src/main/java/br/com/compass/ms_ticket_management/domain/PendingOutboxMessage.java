@@ -0,0 +1,46 @@
+package br.com.compass.ms_ticket_management.domain;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Mensagem do outbox guardada dentro do documento do ingresso até ser copiada para a coleção "outbox",
+ * com o mesmo ID. É um tipo à parte para que a coleção de tickets não herde os índices de {@link OutboxMessage}.
+ */
+@Data
+public class PendingOutboxMessage {
+
+    private String id;
+    private String exchange;
+    private String routingKey;
+    private byte[] body;
+    private String contentType;
+    private String contentEncoding;
+    private Instant createdAt;
+
+    public static PendingOutboxMessage of(OutboxMessage outboxMessage) {
+        PendingOutboxMessage pending = new PendingOutboxMessage();
+        pending.setId(outboxMessage.getId());
+        pending.setExchange(outboxMessage.getExchange());
+        pending.setRoutingKey(outboxMessage.getRoutingKey());
+        pending.setBody(outboxMessage.getBody());
+        pending.setContentType(outboxMessage.getContentType());
+        pending.setContentEncoding(outboxMessage.getContentEncoding());
+        pending.setCreatedAt(outboxMessage.getCreatedAt());
+        return pending;
+    }
+
+    public OutboxMessage toOutboxMessage() {
+        OutboxMessage outboxMessage = new OutboxMessage();
+        outboxMessage.setId(id);
+        outboxMessage.setExchange(exchange);
+        outboxMessage.setRoutingKey(routingKey);
+        outboxMessage.setBody(body);
+        outboxMessage.setContentType(contentType);
+        outboxMessage.setContentEncoding(contentEncoding);
+        outboxMessage.setStatus(OutboxMessage.Status.PENDING);
+        outboxMessage.setCreatedAt(createdAt);
+        return outboxMessage;
+    }
+}
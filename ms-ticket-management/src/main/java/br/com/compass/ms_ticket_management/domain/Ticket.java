@@ -1,12 +1,20 @@
 package br.com.compass.ms_ticket_management.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.*;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.List;
+
 @Data
 @Document(collection = "tickets")
+@CompoundIndex(name = "eventId_status", def = "{'eventId': 1, 'status': 1}")
+@CompoundIndex(name = "pendingOutbox_createdAt", def = "{'pendingOutbox.createdAt': 1}", sparse = true)
 public class Ticket {
 
     @Id
@@ -16,6 +24,7 @@ public class Ticket {
     private String customerName;
     @NotNull(message = "O CPF é obrigatório")
     @Pattern(regexp = "\\d{11}", message = "O CPF deve conter 11 dígitos numéricos")
+    @Indexed(name = "cpf")
     private String cpf;
     @NotNull(message = "O e-mail do cliente é obrigatório")
     @Email(message = "E-mail inválido")
@@ -30,5 +39,32 @@ public class Ticket {
     @DecimalMin(value = "0.0", inclusive = false, message = "O valor deve ser maior que 0")
     private Double usdAmount;
     private String status;
+    /**
+     * Obrigatório quando o evento tem setores.
+     */
+    private String sector;
+    /**
+     * Incrementada a cada alteração. Na atualização, se informada, a alteração só é aplicada se o ticket
+     * ainda estiver nessa versão.
+     */
+    @Version
+    private Long version;
+    /**
+     * Marca os ingressos contados pelos $inc de {@code event_ticket_stats}. Os vendidos antes dos contadores
+     * existirem não têm a marca e entram na semeadura dos contadores do evento.
+     */
+    @JsonIgnore
+    private Boolean countedInStats;
+    /**
+     * Contadores de {@code ticket_inventory} em que o ingresso ocupa lugar; o cancelamento devolve só nesses.
+     */
+    @JsonIgnore
+    private List<String> inventorySlots;
+    /**
+     * Mensagens do outbox gravadas no mesmo insert do ingresso, para que uma falha logo depois da gravação
+     * não as perca. Saem daqui assim que são copiadas para a coleção "outbox".
+     */
+    @JsonIgnore
+    private List<PendingOutboxMessage> pendingOutbox;
 
 }
@@ -0,0 +1,48 @@
+package br.com.compass.ms_ticket_management.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Lugares reservados por alguns minutos antes da compra. Enquanto {@code ACTIVE}, os lugares ficam
+ * descontados do {@link TicketInventory}; ao expirar ou ser liberada, a reserva os devolve. Reservas
+ * encerradas recebem {@code purgeAt} e são removidas pelo índice TTL.
+ */
+@Data
+@Document(collection = "ticket_holds")
+@CompoundIndex(name = "status_expiresAt", def = "{'status': 1, 'expiresAt': 1}")
+public class TicketHold {
+
+    public enum Status {
+        ACTIVE,
+        CONFIRMED,
+        EXPIRED,
+        RELEASED
+    }
+
+    @Id
+    private String id;
+    private String eventId;
+    private String sector;
+    private int quantity;
+    private Status status;
+    private Instant createdAt;
+    private Instant expiresAt;
+    private Instant finishedAt;
+    @Indexed(name = "purgeAt_ttl", expireAfter = "0s")
+    private Instant purgeAt;
+    private List<String> ticketIds;
+    /**
+     * Contadores de {@code ticket_inventory} descontados pela reserva. Ao expirar ou ser liberada, ela devolve
+     * só nesses; ao ser confirmada, eles passam para os ingressos emitidos.
+     */
+    @JsonIgnore
+    private List<String> inventorySlots;
+}
@@ -0,0 +1,25 @@
+package br.com.compass.ms_ticket_management.domain;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Ingressos vendidos de um evento ({@code _id} = id do evento) ou de um setor ({@code _id} = id do evento +
+ * "/" + setor). A capacidade não fica aqui: vem do evento a cada reserva e entra no filtro do update, então
+ * a reserva só é aplicada se ainda houver lugar. O contador é criado com os lugares já ocupados por
+ * ingressos e reservas ativos que não estavam contados nele.
+ */
+@Data
+@Document(collection = "ticket_inventory")
+public class TicketInventory {
+
+    @Id
+    private String id;
+    private String eventId;
+    private String sector;
+    private long sold;
+    private Instant updatedAt;
+}
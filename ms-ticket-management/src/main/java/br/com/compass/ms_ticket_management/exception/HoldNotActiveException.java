@@ -0,0 +1,7 @@
+package br.com.compass.ms_ticket_management.exception;
+
+public class HoldNotActiveException extends RuntimeException {
+    public HoldNotActiveException(String message) {
+        super(message);
+    }
+}
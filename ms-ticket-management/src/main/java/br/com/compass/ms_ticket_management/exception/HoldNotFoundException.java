@@ -0,0 +1,7 @@
+package br.com.compass.ms_ticket_management.exception;
+
+public class HoldNotFoundException extends RuntimeException {
+    public HoldNotFoundException(String message) {
+        super(message);
+    }
+}
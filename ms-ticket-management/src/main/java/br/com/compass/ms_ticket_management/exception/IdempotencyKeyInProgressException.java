@@ -0,0 +1,7 @@
+package br.com.compass.ms_ticket_management.exception;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+}
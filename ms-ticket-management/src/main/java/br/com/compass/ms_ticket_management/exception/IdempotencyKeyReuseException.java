@@ -0,0 +1,7 @@
+package br.com.compass.ms_ticket_management.exception;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+}
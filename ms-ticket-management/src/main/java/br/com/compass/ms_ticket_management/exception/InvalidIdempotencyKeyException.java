@@ -0,0 +1,7 @@
+package br.com.compass.ms_ticket_management.exception;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
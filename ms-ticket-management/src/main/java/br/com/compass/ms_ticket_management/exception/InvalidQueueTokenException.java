@@ -0,0 +1,7 @@
+package br.com.compass.ms_ticket_management.exception;
+
+public class InvalidQueueTokenException extends RuntimeException {
+    public InvalidQueueTokenException(String message) {
+        super(message);
+    }
+}
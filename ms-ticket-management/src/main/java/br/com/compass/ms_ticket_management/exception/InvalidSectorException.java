@@ -0,0 +1,7 @@
+package br.com.compass.ms_ticket_management.exception;
+
+public class InvalidSectorException extends RuntimeException {
+    public InvalidSectorException(String message) {
+        super(message);
+    }
+}
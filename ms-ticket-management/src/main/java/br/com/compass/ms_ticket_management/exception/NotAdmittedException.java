@@ -0,0 +1,13 @@
+package br.com.compass.ms_ticket_management.exception;
+
+import lombok.Getter;
+
+@Getter
+public class NotAdmittedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public NotAdmittedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.compass.ms_ticket_management.exception;
+
+public class TicketsSoldOutException extends RuntimeException {
+    public TicketsSoldOutException(String message) {
+        super(message);
+    }
+}
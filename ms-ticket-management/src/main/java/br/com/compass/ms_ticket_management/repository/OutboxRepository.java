@@ -0,0 +1,14 @@
+package br.com.compass.ms_ticket_management.repository;
+
+import br.com.compass.ms_ticket_management.domain.OutboxMessage;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends MongoRepository<OutboxMessage, String> {
+    long countByStatus(OutboxMessage.Status status);
+
+    List<OutboxMessage> findByClaimTokenOrderByCreatedAtAsc(String claimToken);
+}
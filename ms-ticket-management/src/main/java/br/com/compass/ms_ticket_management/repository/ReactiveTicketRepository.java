@@ -0,0 +1,9 @@
+package br.com.compass.ms_ticket_management.repository;
+
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveTicketRepository extends ReactiveMongoRepository<Ticket, String> {
+}
@@ -0,0 +1,108 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.web.dto.EventResponse;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Cache local de eventos na frente do {@link EventClient}. Buscas concorrentes pelo mesmo evento
+ * resultam em uma única chamada ao ms-event-management, e eventos acessados com frequência são
+ * recarregados em segundo plano após {@code refresh-after-write}, sem bloquear a compra.
+ * As chamadas passam por um bulkhead e um circuit breaker; se o ms-event-management estiver
+ * indisponível, o último evento conhecido é usado enquanto estiver em memória.
+ * A carga roda no executor da aplicação, fora do lock do cache, para não fixar virtual threads.
+ */
+@Slf4j
+@Component
+@Timed("service.calls")
+public class CachedEventClient {
+
+    static final String CACHE_NAME = "eventCache";
+    static final String DOWNSTREAM = "ms-event-management";
+
+    private final EventClient eventClient;
+    private final AsyncLoadingCache<String, EventResponse> cache;
+    private final Cache<String, EventResponse> lastKnown;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Counter fallbackCounter;
+
+    public CachedEventClient(EventClient eventClient,
+                             MeterRegistry meterRegistry,
+                             CircuitBreakerRegistry circuitBreakerRegistry,
+                             BulkheadRegistry bulkheadRegistry,
+                             @Qualifier("applicationTaskExecutor") Executor executor,
+                             @Value("${event-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${event-cache.expire-after-write:5m}") Duration expireAfterWrite,
+                             @Value("${event-cache.refresh-after-write:1m}") Duration refreshAfterWrite) {
+        this.eventClient = eventClient;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(DOWNSTREAM);
+        this.bulkhead = bulkheadRegistry.bulkhead(DOWNSTREAM);
+        this.lastKnown = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .refreshAfterWrite(refreshAfterWrite)
+                .executor(executor)
+                .recordStats()
+                .buildAsync(this::load);
+        this.fallbackCounter = Counter.builder("event.client.fallback")
+                .description("Eventos servidos a partir do último valor conhecido por indisponibilidade do ms-event-management")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public EventResponse getEventById(String eventId) {
+        CompletableFuture<EventResponse> event = cache.get(eventId);
+        try {
+            return event.join();
+        } catch (CompletionException ex) {
+            cache.asMap().remove(eventId, event);
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private EventResponse load(String eventId) {
+        log.info("Buscando evento {} no ms-event-management", eventId);
+        try {
+            EventResponse event = circuitBreaker.executeSupplier(
+                    Bulkhead.decorateSupplier(bulkhead, () -> eventClient.getEventById(eventId)));
+            lastKnown.put(eventId, event);
+            return event;
+        } catch (FeignException.FeignClientException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            EventResponse event = lastKnown.getIfPresent(eventId);
+            if (event == null) {
+                throw ex;
+            }
+            log.warn("ms-event-management indisponível ({}), usando o último evento conhecido {}", ex.getMessage(), eventId);
+            fallbackCounter.increment();
+            return event;
+        }
+    }
+}
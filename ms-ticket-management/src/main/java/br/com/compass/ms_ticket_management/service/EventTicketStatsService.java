@@ -0,0 +1,177 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.domain.EventTicketStats;
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Timed("service.calls")
+public class EventTicketStatsService {
+
+    static final String CANCELLED_STATUS = "Cancelado";
+
+    private final MongoOperations mongoOperations;
+
+    public void recordCreated(Ticket ticket) {
+        apply(ticket.getEventId(), createdUpdate(ticket), false);
+    }
+
+    public void recordCreated(List<Ticket> tickets) {
+        if (tickets.isEmpty()) {
+            return;
+        }
+        Map<String, double[]> totals = new LinkedHashMap<>();
+        for (Ticket ticket : tickets) {
+            double[] total = totals.computeIfAbsent(ticket.getEventId(), eventId -> new double[3]);
+            total[0]++;
+            total[1] += ticket.getBrlAmount();
+            total[2] += ticket.getUsdAmount();
+        }
+        seedMissing(totals.keySet());
+        BulkOperations bulk = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, EventTicketStats.class);
+        totals.forEach((eventId, total) -> bulk.upsert(byEventId(eventId), new Update()
+                .inc("sold", (long) total[0])
+                .inc("brlRevenue", total[1])
+                .inc("usdRevenue", total[2])
+                .set("updatedAt", Instant.now())));
+        bulk.execute();
+    }
+
+    public void recordAmountChange(String eventId, double brlDelta, double usdDelta) {
+        if (brlDelta == 0 && usdDelta == 0) {
+            return;
+        }
+        apply(eventId, new Update()
+                .inc("brlRevenue", brlDelta)
+                .inc("usdRevenue", usdDelta), true);
+    }
+
+    public void recordCancelled(Ticket ticket) {
+        apply(ticket.getEventId(), new Update()
+                .inc("sold", -1)
+                .inc("cancelled", 1)
+                .inc("brlRevenue", -ticket.getBrlAmount())
+                .inc("usdRevenue", -ticket.getUsdAmount()), true);
+    }
+
+    public Optional<EventTicketStats> findByEventId(String eventId) {
+        return Optional.ofNullable(mongoOperations.findById(eventId, EventTicketStats.class));
+    }
+
+    /**
+     * Calcula os contadores a partir da coleção de tickets. Usado apenas para eventos cujos ingressos
+     * foram vendidos antes da existência dos contadores materializados.
+     */
+    public EventTicketStats computeFromTickets(String eventId) {
+        return toStats(eventId, mongoOperations.aggregate(
+                ticketTotals(Criteria.where("eventId").is(eventId)), Ticket.class, Document.class));
+    }
+
+    /**
+     * Aplica o $inc nos contadores do evento. Se o evento ainda não tem contadores, semeia o documento antes
+     * com os ingressos sem {@code countedInStats}, que nunca passaram pelo $inc. A semeadura lê esses ingressos
+     * no estado atual, então a alteração de um deles ({@code changesUncounted}) já está contada se foi esta
+     * chamada que inseriu o documento.
+     */
+    private void apply(String eventId, Update update, boolean changesUncounted) {
+        Query query = byEventId(eventId);
+        update.set("updatedAt", Instant.now());
+        if (mongoOperations.updateFirst(query, update, EventTicketStats.class).getMatchedCount() > 0) {
+            log.debug("Contadores do evento {} atualizados", eventId);
+            return;
+        }
+        if (seed(eventId) && changesUncounted) {
+            return;
+        }
+        mongoOperations.upsert(query, update, EventTicketStats.class);
+    }
+
+    private void seedMissing(Collection<String> eventIds) {
+        Query existing = Query.query(Criteria.where("eventId").in(eventIds));
+        existing.fields().include("eventId");
+        Set<String> missing = new HashSet<>(eventIds);
+        mongoOperations.find(existing, EventTicketStats.class).forEach(stats -> missing.remove(stats.getEventId()));
+        missing.forEach(this::seed);
+    }
+
+    /** Retorna {@code true} se o documento foi inserido por esta chamada. */
+    private boolean seed(String eventId) {
+        EventTicketStats stats = toStats(eventId,
+                mongoOperations.aggregate(uncountedTickets(eventId), Ticket.class, Document.class));
+        boolean inserted = mongoOperations.upsert(byEventId(eventId), seedUpdate(stats), EventTicketStats.class)
+                .getUpsertedId() != null;
+        if (inserted) {
+            log.info("Contadores do evento {} semeados com {} ingressos anteriores", eventId, stats.getSold() + stats.getCancelled());
+        }
+        return inserted;
+    }
+
+    static Aggregation uncountedTickets(String eventId) {
+        return ticketTotals(Criteria.where("eventId").is(eventId).and("countedInStats").exists(false));
+    }
+
+    private static Aggregation ticketTotals(Criteria criteria) {
+        return Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.group("status")
+                        .count().as("count")
+                        .sum("brlAmount").as("brl")
+                        .sum("usdAmount").as("usd"));
+    }
+
+    static EventTicketStats toStats(String eventId, Iterable<Document> groups) {
+        EventTicketStats stats = EventTicketStats.builder().eventId(eventId).build();
+        for (Document group : groups) {
+            long count = ((Number) group.get("count")).longValue();
+            if (CANCELLED_STATUS.equals(group.getString("_id"))) {
+                stats.setCancelled(stats.getCancelled() + count);
+            } else {
+                stats.setSold(stats.getSold() + count);
+                stats.setBrlRevenue(stats.getBrlRevenue() + ((Number) group.get("brl")).doubleValue());
+                stats.setUsdRevenue(stats.getUsdRevenue() + ((Number) group.get("usd")).doubleValue());
+            }
+        }
+        return stats;
+    }
+
+    static Update seedUpdate(EventTicketStats stats) {
+        return new Update()
+                .setOnInsert("sold", stats.getSold())
+                .setOnInsert("cancelled", stats.getCancelled())
+                .setOnInsert("brlRevenue", stats.getBrlRevenue())
+                .setOnInsert("usdRevenue", stats.getUsdRevenue())
+                .setOnInsert("updatedAt", Instant.now());
+    }
+
+    static Update createdUpdate(Ticket ticket) {
+        return new Update()
+                .inc("sold", 1)
+                .inc("brlRevenue", ticket.getBrlAmount())
+                .inc("usdRevenue", ticket.getUsdAmount());
+    }
+
+    static Query byEventId(String eventId) {
+        return Query.query(Criteria.where("eventId").is(eventId));
+    }
+}
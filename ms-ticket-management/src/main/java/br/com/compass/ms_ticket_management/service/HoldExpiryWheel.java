@@ -0,0 +1,154 @@
+package br.com.compass.ms_ticket_management.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timing wheel hierárquico para o vencimento das reservas. Cada nível tem {@code wheelSize} posições; uma
+ * posição do nível 0 vale um tick, e uma do nível {@code n} vale {@code wheelSize^n} ticks. Uma reserva entra
+ * no menor nível que alcança o seu vencimento e desce de nível quando a posição dela é alcançada, até vencer
+ * no nível 0. Agendar e cancelar custam O(1) e cada tick só percorre a posição atual, então o custo não
+ * depende de quantas reservas estão ativas. Cancelar apenas marca a entrada, que sai da lista quando a
+ * posição é percorrida. Vencimentos além do último nível ficam na última posição alcançável e são
+ * reposicionados quando ela é percorrida.
+ */
+public class HoldExpiryWheel {
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+    private final List<Entry>[][] buckets;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HoldExpiryWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis < 1 || levels < 1 || wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("O timing wheel exige tick positivo, ao menos um nível e tamanho potência de 2");
+        }
+        if ((long) Integer.numberOfTrailingZeros(wheelSize) * levels > 62) {
+            throw new IllegalArgumentException("O timing wheel não comporta " + levels + " níveis de " + wheelSize + " posições");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.levels = levels;
+        this.buckets = new List[levels][wheelSize];
+        for (int level = 0; level < levels; level++) {
+            for (int slot = 0; slot < wheelSize; slot++) {
+                buckets[level][slot] = new ArrayList<>();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Agenda (ou reagenda) o vencimento de {@code id}. Vencimentos já passados saem no próximo tick.
+     */
+    public synchronized void schedule(String id, long deadlineMillis) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        long deadlineTick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        Entry entry = new Entry(id, deadlineTick);
+        entries.put(id, entry);
+        place(entry);
+    }
+
+    /**
+     * @return {@code true} se {@code id} estava agendado.
+     */
+    public synchronized boolean cancel(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return false;
+        }
+        entry.cancelled = true;
+        return true;
+    }
+
+    /**
+     * Avança o relógio até {@code nowMillis} e devolve as reservas vencidas, na ordem de vencimento.
+     */
+    public synchronized List<String> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<String> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            List<Entry> bucket = swap(0, (int) (currentTick & mask));
+            for (Entry entry : bucket) {
+                if (entry.cancelled) {
+                    continue;
+                }
+                if (entry.deadlineTick <= currentTick) {
+                    entries.remove(entry.id);
+                    expired.add(entry.id);
+                } else {
+                    place(entry);
+                }
+            }
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Ao completar uma volta do nível {@code n - 1}, a posição atual do nível {@code n} desce para os níveis
+     * de baixo. Os níveis altos descem primeiro para que as entradas cheguem ao nível 0 no mesmo tick.
+     */
+    private void cascade() {
+        int highest = 0;
+        while (highest + 1 < levels && ((currentTick >>> (bits * (highest + 1))) << (bits * (highest + 1))) == currentTick) {
+            highest++;
+        }
+        for (int level = highest; level >= 1; level--) {
+            int slot = (int) ((currentTick >>> (bits * level)) & mask);
+            for (Entry entry : swap(level, slot)) {
+                if (!entry.cancelled) {
+                    place(entry);
+                }
+            }
+        }
+    }
+
+    private void place(Entry entry) {
+        long delta = entry.deadlineTick - currentTick;
+        for (int level = 0; level < levels; level++) {
+            if (level == levels - 1 || delta < 1L << (bits * (level + 1))) {
+                // Na última volta do último nível, a entrada fica na posição mais distante e é reposicionada
+                // quando ela for percorrida.
+                long tick = Math.min(entry.deadlineTick, currentTick + (1L << (bits * (level + 1))) - 1);
+                int slot = (int) ((tick >>> (bits * level)) & mask);
+                buckets[level][slot].add(entry);
+                return;
+            }
+        }
+    }
+
+    private List<Entry> swap(int level, int slot) {
+        List<Entry> bucket = buckets[level][slot];
+        if (!bucket.isEmpty()) {
+            buckets[level][slot] = new ArrayList<>();
+        }
+        return bucket;
+    }
+
+    private static final class Entry {
+        private final String id;
+        private final long deadlineTick;
+        private boolean cancelled;
+
+        private Entry(String id, long deadlineTick) {
+            this.id = id;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.domain.IdempotencyRecord;
+import br.com.compass.ms_ticket_management.exception.IdempotencyKeyInProgressException;
+import br.com.compass.ms_ticket_management.exception.IdempotencyKeyReuseException;
+import br.com.compass.ms_ticket_management.exception.InvalidIdempotencyKeyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Suporte ao header {@code Idempotency-Key} nos endpoints que alteram dados. A primeira requisição com uma
+ * chave executa normalmente e tem a resposta guardada num cache local limitado e na coleção
+ * {@code idempotency_keys} (com TTL); as repetições recebem a resposta guardada sem executar a operação de
+ * novo, ou seja, sem reservar ID, consultar o evento ou publicar mensagens. Repetições simultâneas na mesma
+ * instância esperam o resultado da primeira pelo cache; em outras instâncias, esperam o registro no Mongo
+ * sair de {@code IN_PROGRESS}. Se a primeira falhar, a chave é liberada e quem estava esperando recebe o
+ * mesmo erro; a próxima repetição executa de novo.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final String CACHE_NAME = "idempotencyCache";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final MongoOperations mongoOperations;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CompletableFuture<StoredResponse>> cache;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Duration lockDuration;
+    private final Duration pollInterval;
+    private final Counter executedCounter;
+    private final Counter replayedCounter;
+
+    public IdempotencyService(MongoOperations mongoOperations,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${idempotency.cache.maximum-size:10000}") long maximumSize,
+                              @Value("${idempotency.ttl:24h}") Duration ttl,
+                              @Value("${idempotency.wait-timeout:10s}") Duration waitTimeout,
+                              @Value("${idempotency.lock-duration:30s}") Duration lockDuration,
+                              @Value("${idempotency.poll-interval:50ms}") Duration pollInterval) {
+        this.mongoOperations = mongoOperations;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.lockDuration = lockDuration;
+        this.pollInterval = pollInterval;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.executedCounter = requestCounter(meterRegistry, "executed");
+        this.replayedCounter = requestCounter(meterRegistry, "replayed");
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("idempotency.requests")
+                .description("Requisições com Idempotency-Key executadas ou respondidas com o resultado guardado")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    record StoredResponse(String requestHash, int httpStatus, String body) {
+    }
+
+    /**
+     * Executa {@code action} uma única vez por {@code operation} e {@code key}. Sem chave, apenas executa.
+     *
+     * @param operation    operação e, se houver, o recurso do path; a mesma chave pode ser usada em operações diferentes.
+     * @param request      payload da requisição; a chave não pode ser reutilizada com outro payload.
+     * @param responseType tipo do corpo da resposta, para reconstruí-lo nas repetições.
+     */
+    public <T> ResponseEntity<T> execute(String operation, String key, Object request,
+                                         TypeReference<T> responseType, Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException("O header " + HEADER + " deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres");
+        }
+        String id = operation + ":" + key;
+        String requestHash = hash(request);
+
+        CompletableFuture<StoredResponse> pending = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> existing = cache.asMap().putIfAbsent(id, pending);
+        if (existing != null) {
+            return replay(key, requestHash, await(key, existing), responseType);
+        }
+
+        StoredResponse stored;
+        try {
+            stored = claim(id, key, requestHash);
+        } catch (RuntimeException ex) {
+            fail(id, pending, ex);
+            throw ex;
+        }
+        if (stored != null) {
+            pending.complete(stored);
+            return replay(key, requestHash, stored, responseType);
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException ex) {
+            release(id);
+            fail(id, pending, ex);
+            throw ex;
+        }
+        stored = new StoredResponse(requestHash, response.getStatusCode().value(), toJson(response.getBody()));
+        complete(id, stored);
+        pending.complete(stored);
+        executedCounter.increment();
+        return response;
+    }
+
+    /**
+     * Reserva a chave no Mongo.
+     *
+     * @return {@code null} se esta requisição deve executar, ou a resposta já guardada por outra instância.
+     */
+    private StoredResponse claim(String id, String key, String requestHash) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            Instant now = Instant.now();
+            try {
+                mongoOperations.insert(inProgress(id, requestHash, now));
+                return null;
+            } catch (DuplicateKeyException ex) {
+                log.debug("Idempotency-Key {} já registrada; aguardando o resultado", key);
+            }
+            IdempotencyRecord record = mongoOperations.findById(id, IdempotencyRecord.class);
+            if (record != null) {
+                if (!requestHash.equals(record.getRequestHash())) {
+                    throw reuse(key);
+                }
+                if (record.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+                    return new StoredResponse(record.getRequestHash(), record.getHttpStatus(), record.getBody());
+                }
+                if (record.getLockedUntil().isBefore(now) && takeOver(id, now)) {
+                    log.warn("Idempotency-Key {} estava presa em outra instância; assumindo a execução", key);
+                    return null;
+                }
+            }
+            if (System.nanoTime() > deadline) {
+                throw inProgress(key);
+            }
+            sleep(pollInterval);
+        }
+    }
+
+    private boolean takeOver(String id, Instant now) {
+        Query query = Query.query(where("_id").is(id)
+                .and("status").is(IdempotencyRecord.Status.IN_PROGRESS)
+                .and("lockedUntil").lt(now));
+        return mongoOperations.findAndModify(query, new Update().set("lockedUntil", now.plus(lockDuration)),
+                FindAndModifyOptions.options().returnNew(true), IdempotencyRecord.class) != null;
+    }
+
+    /**
+     * Se o resultado não puder ser gravado no Mongo, ele continua no cache local, mas outra instância pode
+     * executar a operação de novo depois de {@code lock-duration}.
+     */
+    private void complete(String id, StoredResponse stored) {
+        try {
+            mongoOperations.updateFirst(Query.query(where("_id").is(id)),
+                    new Update()
+                            .set("status", IdempotencyRecord.Status.COMPLETED)
+                            .set("httpStatus", stored.httpStatus())
+                            .set("body", stored.body())
+                            .unset("lockedUntil"),
+                    IdempotencyRecord.class);
+        } catch (RuntimeException ex) {
+            log.error("Falha ao gravar o resultado da Idempotency-Key {}: {}", id, ex.getMessage());
+        }
+    }
+
+    private void release(String id) {
+        try {
+            mongoOperations.remove(Query.query(where("_id").is(id).and("status").is(IdempotencyRecord.Status.IN_PROGRESS)),
+                    IdempotencyRecord.class);
+        } catch (RuntimeException ex) {
+            log.error("Falha ao liberar a Idempotency-Key {}; ela será liberada após o lock expirar: {}", id, ex.getMessage());
+        }
+    }
+
+    private void fail(String id, CompletableFuture<StoredResponse> pending, RuntimeException ex) {
+        cache.asMap().remove(id, pending);
+        pending.completeExceptionally(ex);
+    }
+
+    private StoredResponse await(String key, CompletableFuture<StoredResponse> existing) {
+        try {
+            return existing.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw inProgress(key);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw inProgress(key);
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(String key, String requestHash, StoredResponse stored, TypeReference<T> responseType) {
+        if (!requestHash.equals(stored.requestHash())) {
+            throw reuse(key);
+        }
+        log.info("Idempotency-Key {} repetida; devolvendo a resposta guardada", key);
+        replayedCounter.increment();
+        T body;
+        try {
+            body = stored.body() != null ? objectMapper.readValue(stored.body(), responseType) : null;
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Resposta guardada para a Idempotency-Key " + key + " é inválida", ex);
+        }
+        return ResponseEntity.status(stored.httpStatus())
+                .header(REPLAYED_HEADER, "true")
+                .body(body);
+    }
+
+    private IdempotencyRecord inProgress(String id, String requestHash, Instant now) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setId(id);
+        record.setRequestHash(requestHash);
+        record.setStatus(IdempotencyRecord.Status.IN_PROGRESS);
+        record.setCreatedAt(now);
+        record.setLockedUntil(now.plus(lockDuration));
+        record.setExpiresAt(now.plus(ttl));
+        return record;
+    }
+
+    private String toJson(Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Falha ao serializar a resposta para a Idempotency-Key", ex);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] payload = request instanceof String value
+                    ? value.getBytes(StandardCharsets.UTF_8)
+                    : objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(payload));
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Falha ao calcular o hash da requisição", ex);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("Interrompido aguardando a requisição original");
+        }
+    }
+
+    private static IdempotencyKeyReuseException reuse(String key) {
+        return new IdempotencyKeyReuseException("A Idempotency-Key " + key + " já foi usada com outro payload");
+    }
+
+    private static IdempotencyKeyInProgressException inProgress(String key) {
+        return new IdempotencyKeyInProgressException("A requisição com a Idempotency-Key " + key + " ainda está em andamento; tente novamente em instantes");
+    }
+}
@@ -0,0 +1,301 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.domain.OutboxMessage;
+import br.com.compass.ms_ticket_management.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Drena a coleção "outbox" em lotes e publica no RabbitMQ com publisher confirms. Cada lote é
+ * reivindicado com um token para que várias instâncias não publiquem a mesma mensagem, e o número
+ * de mensagens aguardando confirmação do broker é limitado por {@code outbox.relay.max-in-flight}.
+ * Mensagens só são removidas do outbox após o ack, garantindo entrega at-least-once. As publicações são
+ * obrigatórias ({@code mandatory}): uma mensagem sem fila de destino volta como {@code basic.return} e é
+ * tratada como falha, assim como nacks e confirmações que não chegam. Falhas voltam para o outbox e são
+ * reenviadas nos ciclos seguintes até {@code outbox.relay.max-attempts}. Antes de cada ciclo, recupera as
+ * mensagens que ficaram no documento dos ingressos há mais de {@code outbox.relay.embedded-grace} (ver
+ * {@link OutboxService#movePending}).
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final MongoOperations mongoOperations;
+    private final OutboxRepository outboxRepository;
+    private final OutboxService outboxService;
+    private final RabbitTemplate rabbitTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration confirmTimeout;
+    private final Duration claimDuration;
+    private final Duration embeddedGrace;
+    private final Semaphore inFlight;
+    private final AtomicLong pending = new AtomicLong();
+    private final Counter sentCounter;
+    private final Counter publishedCounter;
+    private final Counter nackedCounter;
+    private final Counter returnedCounter;
+    private final Counter timedOutCounter;
+    private final Counter sendErrorCounter;
+    private final Timer confirmTimer;
+
+    public OutboxRelay(MongoOperations mongoOperations,
+                       OutboxRepository outboxRepository,
+                       OutboxService outboxService,
+                       RabbitTemplate rabbitTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${outbox.relay.max-in-flight:100}") int maxInFlight,
+                       @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+                       @Value("${outbox.relay.confirm-timeout:5s}") Duration confirmTimeout,
+                       @Value("${outbox.relay.claim-duration:30s}") Duration claimDuration,
+                       @Value("${outbox.relay.embedded-grace:30s}") Duration embeddedGrace) {
+        this.mongoOperations = mongoOperations;
+        this.outboxRepository = outboxRepository;
+        this.outboxService = outboxService;
+        this.rabbitTemplate = rabbitTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.confirmTimeout = confirmTimeout;
+        this.claimDuration = claimDuration;
+        this.embeddedGrace = embeddedGrace;
+        this.inFlight = new Semaphore(maxInFlight);
+
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Mensagens aguardando publicação no outbox")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.in.flight", inFlight, permits -> maxInFlight - permits.availablePermits())
+                .description("Mensagens publicadas aguardando confirmação do broker")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("outbox.relay.published")
+                .description("Mensagens confirmadas pelo broker")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("outbox.relay.sent")
+                .description("Mensagens enviadas ao broker, confirmadas ou não")
+                .register(meterRegistry);
+        this.nackedCounter = failedCounter(meterRegistry, "nack");
+        this.returnedCounter = failedCounter(meterRegistry, "returned");
+        this.timedOutCounter = failedCounter(meterRegistry, "timeout");
+        this.sendErrorCounter = failedCounter(meterRegistry, "send_error");
+        this.confirmTimer = Timer.builder("outbox.relay.confirm")
+                .description("Tempo entre o envio e o ack/nack do broker")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        ConnectionFactory connectionFactory = rabbitTemplate.getConnectionFactory();
+        if (connectionFactory != null && !connectionFactory.isPublisherConfirms()) {
+            log.warn("Publisher confirms desabilitados (spring.rabbitmq.publisher-confirm-type); o outbox não receberá confirmações do broker");
+        }
+        if (connectionFactory != null && !connectionFactory.isPublisherReturns()) {
+            log.warn("Publisher returns desabilitados (spring.rabbitmq.publisher-returns); mensagens sem rota serão confirmadas e perdidas");
+        }
+    }
+
+    private static Counter failedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("outbox.relay.failed")
+                .description("Publicações rejeitadas, devolvidas ou sem confirmação do broker")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Enquanto os lotes vierem cheios e sem falhas, reivindica o próximo logo em seguida, sem esperar o
+     * intervalo; com o broker fora ou rejeitando, volta a esperar {@code outbox.relay.interval-ms}.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void relay() {
+        recoverEmbedded();
+        boolean drained;
+        do {
+            List<OutboxMessage> batch = claimBatch();
+            boolean confirmed = publish(batch);
+            drained = !confirmed || batch.size() < batchSize;
+        } while (!drained && !Thread.currentThread().isInterrupted());
+        pending.set(outboxRepository.countByStatus(OutboxMessage.Status.PENDING));
+    }
+
+    private void recoverEmbedded() {
+        try {
+            int tickets = outboxService.movePendingOlderThan(Instant.now().minus(embeddedGrace), batchSize);
+            if (tickets > 0) {
+                log.warn("Mensagens de {} tickets recuperadas do documento para o outbox", tickets);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Falha ao recuperar as mensagens pendentes nos tickets: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * @return {@code true} se todas as mensagens do lote foram confirmadas.
+     */
+    private boolean publish(List<OutboxMessage> batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        Map<String, CompletableFuture<CorrelationData.Confirm>> confirms = new LinkedHashMap<>();
+        Map<String, String> failures = new LinkedHashMap<>();
+        Map<String, CorrelationData> correlations = new LinkedHashMap<>();
+
+        for (OutboxMessage outboxMessage : batch) {
+            if (!acquirePermit()) {
+                break;
+            }
+            CorrelationData correlationData = new CorrelationData(outboxMessage.getId());
+            try {
+                rabbitTemplate.send(outboxMessage.getExchange(), outboxMessage.getRoutingKey(),
+                        toMessage(outboxMessage), correlationData);
+            } catch (AmqpException ex) {
+                inFlight.release();
+                log.error("Falha ao publicar a mensagem {} do outbox: {}", outboxMessage.getId(), ex.getMessage());
+                sendErrorCounter.increment();
+                failures.put(outboxMessage.getId(), ex.getMessage());
+                break;
+            }
+            sentCounter.increment();
+            long sentAt = System.nanoTime();
+            CompletableFuture<CorrelationData.Confirm> confirm = correlationData.getFuture().copy()
+                    .orTimeout(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            confirm.whenComplete((result, ex) -> {
+                inFlight.release();
+                if (result != null) {
+                    confirmTimer.record(System.nanoTime() - sentAt, TimeUnit.NANOSECONDS);
+                }
+            });
+            confirms.put(outboxMessage.getId(), confirm);
+            correlations.put(outboxMessage.getId(), correlationData);
+        }
+
+        List<String> acked = new ArrayList<>();
+        confirms.forEach((id, confirm) -> {
+            try {
+                CorrelationData.Confirm result = confirm.join();
+                // O basic.return chega antes do ack, então getReturned() já está preenchido aqui.
+                ReturnedMessage returned = correlations.get(id).getReturned();
+                if (!result.isAck()) {
+                    nackedCounter.increment();
+                    failures.put(id, result.getReason() != null ? result.getReason() : "nack do broker");
+                } else if (returned != null) {
+                    returnedCounter.increment();
+                    failures.put(id, "Mensagem sem rota em " + returned.getExchange() + "/" + returned.getRoutingKey()
+                            + ": " + returned.getReplyText());
+                } else {
+                    acked.add(id);
+                }
+            } catch (CompletionException ex) {
+                timedOutCounter.increment();
+                failures.put(id, "Tempo esgotado aguardando a confirmação do broker");
+            }
+        });
+
+        complete(batch, acked, failures);
+        return failures.isEmpty() && acked.size() == batch.size();
+    }
+
+    private List<OutboxMessage> claimBatch() {
+        Instant now = Instant.now();
+        Query candidates = Query.query(claimable(now))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"))
+                .limit(batchSize);
+        candidates.fields().include("_id");
+        List<String> ids = mongoOperations.find(candidates, OutboxMessage.class).stream()
+                .map(OutboxMessage::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        String claimToken = UUID.randomUUID().toString();
+        mongoOperations.updateMulti(
+                Query.query(new Criteria().andOperator(where("_id").in(ids), claimable(now))),
+                new Update().set("claimToken", claimToken).set("claimedUntil", now.plus(claimDuration)),
+                OutboxMessage.class);
+        return outboxRepository.findByClaimTokenOrderByCreatedAtAsc(claimToken);
+    }
+
+    private void complete(List<OutboxMessage> batch, List<String> acked, Map<String, String> failures) {
+        if (!acked.isEmpty()) {
+            mongoOperations.remove(Query.query(where("_id").in(acked)), OutboxMessage.class);
+            publishedCounter.increment(acked.size());
+        }
+
+        failures.forEach((id, reason) -> mongoOperations.updateFirst(
+                Query.query(where("_id").is(id)),
+                new Update().inc("attempts", 1).set("lastError", reason).unset("claimToken").unset("claimedUntil"),
+                OutboxMessage.class));
+        if (!failures.isEmpty()) {
+            mongoOperations.updateMulti(
+                    Query.query(where("_id").in(failures.keySet()).and("attempts").gte(maxAttempts)),
+                    new Update().set("status", OutboxMessage.Status.FAILED),
+                    OutboxMessage.class);
+            log.warn("{} mensagens do outbox falharam e serão reenviadas", failures.size());
+        }
+
+        List<String> untouched = batch.stream()
+                .map(OutboxMessage::getId)
+                .filter(id -> !acked.contains(id) && !failures.containsKey(id))
+                .toList();
+        if (!untouched.isEmpty()) {
+            mongoOperations.updateMulti(
+                    Query.query(where("_id").in(untouched)),
+                    new Update().unset("claimToken").unset("claimedUntil"),
+                    OutboxMessage.class);
+        }
+    }
+
+    private boolean acquirePermit() {
+        try {
+            return inFlight.tryAcquire(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Criteria claimable(Instant now) {
+        return where("status").is(OutboxMessage.Status.PENDING)
+                .orOperator(where("claimedUntil").is(null), where("claimedUntil").lt(now));
+    }
+
+    private static Message toMessage(OutboxMessage outboxMessage) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(outboxMessage.getContentType());
+        properties.setContentEncoding(outboxMessage.getContentEncoding());
+        properties.setMessageId(outboxMessage.getId());
+        properties.setTimestamp(Date.from(outboxMessage.getCreatedAt()));
+        return new Message(outboxMessage.getBody(), properties);
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.domain.OutboxMessage;
+import br.com.compass.ms_ticket_management.domain.PendingOutboxMessage;
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.repository.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+@Timed("service.calls")
+public class OutboxService {
+
+    public static final String PENDING_OUTBOX = "pendingOutbox";
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final OutboxRepository outboxRepository;
+    private final MongoOperations mongoOperations;
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxMessage enqueue(String exchange, String routingKey, Object payload) {
+        OutboxMessage saved = outboxRepository.save(toOutboxMessage(exchange, routingKey, payload));
+        log.info("Mensagem {} registrada no outbox para {}", saved.getId(), routingKey);
+        return saved;
+    }
+
+    public OutboxMessage enqueueJson(String exchange, String routingKey, Object payload) {
+        return outboxRepository.save(toJsonOutboxMessage(exchange, routingKey, payload));
+    }
+
+    /**
+     * Move para a coleção "outbox" as mensagens gravadas no próprio documento dos ingressos
+     * ({@link Ticket#getPendingOutbox()}) e as remove do ingresso. As mensagens já têm ID, então repetir a
+     * movimentação não as duplica. Se falhar, elas continuam no ingresso e o {@link OutboxRelay} tenta de
+     * novo com {@link #movePendingOlderThan}; por isso a falha só é registrada, sem interromper a compra.
+     */
+    public void movePending(Collection<Ticket> tickets) {
+        List<Ticket> withPending = tickets.stream()
+                .filter(ticket -> ticket.getPendingOutbox() != null && !ticket.getPendingOutbox().isEmpty())
+                .toList();
+        if (withPending.isEmpty()) {
+            return;
+        }
+        List<String> ticketIds = withPending.stream().map(Ticket::getTicketId).toList();
+        try {
+            insertIgnoringDuplicates(withPending.stream()
+                    .flatMap(ticket -> ticket.getPendingOutbox().stream())
+                    .map(PendingOutboxMessage::toOutboxMessage)
+                    .toList());
+            mongoOperations.updateMulti(Query.query(where("_id").in(ticketIds)), new Update().unset(PENDING_OUTBOX), Ticket.class);
+            log.info("Mensagens dos tickets {} registradas no outbox", ticketIds);
+        } catch (RuntimeException ex) {
+            log.warn("Mensagens dos tickets {} continuam pendentes no documento e serão movidas pelo relay: {}",
+                    ticketIds, ex.getMessage());
+        }
+    }
+
+    /**
+     * Recupera as mensagens que ficaram no documento dos ingressos porque a compra falhou ou caiu depois de
+     * gravá-los. Só considera as criadas antes de {@code createdBefore}, para não disputar com a compra que
+     * ainda está movendo as próprias mensagens.
+     *
+     * @return quantidade de ingressos com mensagens pendentes encontrados.
+     */
+    public int movePendingOlderThan(Instant createdBefore, int limit) {
+        Query query = Query.query(where(PENDING_OUTBOX + ".createdAt").lt(createdBefore)).limit(limit);
+        query.fields().include(PENDING_OUTBOX);
+        List<Ticket> tickets = mongoOperations.find(query, Ticket.class);
+        movePending(tickets);
+        return tickets.size();
+    }
+
+    private void insertIgnoringDuplicates(List<OutboxMessage> outboxMessages) {
+        try {
+            mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, OutboxMessage.class)
+                    .insert(outboxMessages)
+                    .execute();
+        } catch (BulkOperationException ex) {
+            if (ex.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                throw ex;
+            }
+        }
+    }
+
+    OutboxMessage toJsonOutboxMessage(String exchange, String routingKey, Object payload) {
+        try {
+            OutboxMessage outboxMessage = newOutboxMessage(exchange, routingKey, objectMapper.writeValueAsBytes(payload));
+            outboxMessage.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+            outboxMessage.setContentEncoding(StandardCharsets.UTF_8.name());
+            return outboxMessage;
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Não foi possível serializar a mensagem para " + routingKey, ex);
+        }
+    }
+
+    OutboxMessage toOutboxMessage(String exchange, String routingKey, Object payload) {
+        Message message = rabbitTemplate.getMessageConverter().toMessage(payload, new MessageProperties());
+        MessageProperties properties = message.getMessageProperties();
+
+        OutboxMessage outboxMessage = newOutboxMessage(exchange, routingKey, message.getBody());
+        outboxMessage.setContentType(properties.getContentType());
+        outboxMessage.setContentEncoding(properties.getContentEncoding());
+        return outboxMessage;
+    }
+
+    private OutboxMessage newOutboxMessage(String exchange, String routingKey, byte[] body) {
+        OutboxMessage outboxMessage = new OutboxMessage();
+        outboxMessage.setId(new ObjectId().toHexString());
+        outboxMessage.setExchange(exchange);
+        outboxMessage.setRoutingKey(routingKey);
+        outboxMessage.setBody(body);
+        outboxMessage.setStatus(OutboxMessage.Status.PENDING);
+        outboxMessage.setCreatedAt(Instant.now());
+        return outboxMessage;
+    }
+}
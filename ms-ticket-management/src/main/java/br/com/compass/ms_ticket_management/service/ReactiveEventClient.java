@@ -0,0 +1,116 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.web.dto.EventResponse;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Versão não bloqueante do {@link CachedEventClient} usada pelo fluxo reativo: busca o evento com
+ * {@link WebClient}, mantém o mesmo cache local, o mesmo bulkhead/circuit breaker do
+ * ms-event-management e o mesmo fallback para o último evento conhecido.
+ */
+@Slf4j
+@Profile("reactive")
+@Component
+public class ReactiveEventClient {
+
+    static final String CACHE_NAME = "reactiveEventCache";
+
+    private final WebClient webClient;
+    private final AsyncLoadingCache<String, EventResponse> cache;
+    private final Cache<String, EventResponse> lastKnown;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Counter fallbackCounter;
+
+    public ReactiveEventClient(WebClient.Builder webClientBuilder,
+                               MeterRegistry meterRegistry,
+                               CircuitBreakerRegistry circuitBreakerRegistry,
+                               BulkheadRegistry bulkheadRegistry,
+                               @Value("${event-management.url}") String baseUrl,
+                               @Value("${event-management.webclient.connect-timeout:1s}") Duration connectTimeout,
+                               @Value("${event-management.webclient.response-timeout:2s}") Duration responseTimeout,
+                               @Value("${event-cache.maximum-size:10000}") long maximumSize,
+                               @Value("${event-cache.expire-after-write:5m}") Duration expireAfterWrite,
+                               @Value("${event-cache.refresh-after-write:1m}") Duration refreshAfterWrite) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+        this.webClient = webClientBuilder
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CachedEventClient.DOWNSTREAM);
+        this.bulkhead = bulkheadRegistry.bulkhead(CachedEventClient.DOWNSTREAM);
+        this.lastKnown = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .refreshAfterWrite(refreshAfterWrite)
+                .recordStats()
+                .buildAsync((eventId, executor) -> load(eventId).toFuture());
+        this.fallbackCounter = Counter.builder("event.client.fallback")
+                .description("Eventos servidos a partir do último valor conhecido por indisponibilidade do ms-event-management")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Mono<EventResponse> getEventById(String eventId) {
+        return Mono.defer(() -> {
+            CompletableFuture<EventResponse> event = cache.get(eventId);
+            return Mono.fromFuture(event)
+                    .doOnError(ex -> cache.asMap().remove(eventId, event));
+        });
+    }
+
+    private Mono<EventResponse> load(String eventId) {
+        log.info("Buscando evento {} no ms-event-management", eventId);
+        return webClient.get()
+                .uri("/get-event/{id}", eventId)
+                .retrieve()
+                .bodyToMono(EventResponse.class)
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .doOnNext(event -> lastKnown.put(eventId, event))
+                .onErrorResume(ex -> !isClientError(ex), ex -> fallback(eventId, ex));
+    }
+
+    private Mono<EventResponse> fallback(String eventId, Throwable ex) {
+        EventResponse event = lastKnown.getIfPresent(eventId);
+        if (event == null) {
+            return Mono.error(ex);
+        }
+        log.warn("ms-event-management indisponível ({}), usando o último evento conhecido {}", ex.getMessage(), eventId);
+        fallbackCounter.increment();
+        return Mono.just(event);
+    }
+
+    private boolean isClientError(Throwable ex) {
+        return ex instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError();
+    }
+}
@@ -0,0 +1,202 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.config.RabbitMQConfig;
+import br.com.compass.ms_ticket_management.config.TicketConfirmationTopology;
+import br.com.compass.ms_ticket_management.domain.EventTicketStats;
+import br.com.compass.ms_ticket_management.domain.PendingOutboxMessage;
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.domain.TicketHold;
+import br.com.compass.ms_ticket_management.domain.TicketInventory;
+import br.com.compass.ms_ticket_management.exception.TicketNotFoundException;
+import br.com.compass.ms_ticket_management.repository.ReactiveTicketRepository;
+import br.com.compass.ms_ticket_management.web.dto.EventResponse;
+import br.com.compass.ms_ticket_management.web.dto.TicketLifecycleEvent;
+import br.com.compass.ms_ticket_management.web.dto.TicketResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Variante reativa da compra e consulta de ingressos, ativada pelo profile {@code reactive} para
+ * comparação com o {@link TicketService}. Mantém as mesmas regras: o ticket, com as mensagens do outbox
+ * no próprio documento, e os contadores do evento são gravados pelo driver reativo do Mongo, e o
+ * {@link OutboxRelay} continua responsável por publicar no RabbitMQ.
+ */
+@Slf4j
+@Profile("reactive")
+@Service
+@RequiredArgsConstructor
+public class ReactiveTicketService {
+
+    private final ReactiveTicketRepository ticketRepository;
+    private final ReactiveEventClient eventClient;
+    private final ReactiveMongoOperations mongoOperations;
+    private final OutboxService outboxService;
+    private final TicketIdAllocator ticketIdAllocator;
+    private final TicketMessageFormatter messageFormatter;
+    private final TicketQueuePayloadFactory payloadFactory;
+    private final TicketConfirmationTopology confirmationTopology;
+
+    public Mono<TicketResponse> createTicket(Ticket ticket) {
+        log.info("Iniciando a criação de um novo ticket para o evento {}", ticket.getEventId());
+        Mono<Long> ticketId = Mono.defer(() -> {
+            OptionalLong inMemoryId = ticketIdAllocator.tryNextId();
+            return inMemoryId.isPresent() ? Mono.just(inMemoryId.getAsLong())
+                    : Mono.fromCallable(ticketIdAllocator::nextId).subscribeOn(Schedulers.boundedElastic());
+        });
+        return Mono.zip(ticketId, eventClient.getEventById(ticket.getEventId()))
+                .flatMap(result -> {
+                    EventResponse event = result.getT2();
+                    log.info("Evento encontrado para criação do ticket: {}", event.getEventName());
+                    ticket.setTicketId(String.valueOf(result.getT1()));
+                    ticket.setEventName(event.getEventName());
+                    ticket.setStatus(TicketService.COMPLETED_STATUS);
+                    ticket.setCountedInStats(true);
+                    List<TicketInventoryService.Slot> slots = TicketInventoryService.slotsFor(event, ticket.getSector());
+                    ticket.setInventorySlots(TicketInventoryService.ids(slots));
+                    return reserve(slots)
+                            .then(Mono.defer(() -> {
+                                        ticket.setPendingOutbox(createdMessages(ticket, event));
+                                        return ticketRepository.save(ticket);
+                                    })
+                                    .onErrorResume(ex -> release(slots).then(Mono.error(ex))))
+                            .flatMap(savedTicket -> movePending(savedTicket)
+                                    .then(recordStats(savedTicket))
+                                    .then(Mono.fromSupplier(() -> {
+                                        log.info("Ticket criado com sucesso: {}", savedTicket.getTicketId());
+                                        return TicketService.toResponse(savedTicket, event,
+                                                messageFormatter.formatBrl(savedTicket.getBrlAmount()),
+                                                messageFormatter.formatUsd(savedTicket.getUsdAmount()));
+                                    })));
+                });
+    }
+
+    /**
+     * Mesma reserva do {@link TicketInventoryService}, com o driver reativo: um update condicional por
+     * contador, criando o contador que ainda não existe, e, se algum estiver esgotado, devolução dos já
+     * reservados.
+     */
+    private Mono<Void> reserve(List<TicketInventoryService.Slot> slots) {
+        if (slots.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            List<TicketInventoryService.Slot> reserved = new ArrayList<>(slots.size());
+            return Flux.fromIterable(slots)
+                    .concatMap(slot -> tryReserve(slot).flatMap(ok -> {
+                        if (!ok) {
+                            return release(reserved).then(Mono.<Boolean>error(TicketInventoryService.soldOut(slot)));
+                        }
+                        reserved.add(slot);
+                        return Mono.just(true);
+                    }))
+                    .then();
+        });
+    }
+
+    private Mono<Boolean> tryReserve(TicketInventoryService.Slot slot) {
+        if (slot.capacity() < 1) {
+            return Mono.just(false);
+        }
+        return reserveExisting(slot).flatMap(reserved -> reserved ? Mono.just(true)
+                : mongoOperations.exists(Query.query(where("_id").is(slot.id())), TicketInventory.class)
+                        .flatMap(exists -> exists ? Mono.just(false) : seed(slot).then(reserveExisting(slot))));
+    }
+
+    private Mono<Boolean> reserveExisting(TicketInventoryService.Slot slot) {
+        return mongoOperations.updateFirst(TicketInventoryService.reserveQuery(slot, 1),
+                        TicketInventoryService.reserveUpdate(1), TicketInventory.class)
+                .map(result -> result.getMatchedCount() > 0);
+    }
+
+    private Mono<Void> seed(TicketInventoryService.Slot slot) {
+        return Mono.zip(mongoOperations.count(TicketInventoryService.uncountedTicketsQuery(slot), Ticket.class),
+                        mongoOperations.find(TicketInventoryService.uncountedHoldsQuery(slot), TicketHold.class)
+                                .map(hold -> (long) hold.getQuantity())
+                                .reduce(0L, Long::sum))
+                .flatMap(sold -> mongoOperations.insert(TicketInventoryService.newCounter(slot, sold.getT1() + sold.getT2())))
+                .onErrorResume(DuplicateKeyException.class, ex -> Mono.empty())
+                .then();
+    }
+
+    private Mono<Void> release(List<TicketInventoryService.Slot> slots) {
+        if (slots.isEmpty()) {
+            return Mono.empty();
+        }
+        return mongoOperations.updateMulti(
+                        TicketInventoryService.releaseQuery(slots.stream().map(TicketInventoryService.Slot::id).toList(), 1),
+                        TicketInventoryService.releaseUpdate(1), TicketInventory.class)
+                .then();
+    }
+
+    private List<PendingOutboxMessage> createdMessages(Ticket ticket, EventResponse event) {
+        Object message = payloadFactory.create(ticket, event, messageFormatter.formatBrl(ticket.getBrlAmount()),
+                messageFormatter.formatUsd(ticket.getUsdAmount()));
+        String routingKey = confirmationTopology.routingKey(ticket.getEventId());
+        log.info("Registrando mensagem para {}: {}", routingKey, message);
+        return List.of(
+                PendingOutboxMessage.of(outboxService.toOutboxMessage(confirmationTopology.exchange(), routingKey, message)),
+                PendingOutboxMessage.of(outboxService.toJsonOutboxMessage(RabbitMQConfig.TICKET_EVENTS_EXCHANGE,
+                        RabbitMQConfig.TICKET_CREATED_ROUTING_KEY,
+                        TicketService.lifecycleEvent(TicketLifecycleEvent.TICKET_CREATED, ticket))));
+    }
+
+    /**
+     * Mesma movimentação do {@link OutboxService#movePending}: copia as mensagens do ticket para o outbox e
+     * as remove do documento. Se falhar, elas ficam no ticket e o {@link OutboxRelay} as recupera depois.
+     */
+    private Mono<Void> movePending(Ticket savedTicket) {
+        return mongoOperations.insertAll(savedTicket.getPendingOutbox().stream()
+                        .map(PendingOutboxMessage::toOutboxMessage)
+                        .toList())
+                .then(Mono.defer(() -> mongoOperations.updateFirst(Query.query(where("_id").is(savedTicket.getTicketId())),
+                        new Update().unset(OutboxService.PENDING_OUTBOX), Ticket.class)))
+                .then()
+                .onErrorResume(ex -> {
+                    log.warn("Mensagens do ticket {} continuam pendentes no documento e serão movidas pelo relay: {}",
+                            savedTicket.getTicketId(), ex.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /** Mesmo $inc do {@link EventTicketStatsService}, semeando antes os contadores de um evento que ainda não os tem. */
+    private Mono<Void> recordStats(Ticket savedTicket) {
+        String eventId = savedTicket.getEventId();
+        Query query = EventTicketStatsService.byEventId(eventId);
+        Update update = EventTicketStatsService.createdUpdate(savedTicket).set("updatedAt", Instant.now());
+        return mongoOperations.updateFirst(query, update, EventTicketStats.class)
+                .flatMap(result -> result.getMatchedCount() > 0 ? Mono.empty()
+                        : mongoOperations.aggregate(EventTicketStatsService.uncountedTickets(eventId), Ticket.class, Document.class)
+                        .collectList()
+                        .flatMap(groups -> mongoOperations.upsert(query,
+                                EventTicketStatsService.seedUpdate(EventTicketStatsService.toStats(eventId, groups)),
+                                EventTicketStats.class))
+                        .then(mongoOperations.upsert(query, update, EventTicketStats.class)))
+                .then();
+    }
+
+    public Mono<Ticket> getTicketById(String id) {
+        log.info("Buscando ticket com ID: {}", id);
+        return ticketRepository.findById(id)
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.error("Ticket não encontrado com ID: {}", id);
+                    return Mono.error(new TicketNotFoundException("Ticket não encontrado com ID: " + id));
+                }));
+    }
+}
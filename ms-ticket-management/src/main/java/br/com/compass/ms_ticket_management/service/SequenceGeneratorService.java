@@ -1,6 +1,7 @@
 package br.com.compass.ms_ticket_management.service;
 
 import br.com.compass.ms_ticket_management.config.database.DatabaseSequence;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoOperations;
@@ -12,17 +13,29 @@ import org.springframework.stereotype.Service;
 import java.util.Objects;
 
 @Service
+@Timed("service.calls")
 public class SequenceGeneratorService {
     @Autowired
     private MongoOperations mongoOperations;
 
     public long generateSequence(String seqName) {
+        return reserveBlock(seqName, 1);
+    }
+
+    /**
+     * Reserva um bloco de {@code blockSize} valores com um único $inc e retorna o último valor do bloco.
+     * O bloco reservado é o intervalo [retorno - blockSize + 1, retorno].
+     */
+    public long reserveBlock(String seqName, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("O tamanho do bloco deve ser maior que 0");
+        }
         DatabaseSequence counter = mongoOperations.findAndModify(
                 Query.query(Criteria.where("id").is(seqName)),
-                new Update().inc("sequenceValue", 1),
+                new Update().inc("sequenceValue", blockSize),
                 FindAndModifyOptions.options().returnNew(true).upsert(true),
                 DatabaseSequence.class
         );
-        return !Objects.isNull(counter) ? counter.getSequenceValue() : 1;
+        return !Objects.isNull(counter) ? counter.getSequenceValue() : blockSize;
     }
 }
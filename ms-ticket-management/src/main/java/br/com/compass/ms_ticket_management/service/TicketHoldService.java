@@ -0,0 +1,313 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.domain.TicketHold;
+import br.com.compass.ms_ticket_management.exception.HoldNotActiveException;
+import br.com.compass.ms_ticket_management.exception.HoldNotFoundException;
+import br.com.compass.ms_ticket_management.web.dto.EventResponse;
+import br.com.compass.ms_ticket_management.web.dto.TicketHoldConfirmRequest;
+import br.com.compass.ms_ticket_management.web.dto.TicketHoldRequest;
+import br.com.compass.ms_ticket_management.web.dto.TicketResponse;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Reservas temporárias de lugares. A reserva desconta os lugares do estoque na hora e guarda o vencimento
+ * no Mongo; a expiração é agendada no {@link HoldExpiryWheel} desta instância, que a cada tick devolve as
+ * reservas vencidas. Como o wheel fica em memória, uma varredura periódica no Mongo expira as reservas que
+ * ele não viu (criadas por outra instância, perdidas num restart ou que falharam ao expirar). Expirar,
+ * liberar e confirmar são {@code findAndModify} condicionados a {@code ACTIVE}, então cada reserva é
+ * encerrada uma única vez e os lugares voltam ao estoque no máximo uma vez.
+ */
+@Slf4j
+@Service
+@Timed("service.calls")
+public class TicketHoldService {
+
+    private final MongoOperations mongoOperations;
+    private final CachedEventClient eventClient;
+    private final TicketInventoryService inventoryService;
+    private final TicketService ticketService;
+    private final HoldExpiryWheel wheel;
+    private final Duration holdDuration;
+    private final Duration retention;
+    private final int sweepBatchSize;
+    private final Counter createdCounter;
+    private final Counter confirmedCounter;
+    private final Counter releasedCounter;
+    private final Counter wheelExpiredCounter;
+    private final Counter sweepExpiredCounter;
+
+    public TicketHoldService(MongoOperations mongoOperations,
+                             CachedEventClient eventClient,
+                             TicketInventoryService inventoryService,
+                             TicketService ticketService,
+                             MeterRegistry meterRegistry,
+                             @Value("${ticket.holds.duration:5m}") Duration holdDuration,
+                             @Value("${ticket.holds.retention:1d}") Duration retention,
+                             @Value("${ticket.holds.tick-ms:1000}") long tickMillis,
+                             @Value("${ticket.holds.wheel-size:64}") int wheelSize,
+                             @Value("${ticket.holds.wheel-levels:4}") int wheelLevels,
+                             @Value("${ticket.holds.sweep-batch-size:500}") int sweepBatchSize) {
+        this.mongoOperations = mongoOperations;
+        this.eventClient = eventClient;
+        this.inventoryService = inventoryService;
+        this.ticketService = ticketService;
+        this.holdDuration = holdDuration;
+        this.retention = retention;
+        this.sweepBatchSize = sweepBatchSize;
+        this.wheel = new HoldExpiryWheel(tickMillis, wheelSize, wheelLevels, System.currentTimeMillis());
+
+        Gauge.builder("ticket.hold.scheduled", wheel, HoldExpiryWheel::size)
+                .description("Reservas ativas agendadas no timing wheel desta instância")
+                .register(meterRegistry);
+        this.createdCounter = holdCounter(meterRegistry, "ticket.hold.created", "Reservas criadas");
+        this.confirmedCounter = holdCounter(meterRegistry, "ticket.hold.confirmed", "Reservas convertidas em ingressos");
+        this.releasedCounter = holdCounter(meterRegistry, "ticket.hold.released", "Reservas liberadas pelo comprador");
+        this.wheelExpiredCounter = expiredCounter(meterRegistry, "wheel");
+        this.sweepExpiredCounter = expiredCounter(meterRegistry, "sweep");
+    }
+
+    private static Counter holdCounter(MeterRegistry meterRegistry, String name, String description) {
+        return Counter.builder(name)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    private static Counter expiredCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("ticket.hold.expired")
+                .description("Reservas expiradas sem confirmação, com os lugares devolvidos ao estoque")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    public TicketHold createHold(TicketHoldRequest request) {
+        log.info("Criando reserva de {} lugar(es) para o evento {}", request.getQuantity(), request.getEventId());
+        EventResponse event = eventClient.getEventById(request.getEventId());
+        List<TicketInventoryService.Slot> slots = TicketInventoryService.slotsFor(event, request.getSector());
+        inventoryService.reserve(slots, request.getQuantity());
+
+        Instant now = Instant.now();
+        TicketHold hold = new TicketHold();
+        hold.setId(UUID.randomUUID().toString());
+        hold.setEventId(request.getEventId());
+        hold.setSector(request.getSector());
+        hold.setQuantity(request.getQuantity());
+        hold.setInventorySlots(TicketInventoryService.ids(slots));
+        hold.setStatus(TicketHold.Status.ACTIVE);
+        hold.setCreatedAt(now);
+        hold.setExpiresAt(now.plus(holdDuration));
+        try {
+            mongoOperations.insert(hold);
+        } catch (RuntimeException ex) {
+            inventoryService.release(slots, request.getQuantity());
+            throw ex;
+        }
+        wheel.schedule(hold.getId(), hold.getExpiresAt().toEpochMilli());
+        createdCounter.increment();
+        log.info("Reserva {} criada, expira em {}", hold.getId(), hold.getExpiresAt());
+        return hold;
+    }
+
+    public TicketHold getHold(String id) {
+        TicketHold hold = mongoOperations.findById(id, TicketHold.class);
+        if (hold == null) {
+            log.error("Reserva não encontrada com ID: {}", id);
+            throw new HoldNotFoundException("Reserva não encontrada com ID: " + id);
+        }
+        return hold;
+    }
+
+    /**
+     * Encerra a reserva como {@code CONFIRMED} antes de emitir os ingressos, para que a expiração não devolva
+     * os lugares no meio da confirmação. Se a emissão falhar antes de gravar algum ingresso, a reserva volta a
+     * {@code ACTIVE} com o mesmo vencimento. Se algum ingresso já foi gravado, a reserva fica {@code CONFIRMED}
+     * com os IDs emitidos: os lugares pertencem a esses ingressos e não podem voltar ao estoque.
+     */
+    public List<TicketResponse> confirmHold(String id, TicketHoldConfirmRequest buyer) {
+        log.info("Confirmando a reserva {}", id);
+        Instant now = Instant.now();
+        Query query = Query.query(where("_id").is(id)
+                .and("status").is(TicketHold.Status.ACTIVE)
+                .and("expiresAt").gt(now));
+        Update update = finish(TicketHold.Status.CONFIRMED, now);
+        TicketHold hold = mongoOperations.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), TicketHold.class);
+        if (hold == null) {
+            throw notActive(id);
+        }
+        wheel.cancel(id);
+
+        List<TicketResponse> tickets;
+        try {
+            tickets = ticketService.createHeldTickets(hold, buyer);
+        } catch (RuntimeException ex) {
+            List<String> issued = issuedTickets(hold.getTicketIds());
+            if (!issued.isEmpty()) {
+                log.error("Falha ao concluir a emissão da reserva {}; a reserva fica confirmada com os tickets {}: {}",
+                        id, issued, ex.getMessage());
+                mongoOperations.updateFirst(Query.query(where("_id").is(id)), new Update().set("ticketIds", issued),
+                        TicketHold.class);
+                throw ex;
+            }
+            log.error("Falha ao emitir os tickets da reserva {}; a reserva volta a ficar ativa: {}", id, ex.getMessage());
+            mongoOperations.updateFirst(
+                    Query.query(where("_id").is(id).and("status").is(TicketHold.Status.CONFIRMED)),
+                    new Update().set("status", TicketHold.Status.ACTIVE).unset("finishedAt").unset("purgeAt"),
+                    TicketHold.class);
+            wheel.schedule(id, hold.getExpiresAt().toEpochMilli());
+            throw ex;
+        }
+        mongoOperations.updateFirst(Query.query(where("_id").is(id)),
+                new Update().set("ticketIds", tickets.stream().map(TicketResponse::getTicketId).toList()),
+                TicketHold.class);
+        confirmedCounter.increment();
+        log.info("Reserva {} confirmada com {} ticket(s)", id, tickets.size());
+        return tickets;
+    }
+
+    /**
+     * IDs reservados para a reserva que chegaram a ser gravados. Se não for possível consultar, considera que
+     * todos foram, para não devolver ao estoque lugares que podem ter sido vendidos.
+     */
+    private List<String> issuedTickets(List<String> ticketIds) {
+        if (ticketIds == null || ticketIds.isEmpty()) {
+            return List.of();
+        }
+        Query query = Query.query(where("_id").in(ticketIds));
+        query.fields().include("_id");
+        try {
+            return mongoOperations.find(query, Ticket.class).stream().map(Ticket::getTicketId).toList();
+        } catch (RuntimeException ex) {
+            log.error("Não foi possível verificar os tickets {} gravados: {}", ticketIds, ex.getMessage());
+            return ticketIds;
+        }
+    }
+
+    public void releaseHold(String id) {
+        log.info("Liberando a reserva {}", id);
+        if (close(id, TicketHold.Status.RELEASED) == null) {
+            throw notActive(id);
+        }
+        releasedCounter.increment();
+    }
+
+    /**
+     * Expira as reservas vencidas no timing wheel. Uma falha no Mongo não as devolve ao wheel: a varredura
+     * as encontra depois.
+     */
+    @Scheduled(fixedDelayString = "${ticket.holds.tick-ms:1000}")
+    public void expireDue() {
+        expireDue(System.currentTimeMillis());
+    }
+
+    void expireDue(long nowMillis) {
+        List<String> due = wheel.advance(nowMillis);
+        for (String id : due) {
+            if (close(id, TicketHold.Status.EXPIRED) != null) {
+                wheelExpiredCounter.increment();
+            }
+        }
+        if (!due.isEmpty()) {
+            log.info("{} reserva(s) vencida(s) no timing wheel", due.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ticket.holds.sweep-interval-ms:30000}")
+    public void sweepExpired() {
+        int expired = 0;
+        List<TicketHold> batch;
+        do {
+            Query query = Query.query(where("status").is(TicketHold.Status.ACTIVE).and("expiresAt").lte(Instant.now()))
+                    .with(Sort.by(Sort.Direction.ASC, "expiresAt"))
+                    .limit(sweepBatchSize);
+            query.fields().include("_id");
+            batch = mongoOperations.find(query, TicketHold.class);
+            for (TicketHold hold : batch) {
+                wheel.cancel(hold.getId());
+                if (close(hold.getId(), TicketHold.Status.EXPIRED) != null) {
+                    sweepExpiredCounter.increment();
+                    expired++;
+                }
+            }
+        } while (batch.size() == sweepBatchSize && !Thread.currentThread().isInterrupted());
+        if (expired > 0) {
+            log.warn("{} reserva(s) vencida(s) expiradas pela varredura do Mongo", expired);
+        }
+    }
+
+    /**
+     * Recarrega no wheel as reservas ainda ativas, para que um restart não as deixe só para a varredura.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveHolds() {
+        Query query = Query.query(where("status").is(TicketHold.Status.ACTIVE));
+        query.fields().include("_id").include("expiresAt");
+        try (Stream<TicketHold> holds = mongoOperations.stream(query, TicketHold.class)) {
+            holds.forEach(hold -> wheel.schedule(hold.getId(), hold.getExpiresAt().toEpochMilli()));
+        } catch (RuntimeException ex) {
+            log.warn("Não foi possível recarregar as reservas ativas; a varredura do Mongo vai expirá-las: {}", ex.getMessage());
+            return;
+        }
+        log.info("{} reserva(s) ativa(s) agendadas no timing wheel", wheel.size());
+    }
+
+    /**
+     * Encerra uma reserva ativa e devolve os lugares ao estoque.
+     *
+     * @return a reserva encerrada, ou {@code null} se ela não estava mais ativa.
+     */
+    private TicketHold close(String id, TicketHold.Status status) {
+        Instant now = Instant.now();
+        Query query = Query.query(where("_id").is(id).and("status").is(TicketHold.Status.ACTIVE));
+        TicketHold hold = mongoOperations.findAndModify(query, finish(status, now),
+                FindAndModifyOptions.options().returnNew(true), TicketHold.class);
+        if (hold == null) {
+            return null;
+        }
+        wheel.cancel(id);
+        inventoryService.releaseSlots(hold.getInventorySlots(), hold.getQuantity());
+        log.info("Reserva {} encerrada como {}; {} lugar(es) devolvido(s)", id, status, hold.getQuantity());
+        return hold;
+    }
+
+    private Update finish(TicketHold.Status status, Instant now) {
+        return new Update()
+                .set("status", status)
+                .set("finishedAt", now)
+                .set("purgeAt", now.plus(retention));
+    }
+
+    private RuntimeException notActive(String id) {
+        TicketHold hold = getHold(id);
+        log.warn("Reserva {} não está mais ativa: {}", id, hold.getStatus());
+        if (hold.getStatus() == TicketHold.Status.ACTIVE) {
+            return new HoldNotActiveException("A reserva " + id + " expirou");
+        }
+        return new HoldNotActiveException("A reserva " + id + " não está mais ativa: " + hold.getStatus());
+    }
+
+    HoldExpiryWheel wheel() {
+        return wheel;
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.compass.ms_ticket_management.service;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Alocador hi/lo de IDs de ticket: reserva blocos de IDs no contador do Mongo com um único $inc
+ * e os distribui em memória. IDs de um bloco não utilizado (ex.: restart) são descartados, então a
+ * sequência pode ter lacunas, mas nunca duplicatas entre instâncias.
+ */
+@Slf4j
+@Service
+@Timed("service.calls")
+public class TicketIdAllocator {
+
+    static final String SEQUENCE_NAME = "ticket_sequence";
+
+    private final SequenceGeneratorService sequenceGeneratorService;
+    private final int blockSize;
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private volatile IdBlock currentBlock = IdBlock.EMPTY;
+
+    public TicketIdAllocator(SequenceGeneratorService sequenceGeneratorService,
+                             MeterRegistry meterRegistry,
+                             @Value("${ticket.sequence.block-size:50}") int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("ticket.sequence.block-size deve ser maior que 0");
+        }
+        this.sequenceGeneratorService = sequenceGeneratorService;
+        this.blockSize = blockSize;
+        Gauge.builder("ticket.sequence.block.remaining", this, TicketIdAllocator::getRemainingInBlock)
+                .description("IDs de ticket ainda disponíveis no bloco reservado em memória")
+                .register(meterRegistry);
+    }
+
+    public long nextId() {
+        return takeRange(1);
+    }
+
+    /** Retorna um ID do bloco em memória sem ir ao Mongo; vazio quando o bloco acabou e precisa ser reposto. */
+    public OptionalLong tryNextId() {
+        long id = currentBlock.take(1);
+        return id != IdBlock.EXHAUSTED ? OptionalLong.of(id) : OptionalLong.empty();
+    }
+
+    public long[] nextIds(int count) {
+        if (count <= 0) {
+            return new long[0];
+        }
+        long first;
+        if (count >= blockSize) {
+            first = sequenceGeneratorService.reserveBlock(SEQUENCE_NAME, count) - count + 1;
+        } else {
+            first = takeRange(count);
+        }
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = first + i;
+        }
+        return ids;
+    }
+
+    public long getRemainingInBlock() {
+        return currentBlock.remaining();
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    private long takeRange(int count) {
+        while (true) {
+            IdBlock block = currentBlock;
+            long first = block.take(count);
+            if (first != IdBlock.EXHAUSTED) {
+                return first;
+            }
+            refill(block);
+        }
+    }
+
+    private void refill(IdBlock exhausted) {
+        refillLock.lock();
+        try {
+            if (currentBlock == exhausted) {
+                long last = sequenceGeneratorService.reserveBlock(SEQUENCE_NAME, blockSize);
+                currentBlock = new IdBlock(last - blockSize + 1, last);
+                log.info("Novo bloco de IDs de ticket reservado: {} a {}", last - blockSize + 1, last);
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private static final class IdBlock {
+        static final long EXHAUSTED = -1;
+        static final IdBlock EMPTY = new IdBlock(1, 0);
+
+        private final AtomicLong next;
+        private final long last;
+
+        IdBlock(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+
+        long take(int count) {
+            long first = next.getAndAdd(count);
+            return first + count - 1 <= last ? first : EXHAUSTED;
+        }
+
+        long remaining() {
+            return Math.max(0, last - next.get() + 1);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.domain.TicketHold;
+import br.com.compass.ms_ticket_management.domain.TicketInventory;
+import br.com.compass.ms_ticket_management.exception.InvalidSectorException;
+import br.com.compass.ms_ticket_management.exception.TicketsSoldOutException;
+import br.com.compass.ms_ticket_management.web.dto.EventResponse;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Controle de capacidade dos eventos. Cada reserva é um único update condicional
+ * ({@code sold <= capacidade - quantidade}, {@code $inc sold}) no documento do evento e, se houver, no do
+ * setor; o Mongo aplica o filtro e o incremento atomicamente, então nenhuma instância vende além da
+ * capacidade. Eventos sem capacidade e sem setores não passam por aqui.
+ * <p>
+ * Um contador nasce com os ingressos ativos e as reservas ativas que ainda não foram contados nele (vendidos
+ * antes de o evento ter capacidade ou setores), e cada ingresso ou reserva guarda em {@code inventorySlots}
+ * os contadores que incrementou: a devolução decrementa só esses.
+ */
+@Slf4j
+@Service
+@Timed("service.calls")
+public class TicketInventoryService {
+
+    private final MongoOperations mongoOperations;
+    private final Counter rejectedCounter;
+
+    public TicketInventoryService(MongoOperations mongoOperations, MeterRegistry meterRegistry) {
+        this.mongoOperations = mongoOperations;
+        this.rejectedCounter = Counter.builder("ticket.inventory.rejected")
+                .description("Reservas recusadas por falta de lugares")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Contador a reservar: o do setor, o do evento ou ambos.
+     */
+    public record Slot(String id, String eventId, String sector, int capacity) {
+    }
+
+    /**
+     * Contadores que limitam a venda de um ingresso do setor informado. Vazio quando o evento não tem limite.
+     */
+    public static List<Slot> slotsFor(EventResponse event, String sector) {
+        List<Slot> slots = new ArrayList<>(2);
+        List<EventResponse.Sector> sectors = event.getSectors();
+        if (sectors != null && !sectors.isEmpty()) {
+            if (sector == null) {
+                throw new InvalidSectorException("O setor é obrigatório para o evento " + event.getId());
+            }
+            EventResponse.Sector match = sectors.stream()
+                    .filter(candidate -> sector.equals(candidate.getName()))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidSectorException("Setor " + sector + " não existe no evento " + event.getId()));
+            slots.add(new Slot(slotId(event.getId(), sector), event.getId(), sector, match.getCapacity()));
+        } else if (sector != null) {
+            throw new InvalidSectorException("O evento " + event.getId() + " não possui setores");
+        }
+        if (event.getCapacity() != null) {
+            slots.add(new Slot(event.getId(), event.getId(), null, event.getCapacity()));
+        }
+        return slots;
+    }
+
+    /**
+     * Reserva {@code quantity} lugares em todos os contadores ou em nenhum: se um deles estiver esgotado, os
+     * já reservados são devolvidos antes de lançar {@link TicketsSoldOutException}.
+     */
+    public void reserve(List<Slot> slots, int quantity) {
+        List<Slot> reserved = new ArrayList<>(slots.size());
+        for (Slot slot : slots) {
+            if (!tryReserve(slot, quantity)) {
+                release(reserved, quantity);
+                rejectedCounter.increment(quantity);
+                log.warn("Sem lugares para {} ingresso(s) em {}", quantity, slot.id());
+                throw soldOut(slot);
+            }
+            reserved.add(slot);
+        }
+    }
+
+    public void release(List<Slot> slots, int quantity) {
+        releaseSlots(ids(slots), quantity);
+    }
+
+    /**
+     * Devolve os lugares de um ingresso cancelado ou de uma reserva encerrada nos contadores em que foram
+     * contados. Sem contadores (vendido sem limite), não há o que devolver.
+     */
+    public void releaseSlots(Collection<String> slotIds, int quantity) {
+        if (slotIds != null && !slotIds.isEmpty()) {
+            mongoOperations.updateMulti(releaseQuery(slotIds, quantity), releaseUpdate(quantity), TicketInventory.class);
+        }
+    }
+
+    /**
+     * Valor de {@code inventorySlots} para quem reservou nestes contadores; {@code null} sem contadores.
+     */
+    public static List<String> ids(List<Slot> slots) {
+        return slots.isEmpty() ? null : slots.stream().map(Slot::id).toList();
+    }
+
+    private boolean tryReserve(Slot slot, int quantity) {
+        if (quantity > slot.capacity()) {
+            return false;
+        }
+        if (reserveExisting(slot, quantity)) {
+            return true;
+        }
+        if (mongoOperations.exists(Query.query(where("_id").is(slot.id())), TicketInventory.class)) {
+            return false;
+        }
+        seed(slot);
+        return reserveExisting(slot, quantity);
+    }
+
+    private boolean reserveExisting(Slot slot, int quantity) {
+        return mongoOperations.updateFirst(reserveQuery(slot, quantity), reserveUpdate(quantity), TicketInventory.class)
+                .getMatchedCount() > 0;
+    }
+
+    /**
+     * Cria o contador com o que já ocupa lugares no evento ou setor. Se outra instância o criar antes, o
+     * insert colide e vale o contador dela.
+     */
+    private void seed(Slot slot) {
+        long tickets = mongoOperations.count(uncountedTicketsQuery(slot), Ticket.class);
+        long held = mongoOperations.find(uncountedHoldsQuery(slot), TicketHold.class).stream()
+                .mapToLong(TicketHold::getQuantity)
+                .sum();
+        try {
+            mongoOperations.insert(newCounter(slot, tickets + held));
+            log.info("Contador {} criado com {} ingresso(s) e {} lugar(es) reservados anteriores", slot.id(), tickets, held);
+        } catch (DuplicateKeyException ex) {
+            log.debug("Contador {} criado por outra instância", slot.id());
+        }
+    }
+
+    static String slotId(String eventId, String sector) {
+        return eventId + "/" + sector;
+    }
+
+    static Query uncountedTicketsQuery(Slot slot) {
+        Query query = Query.query(where("eventId").is(slot.eventId())
+                .and("status").ne(EventTicketStatsService.CANCELLED_STATUS)
+                .and("inventorySlots").ne(slot.id()));
+        if (slot.sector() != null) {
+            query.addCriteria(where("sector").is(slot.sector()));
+        }
+        return query;
+    }
+
+    static Query uncountedHoldsQuery(Slot slot) {
+        Query query = Query.query(where("eventId").is(slot.eventId())
+                .and("status").is(TicketHold.Status.ACTIVE)
+                .and("inventorySlots").ne(slot.id()));
+        if (slot.sector() != null) {
+            query.addCriteria(where("sector").is(slot.sector()));
+        }
+        query.fields().include("quantity");
+        return query;
+    }
+
+    static TicketInventory newCounter(Slot slot, long sold) {
+        TicketInventory inventory = new TicketInventory();
+        inventory.setId(slot.id());
+        inventory.setEventId(slot.eventId());
+        inventory.setSector(slot.sector());
+        inventory.setSold(sold);
+        inventory.setUpdatedAt(Instant.now());
+        return inventory;
+    }
+
+    static Query reserveQuery(Slot slot, int quantity) {
+        return Query.query(where("_id").is(slot.id()).and("sold").lte((long) slot.capacity() - quantity));
+    }
+
+    static Update reserveUpdate(int quantity) {
+        return new Update().inc("sold", quantity).set("updatedAt", Instant.now());
+    }
+
+    static Query releaseQuery(Collection<String> ids, int quantity) {
+        return Query.query(where("_id").in(ids).and("sold").gte(quantity));
+    }
+
+    static Update releaseUpdate(int quantity) {
+        return new Update().inc("sold", -quantity).set("updatedAt", Instant.now());
+    }
+
+    static TicketsSoldOutException soldOut(Slot slot) {
+        return new TicketsSoldOutException(slot.sector() != null
+                ? "Ingressos esgotados para o setor " + slot.sector() + " do evento " + slot.eventId()
+                : "Ingressos esgotados para o evento " + slot.eventId());
+    }
+}
@@ -0,0 +1,145 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.web.dto.EventResponse;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+
+/**
+ * Formata os valores em BRL/USD e a mensagem de confirmação da compra sem criar um {@link NumberFormat}
+ * nem interpretar um format string a cada ingresso. A saída é idêntica à de
+ * {@code NumberFormat.getCurrencyInstance} e à do template original com {@code String.format}.
+ * Não guarda estado mutável, então pode ser compartilhado entre threads.
+ */
+@Component
+public class TicketMessageFormatter {
+
+    private final CurrencyFormat brlFormat = new CurrencyFormat(new Locale("pt", "BR"));
+    private final CurrencyFormat usdFormat = new CurrencyFormat(Locale.US);
+
+    public String formatBrl(Double amount) {
+        return brlFormat.format(amount);
+    }
+
+    public String formatUsd(Double amount) {
+        return usdFormat.format(amount);
+    }
+
+    /**
+     * Template pré-compilado: a concatenação é resolvida uma única vez pela JVM e cada mensagem é escrita
+     * direto no buffer do tamanho exato da saída.
+     */
+    public String confirmationMessage(Ticket ticket, EventResponse event, String brlAmount, String usdAmount) {
+        return "🎉 Ei " + ticket.getCustomerName() +
+                ", seu ingresso está confirmado! 🎟️\nDetalhes:\n🎤 Evento: " + event.getEventName() +
+                "\n📅 Data: " + event.getDateTime() +
+                "\n📍 Local: " + event.getLogradouro() +
+                ", " + event.getBairro() +
+                " - " + event.getCidade() +
+                "/" + event.getUf() +
+                "\n💰 Valor: " + brlAmount +
+                " (ou " + usdAmount +
+                ")\n\nAproveite o show e não esqueça de contar pros amigos! 🤩";
+    }
+
+    /**
+     * Formatação monetária com o mesmo padrão, símbolos e arredondamento (HALF_EVEN sobre o valor binário
+     * exato) do {@link DecimalFormat} do locale. Valores fora da faixa rápida (NaN, infinito ou acima de
+     * {@link #MAX_FAST_AMOUNT}) são delegados ao próprio {@link NumberFormat}.
+     */
+    static final class CurrencyFormat {
+
+        static final double MAX_FAST_AMOUNT = 1e13;
+
+        private final Locale locale;
+        private final String positivePrefix;
+        private final String negativePrefix;
+        private final String positiveSuffix;
+        private final String negativeSuffix;
+        private final char groupingSeparator;
+        private final char decimalSeparator;
+        private final int groupingSize;
+
+        CurrencyFormat(Locale locale) {
+            DecimalFormat format = (DecimalFormat) NumberFormat.getCurrencyInstance(locale);
+            if (format.getMinimumFractionDigits() != 2 || format.getMaximumFractionDigits() != 2
+                    || format.getRoundingMode() != RoundingMode.HALF_EVEN || format.getGroupingSize() < 1) {
+                throw new IllegalStateException("Formato monetário não suportado para o locale " + locale);
+            }
+            DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+            this.locale = locale;
+            this.positivePrefix = format.getPositivePrefix();
+            this.negativePrefix = format.getNegativePrefix();
+            this.positiveSuffix = format.getPositiveSuffix();
+            this.negativeSuffix = format.getNegativeSuffix();
+            this.groupingSeparator = symbols.getMonetaryGroupingSeparator();
+            this.decimalSeparator = symbols.getMonetaryDecimalSeparator();
+            this.groupingSize = format.isGroupingUsed() ? format.getGroupingSize() : Integer.MAX_VALUE;
+        }
+
+        String format(Double amount) {
+            if (amount == null) {
+                throw new IllegalArgumentException("Cannot format given Object as a Number");
+            }
+            double value = amount;
+            double absolute = Math.abs(value);
+            if (!(absolute < MAX_FAST_AMOUNT)) {
+                return NumberFormat.getCurrencyInstance(locale).format(value);
+            }
+            boolean negative = Double.doubleToRawLongBits(value) < 0;
+            String prefix = negative ? negativePrefix : positivePrefix;
+            String suffix = negative ? negativeSuffix : positiveSuffix;
+
+            long cents = toCents(absolute);
+            long units = cents / 100;
+            int integerDigits = digits(units);
+            int separators = (integerDigits - 1) / groupingSize;
+            char[] buffer = new char[prefix.length() + integerDigits + separators + 3 + suffix.length()];
+
+            int position = buffer.length;
+            suffix.getChars(0, suffix.length(), buffer, position -= suffix.length());
+            int fraction = (int) (cents % 100);
+            buffer[--position] = (char) ('0' + fraction % 10);
+            buffer[--position] = (char) ('0' + fraction / 10);
+            buffer[--position] = decimalSeparator;
+            for (int digit = 0; digit < integerDigits; digit++) {
+                if (digit > 0 && digit % groupingSize == 0) {
+                    buffer[--position] = groupingSeparator;
+                }
+                buffer[--position] = (char) ('0' + units % 10);
+                units /= 10;
+            }
+            prefix.getChars(0, prefix.length(), buffer, 0);
+            return new String(buffer);
+        }
+
+        /**
+         * Arredonda para centavos. {@code rint} já arredonda empates para o par; quando o valor escalado
+         * fica perto demais de ",5" para que o erro da multiplicação seja desprezível, o arredondamento é
+         * refeito sobre o valor binário exato.
+         */
+        static long toCents(double absolute) {
+            double scaled = absolute * 100;
+            double fraction = scaled - Math.floor(scaled);
+            if (Math.abs(fraction - 0.5) <= 2 * Math.ulp(scaled)) {
+                return new BigDecimal(absolute).setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+            }
+            return (long) Math.rint(scaled);
+        }
+
+        private static int digits(long value) {
+            int digits = 1;
+            while (value >= 10) {
+                value /= 10;
+                digits++;
+            }
+            return digits;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.web.dto.EventResponse;
+import br.com.compass.ms_ticket_management.web.dto.TicketConfirmationMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Monta o payload da confirmação de compra enviado para a ticket-queue. Durante a migração dos
+ * consumidores, {@code queue.format} escolhe entre o texto já renderizado (legado) e a
+ * mensagem estruturada em Avro, renderizada pelo consumidor.
+ */
+@Component
+public class TicketQueuePayloadFactory {
+
+    public enum Format { TEXT, AVRO }
+
+    private final TicketMessageFormatter messageFormatter;
+    private final Format format;
+
+    public TicketQueuePayloadFactory(TicketMessageFormatter messageFormatter,
+                                     @Value("${queue.format:text}") Format format) {
+        this.messageFormatter = messageFormatter;
+        this.format = format;
+    }
+
+    public Object create(Ticket ticket, EventResponse event, String brlAmount, String usdAmount) {
+        if (format == Format.TEXT) {
+            return messageFormatter.confirmationMessage(ticket, event, brlAmount, usdAmount);
+        }
+        return TicketConfirmationMessage.builder()
+                .ticketId(ticket.getTicketId())
+                .eventId(ticket.getEventId())
+                .customer(TicketConfirmationMessage.Customer.builder()
+                        .name(ticket.getCustomerName())
+                        .cpf(ticket.getCpf())
+                        .email(ticket.getCustomerMail())
+                        .build())
+                .brlAmount(ticket.getBrlAmount())
+                .usdAmount(ticket.getUsdAmount())
+                .event(TicketConfirmationMessage.Event.builder()
+                        .eventName(event.getEventName())
+                        .dateTime(event.getDateTime())
+                        .logradouro(event.getLogradouro())
+                        .bairro(event.getBairro())
+                        .cidade(event.getCidade())
+                        .uf(event.getUf())
+                        .build())
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -1,60 +1,363 @@
 package br.com.compass.ms_ticket_management.service;
 
+import br.com.compass.ms_ticket_management.config.RabbitMQConfig;
+import br.com.compass.ms_ticket_management.config.TicketConfirmationTopology;
+import br.com.compass.ms_ticket_management.domain.EventTicketStats;
+import br.com.compass.ms_ticket_management.domain.PendingOutboxMessage;
 import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.domain.TicketHold;
+import br.com.compass.ms_ticket_management.exception.InvalidSectorException;
 import br.com.compass.ms_ticket_management.exception.TicketNotFoundException;
+import br.com.compass.ms_ticket_management.exception.TicketsSoldOutException;
 import br.com.compass.ms_ticket_management.repository.TicketRepository;
 import br.com.compass.ms_ticket_management.web.dto.EventResponse;
+import br.com.compass.ms_ticket_management.web.dto.TicketBatchResponse;
+import br.com.compass.ms_ticket_management.web.dto.TicketHoldConfirmRequest;
+import br.com.compass.ms_ticket_management.web.dto.TicketLifecycleEvent;
 import br.com.compass.ms_ticket_management.web.dto.TicketResponse;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
-import java.text.NumberFormat;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Locale;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
 
 @Slf4j
-@RequiredArgsConstructor
 @Service
+@Timed("service.calls")
 public class TicketService {
 
+    static final String COMPLETED_STATUS = "Concluído";
+    static final String PURCHASE_STAGE_TIMER = "ticket.purchase.stage";
+    private static final String VERSION = "version";
+
     private final TicketRepository ticketRepository;
-    private final EventClient eventClient;
-    private final RabbitTemplate rabbitTemplate;
-    private final SequenceGeneratorService sequenceGeneratorService;
-    private final String queueName = "ticket-queue";
+    private final MongoOperations mongoOperations;
+    private final CachedEventClient eventClient;
+    private final OutboxService outboxService;
+    private final TicketIdAllocator ticketIdAllocator;
+    private final EventTicketStatsService eventTicketStatsService;
+    private final TicketInventoryService inventoryService;
+    private final TicketMessageFormatter messageFormatter;
+    private final TicketQueuePayloadFactory payloadFactory;
+    private final TicketConfirmationTopology confirmationTopology;
+    private final Executor executor;
+    private final Timer idStageTimer;
+    private final Timer eventStageTimer;
+    private final Timer inventoryStageTimer;
+    private final Timer saveStageTimer;
+    private final Timer outboxStageTimer;
+
+    public TicketService(TicketRepository ticketRepository,
+                         MongoOperations mongoOperations,
+                         CachedEventClient eventClient,
+                         OutboxService outboxService,
+                         TicketIdAllocator ticketIdAllocator,
+                         EventTicketStatsService eventTicketStatsService,
+                         TicketInventoryService inventoryService,
+                         TicketMessageFormatter messageFormatter,
+                         TicketQueuePayloadFactory payloadFactory,
+                         TicketConfirmationTopology confirmationTopology,
+                         MeterRegistry meterRegistry,
+                         @Qualifier("applicationTaskExecutor") Executor executor) {
+        this.ticketRepository = ticketRepository;
+        this.mongoOperations = mongoOperations;
+        this.eventClient = eventClient;
+        this.outboxService = outboxService;
+        this.ticketIdAllocator = ticketIdAllocator;
+        this.eventTicketStatsService = eventTicketStatsService;
+        this.inventoryService = inventoryService;
+        this.messageFormatter = messageFormatter;
+        this.payloadFactory = payloadFactory;
+        this.confirmationTopology = confirmationTopology;
+        this.executor = executor;
+        this.idStageTimer = stageTimer(meterRegistry, "id");
+        this.eventStageTimer = stageTimer(meterRegistry, "event");
+        this.inventoryStageTimer = stageTimer(meterRegistry, "inventory");
+        this.saveStageTimer = stageTimer(meterRegistry, "save");
+        this.outboxStageTimer = stageTimer(meterRegistry, "outbox");
+    }
 
+    private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder(PURCHASE_STAGE_TIMER)
+                .description("Duração de cada etapa da compra de um ingresso")
+                .tag("stage", stage)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * O ID normalmente sai do bloco em memória do {@link TicketIdAllocator}, na própria thread. Só quando o
+     * bloco precisa ser reposto no Mongo a reserva roda em paralelo com a busca do evento, e a compra espera
+     * apenas pela mais lenta das duas. Se o evento não existir, o ID já reservado é descartado, deixando
+     * uma lacuna na sequência como já acontece com os blocos. O lugar é reservado antes de gravar o ticket
+     * e devolvido se a gravação falhar. As mensagens do outbox vão no mesmo documento do ticket e só depois
+     * são movidas para a coleção "outbox", então nenhuma falha após a gravação as perde.
+     */
     public TicketResponse createTicket(Ticket ticket) {
         log.info("Iniciando a criação de um novo ticket para o evento {}", ticket.getEventId());
-        String ticketId = String.valueOf(sequenceGeneratorService.generateSequence("ticket_sequence"));
-        ticket.setTicketId(ticketId);
+        long idStart = System.nanoTime();
+        OptionalLong inMemoryId = ticketIdAllocator.tryNextId();
+        CompletableFuture<Long> ticketId;
+        if (inMemoryId.isPresent()) {
+            idStageTimer.record(System.nanoTime() - idStart, TimeUnit.NANOSECONDS);
+            ticketId = CompletableFuture.completedFuture(inMemoryId.getAsLong());
+        } else {
+            ticketId = CompletableFuture.supplyAsync(() -> idStageTimer.record(ticketIdAllocator::nextId), executor);
+        }
 
-        EventResponse event = eventClient.getEventById(ticket.getEventId());
+        EventResponse event = eventStageTimer.record(() -> eventClient.getEventById(ticket.getEventId()));
         log.info("Evento encontrado para criação do ticket: {}", event.getEventName());
+        List<TicketInventoryService.Slot> slots = TicketInventoryService.slotsFor(event, ticket.getSector());
+        inventoryStageTimer.record(() -> inventoryService.reserve(slots, 1));
 
-        ticket.setEventName(event.getEventName());
-        ticket.setStatus("Concluído");
+        String brlAmountFormatted;
+        String usdAmountFormatted;
+        Ticket savedTicket;
+        try {
+            ticket.setTicketId(String.valueOf(join(ticketId)));
+            ticket.setEventName(event.getEventName());
+            ticket.setStatus(COMPLETED_STATUS);
+            ticket.setCountedInStats(true);
+            ticket.setInventorySlots(TicketInventoryService.ids(slots));
+            brlAmountFormatted = messageFormatter.formatBrl(ticket.getBrlAmount());
+            usdAmountFormatted = messageFormatter.formatUsd(ticket.getUsdAmount());
+            ticket.setPendingOutbox(createdMessages(ticket, event, brlAmountFormatted, usdAmountFormatted));
+            savedTicket = saveStageTimer.record(() -> ticketRepository.save(ticket));
+        } catch (RuntimeException ex) {
+            inventoryService.release(slots, 1);
+            throw ex;
+        }
+        outboxStageTimer.record(() -> outboxService.movePending(List.of(savedTicket)));
+        eventTicketStatsService.recordCreated(savedTicket);
 
-        Ticket savedTicket = ticketRepository.save(ticket);
+        log.info("Ticket criado com sucesso: {}", savedTicket.getTicketId());
+        return toResponse(savedTicket, event, brlAmountFormatted, usdAmountFormatted);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
 
-        String brlAmountFormatted = NumberFormat.getCurrencyInstance(new Locale("pt", "BR"))
-                .format(ticket.getBrlAmount());
-        String usdAmountFormatted = NumberFormat.getCurrencyInstance(Locale.US)
-                .format(ticket.getUsdAmount());
+    /**
+     * Confirmação para o comprador e evento {@code ticket-created}, gravados dentro do próprio ticket.
+     */
+    private List<PendingOutboxMessage> createdMessages(Ticket ticket, EventResponse event, String brlAmount, String usdAmount) {
+        Object message = payloadFactory.create(ticket, event, brlAmount, usdAmount);
+        String routingKey = confirmationTopology.routingKey(ticket.getEventId());
+        log.debug("Registrando mensagem para {}: {}", routingKey, message);
+        return List.of(
+                PendingOutboxMessage.of(outboxService.toOutboxMessage(confirmationTopology.exchange(), routingKey, message)),
+                PendingOutboxMessage.of(outboxService.toJsonOutboxMessage(RabbitMQConfig.TICKET_EVENTS_EXCHANGE,
+                        RabbitMQConfig.TICKET_CREATED_ROUTING_KEY, lifecycleEvent(TicketLifecycleEvent.TICKET_CREATED, ticket))));
+    }
 
-        String message = buildPersonalizedMessage(ticket, event, brlAmountFormatted, usdAmountFormatted);
-        log.info("Enviando mensagem para a fila {}: {}", queueName, message);
-        rabbitTemplate.convertAndSend(queueName, message);
-        log.info("Mensagem enviada com sucesso para a fila {}", queueName);
+    public TicketBatchResponse createTickets(List<Ticket> tickets) {
+        log.info("Iniciando a criação de {} tickets em lote", tickets.size());
+        Map<String, EventResponse> events = new HashMap<>();
+        Map<String, String> eventErrors = new HashMap<>();
+        for (Ticket ticket : tickets) {
+            String eventId = ticket.getEventId();
+            if (events.containsKey(eventId) || eventErrors.containsKey(eventId)) {
+                continue;
+            }
+            try {
+                events.put(eventId, eventClient.getEventById(eventId));
+            } catch (RuntimeException ex) {
+                log.error("Evento {} não pôde ser carregado para o lote: {}", eventId, ex.getMessage());
+                eventErrors.put(eventId, ex.getMessage());
+            }
+        }
 
-        log.info("Ticket criado com sucesso: {}", savedTicket.getTicketId());
+        Map<Ticket, String> rejected = new IdentityHashMap<>();
+        List<Reservation> reservations = reserveInventory(tickets, events, rejected);
+        List<Ticket> accepted = tickets.stream()
+                .filter(ticket -> events.containsKey(ticket.getEventId()) && !rejected.containsKey(ticket))
+                .toList();
+        Map<Ticket, TicketResponse> responses = new IdentityHashMap<>();
+        if (!accepted.isEmpty()) {
+            try {
+                long[] ticketIds = ticketIdAllocator.nextIds(accepted.size());
+                for (int i = 0; i < accepted.size(); i++) {
+                    Ticket ticket = accepted.get(i);
+                    EventResponse event = events.get(ticket.getEventId());
+                    ticket.setTicketId(String.valueOf(ticketIds[i]));
+                    ticket.setEventName(event.getEventName());
+                    ticket.setStatus(COMPLETED_STATUS);
+                    ticket.setCountedInStats(true);
+                    String brlAmountFormatted = messageFormatter.formatBrl(ticket.getBrlAmount());
+                    String usdAmountFormatted = messageFormatter.formatUsd(ticket.getUsdAmount());
+                    ticket.setPendingOutbox(createdMessages(ticket, event, brlAmountFormatted, usdAmountFormatted));
+                    responses.put(ticket, toResponse(ticket, event, brlAmountFormatted, usdAmountFormatted));
+                }
+                ticketRepository.insert(accepted);
+            } catch (RuntimeException ex) {
+                reservations.forEach(reservation -> inventoryService.release(reservation.slots(), reservation.quantity()));
+                throw ex;
+            }
+            outboxService.movePending(accepted);
+            eventTicketStatsService.recordCreated(accepted);
+        }
+
+        List<TicketBatchResponse.Item> results = new ArrayList<>(tickets.size());
+        for (int i = 0; i < tickets.size(); i++) {
+            Ticket ticket = tickets.get(i);
+            EventResponse event = events.get(ticket.getEventId());
+            if (event == null || rejected.containsKey(ticket)) {
+                results.add(TicketBatchResponse.Item.builder()
+                        .index(i)
+                        .status(TicketBatchResponse.FAILED)
+                        .error(event == null ? eventErrors.get(ticket.getEventId()) : rejected.get(ticket))
+                        .build());
+                continue;
+            }
+            results.add(TicketBatchResponse.Item.builder()
+                    .index(i)
+                    .status(TicketBatchResponse.CREATED)
+                    .ticket(responses.get(ticket))
+                    .build());
+        }
+
+        log.info("Lote processado: {} tickets criados, {} com falha", accepted.size(), tickets.size() - accepted.size());
+        return TicketBatchResponse.builder()
+                .requested(tickets.size())
+                .created(accepted.size())
+                .failed(tickets.size() - accepted.size())
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Emite os ingressos de uma reserva confirmada. Os lugares já foram descontados do estoque pela reserva,
+     * então aqui não há nova reserva: cada ingresso herda os contadores dela. Os IDs reservados ficam em
+     * {@code hold.ticketIds} antes da gravação, para que, se algo falhar, quem chamou saiba quais ingressos
+     * podem ter sido gravados.
+     */
+    public List<TicketResponse> createHeldTickets(TicketHold hold, TicketHoldConfirmRequest buyer) {
+        log.info("Emitindo {} tickets da reserva {} para o evento {}", hold.getQuantity(), hold.getId(), hold.getEventId());
+        EventResponse event = eventStageTimer.record(() -> eventClient.getEventById(hold.getEventId()));
+        long[] ticketIds = idStageTimer.record(() -> ticketIdAllocator.nextIds(hold.getQuantity()));
+        hold.setTicketIds(Arrays.stream(ticketIds).mapToObj(String::valueOf).toList());
+        String brlAmountFormatted = messageFormatter.formatBrl(buyer.getBrlAmount());
+        String usdAmountFormatted = messageFormatter.formatUsd(buyer.getUsdAmount());
+        List<Ticket> tickets = new ArrayList<>(hold.getQuantity());
+        for (long ticketId : ticketIds) {
+            Ticket ticket = new Ticket();
+            ticket.setTicketId(String.valueOf(ticketId));
+            ticket.setCustomerName(buyer.getCustomerName());
+            ticket.setCpf(buyer.getCpf());
+            ticket.setCustomerMail(buyer.getCustomerMail());
+            ticket.setEventId(hold.getEventId());
+            ticket.setEventName(event.getEventName());
+            ticket.setSector(hold.getSector());
+            ticket.setBrlAmount(buyer.getBrlAmount());
+            ticket.setUsdAmount(buyer.getUsdAmount());
+            ticket.setStatus(COMPLETED_STATUS);
+            ticket.setCountedInStats(true);
+            ticket.setInventorySlots(hold.getInventorySlots());
+            ticket.setPendingOutbox(createdMessages(ticket, event, brlAmountFormatted, usdAmountFormatted));
+            tickets.add(ticket);
+        }
+        saveStageTimer.record(() -> ticketRepository.insert(tickets));
+        outboxStageTimer.record(() -> outboxService.movePending(tickets));
+        eventTicketStatsService.recordCreated(tickets);
+
+        log.info("Reserva {} emitiu os tickets {}", hold.getId(), tickets.stream().map(Ticket::getTicketId).toList());
+        return tickets.stream()
+                .map(ticket -> toResponse(ticket, event, brlAmountFormatted, usdAmountFormatted))
+                .toList();
+    }
+
+    private record Reservation(List<TicketInventoryService.Slot> slots, int quantity) {
+    }
+
+    /**
+     * Agrupa o lote por evento e setor e reserva cada grupo com uma única operação por contador. Um grupo
+     * sem lugares suficientes é recusado inteiro; tickets com setor inválido são recusados individualmente.
+     */
+    private List<Reservation> reserveInventory(List<Ticket> tickets, Map<String, EventResponse> events,
+                                               Map<Ticket, String> rejected) {
+        Map<String, List<Ticket>> groups = new LinkedHashMap<>();
+        Map<String, List<TicketInventoryService.Slot>> groupSlots = new HashMap<>();
+        for (Ticket ticket : tickets) {
+            EventResponse event = events.get(ticket.getEventId());
+            if (event == null) {
+                continue;
+            }
+            List<TicketInventoryService.Slot> slots;
+            try {
+                slots = TicketInventoryService.slotsFor(event, ticket.getSector());
+            } catch (InvalidSectorException ex) {
+                rejected.put(ticket, ex.getMessage());
+                continue;
+            }
+            if (!slots.isEmpty()) {
+                String key = slots.get(0).id();
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(ticket);
+                groupSlots.putIfAbsent(key, slots);
+            }
+        }
+
+        List<Reservation> reservations = new ArrayList<>(groups.size());
+        groups.forEach((key, group) -> {
+            List<TicketInventoryService.Slot> slots = groupSlots.get(key);
+            try {
+                inventoryService.reserve(slots, group.size());
+                reservations.add(new Reservation(slots, group.size()));
+                List<String> slotIds = TicketInventoryService.ids(slots);
+                group.forEach(ticket -> ticket.setInventorySlots(slotIds));
+            } catch (TicketsSoldOutException ex) {
+                group.forEach(ticket -> rejected.put(ticket, ex.getMessage()));
+            }
+        });
+        return reservations;
+    }
+
+    static TicketLifecycleEvent lifecycleEvent(String type, Ticket ticket) {
+        return TicketLifecycleEvent.builder()
+                .type(type)
+                .ticketId(ticket.getTicketId())
+                .eventId(ticket.getEventId())
+                .brlAmount(ticket.getBrlAmount())
+                .usdAmount(ticket.getUsdAmount())
+                .occurredAt(Instant.now())
+                .build();
+    }
+
+    static TicketResponse toResponse(Ticket ticket, EventResponse event, String brlAmount, String usdAmount) {
         return TicketResponse.builder()
-                .ticketId(savedTicket.getTicketId())
-                .cpf(savedTicket.getCpf())
-                .customerName(savedTicket.getCustomerName())
-                .customerMail(savedTicket.getCustomerMail())
+                .ticketId(ticket.getTicketId())
+                .cpf(ticket.getCpf())
+                .customerName(ticket.getCustomerName())
+                .customerMail(ticket.getCustomerMail())
                 .event(TicketResponse.Event.builder()
                         .eventId(event.getId())
                         .eventName(event.getEventName())
@@ -64,33 +367,13 @@ public class TicketService {
                         .cidade(event.getCidade())
                         .uf(event.getUf())
                         .build())
-                .brlTotalAmount(brlAmountFormatted)
-                .usdTotalAmount(usdAmountFormatted)
-                .status(savedTicket.getStatus())
+                .sector(ticket.getSector())
+                .brlTotalAmount(brlAmount)
+                .usdTotalAmount(usdAmount)
+                .status(ticket.getStatus())
                 .build();
     }
 
-    private String buildPersonalizedMessage(Ticket ticket, EventResponse event, String brlAmount, String usdAmount) {
-        return String.format(
-                "🎉 Ei %s, seu ingresso está confirmado! 🎟️\n" +
-                        "Detalhes:\n" +
-                        "🎤 Evento: %s\n" +
-                        "📅 Data: %s\n" +
-                        "📍 Local: %s, %s - %s/%s\n" +
-                        "💰 Valor: %s (ou %s)\n\n" +
-                        "Aproveite o show e não esqueça de contar pros amigos! 🤩",
-                ticket.getCustomerName(),
-                event.getEventName(),
-                event.getDateTime(),
-                event.getLogradouro(),
-                event.getBairro(),
-                event.getCidade(),
-                event.getUf(),
-                brlAmount,
-                usdAmount
-        );
-    }
-
     public Ticket getTicketById(String id) {
         log.info("Buscando ticket com ID: {}", id);
         return ticketRepository.findById(id)
@@ -100,39 +383,127 @@ public class TicketService {
                 });
     }
 
+    /**
+     * Atualização parcial em um único {@code findAndModify}: só os campos informados são gravados com
+     * {@code $set} e a versão é incrementada. O documento anterior volta na mesma operação para calcular a
+     * diferença dos valores nos contadores do evento; o documento novo é montado a partir dele, sem outra
+     * leitura. Se {@code version} for informada e o ticket já estiver em outra versão, nada é alterado e a
+     * chamada falha com {@link OptimisticLockingFailureException}.
+     */
     public Ticket updateTicket(String id, Ticket updatedTicket) {
         log.info("Atualizando ticket com ID: {}", id);
-        Ticket ticket = ticketRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Ticket não encontrado para atualização. ID: {}", id);
-                    return new TicketNotFoundException("Ticket não encontrado com ID: " + id);
-                });
+        Update update = new Update().inc(VERSION, 1);
+        setIfPresent(update, "customerName", updatedTicket.getCustomerName());
+        setIfPresent(update, "cpf", updatedTicket.getCpf());
+        setIfPresent(update, "customerMail", updatedTicket.getCustomerMail());
+        setIfPresent(update, "brlAmount", updatedTicket.getBrlAmount());
+        setIfPresent(update, "usdAmount", updatedTicket.getUsdAmount());
+
+        Query query = byId(id);
+        if (updatedTicket.getVersion() != null) {
+            query.addCriteria(where(VERSION).is(updatedTicket.getVersion()));
+        }
+        Ticket previous = mongoOperations.findAndModify(query, update, FindAndModifyOptions.options().returnNew(false), Ticket.class);
+        if (previous == null) {
+            throw missingOrConflict(id, updatedTicket.getVersion());
+        }
 
-        ticket.setCustomerName(updatedTicket.getCustomerName());
-        ticket.setCpf(updatedTicket.getCpf());
-        ticket.setCustomerMail(updatedTicket.getCustomerMail());
-        ticket.setBrlAmount(updatedTicket.getBrlAmount());
-        ticket.setUsdAmount(updatedTicket.getUsdAmount());
+        Ticket ticket = copyOf(previous);
+        ticket.setVersion(previous.getVersion() != null ? previous.getVersion() + 1 : 1L);
+        if (updatedTicket.getCustomerName() != null) {
+            ticket.setCustomerName(updatedTicket.getCustomerName());
+        }
+        if (updatedTicket.getCpf() != null) {
+            ticket.setCpf(updatedTicket.getCpf());
+        }
+        if (updatedTicket.getCustomerMail() != null) {
+            ticket.setCustomerMail(updatedTicket.getCustomerMail());
+        }
+        if (updatedTicket.getBrlAmount() != null) {
+            ticket.setBrlAmount(updatedTicket.getBrlAmount());
+        }
+        if (updatedTicket.getUsdAmount() != null) {
+            ticket.setUsdAmount(updatedTicket.getUsdAmount());
+        }
 
+        if (!EventTicketStatsService.CANCELLED_STATUS.equals(previous.getStatus())) {
+            eventTicketStatsService.recordAmountChange(ticket.getEventId(),
+                    amountDelta(previous.getBrlAmount(), ticket.getBrlAmount()),
+                    amountDelta(previous.getUsdAmount(), ticket.getUsdAmount()));
+        }
         log.info("Ticket com ID {} atualizado com sucesso", id);
-        return ticketRepository.save(ticket);
+        return ticket;
+    }
+
+    private double amountDelta(Double current, Double updated) {
+        return (updated != null ? updated : 0) - (current != null ? current : 0);
+    }
+
+    private static void setIfPresent(Update update, String field, Object value) {
+        if (value != null) {
+            update.set(field, value);
+        }
+    }
+
+    private static Ticket copyOf(Ticket source) {
+        Ticket copy = new Ticket();
+        copy.setTicketId(source.getTicketId());
+        copy.setCustomerName(source.getCustomerName());
+        copy.setCpf(source.getCpf());
+        copy.setCustomerMail(source.getCustomerMail());
+        copy.setEventId(source.getEventId());
+        copy.setEventName(source.getEventName());
+        copy.setBrlAmount(source.getBrlAmount());
+        copy.setUsdAmount(source.getUsdAmount());
+        copy.setStatus(source.getStatus());
+        copy.setSector(source.getSector());
+        return copy;
     }
 
+    /**
+     * Cancela com um único {@code findAndModify} condicionado ao status, então dois cancelamentos
+     * simultâneos não descontam o ingresso duas vezes dos contadores.
+     */
     public void cancelTicket(String id) {
         log.info("Iniciando o cancelamento do ticket com ID {}", id);
-        Ticket ticket = ticketRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Ticket não encontrado para cancelamento. ID: {}", id);
-                    return new TicketNotFoundException("Ticket não encontrado com ID: " + id);
-                });
-        ticket.setStatus("Cancelado");
-        ticketRepository.save(ticket);
+        Query query = byId(id).addCriteria(where("status").ne(EventTicketStatsService.CANCELLED_STATUS));
+        Update update = new Update()
+                .set("status", EventTicketStatsService.CANCELLED_STATUS)
+                .inc(VERSION, 1);
+        Ticket ticket = mongoOperations.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Ticket.class);
+        if (ticket == null) {
+            if (!ticketRepository.existsById(id)) {
+                log.error("Ticket não encontrado para cancelamento. ID: {}", id);
+                throw new TicketNotFoundException("Ticket não encontrado com ID: " + id);
+            }
+            log.info("Ticket com ID {} já estava cancelado.", id);
+            return;
+        }
+        eventTicketStatsService.recordCancelled(ticket);
+        inventoryService.releaseSlots(ticket.getInventorySlots(), 1);
+        outboxService.enqueueJson(RabbitMQConfig.TICKET_EVENTS_EXCHANGE, RabbitMQConfig.TICKET_CANCELLED_ROUTING_KEY,
+                lifecycleEvent(TicketLifecycleEvent.TICKET_CANCELLED, ticket));
         log.info("Ticket com ID {} foi cancelado com sucesso.", id);
     }
 
+    private RuntimeException missingOrConflict(String id, Long expectedVersion) {
+        if (expectedVersion != null && ticketRepository.existsById(id)) {
+            log.error("Ticket {} foi alterado por outra requisição. Versão esperada: {}", id, expectedVersion);
+            return new OptimisticLockingFailureException("O ticket " + id + " foi alterado por outra requisição. Busque a versão atual e tente novamente.");
+        }
+        log.error("Ticket não encontrado para atualização. ID: {}", id);
+        return new TicketNotFoundException("Ticket não encontrado com ID: " + id);
+    }
+
+    private static Query byId(String id) {
+        return Query.query(where("_id").is(id));
+    }
+
     public Map<String, Object> checkTicketsByEvent(String eventId) {
         log.info("Verificando tickets vinculados ao evento com ID: {}", eventId);
-        boolean hasTickets = ticketRepository.existsByEventId(eventId);
+        boolean hasTickets = eventTicketStatsService.findByEventId(eventId)
+                .map(EventTicketStats::hasTickets)
+                .orElseGet(() -> ticketRepository.existsByEventId(eventId));
         log.info("Verificação concluída para o evento {}. Tickets encontrados: {}", eventId, hasTickets);
         Map<String, Object> response = new HashMap<>();
         response.put("eventId", eventId);
@@ -140,4 +511,10 @@ public class TicketService {
         return response;
     }
 
+    public EventTicketStats getEventStats(String eventId) {
+        log.info("Buscando contadores de tickets do evento com ID: {}", eventId);
+        return eventTicketStatsService.findByEventId(eventId)
+                .orElseGet(() -> eventTicketStatsService.computeFromTickets(eventId));
+    }
+
 }
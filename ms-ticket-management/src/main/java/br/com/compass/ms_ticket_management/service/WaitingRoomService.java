@@ -0,0 +1,327 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.exception.InvalidQueueTokenException;
+import br.com.compass.ms_ticket_management.exception.NotAdmittedException;
+import br.com.compass.ms_ticket_management.web.dto.WaitingRoomStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Sala de espera das vendas. Cada evento tem uma fila e um token bucket que admite compradores a
+ * {@code waiting-room.admit-rate} por segundo, com rajada de até {@code waiting-room.burst}. Quem entra na
+ * fila recebe um token assinado (HMAC) com a sua posição; consultar a posição só verifica a assinatura e faz
+ * contas em memória, sem Mongo nem ms-event-management. Com a sala ativa, as compras exigem um token já
+ * admitido ou, sem fila, um lugar livre no balde; o excedente recebe 429 com {@code Retry-After}. Cada
+ * posição admitida vale para uma única compra: o token é marcado como usado na admissão e só volta a valer
+ * se a compra falhar.
+ * <p>
+ * A fila e o balde ficam na memória da instância: com várias instâncias, a taxa vale por instância e o
+ * balanceador precisa manter o comprador na mesma instância.
+ */
+@Slf4j
+@Service
+public class WaitingRoomService {
+
+    public static final String HEADER = "X-Queue-Token";
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final double admitRate;
+    private final int burst;
+    private final long tokenTtlMillis;
+    private final SecretKeySpec secret;
+    private final LongSupplier clock;
+    private final Cache<String, Room> rooms;
+    private final Cache<String, Boolean> usedTokens;
+    private final Counter joinedCounter;
+    private final Counter queueAdmittedCounter;
+    private final Counter directAdmittedCounter;
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public WaitingRoomService(MeterRegistry meterRegistry,
+                              @Value("${waiting-room.enabled:false}") boolean enabled,
+                              @Value("${waiting-room.admit-rate:50}") double admitRate,
+                              @Value("${waiting-room.burst:100}") int burst,
+                              @Value("${waiting-room.token-ttl:30m}") Duration tokenTtl,
+                              @Value("${waiting-room.secret:}") String secret) {
+        this(meterRegistry, enabled, admitRate, burst, tokenTtl, secret, System::currentTimeMillis);
+    }
+
+    WaitingRoomService(MeterRegistry meterRegistry, boolean enabled, double admitRate, int burst,
+                       Duration tokenTtl, String secret, LongSupplier clock) {
+        if (admitRate <= 0 || burst < 1) {
+            throw new IllegalArgumentException("waiting-room.admit-rate deve ser positivo e waiting-room.burst pelo menos 1");
+        }
+        this.enabled = enabled;
+        this.admitRate = admitRate;
+        this.burst = burst;
+        this.tokenTtlMillis = tokenTtl.toMillis();
+        this.clock = clock;
+        this.secret = new SecretKeySpec(secretBytes(secret), ALGORITHM);
+        // Toda consulta renova a sala; quando ela sai do cache, todos os tokens emitidos nela já expiraram.
+        this.rooms = Caffeine.newBuilder()
+                .expireAfterAccess(tokenTtl)
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.getAsLong()))
+                .build();
+        // Um token usado é marcado por pelo menos o tempo em que ele ainda seria aceito.
+        this.usedTokens = Caffeine.newBuilder()
+                .expireAfterWrite(tokenTtl)
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.getAsLong()))
+                .build();
+        this.joinedCounter = Counter.builder("waiting.room.joined")
+                .description("Compradores que entraram na fila de um evento")
+                .register(meterRegistry);
+        this.queueAdmittedCounter = admittedCounter(meterRegistry, "queue");
+        this.directAdmittedCounter = admittedCounter(meterRegistry, "direct");
+        this.rejectedCounter = Counter.builder("waiting.room.rejected")
+                .description("Compras recusadas com 429 por falta de admissão")
+                .register(meterRegistry);
+        Gauge.builder("waiting.room.queued", rooms, cache -> cache.asMap().values().stream().mapToLong(Room::queued).sum())
+                .description("Compradores na fila aguardando admissão nesta instância")
+                .register(meterRegistry);
+    }
+
+    private static Counter admittedCounter(MeterRegistry meterRegistry, String path) {
+        return Counter.builder("waiting.room.admitted")
+                .description("Compradores admitidos pela fila ou direto pelo balde, quando não há fila")
+                .tag("path", path)
+                .register(meterRegistry);
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret != null && !secret.isBlank()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        log.warn("waiting-room.secret não configurado; os tokens de fila só valem nesta instância até o próximo restart");
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+
+    public WaitingRoomStatus join(String eventId) {
+        long now = clock.getAsLong();
+        Room room = room(eventId, now);
+        long sequence = room.join(now);
+        joinedCounter.increment();
+        WaitingRoomStatus status = room.status(eventId, sequence, now);
+        status.setToken(sign(eventId, sequence, now));
+        status.setExpiresAt(Instant.ofEpochMilli(now + tokenTtlMillis));
+        return status;
+    }
+
+    public WaitingRoomStatus getStatus(String eventId, String token) {
+        long now = clock.getAsLong();
+        long[] claims = verify(eventId, token, now);
+        WaitingRoomStatus status = room(eventId, now).status(eventId, claims[0], now);
+        status.setExpiresAt(Instant.ofEpochMilli(claims[1] + tokenTtlMillis));
+        return status;
+    }
+
+    /**
+     * Executa a compra depois de {@link #checkAdmission} em cada evento. Se a compra falhar, os tokens usados
+     * voltam a valer para uma nova tentativa.
+     */
+    public <T> T withAdmission(Collection<String> eventIds, String token, Supplier<T> purchase) {
+        List<String> admitted = new ArrayList<>(eventIds.size());
+        try {
+            for (String eventId : eventIds) {
+                checkAdmission(eventId, token);
+                admitted.add(eventId);
+            }
+            return purchase.get();
+        } catch (RuntimeException ex) {
+            admitted.forEach(eventId -> returnAdmission(eventId, token));
+            throw ex;
+        }
+    }
+
+    public <T> T withAdmission(String eventId, String token, Supplier<T> purchase) {
+        return withAdmission(List.of(eventId), token, purchase);
+    }
+
+    /**
+     * Libera a compra se a sala estiver desativada, se o token já tiver sido admitido e ainda não tiver sido
+     * usado ou se, sem token, não houver fila e o balde tiver lugar. Caso contrário lança
+     * {@link NotAdmittedException} com a espera estimada, ou {@link InvalidQueueTokenException} se o token já
+     * foi usado em outra compra.
+     */
+    public void checkAdmission(String eventId, String token) {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.getAsLong();
+        if (token != null) {
+            long sequence = verify(eventId, token, now)[0];
+            WaitingRoomStatus status = room(eventId, now).status(eventId, sequence, now);
+            if (!status.isAdmitted()) {
+                rejectedCounter.increment();
+                throw new NotAdmittedException("Ainda não é a sua vez na fila do evento " + eventId
+                        + "; posição " + status.getPosition(), status.getEstimatedWaitSeconds());
+            }
+            if (usedTokens.asMap().putIfAbsent(usedKey(eventId, sequence), Boolean.TRUE) != null) {
+                rejectedCounter.increment();
+                throw new InvalidQueueTokenException("Token de fila já usado em outra compra; entre na fila novamente");
+            }
+            return;
+        }
+        long retryAfter = room(eventId, now).tryEnterDirectly(now);
+        if (retryAfter > 0) {
+            rejectedCounter.increment();
+            throw new NotAdmittedException("Evento " + eventId + " com alta procura; entre na fila em /waiting-room/" + eventId, retryAfter);
+        }
+    }
+
+    /**
+     * Devolve um token admitido por {@link #checkAdmission} cuja compra falhou. Sem token não há o que
+     * devolver: o lugar do balde já foi consumido.
+     */
+    public void returnAdmission(String eventId, String token) {
+        if (!enabled || token == null) {
+            return;
+        }
+        try {
+            usedTokens.invalidate(usedKey(eventId, verify(eventId, token, clock.getAsLong())[0]));
+        } catch (InvalidQueueTokenException ex) {
+            log.debug("Token de fila do evento {} expirou antes de ser devolvido", eventId);
+        }
+    }
+
+    private static String usedKey(String eventId, long sequence) {
+        return eventId + "." + sequence;
+    }
+
+    private Room room(String eventId, long now) {
+        return rooms.get(eventId, id -> new Room(now));
+    }
+
+    private String sign(String eventId, long sequence, long issuedAt) {
+        String claims = sequence + "." + issuedAt;
+        return claims + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(mac(eventId, claims));
+    }
+
+    /** Retorna a posição na fila e o instante de emissão do token. */
+    private long[] verify(String eventId, String token, long now) {
+        String[] parts = token == null ? new String[0] : token.split("\\.");
+        if (parts.length != 3) {
+            throw invalidToken();
+        }
+        long sequence;
+        long issuedAt;
+        byte[] signature;
+        try {
+            sequence = Long.parseLong(parts[0]);
+            issuedAt = Long.parseLong(parts[1]);
+            signature = Base64.getUrlDecoder().decode(parts[2]);
+        } catch (IllegalArgumentException ex) {
+            throw invalidToken();
+        }
+        if (!MessageDigest.isEqual(signature, mac(eventId, parts[0] + "." + parts[1])) || now - issuedAt > tokenTtlMillis) {
+            throw invalidToken();
+        }
+        return new long[]{sequence, issuedAt};
+    }
+
+    private static InvalidQueueTokenException invalidToken() {
+        return new InvalidQueueTokenException("Token de fila inválido ou expirado; entre na fila novamente");
+    }
+
+    private byte[] mac(String eventId, String claims) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(secret);
+            return mac.doFinal((eventId + "." + claims).getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Não foi possível assinar o token de fila", ex);
+        }
+    }
+
+    /** Fila de um evento: quem tem posição até {@code admitted} pode comprar. */
+    private final class Room {
+        private long issued;
+        private long admitted;
+        private double tokens;
+        private long refilledAt;
+
+        Room(long now) {
+            this.tokens = burst;
+            this.refilledAt = now;
+        }
+
+        synchronized long join(long now) {
+            refill(now);
+            long sequence = ++issued;
+            refill(now);
+            return sequence;
+        }
+
+        synchronized WaitingRoomStatus status(String eventId, long sequence, long now) {
+            refill(now);
+            long position = Math.max(0, sequence - admitted);
+            return WaitingRoomStatus.builder()
+                    .eventId(eventId)
+                    .position(position)
+                    .estimatedWaitSeconds(secondsUntil(position))
+                    .admitted(position == 0)
+                    .build();
+        }
+
+        /** Consome um lugar do balde se não houver fila; senão, retorna a espera de quem entrar na fila agora. */
+        synchronized long tryEnterDirectly(long now) {
+            refill(now);
+            if (issued == admitted && tokens >= 1) {
+                tokens--;
+                directAdmittedCounter.increment();
+                return 0;
+            }
+            return secondsUntil(issued - admitted + 1);
+        }
+
+        synchronized long queued() {
+            return issued - admitted;
+        }
+
+        private void refill(long now) {
+            if (now > refilledAt) {
+                tokens = Math.min(burst, tokens + (now - refilledAt) * admitRate / 1000);
+                refilledAt = now;
+            }
+            long admit = Math.min((long) tokens, issued - admitted);
+            if (admit > 0) {
+                admitted += admit;
+                tokens -= admit;
+                queueAdmittedCounter.increment(admit);
+            }
+        }
+
+        private long secondsUntil(long position) {
+            if (position == 0) {
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((position - tokens) / admitRate));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.compass.ms_ticket_management.web.controller;
+
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.service.ReactiveTicketService;
+import br.com.compass.ms_ticket_management.service.WaitingRoomService;
+import br.com.compass.ms_ticket_management.web.dto.TicketResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Profile("reactive")
+@Tag(name = "Ticket Management (reativo)", description = "Variante reativa da compra e consulta de ingressos")
+@RestController
+@RequestMapping("/br/com/compass/ticketmanagement/reactive/v1")
+@RequiredArgsConstructor
+public class ReactiveTicketController {
+
+    private final ReactiveTicketService ticketService;
+    private final WaitingRoomService waitingRoomService;
+
+    @Operation(summary = "Criar um novo ingresso (reativo)", description = "Cria um ingresso com base no evento fornecido sem bloquear a thread da requisição.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ingresso criado com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Erro de validação no payload"),
+            @ApiResponse(responseCode = "404", description = "Evento não encontrado"),
+            @ApiResponse(responseCode = "429", description = "Comprador ainda não admitido pela sala de espera")
+    })
+    @PostMapping("/create-ticket")
+    public Mono<ResponseEntity<TicketResponse>> createTicket(@Valid @RequestBody Ticket ticket,
+                                                             @RequestHeader(value = WaitingRoomService.HEADER, required = false) String queueToken) {
+        log.info("Recebendo requisição para criar um novo ticket para o evento: {}", ticket.getEventId());
+        waitingRoomService.checkAdmission(ticket.getEventId(), queueToken);
+        return ticketService.createTicket(ticket)
+                .doOnError(ex -> waitingRoomService.returnAdmission(ticket.getEventId(), queueToken))
+                .map(createdTicket -> {
+                    log.info("Ticket criado com sucesso. ID do ticket: {}", createdTicket.getTicketId());
+                    return ResponseEntity.ok(createdTicket);
+                });
+    }
+
+    @Operation(summary = "Buscar um ingresso pelo ID (reativo)", description = "Retorna os detalhes de um ingresso pelo seu ID.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ingresso encontrado com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Ingresso não encontrado")
+    })
+    @GetMapping("/get-ticket/{id}")
+    public Mono<ResponseEntity<Ticket>> getTicketById(@PathVariable String id) {
+        log.info("Recebendo requisição para buscar o ticket com ID: {}", id);
+        return ticketService.getTicketById(id)
+                .map(ticket -> {
+                    log.info("Ticket encontrado: {}", ticket.getTicketId());
+                    return ResponseEntity.ok(ticket);
+                });
+    }
+}
@@ -1,8 +1,18 @@
 package br.com.compass.ms_ticket_management.web.controller;
 
+import br.com.compass.ms_ticket_management.domain.EventTicketStats;
 import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.domain.TicketHold;
+import br.com.compass.ms_ticket_management.service.IdempotencyService;
+import br.com.compass.ms_ticket_management.service.TicketHoldService;
 import br.com.compass.ms_ticket_management.service.TicketService;
+import br.com.compass.ms_ticket_management.service.WaitingRoomService;
+import br.com.compass.ms_ticket_management.web.dto.TicketBatchRequest;
+import br.com.compass.ms_ticket_management.web.dto.TicketBatchResponse;
+import br.com.compass.ms_ticket_management.web.dto.TicketHoldConfirmRequest;
+import br.com.compass.ms_ticket_management.web.dto.TicketHoldRequest;
 import br.com.compass.ms_ticket_management.web.dto.TicketResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -10,9 +20,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -23,19 +35,118 @@ import java.util.Map;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final TicketHoldService holdService;
+    private final IdempotencyService idempotencyService;
+    private final WaitingRoomService waitingRoomService;
 
     @Operation(summary = "Criar um novo ingresso", description = "Cria um ingresso com base no evento fornecido.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ingresso criado com sucesso"),
             @ApiResponse(responseCode = "400", description = "Erro de validação no payload"),
-            @ApiResponse(responseCode = "404", description = "Evento não encontrado")
+            @ApiResponse(responseCode = "404", description = "Evento não encontrado"),
+            @ApiResponse(responseCode = "429", description = "Comprador ainda não admitido pela sala de espera")
     })
     @PostMapping("/create-ticket")
-    public ResponseEntity<TicketResponse> createTicket(@Valid @RequestBody Ticket ticket) {
+    public ResponseEntity<TicketResponse> createTicket(@Valid @RequestBody Ticket ticket,
+                                                       @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                       @RequestHeader(value = WaitingRoomService.HEADER, required = false) String queueToken) {
         log.info("Recebendo requisição para criar um novo ticket para o evento: {}", ticket.getEventId());
-        TicketResponse createdTicket = ticketService.createTicket(ticket);
-        log.info("Ticket criado com sucesso. ID do ticket: {}", createdTicket.getTicketId());
-        return ResponseEntity.ok(createdTicket);
+        // A sala de espera fica dentro da execução idempotente: uma repetição recebe a resposta guardada sem
+        // passar por ela nem gastar outra admissão.
+        ResponseEntity<TicketResponse> response = idempotencyService.execute("create-ticket", idempotencyKey, ticket,
+                new TypeReference<>() {}, () -> waitingRoomService.withAdmission(ticket.getEventId(), queueToken,
+                        () -> ResponseEntity.ok(ticketService.createTicket(ticket))));
+        log.info("Ticket criado com sucesso. ID do ticket: {}", response.getBody().getTicketId());
+        return response;
+    }
+
+    @Operation(summary = "Criar ingressos em lote", description = "Cria vários ingressos em uma única requisição, retornando o resultado de cada item na ordem enviada.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Erro de validação no payload"),
+            @ApiResponse(responseCode = "429", description = "Comprador ainda não admitido pela sala de espera")
+    })
+    @PostMapping("/create-tickets")
+    public ResponseEntity<TicketBatchResponse> createTickets(@Valid @RequestBody TicketBatchRequest request,
+                                                             @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                             @RequestHeader(value = WaitingRoomService.HEADER, required = false) String queueToken) {
+        log.info("Recebendo requisição para criar {} tickets em lote", request.getTickets().size());
+        List<String> eventIds = request.getTickets().stream()
+                .map(Ticket::getEventId)
+                .distinct()
+                .toList();
+        ResponseEntity<TicketBatchResponse> response = idempotencyService.execute("create-tickets", idempotencyKey, request,
+                new TypeReference<>() {}, () -> waitingRoomService.withAdmission(eventIds, queueToken,
+                        () -> ResponseEntity.ok(ticketService.createTickets(request.getTickets()))));
+        log.info("Lote processado. Criados: {}, com falha: {}", response.getBody().getCreated(), response.getBody().getFailed());
+        return response;
+    }
+
+    @Operation(summary = "Reservar lugares", description = "Reserva lugares de um evento por alguns minutos. Sem confirmação, os lugares voltam ao estoque quando a reserva expira.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Reserva criada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Erro de validação no payload ou setor inválido"),
+            @ApiResponse(responseCode = "404", description = "Evento não encontrado"),
+            @ApiResponse(responseCode = "409", description = "Ingressos esgotados"),
+            @ApiResponse(responseCode = "429", description = "Comprador ainda não admitido pela sala de espera")
+    })
+    @PostMapping("/holds")
+    public ResponseEntity<TicketHold> createHold(@Valid @RequestBody TicketHoldRequest request,
+                                                 @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                 @RequestHeader(value = WaitingRoomService.HEADER, required = false) String queueToken) {
+        log.info("Recebendo requisição para reservar {} lugar(es) no evento: {}", request.getQuantity(), request.getEventId());
+        ResponseEntity<TicketHold> response = idempotencyService.execute("create-hold", idempotencyKey, request,
+                new TypeReference<>() {}, () -> waitingRoomService.withAdmission(request.getEventId(), queueToken,
+                        () -> ResponseEntity.status(HttpStatus.CREATED).body(holdService.createHold(request))));
+        log.info("Reserva criada com sucesso. ID da reserva: {}", response.getBody().getId());
+        return response;
+    }
+
+    @Operation(summary = "Buscar uma reserva pelo ID", description = "Retorna a reserva com o status e o vencimento.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reserva encontrada com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Reserva não encontrada")
+    })
+    @GetMapping("/holds/{id}")
+    public ResponseEntity<TicketHold> getHold(@PathVariable String id) {
+        log.info("Recebendo requisição para buscar a reserva com ID: {}", id);
+        return ResponseEntity.ok(holdService.getHold(id));
+    }
+
+    @Operation(summary = "Confirmar uma reserva", description = "Emite um ingresso para cada lugar da reserva ainda ativa.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reserva confirmada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Erro de validação no payload"),
+            @ApiResponse(responseCode = "404", description = "Reserva não encontrada"),
+            @ApiResponse(responseCode = "409", description = "A reserva expirou ou já foi encerrada")
+    })
+    @PostMapping("/holds/{id}/confirm")
+    public ResponseEntity<List<TicketResponse>> confirmHold(@PathVariable String id, @Valid @RequestBody TicketHoldConfirmRequest request,
+                                                            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        log.info("Recebendo requisição para confirmar a reserva com ID: {}", id);
+        ResponseEntity<List<TicketResponse>> response = idempotencyService.execute("confirm-hold/" + id, idempotencyKey, request,
+                new TypeReference<>() {}, () -> ResponseEntity.ok(holdService.confirmHold(id, request)));
+        log.info("Reserva {} confirmada com {} ticket(s)", id, response.getBody().size());
+        return response;
+    }
+
+    @Operation(summary = "Liberar uma reserva", description = "Encerra a reserva ativa e devolve os lugares ao estoque.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Reserva liberada com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Reserva não encontrada"),
+            @ApiResponse(responseCode = "409", description = "A reserva expirou ou já foi encerrada")
+    })
+    @DeleteMapping("/holds/{id}")
+    public ResponseEntity<Void> releaseHold(@PathVariable String id,
+                                            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        log.info("Recebendo requisição para liberar a reserva com ID: {}", id);
+        ResponseEntity<Void> response = idempotencyService.execute("release-hold/" + id, idempotencyKey, id,
+                new TypeReference<>() {}, () -> {
+                    holdService.releaseHold(id);
+                    return ResponseEntity.noContent().build();
+                });
+        log.info("Reserva com ID {} liberada com sucesso.", id);
+        return response;
     }
 
     @Operation(summary = "Buscar um ingresso pelo ID", description = "Retorna os detalhes de um ingresso pelo seu ID.")
@@ -51,17 +162,20 @@ public class TicketController {
         return ResponseEntity.ok(ticket);
     }
 
-    @Operation(summary = "Atualizar um ingresso", description = "Atualiza as informações de um ingresso pelo ID.")
+    @Operation(summary = "Atualizar um ingresso", description = "Atualiza os campos informados de um ingresso pelo ID. Se a versão for enviada, a atualização só é aplicada se o ingresso ainda estiver nessa versão.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ingresso atualizado com sucesso"),
-            @ApiResponse(responseCode = "404", description = "Ingresso não encontrado")
+            @ApiResponse(responseCode = "404", description = "Ingresso não encontrado"),
+            @ApiResponse(responseCode = "409", description = "O ingresso foi alterado por outra requisição")
     })
     @PutMapping("/update-ticket/{id}")
-    public ResponseEntity<Ticket> updateTicket(@PathVariable String id, @RequestBody Ticket updatedTicket) {
+    public ResponseEntity<Ticket> updateTicket(@PathVariable String id, @RequestBody Ticket updatedTicket,
+                                               @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         log.info("Recebendo requisição para atualizar o ticket com ID: {}", id);
-        Ticket ticket = ticketService.updateTicket(id, updatedTicket);
-        log.info("Ticket atualizado com sucesso. ID do ticket: {}", ticket.getTicketId());
-        return ResponseEntity.ok(ticket);
+        ResponseEntity<Ticket> response = idempotencyService.execute("update-ticket/" + id, idempotencyKey, updatedTicket,
+                new TypeReference<>() {}, () -> ResponseEntity.ok(ticketService.updateTicket(id, updatedTicket)));
+        log.info("Ticket atualizado com sucesso. ID do ticket: {}", response.getBody().getTicketId());
+        return response;
     }
 
     @Operation(summary = "Cancelar um ingresso", description = "Realiza o soft-delete de um ingresso, alterando o status para INATIVO.")
@@ -70,11 +184,16 @@ public class TicketController {
             @ApiResponse(responseCode = "404", description = "Ingresso não encontrado")
     })
     @DeleteMapping("/cancel-ticket/{id}")
-    public ResponseEntity<Void> cancelTicket(@PathVariable String id) {
+    public ResponseEntity<Void> cancelTicket(@PathVariable String id,
+                                             @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         log.info("Recebendo requisição para cancelar o ticket com ID: {}", id);
-        ticketService.cancelTicket(id);
+        ResponseEntity<Void> response = idempotencyService.execute("cancel-ticket/" + id, idempotencyKey, id,
+                new TypeReference<>() {}, () -> {
+                    ticketService.cancelTicket(id);
+                    return ResponseEntity.noContent().build();
+                });
         log.info("Ticket com ID {} cancelado com sucesso.", id);
-        return ResponseEntity.noContent().build();
+        return response;
     }
 
     @Operation(summary = "Verificar ingressos vinculados a um evento", description = "Verifica se existem ingressos associados a um evento específico.")
@@ -89,4 +208,16 @@ public class TicketController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Consultar contadores de ingressos de um evento", description = "Retorna a quantidade de ingressos vendidos e cancelados e a receita bruta em BRL e USD de um evento.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Contadores retornados com sucesso")
+    })
+    @GetMapping("/event-stats/{eventId}")
+    public ResponseEntity<EventTicketStats> getEventStats(@PathVariable String eventId) {
+        log.info("Recebendo requisição para consultar os contadores do evento com ID: {}", eventId);
+        EventTicketStats stats = ticketService.getEventStats(eventId);
+        log.info("Contadores do evento {}: {} vendidos, {} cancelados", eventId, stats.getSold(), stats.getCancelled());
+        return ResponseEntity.ok(stats);
+    }
+
 }
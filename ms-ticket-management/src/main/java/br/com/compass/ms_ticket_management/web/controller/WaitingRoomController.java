@@ -0,0 +1,58 @@
+package br.com.compass.ms_ticket_management.web.controller;
+
+import br.com.compass.ms_ticket_management.service.WaitingRoomService;
+import br.com.compass.ms_ticket_management.web.dto.WaitingRoomStatus;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@Tag(name = "Waiting Room", description = "Fila de espera para a compra de ingressos em eventos com alta procura")
+@RestController
+@RequestMapping("/br/com/compass/ticketmanagement/v1/waiting-room")
+@RequiredArgsConstructor
+public class WaitingRoomController {
+
+    private static final long MAX_POLL_SECONDS = 5;
+
+    private final WaitingRoomService waitingRoomService;
+
+    @Operation(summary = "Entrar na fila de um evento", description = "Retorna o token de fila, a posição e a espera estimada. O token vai no header X-Queue-Token das compras.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Comprador adicionado à fila")
+    })
+    @PostMapping("/{eventId}")
+    public ResponseEntity<WaitingRoomStatus> join(@PathVariable String eventId) {
+        log.info("Recebendo requisição para entrar na fila do evento: {}", eventId);
+        WaitingRoomStatus status = waitingRoomService.join(eventId);
+        log.info("Comprador na posição {} da fila do evento {}", status.getPosition(), eventId);
+        return respond(ResponseEntity.status(HttpStatus.CREATED), status);
+    }
+
+    @Operation(summary = "Consultar a posição na fila", description = "Retorna a posição e a espera estimada do token. Sem acesso ao banco; o header Retry-After indica quando consultar de novo.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Posição retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Token de fila inválido ou expirado")
+    })
+    @GetMapping("/{eventId}")
+    public ResponseEntity<WaitingRoomStatus> getStatus(@PathVariable String eventId,
+                                                       @RequestHeader(WaitingRoomService.HEADER) String token) {
+        return respond(ResponseEntity.ok(), waitingRoomService.getStatus(eventId, token));
+    }
+
+    private static ResponseEntity<WaitingRoomStatus> respond(ResponseEntity.BodyBuilder builder, WaitingRoomStatus status) {
+        builder.cacheControl(CacheControl.noStore());
+        if (!status.isAdmitted()) {
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.min(status.getEstimatedWaitSeconds(), MAX_POLL_SECONDS)));
+        }
+        return builder.body(status);
+    }
+}
@@ -1,7 +1,11 @@
 package br.com.compass.ms_ticket_management.web.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
 
 @Data
 @Builder
@@ -13,4 +17,14 @@ public class EventResponse {
     private String bairro;
     private String cidade;
     private String uf;
+    private Integer capacity;
+    private List<Sector> sectors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Sector {
+        private String name;
+        private Integer capacity;
+    }
 }
@@ -0,0 +1,16 @@
+package br.com.compass.ms_ticket_management.web.dto;
+
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TicketBatchRequest {
+    @NotEmpty(message = "O lote deve conter ao menos um ingresso")
+    @Size(max = 5000, message = "O lote deve conter no máximo 5000 ingressos")
+    private List<@Valid Ticket> tickets;
+}
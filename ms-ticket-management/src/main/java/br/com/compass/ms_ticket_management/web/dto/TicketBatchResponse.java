@@ -0,0 +1,27 @@
+package br.com.compass.ms_ticket_management.web.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class TicketBatchResponse {
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+
+    private int requested;
+    private int created;
+    private int failed;
+    private List<Item> results;
+
+    @Data
+    @Builder
+    public static class Item {
+        private int index;
+        private String status;
+        private TicketResponse ticket;
+        private String error;
+    }
+}
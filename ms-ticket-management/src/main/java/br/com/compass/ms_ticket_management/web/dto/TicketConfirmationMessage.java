@@ -0,0 +1,49 @@
+package br.com.compass.ms_ticket_management.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Conteúdo estruturado da confirmação de compra publicada na ticket-queue (schema Avro
+ * {@code avro/ticket-confirmation.avsc}).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketConfirmationMessage {
+    private String ticketId;
+    private String eventId;
+    private Customer customer;
+    private double brlAmount;
+    private double usdAmount;
+    private Event event;
+    private Instant createdAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Customer {
+        private String name;
+        private String cpf;
+        private String email;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Event {
+        private String eventName;
+        private String dateTime;
+        private String logradouro;
+        private String bairro;
+        private String cidade;
+        private String uf;
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.compass.ms_ticket_management.web.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dados do comprador e valores de cada ingresso emitido pela reserva.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketHoldConfirmRequest {
+    @NotNull(message = "O nome do cliente é obrigatório")
+    @Size(min = 3, max = 100, message = "O nome deve ter entre 3 e 100 caracteres")
+    private String customerName;
+    @NotNull(message = "O CPF é obrigatório")
+    @Pattern(regexp = "\\d{11}", message = "O CPF deve conter 11 dígitos numéricos")
+    private String cpf;
+    @NotNull(message = "O e-mail do cliente é obrigatório")
+    @Email(message = "E-mail inválido")
+    private String customerMail;
+    @NotNull(message = "O valor em BRL é obrigatório")
+    @DecimalMin(value = "0.0", inclusive = false, message = "O valor deve ser maior que 0")
+    private Double brlAmount;
+    @NotNull(message = "O valor em USD é obrigatório")
+    @DecimalMin(value = "0.0", inclusive = false, message = "O valor deve ser maior que 0")
+    private Double usdAmount;
+}
@@ -0,0 +1,24 @@
+package br.com.compass.ms_ticket_management.web.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketHoldRequest {
+    @NotNull(message = "O ID do evento é obrigatório")
+    private String eventId;
+    /**
+     * Obrigatório quando o evento tem setores.
+     */
+    private String sector;
+    @NotNull(message = "A quantidade é obrigatória")
+    @Min(value = 1, message = "A quantidade deve ser pelo menos 1")
+    @Max(value = 10, message = "A quantidade deve ser no máximo 10")
+    private Integer quantity;
+}
@@ -0,0 +1,25 @@
+package br.com.compass.ms_ticket_management.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketLifecycleEvent {
+
+    public static final String TICKET_CREATED = "ticket-created";
+    public static final String TICKET_CANCELLED = "ticket-cancelled";
+
+    private String type;
+    private String ticketId;
+    private String eventId;
+    private Double brlAmount;
+    private Double usdAmount;
+    private Instant occurredAt;
+}
@@ -1,22 +1,29 @@
 package br.com.compass.ms_ticket_management.web.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class TicketResponse {
     private String ticketId;
     private String cpf;
     private String customerName;
     private String customerMail;
     private Event event;
+    private String sector;
     private String brlTotalAmount;
     private String usdTotalAmount;
     private String status;
 
     @Data
     @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class Event {
         private String eventId;
         private String eventName;
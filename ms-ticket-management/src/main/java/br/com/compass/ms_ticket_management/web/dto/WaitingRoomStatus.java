@@ -0,0 +1,21 @@
+package br.com.compass.ms_ticket_management.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitingRoomStatus {
+    private String eventId;
+    private String token;
+    private long position;
+    private long estimatedWaitSeconds;
+    private boolean admitted;
+    private Instant expiresAt;
+}
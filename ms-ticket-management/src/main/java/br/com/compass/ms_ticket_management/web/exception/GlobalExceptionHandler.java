@@ -1,8 +1,24 @@
 package br.com.compass.ms_ticket_management.web.exception;
 
+import br.com.compass.ms_ticket_management.exception.HoldNotActiveException;
+import br.com.compass.ms_ticket_management.exception.IdempotencyKeyInProgressException;
+import br.com.compass.ms_ticket_management.exception.IdempotencyKeyReuseException;
+import br.com.compass.ms_ticket_management.exception.InvalidIdempotencyKeyException;
+import br.com.compass.ms_ticket_management.exception.HoldNotFoundException;
+import br.com.compass.ms_ticket_management.exception.InvalidQueueTokenException;
+import br.com.compass.ms_ticket_management.exception.InvalidSectorException;
+import br.com.compass.ms_ticket_management.exception.NotAdmittedException;
 import br.com.compass.ms_ticket_management.exception.TicketNotFoundException;
+import br.com.compass.ms_ticket_management.exception.TicketsSoldOutException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import jakarta.validation.ConstraintViolationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -13,12 +29,17 @@ import java.util.Map;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
+
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<Map<String, String>> handleValidationException(ConstraintViolationException ex) {
         log.error("Erro de validação no payload: ", ex);
         Map<String, String> response = new HashMap<>();
         response.put("error", "Erro de validação no payload: " + ex.getMessage());
+        countError(HttpStatus.BAD_REQUEST, ex);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
@@ -27,14 +48,138 @@ public class GlobalExceptionHandler {
         log.error("Erro interno no servidor: ", ex);
         Map<String, String> response = new HashMap<>();
         response.put("error", ex.getMessage());
+        countError(HttpStatus.INTERNAL_SERVER_ERROR, ex);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
 
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    public ResponseEntity<Map<String, String>> handleDownstreamUnavailable(RuntimeException ex) {
+        log.error("Serviço dependente indisponível: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Serviço dependente indisponível no momento, tente novamente em instantes");
+        countError(HttpStatus.SERVICE_UNAVAILABLE, ex);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
+    @ExceptionHandler(TicketsSoldOutException.class)
+    public ResponseEntity<Map<String, String>> handleTicketsSoldOut(TicketsSoldOutException ex) {
+        log.warn("Erro: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("error", ex.getMessage());
+        countError(HttpStatus.CONFLICT, ex);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(InvalidSectorException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidSector(InvalidSectorException ex) {
+        log.error("Erro: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("error", ex.getMessage());
+        countError(HttpStatus.BAD_REQUEST, ex);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        log.error("Conflito de versão: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("error", ex.getMessage());
+        countError(HttpStatus.CONFLICT, ex);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(HoldNotActiveException.class)
+    public ResponseEntity<Map<String, String>> handleHoldNotActive(HoldNotActiveException ex) {
+        log.warn("Erro: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("error", ex.getMessage());
+        countError(HttpStatus.CONFLICT, ex);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(HoldNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleHoldNotFound(HoldNotFoundException ex) {
+        log.error("Erro: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("error", ex.getMessage());
+        countError(HttpStatus.NOT_FOUND, ex);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidIdempotencyKey(InvalidIdempotencyKeyException ex) {
+        log.error("Erro: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("error", ex.getMessage());
+        countError(HttpStatus.BAD_REQUEST, ex);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyInProgress(IdempotencyKeyInProgressException ex) {
+        log.warn("Erro: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("error", ex.getMessage());
+        countError(HttpStatus.CONFLICT, ex);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyReuse(IdempotencyKeyReuseException ex) {
+        log.error("Erro: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("error", ex.getMessage());
+        countError(HttpStatus.UNPROCESSABLE_ENTITY, ex);
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(response);
+    }
+
+    @ExceptionHandler(NotAdmittedException.class)
+    public ResponseEntity<Map<String, String>> handleNotAdmitted(NotAdmittedException ex) {
+        log.debug("Compra recusada pela sala de espera: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("error", ex.getMessage());
+        countError(HttpStatus.TOO_MANY_REQUESTS, ex);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    @ExceptionHandler(InvalidQueueTokenException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidQueueToken(InvalidQueueTokenException ex) {
+        log.warn("Erro: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("error", ex.getMessage());
+        countError(HttpStatus.BAD_REQUEST, ex);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
     @ExceptionHandler(TicketNotFoundException.class)
     public ResponseEntity<Map<String, String>> handleTicketNotFoundException(TicketNotFoundException ex) {
         log.error("Erro: {}", ex.getMessage());
         Map<String, String> response = new HashMap<>();
         response.put("error", ex.getMessage());
+        countError(HttpStatus.NOT_FOUND, ex);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
+
+    /** Conta os erros respondidos pela API por resultado (not_found, conflict, validation...) e exceção. */
+    private void countError(HttpStatus status, Exception ex) {
+        Counter.builder("api.errors")
+                .description("Erros respondidos pela API, por resultado e exceção")
+                .tag("outcome", outcome(status))
+                .tag("exception", ex.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String outcome(HttpStatus status) {
+        return switch (status) {
+            case BAD_REQUEST, UNPROCESSABLE_ENTITY -> "validation";
+            case NOT_FOUND -> "not_found";
+            case CONFLICT -> "conflict";
+            case TOO_MANY_REQUESTS -> "throttled";
+            case SERVICE_UNAVAILABLE -> "unavailable";
+            default -> "error";
+        };
+    }
 }
@@ -0,0 +1,34 @@
+package br.com.compass.ms_ticket_management.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.TopicExchange;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * As filas são testadas no ms-notification-management, que as declara; aqui só o lado do produtor.
+ */
+public class TicketConfirmationTopologyTest {
+
+    /**
+     * Mesmos valores de {@code messaging.ticket-confirmations} nos application-*.yml.
+     */
+    public static TicketConfirmationTopology defaultTopology() {
+        return new TicketConfirmationTopology("ticket.confirmations", 4);
+    }
+
+    @Test
+    void testRoutingKey_IsStablePerEventAndDeclaresOnlyTheExchange() {
+        TicketConfirmationTopology topology = defaultTopology();
+
+        assertEquals("ticket.confirmation.2", topology.routingKey("666"));
+        assertEquals("ticket.confirmation.1", topology.routingKey("1"));
+        List<Declarable> declarables = List.copyOf(topology.declarables().getDeclarables());
+        assertEquals(1, declarables.size());
+        assertEquals("ticket.confirmations", ((TopicExchange) declarables.get(0)).getName());
+        assertThrows(IllegalArgumentException.class, () -> new TicketConfirmationTopology("x", 0));
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.compass.ms_ticket_management.config;
+
+import br.com.compass.ms_ticket_management.web.dto.TicketConfirmationMessage;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketQueueMessageConverterTest {
+
+    private final TicketQueueMessageConverter converter = new TicketQueueMessageConverter(new SimpleMessageConverter());
+
+    private TicketConfirmationMessage confirmation() {
+        return TicketConfirmationMessage.builder()
+                .ticketId("789")
+                .eventId("666")
+                .customer(TicketConfirmationMessage.Customer.builder()
+                        .name("João")
+                        .cpf("12345678900")
+                        .email("joao@email.com")
+                        .build())
+                .brlAmount(100.0)
+                .usdAmount(20.0)
+                .event(TicketConfirmationMessage.Event.builder()
+                        .eventName("Show da Banda Quarto 666")
+                        .dateTime("2024-12-30T21:00:00")
+                        .logradouro("Rua Fulano")
+                        .bairro("Bairro Tal")
+                        .cidade("Cidade Catumbi")
+                        .build())
+                .createdAt(Instant.ofEpochMilli(1735603200000L))
+                .build();
+    }
+
+    @Test
+    void testConfirmation_RoundTripsAsAvro() {
+        TicketConfirmationMessage confirmation = confirmation();
+
+        Message message = converter.toMessage(confirmation, new MessageProperties());
+
+        assertEquals(TicketQueueMessageConverter.AVRO_CONTENT_TYPE, message.getMessageProperties().getContentType());
+        assertEquals(confirmation, converter.fromMessage(message));
+    }
+
+    @Test
+    void testLegacyText_UsesDefaultConverter() {
+        Message message = converter.toMessage("🎉 Ei João, seu ingresso está confirmado!", new MessageProperties());
+
+        assertEquals(MessageProperties.CONTENT_TYPE_TEXT_PLAIN, message.getMessageProperties().getContentType());
+        assertEquals("🎉 Ei João, seu ingresso está confirmado!", new String(message.getBody(), StandardCharsets.UTF_8));
+        assertEquals("🎉 Ei João, seu ingresso está confirmado!", converter.fromMessage(message));
+    }
+
+    @Test
+    void testConfirmation_CanBeReadWithEvolvedSchema() throws Exception {
+        Message message = converter.toMessage(confirmation(), new MessageProperties());
+        Schema evolved = SchemaBuilder.record("TicketConfirmation")
+                .namespace("br.com.compass.ticketmanagement")
+                .fields()
+                .requiredString("ticketId")
+                .requiredString("eventId")
+                .requiredDouble("brlAmount")
+                .name("channel").type().stringType().stringDefault("email")
+                .endRecord();
+        BinaryMessageDecoder<GenericRecord> decoder = new BinaryMessageDecoder<>(GenericData.get(), evolved);
+        decoder.addSchema(TicketQueueMessageConverter.SCHEMA);
+
+        GenericRecord record = decoder.decode(message.getBody());
+
+        assertEquals("789", record.get("ticketId").toString());
+        assertEquals(100.0, record.get("brlAmount"));
+        assertEquals("email", record.get("channel").toString());
+    }
+}
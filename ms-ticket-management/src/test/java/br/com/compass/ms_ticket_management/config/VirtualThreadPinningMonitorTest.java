@@ -0,0 +1,49 @@
+package br.com.compass.ms_ticket_management.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(10));
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void testStart_CountsVirtualThreadsBlockedInsideSynchronized() throws Exception {
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (meterRegistry.counter("jvm.virtual.threads.pinned").count() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+
+        assertTrue(meterRegistry.counter("jvm.virtual.threads.pinned").count() >= 1);
+    }
+}
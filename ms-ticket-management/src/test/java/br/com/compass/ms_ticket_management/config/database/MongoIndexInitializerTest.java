@@ -0,0 +1,107 @@
+package br.com.compass.ms_ticket_management.config.database;
+
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MongoIndexInitializerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoDatabase database;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOperations);
+        when(mongoTemplate.getDb()).thenReturn(database);
+    }
+
+    @Test
+    void usesIndex_ShouldAcceptIxscanPlans() {
+        Document plan = new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "IXSCAN").append("indexName", "eventId_status"));
+
+        assertTrue(MongoIndexInitializer.usesIndex(plan));
+    }
+
+    @Test
+    void usesIndex_ShouldRejectCollscanPlans() {
+        Document plan = new Document("stage", "COLLSCAN").append("direction", "forward");
+
+        assertFalse(MongoIndexInitializer.usesIndex(plan));
+    }
+
+    @Test
+    void usesIndex_ShouldRejectPlansWithCollscanBranch() {
+        Document plan = new Document("stage", "OR").append("inputStages", List.of(
+                new Document("stage", "IXSCAN"),
+                new Document("stage", "COLLSCAN")));
+
+        assertFalse(MongoIndexInitializer.usesIndex(plan));
+    }
+
+    @Test
+    void initIndexes_ShouldEnsureDeclaredIndexes() {
+        when(database.runCommand(any(Document.class))).thenReturn(explainWith("IXSCAN"));
+
+        initializer("fail").initIndexes();
+
+        verify(indexOperations, atLeast(3)).ensureIndex(any(IndexDefinition.class));
+        verify(database, times(MongoIndexInitializer.CRITICAL_QUERIES.size())).runCommand(any(Document.class));
+    }
+
+    @Test
+    void initIndexes_ShouldFailOnCollscanWhenConfigured() {
+        when(database.runCommand(any(Document.class))).thenReturn(explainWith("COLLSCAN"));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> initializer("fail").initIndexes());
+
+        assertTrue(exception.getMessage().contains("tickets.existsByEventId"));
+    }
+
+    @Test
+    void initIndexes_ShouldOnlyWarnOnCollscanByDefault() {
+        when(database.runCommand(any(Document.class))).thenReturn(explainWith("COLLSCAN"));
+
+        assertDoesNotThrow(() -> initializer("warn").initIndexes());
+    }
+
+    @Test
+    void initIndexes_ShouldSkipWhenDisabled() {
+        initializer("off").initIndexes();
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private MongoIndexInitializer initializer(String verification) {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        return new MongoIndexInitializer(mongoTemplate, mappingContext, verification);
+    }
+
+    private Document explainWith(String stage) {
+        return new Document("queryPlanner", new Document("winningPlan",
+                new Document("stage", "FETCH").append("inputStage", new Document("stage", stage))));
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -62,4 +63,29 @@ public class SequenceGeneratorServiceTest {
         assertEquals(1, sequence);
         verify(mongoOperations, times(1)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(DatabaseSequence.class));
     }
+
+    @Test
+    void testReserveBlock_ReturnsLastValueOfBlock() {
+        DatabaseSequence mockSequence = new DatabaseSequence();
+        mockSequence.setId("ticket_sequence");
+        mockSequence.setSequenceValue(150);
+
+        when(mongoOperations.findAndModify(
+                any(Query.class),
+                any(Update.class),
+                any(FindAndModifyOptions.class),
+                eq(DatabaseSequence.class)
+        )).thenReturn(mockSequence);
+
+        long last = sequenceGeneratorService.reserveBlock("ticket_sequence", 50);
+
+        assertEquals(150, last);
+        verify(mongoOperations, times(1)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(DatabaseSequence.class));
+    }
+
+    @Test
+    void testReserveBlock_InvalidSize_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> sequenceGeneratorService.reserveBlock("ticket_sequence", 0));
+        verifyNoInteractions(mongoOperations);
+    }
 }
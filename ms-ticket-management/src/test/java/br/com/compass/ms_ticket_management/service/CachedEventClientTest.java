@@ -0,0 +1,127 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.web.dto.EventResponse;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class CachedEventClientTest {
+    @Mock
+    private EventClient eventClient;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private SimpleMeterRegistry meterRegistry;
+    private CachedEventClient cachedEventClient;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        cachedEventClient = new CachedEventClient(eventClient, meterRegistry, CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.ofDefaults(), executor, 100, Duration.ofMinutes(5), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testGetEventById_SecondCallIsServedFromCache() {
+        EventResponse event = EventResponse.builder().id("666").eventName("Show da Banda Quarto 666").build();
+        when(eventClient.getEventById("666")).thenReturn(event);
+
+        assertSame(event, cachedEventClient.getEventById("666"));
+        assertSame(event, cachedEventClient.getEventById("666"));
+
+        verify(eventClient, times(1)).getEventById("666");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "eventCache").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "eventCache").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testGetEventById_ConcurrentMissesAreCoalesced() throws Exception {
+        CountDownLatch upstreamCalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        EventResponse event = EventResponse.builder().id("10").eventName("Show").build();
+        when(eventClient.getEventById("10")).thenAnswer(invocation -> {
+            upstreamCalled.countDown();
+            release.await();
+            return event;
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<Future<EventResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(callers.submit(() -> cachedEventClient.getEventById("10")));
+        }
+        upstreamCalled.await();
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<EventResponse> result : results) {
+            assertSame(event, result.get());
+        }
+        callers.shutdown();
+        verify(eventClient, times(1)).getEventById("10");
+    }
+
+    @Test
+    void testGetEventById_FailuresAreNotCached() {
+        EventResponse event = EventResponse.builder().id("7").build();
+        when(eventClient.getEventById("7"))
+                .thenThrow(new RuntimeException("Evento indisponível"))
+                .thenReturn(event);
+
+        assertThrows(RuntimeException.class, () -> cachedEventClient.getEventById("7"));
+        assertSame(event, cachedEventClient.getEventById("7"));
+
+        verify(eventClient, times(2)).getEventById("7");
+    }
+
+    @Test
+    void testGetEventById_ServesLastKnownEventWhenUpstreamFails() throws Exception {
+        CachedEventClient shortLived = new CachedEventClient(eventClient, meterRegistry, CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.ofDefaults(), executor, 100, Duration.ofMillis(1), Duration.ofMillis(1));
+        EventResponse event = EventResponse.builder().id("666").eventName("Show").build();
+        when(eventClient.getEventById("666"))
+                .thenReturn(event)
+                .thenThrow(new RuntimeException("Connection refused"));
+
+        assertSame(event, shortLived.getEventById("666"));
+        Thread.sleep(5);
+
+        assertSame(event, shortLived.getEventById("666"));
+        assertEquals(1.0, meterRegistry.counter("event.client.fallback").count());
+    }
+
+    @Test
+    void testGetEventById_OpenCircuitStopsCallingUpstream() {
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .minimumNumberOfCalls(2)
+                .slidingWindowSize(2)
+                .build());
+        CachedEventClient client = new CachedEventClient(eventClient, meterRegistry, circuitBreakerRegistry,
+                BulkheadRegistry.ofDefaults(), executor, 100, Duration.ofMinutes(5), Duration.ofMinutes(1));
+        when(eventClient.getEventById(anyString())).thenThrow(new RuntimeException("Connection refused"));
+
+        assertThrows(RuntimeException.class, () -> client.getEventById("1"));
+        assertThrows(RuntimeException.class, () -> client.getEventById("2"));
+        assertThrows(CallNotPermittedException.class, () -> client.getEventById("3"));
+
+        verify(eventClient, never()).getEventById("3");
+    }
+}
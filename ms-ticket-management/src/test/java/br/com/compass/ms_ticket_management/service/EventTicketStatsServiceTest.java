@@ -0,0 +1,168 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.domain.EventTicketStats;
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class EventTicketStatsServiceTest {
+    @InjectMocks
+    private EventTicketStatsService eventTicketStatsService;
+
+    @Mock
+    private MongoOperations mongoOperations;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, EventTicketStats.class)).thenReturn(bulkOperations);
+        when(mongoOperations.updateFirst(any(Query.class), any(Update.class), eq(EventTicketStats.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+    }
+
+    @Test
+    void testRecordCreated_IncrementsSoldAndRevenue() {
+        eventTicketStatsService.recordCreated(ticket("10", 100.0, 20.0));
+
+        Document inc = captureUpdate().getUpdateObject().get("$inc", Document.class);
+        assertEquals(1, inc.get("sold"));
+        assertEquals(100.0, inc.get("brlRevenue"));
+        assertEquals(20.0, inc.get("usdRevenue"));
+    }
+
+    @Test
+    void testRecordCancelled_MovesTicketFromSoldToCancelled() {
+        eventTicketStatsService.recordCancelled(ticket("10", 100.0, 20.0));
+
+        Document inc = captureUpdate().getUpdateObject().get("$inc", Document.class);
+        assertEquals(-1, inc.get("sold"));
+        assertEquals(1, inc.get("cancelled"));
+        assertEquals(-100.0, inc.get("brlRevenue"));
+        assertEquals(-20.0, inc.get("usdRevenue"));
+    }
+
+    @Test
+    void testRecordCancelled_SeedsEventWithoutStatsFromLegacyTickets() {
+        // Evento com 3 ingressos anteriores aos contadores; o cancelado já aparece na agregação.
+        stubMissingStats(new Document("_id", "Concluído").append("count", 2).append("brl", 200.0).append("usd", 40.0),
+                new Document("_id", "Cancelado").append("count", 1).append("brl", 100.0).append("usd", 20.0));
+        when(mongoOperations.upsert(any(Query.class), any(Update.class), eq(EventTicketStats.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, new BsonString("10")));
+
+        eventTicketStatsService.recordCancelled(ticket("10", 100.0, 20.0));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoOperations, times(1)).upsert(any(Query.class), update.capture(), eq(EventTicketStats.class));
+        Document seeded = update.getValue().getUpdateObject().get("$setOnInsert", Document.class);
+        EventTicketStats stats = EventTicketStats.builder()
+                .sold((Long) seeded.get("sold"))
+                .cancelled((Long) seeded.get("cancelled"))
+                .build();
+        assertEquals(2L, stats.getSold());
+        assertEquals(1L, stats.getCancelled());
+        assertEquals(200.0, seeded.get("brlRevenue"));
+        assertTrue(stats.hasTickets());
+    }
+
+    @Test
+    void testRecordCreated_SeedsThenIncrementsWhenStatsAreMissing() {
+        stubMissingStats(new Document("_id", "Concluído").append("count", 3).append("brl", 300.0).append("usd", 60.0));
+        when(mongoOperations.upsert(any(Query.class), any(Update.class), eq(EventTicketStats.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, new BsonString("10")));
+
+        eventTicketStatsService.recordCreated(ticket("10", 100.0, 20.0));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoOperations, times(2)).upsert(any(Query.class), update.capture(), eq(EventTicketStats.class));
+        assertEquals(3L, update.getAllValues().get(0).getUpdateObject().get("$setOnInsert", Document.class).get("sold"));
+        assertEquals(1, update.getAllValues().get(1).getUpdateObject().get("$inc", Document.class).get("sold"));
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoOperations).aggregate(aggregation.capture(), eq(Ticket.class), eq(Document.class));
+        assertTrue(aggregation.getValue().toString().contains("countedInStats"));
+    }
+
+    @Test
+    void testRecordCreated_BatchGroupsUpdatesPerEvent() {
+        when(mongoOperations.find(any(Query.class), eq(EventTicketStats.class))).thenReturn(List.of(
+                EventTicketStats.builder().eventId("10").build(), EventTicketStats.builder().eventId("20").build()));
+        eventTicketStatsService.recordCreated(List.of(
+                ticket("10", 100.0, 20.0),
+                ticket("20", 50.0, 10.0),
+                ticket("10", 100.0, 20.0)));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(2)).upsert(any(Query.class), update.capture());
+        verify(bulkOperations).execute();
+        Document inc = update.getAllValues().get(0).getUpdateObject().get("$inc", Document.class);
+        assertEquals(2L, inc.get("sold"));
+        assertEquals(200.0, inc.get("brlRevenue"));
+    }
+
+    @Test
+    void testRecordAmountChange_IgnoresZeroDelta() {
+        eventTicketStatsService.recordAmountChange("10", 0, 0);
+
+        verifyNoInteractions(mongoOperations);
+    }
+
+    @Test
+    void testComputeFromTickets_SplitsActiveAndCancelled() {
+        AggregationResults<Document> results = new AggregationResults<>(List.of(
+                new Document("_id", "Concluído").append("count", 3).append("brl", 300.0).append("usd", 60.0),
+                new Document("_id", "Cancelado").append("count", 1).append("brl", 100.0).append("usd", 20.0)),
+                new Document());
+        when(mongoOperations.aggregate(any(Aggregation.class), eq(Ticket.class), eq(Document.class))).thenReturn(results);
+
+        EventTicketStats stats = eventTicketStatsService.computeFromTickets("10");
+
+        assertEquals(3, stats.getSold());
+        assertEquals(1, stats.getCancelled());
+        assertEquals(300.0, stats.getBrlRevenue());
+        assertEquals(60.0, stats.getUsdRevenue());
+    }
+
+    private Update captureUpdate() {
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoOperations).updateFirst(any(Query.class), update.capture(), eq(EventTicketStats.class));
+        verify(mongoOperations, never()).upsert(any(Query.class), any(Update.class), eq(EventTicketStats.class));
+        return update.getValue();
+    }
+
+    private void stubMissingStats(Document... legacyGroups) {
+        when(mongoOperations.updateFirst(any(Query.class), any(Update.class), eq(EventTicketStats.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        when(mongoOperations.aggregate(any(Aggregation.class), eq(Ticket.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(legacyGroups), new Document()));
+    }
+
+    private static Ticket ticket(String eventId, double brl, double usd) {
+        Ticket ticket = new Ticket();
+        ticket.setEventId(eventId);
+        ticket.setBrlAmount(brl);
+        ticket.setUsdAmount(usd);
+        return ticket;
+    }
+}
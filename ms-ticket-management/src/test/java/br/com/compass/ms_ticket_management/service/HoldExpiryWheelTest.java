@@ -0,0 +1,114 @@
+package br.com.compass.ms_ticket_management.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoldExpiryWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void testAdvance_ExpiresOnDeadlineTick() {
+        HoldExpiryWheel wheel = new HoldExpiryWheel(1000, 8, 3, START);
+        wheel.schedule("a", START + 2500);
+
+        assertTrue(wheel.advance(START + 2999).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(START + 3000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_CascadesFromHigherLevels() {
+        // 8 posições por nível: o nível 0 cobre 8 ticks, o nível 1 cobre 64 e o nível 2 cobre 512.
+        HoldExpiryWheel wheel = new HoldExpiryWheel(1, 8, 3, 0);
+        wheel.schedule("nivel-1", 40);
+        wheel.schedule("nivel-2", 300);
+
+        assertTrue(wheel.advance(39).isEmpty());
+        assertEquals(List.of("nivel-1"), wheel.advance(40));
+        assertTrue(wheel.advance(299).isEmpty());
+        assertEquals(List.of("nivel-2"), wheel.advance(300));
+    }
+
+    @Test
+    void testAdvance_DeadlineBeyondLastLevelIsRepositioned() {
+        HoldExpiryWheel wheel = new HoldExpiryWheel(1, 4, 2, 0);
+        wheel.schedule("distante", 100);
+
+        assertTrue(wheel.advance(99).isEmpty());
+        assertEquals(List.of("distante"), wheel.advance(100));
+    }
+
+    @Test
+    void testCancel_RemovesEntry() {
+        HoldExpiryWheel wheel = new HoldExpiryWheel(1000, 64, 4, START);
+        wheel.schedule("a", START + 5000);
+        wheel.schedule("b", START + 5000);
+
+        assertTrue(wheel.cancel("a"));
+        assertFalse(wheel.cancel("a"));
+        assertEquals(List.of("b"), wheel.advance(START + 5000));
+    }
+
+    @Test
+    void testSchedule_ReschedulesExistingEntry() {
+        HoldExpiryWheel wheel = new HoldExpiryWheel(1000, 64, 4, START);
+        wheel.schedule("a", START + 2000);
+        wheel.schedule("a", START + 9000);
+
+        assertTrue(wheel.advance(START + 8000).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(START + 9000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testSchedule_PastDeadlineExpiresOnNextTick() {
+        HoldExpiryWheel wheel = new HoldExpiryWheel(1000, 64, 4, START);
+        wheel.schedule("a", START - 60_000);
+
+        assertEquals(List.of("a"), wheel.advance(START + 1000));
+    }
+
+    @Test
+    void testAdvance_MatchesExactDeadlinesForRandomSchedule() {
+        HoldExpiryWheel wheel = new HoldExpiryWheel(1, 16, 3, 0);
+        Random random = new Random(42);
+        Map<String, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            long deadline = 1 + random.nextInt(10_000);
+            deadlines.put("h" + i, deadline);
+            wheel.schedule("h" + i, deadline);
+        }
+
+        Map<String, Long> expiredAt = new HashMap<>();
+        List<String> order = new ArrayList<>();
+        for (long now = 1; now <= 10_000; now += 1 + random.nextInt(7)) {
+            for (String id : wheel.advance(now)) {
+                expiredAt.put(id, now);
+                order.add(id);
+            }
+        }
+        for (String id : wheel.advance(10_000)) {
+            expiredAt.put(id, 10_000L);
+        }
+
+        assertEquals(deadlines.keySet(), expiredAt.keySet());
+        // Avançando em saltos, cada reserva vence no primeiro avanço que alcança o seu prazo.
+        deadlines.forEach((id, deadline) -> assertTrue(expiredAt.get(id) >= deadline && expiredAt.get(id) - deadline < 7, id));
+        for (int i = 1; i < order.size(); i++) {
+            assertTrue(deadlines.get(order.get(i - 1)) <= deadlines.get(order.get(i)));
+        }
+    }
+
+    @Test
+    void testConstructor_RejectsSizeThatIsNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new HoldExpiryWheel(1000, 60, 4, START));
+    }
+}
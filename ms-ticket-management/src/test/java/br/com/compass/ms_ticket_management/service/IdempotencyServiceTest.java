@@ -0,0 +1,193 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.domain.IdempotencyRecord;
+import br.com.compass.ms_ticket_management.exception.IdempotencyKeyInProgressException;
+import br.com.compass.ms_ticket_management.exception.IdempotencyKeyReuseException;
+import br.com.compass.ms_ticket_management.exception.InvalidIdempotencyKeyException;
+import br.com.compass.ms_ticket_management.exception.TicketsSoldOutException;
+import br.com.compass.ms_ticket_management.web.dto.TicketHoldRequest;
+import br.com.compass.ms_ticket_management.web.dto.TicketResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class IdempotencyServiceTest {
+    @Mock
+    private MongoOperations mongoOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TicketHoldRequest request = new TicketHoldRequest("666", null, 2);
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyService idempotencyService;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyService = new IdempotencyService(mongoOperations, objectMapper, meterRegistry, 100,
+                Duration.ofHours(24), Duration.ofMillis(200), Duration.ofSeconds(30), Duration.ofMillis(10));
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void testExecute_WithoutKeyJustRuns() {
+        ResponseEntity<TicketResponse> response = execute(null, request);
+
+        assertEquals("1", response.getBody().getTicketId());
+        assertEquals(1, executions.get());
+        verifyNoInteractions(mongoOperations);
+    }
+
+    @Test
+    void testExecute_ReplaysStoredResponseWithoutRunningAgain() {
+        ResponseEntity<TicketResponse> first = execute("chave-1", request);
+        ResponseEntity<TicketResponse> replay = execute("chave-1", request);
+
+        assertEquals(1, executions.get());
+        assertEquals(first.getBody(), replay.getBody());
+        assertEquals(HttpStatus.OK, replay.getStatusCode());
+        assertEquals("true", replay.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertNull(first.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+
+        ArgumentCaptor<IdempotencyRecord> claimed = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(mongoOperations).insert(claimed.capture());
+        assertEquals("create-ticket:chave-1", claimed.getValue().getId());
+        assertEquals(IdempotencyRecord.Status.IN_PROGRESS, claimed.getValue().getStatus());
+        ArgumentCaptor<Update> completed = ArgumentCaptor.forClass(Update.class);
+        verify(mongoOperations).updateFirst(any(Query.class), completed.capture(), eq(IdempotencyRecord.class));
+        Document set = completed.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals(IdempotencyRecord.Status.COMPLETED, set.get("status"));
+        assertEquals(200, set.get("httpStatus"));
+        assertEquals(1.0, meterRegistry.counter("idempotency.requests", "outcome", "replayed").count());
+    }
+
+    @Test
+    void testExecute_ConcurrentDuplicatesWaitForFirstResult() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<ResponseEntity<TicketResponse>> first = executor.submit(() ->
+                    idempotencyService.execute("create-ticket", "chave-1", request, new TypeReference<>() {}, () -> {
+                        started.countDown();
+                        await(finish);
+                        return ResponseEntity.ok(TicketResponse.builder().ticketId(String.valueOf(executions.incrementAndGet())).build());
+                    }));
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            Future<ResponseEntity<TicketResponse>> duplicate = executor.submit(() -> execute("chave-1", request));
+            Thread.sleep(50);
+            assertFalse(duplicate.isDone());
+
+            finish.countDown();
+
+            assertEquals("1", first.get(1, TimeUnit.SECONDS).getBody().getTicketId());
+            assertEquals("1", duplicate.get(1, TimeUnit.SECONDS).getBody().getTicketId());
+        }
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testExecute_RejectsKeyReusedWithAnotherPayload() {
+        execute("chave-1", request);
+
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> execute("chave-1", new TicketHoldRequest("666", null, 3)));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testExecute_ReplaysResultStoredByAnotherInstance() throws Exception {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setId("create-ticket:chave-1");
+        record.setStatus(IdempotencyRecord.Status.COMPLETED);
+        record.setRequestHash(hashOf(request));
+        record.setHttpStatus(200);
+        record.setBody(objectMapper.writeValueAsString(TicketResponse.builder().ticketId("42").build()));
+        when(mongoOperations.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("E11000"));
+        when(mongoOperations.findById("create-ticket:chave-1", IdempotencyRecord.class)).thenReturn(record);
+
+        ResponseEntity<TicketResponse> response = execute("chave-1", request);
+
+        assertEquals("42", response.getBody().getTicketId());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void testExecute_TimesOutWhileAnotherInstanceIsRunning() throws Exception {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setStatus(IdempotencyRecord.Status.IN_PROGRESS);
+        record.setRequestHash(hashOf(request));
+        record.setLockedUntil(Instant.now().plusSeconds(30));
+        when(mongoOperations.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("E11000"));
+        when(mongoOperations.findById("create-ticket:chave-1", IdempotencyRecord.class)).thenReturn(record);
+
+        assertThrows(IdempotencyKeyInProgressException.class, () -> execute("chave-1", request));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void testExecute_FailureReleasesKey() {
+        assertThrows(TicketsSoldOutException.class, () -> idempotencyService.execute("create-ticket", "chave-1", request,
+                new TypeReference<TicketResponse>() {}, () -> {
+                    executions.incrementAndGet();
+                    throw new TicketsSoldOutException("Ingressos esgotados para o evento 666");
+                }));
+
+        verify(mongoOperations).remove(any(Query.class), eq(IdempotencyRecord.class));
+        ResponseEntity<TicketResponse> retry = execute("chave-1", request);
+        assertEquals("2", retry.getBody().getTicketId());
+    }
+
+    @Test
+    void testExecute_RejectsInvalidKey() {
+        assertThrows(InvalidIdempotencyKeyException.class, () -> execute(" ", request));
+        assertThrows(InvalidIdempotencyKeyException.class, () -> execute("x".repeat(256), request));
+        assertEquals(0, executions.get());
+    }
+
+    private ResponseEntity<TicketResponse> execute(String key, Object payload) {
+        return idempotencyService.execute("create-ticket", key, payload, new TypeReference<>() {},
+                () -> ResponseEntity.ok(TicketResponse.builder().ticketId(String.valueOf(executions.incrementAndGet())).build()));
+    }
+
+    private String hashOf(Object payload) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(payload));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
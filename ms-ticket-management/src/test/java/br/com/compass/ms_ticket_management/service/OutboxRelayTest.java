@@ -0,0 +1,215 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.domain.OutboxMessage;
+import br.com.compass.ms_ticket_management.repository.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class OutboxRelayTest {
+    @Mock
+    private MongoOperations mongoOperations;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(mongoOperations, outboxRepository, outboxService, rabbitTemplate, meterRegistry,
+                200, 100, 3, Duration.ofMillis(200), Duration.ofSeconds(30), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void testRelay_AckedMessagesAreRemoved() {
+        OutboxMessage message = pendingMessage("1");
+        givenClaimedBatch(message);
+        doAnswer(invocation -> {
+            invocation.<CorrelationData>getArgument(3).getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(eq(""), eq("ticket-queue"), any(Message.class), any(CorrelationData.class));
+
+        outboxRelay.relay();
+
+        ArgumentCaptor<Message> sent = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(eq(""), eq("ticket-queue"), sent.capture(), any(CorrelationData.class));
+        assertEquals("Olá", new String(sent.getValue().getBody(), StandardCharsets.UTF_8));
+        assertEquals("1", sent.getValue().getMessageProperties().getMessageId());
+        verify(mongoOperations).remove(any(Query.class), eq(OutboxMessage.class));
+        assertEquals(1.0, meterRegistry.get("outbox.relay.published").counter().count());
+        assertEquals(0.0, meterRegistry.get("outbox.relay.in.flight").gauge().value());
+    }
+
+    @Test
+    void testRelay_NackedMessagesStayInOutbox() {
+        givenClaimedBatch(pendingMessage("2"));
+        doAnswer(invocation -> {
+            invocation.<CorrelationData>getArgument(3).getFuture().complete(new CorrelationData.Confirm(false, "fila cheia"));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        outboxRelay.relay();
+
+        verify(mongoOperations, never()).remove(any(Query.class), eq(OutboxMessage.class));
+        verify(mongoOperations).updateFirst(any(Query.class), any(Update.class), eq(OutboxMessage.class));
+        assertEquals(1.0, failed("nack"));
+        assertEquals(1L, meterRegistry.get("outbox.relay.confirm").timer().count());
+    }
+
+    @Test
+    void testRelay_ReturnedMessagesStayInOutbox() {
+        givenClaimedBatch(pendingMessage("6"));
+        doAnswer(invocation -> {
+            CorrelationData correlationData = invocation.getArgument(3);
+            correlationData.setReturned(new ReturnedMessage(invocation.getArgument(2), 312, "NO_ROUTE",
+                    invocation.getArgument(0), invocation.getArgument(1)));
+            correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        outboxRelay.relay();
+
+        verify(mongoOperations, never()).remove(any(Query.class), eq(OutboxMessage.class));
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoOperations).updateFirst(any(Query.class), update.capture(), eq(OutboxMessage.class));
+        assertTrue(update.getValue().toString().contains("NO_ROUTE"));
+        assertEquals(1.0, failed("returned"));
+        assertEquals(0.0, meterRegistry.get("outbox.relay.published").counter().count());
+    }
+
+    @Test
+    void testRelay_FullBatchesAreDrainedInTheSameCycle() {
+        outboxRelay = new OutboxRelay(mongoOperations, outboxRepository, outboxService, rabbitTemplate, meterRegistry,
+                1, 100, 3, Duration.ofMillis(200), Duration.ofSeconds(30), Duration.ofSeconds(30));
+        when(mongoOperations.find(any(Query.class), eq(OutboxMessage.class)))
+                .thenReturn(List.of(pendingMessage("7")), List.of(pendingMessage("8")), List.of());
+        when(outboxRepository.findByClaimTokenOrderByCreatedAtAsc(anyString()))
+                .thenReturn(List.of(pendingMessage("7")), List.of(pendingMessage("8")));
+        doAnswer(invocation -> {
+            invocation.<CorrelationData>getArgument(3).getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        outboxRelay.relay();
+
+        verify(rabbitTemplate, times(2)).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        assertEquals(2.0, meterRegistry.get("outbox.relay.sent").counter().count());
+        assertEquals(2.0, meterRegistry.get("outbox.relay.published").counter().count());
+    }
+
+    @Test
+    void testRelay_MissingConfirmTimesOut() {
+        givenClaimedBatch(pendingMessage("3"));
+
+        outboxRelay.relay();
+
+        verify(mongoOperations, never()).remove(any(Query.class), eq(OutboxMessage.class));
+        assertEquals(1.0, failed("timeout"));
+        assertEquals(0L, meterRegistry.get("outbox.relay.confirm").timer().count());
+    }
+
+    @Test
+    void testRelay_BrokerUnavailableStopsBatch() {
+        givenClaimedBatch(pendingMessage("4"), pendingMessage("5"));
+        doThrow(new AmqpConnectException(new RuntimeException("Connection refused")))
+                .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        outboxRelay.relay();
+
+        verify(rabbitTemplate, times(1)).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        verify(mongoOperations).updateFirst(any(Query.class), any(Update.class), eq(OutboxMessage.class));
+        assertEquals(0.0, meterRegistry.get("outbox.relay.in.flight").gauge().value());
+        assertEquals(1.0, failed("send_error"));
+    }
+
+    @Test
+    void testRelay_EmptyOutboxDoesNotPublish() {
+        when(mongoOperations.find(any(Query.class), eq(OutboxMessage.class))).thenReturn(List.of());
+        when(outboxRepository.countByStatus(OutboxMessage.Status.PENDING)).thenReturn(0L);
+
+        outboxRelay.relay();
+
+        verify(rabbitTemplate, never()).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        assertEquals(0.0, meterRegistry.get("outbox.pending").gauge().value());
+    }
+
+    @Test
+    void testRelay_RecoversMessagesLeftOnTicketsBeforeClaiming() {
+        when(mongoOperations.find(any(Query.class), eq(OutboxMessage.class))).thenReturn(List.of());
+        Instant before = Instant.now();
+
+        outboxRelay.relay();
+
+        ArgumentCaptor<Instant> createdBefore = ArgumentCaptor.forClass(Instant.class);
+        verify(outboxService).movePendingOlderThan(createdBefore.capture(), eq(200));
+        assertTrue(!createdBefore.getValue().isAfter(before.minusSeconds(29)));
+    }
+
+    @Test
+    void testRelay_RecoveryFailureDoesNotStopPublishing() {
+        OutboxMessage message = pendingMessage("9");
+        givenClaimedBatch(message);
+        when(outboxService.movePendingOlderThan(any(Instant.class), anyInt())).thenThrow(new RuntimeException("Mongo indisponível"));
+        doAnswer(invocation -> {
+            invocation.<CorrelationData>getArgument(3).getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        outboxRelay.relay();
+
+        assertEquals(1.0, meterRegistry.get("outbox.relay.published").counter().count());
+    }
+
+    private double failed(String reason) {
+        return meterRegistry.get("outbox.relay.failed").tag("reason", reason).counter().count();
+    }
+
+    private void givenClaimedBatch(OutboxMessage... messages) {
+        when(mongoOperations.find(any(Query.class), eq(OutboxMessage.class))).thenReturn(List.of(messages));
+        when(outboxRepository.findByClaimTokenOrderByCreatedAtAsc(anyString())).thenReturn(List.of(messages));
+    }
+
+    private static OutboxMessage pendingMessage(String id) {
+        OutboxMessage message = new OutboxMessage();
+        message.setId(id);
+        message.setExchange("");
+        message.setRoutingKey("ticket-queue");
+        message.setBody("Olá".getBytes(StandardCharsets.UTF_8));
+        message.setContentType("text/plain");
+        message.setContentEncoding("UTF-8");
+        message.setStatus(OutboxMessage.Status.PENDING);
+        message.setCreatedAt(Instant.now());
+        return message;
+    }
+}
@@ -0,0 +1,173 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.domain.OutboxMessage;
+import br.com.compass.ms_ticket_management.domain.PendingOutboxMessage;
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.repository.OutboxRepository;
+import br.com.compass.ms_ticket_management.web.dto.TicketLifecycleEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class OutboxServiceTest {
+    @InjectMocks
+    private OutboxService outboxService;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private MongoOperations mongoOperations;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(rabbitTemplate.getMessageConverter()).thenReturn(new SimpleMessageConverter());
+        when(outboxRepository.save(any(OutboxMessage.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, OutboxMessage.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+    }
+
+    @Test
+    void testEnqueue_StoresConvertedMessageAsPending() {
+        OutboxMessage saved = outboxService.enqueue("", "ticket-queue", "🎉 Ei João, seu ingresso está confirmado!");
+
+        assertEquals("", saved.getExchange());
+        assertEquals("ticket-queue", saved.getRoutingKey());
+        assertEquals("🎉 Ei João, seu ingresso está confirmado!", new String(saved.getBody(), StandardCharsets.UTF_8));
+        assertEquals("text/plain", saved.getContentType());
+        assertEquals(OutboxMessage.Status.PENDING, saved.getStatus());
+        assertEquals(0, saved.getAttempts());
+        assertNotNull(saved.getCreatedAt());
+    }
+
+    @Test
+    void testEnqueueJson_StoresPayloadAsJson() {
+        TicketLifecycleEvent event = TicketLifecycleEvent.builder()
+                .type(TicketLifecycleEvent.TICKET_CREATED)
+                .ticketId("1")
+                .eventId("666")
+                .build();
+
+        OutboxMessage saved = outboxService.enqueueJson("ticket.events", "ticket.created", event);
+
+        assertEquals("ticket.events", saved.getExchange());
+        assertEquals("ticket.created", saved.getRoutingKey());
+        assertEquals("application/json", saved.getContentType());
+        assertTrue(new String(saved.getBody(), StandardCharsets.UTF_8).contains("\"type\":\"ticket-created\""));
+        assertEquals(OutboxMessage.Status.PENDING, saved.getStatus());
+    }
+
+    @Test
+    void testToOutboxMessage_AssignsIdUpFront() {
+        OutboxMessage first = outboxService.toOutboxMessage("", "ticket-queue", "Olá");
+        OutboxMessage second = outboxService.toOutboxMessage("", "ticket-queue", "Olá");
+
+        assertNotNull(first.getId());
+        assertNotEquals(first.getId(), second.getId());
+    }
+
+    @Test
+    void testMovePending_CopiesMessagesAndClearsThemFromTickets() {
+        OutboxMessage message = outboxService.toOutboxMessage("", "ticket-queue", "Olá");
+        Ticket ticket = ticketWithPending("1", message);
+
+        outboxService.movePending(List.of(ticket, new Ticket()));
+
+        ArgumentCaptor<List<OutboxMessage>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations).insert(inserted.capture());
+        verify(bulkOperations).execute();
+        assertEquals(message.getId(), inserted.getValue().get(0).getId());
+        assertEquals(OutboxMessage.Status.PENDING, inserted.getValue().get(0).getStatus());
+        assertEquals("Olá", new String(inserted.getValue().get(0).getBody(), StandardCharsets.UTF_8));
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoOperations).updateMulti(any(Query.class), update.capture(), eq(Ticket.class));
+        assertTrue(update.getValue().getUpdateObject().get("$unset", Document.class).containsKey("pendingOutbox"));
+    }
+
+    @Test
+    void testMovePending_AlreadyMovedMessagesAreIgnored() {
+        Ticket ticket = ticketWithPending("1", outboxService.toOutboxMessage("", "ticket-queue", "Olá"));
+        when(bulkOperations.execute()).thenThrow(bulkFailure(11000));
+
+        outboxService.movePending(List.of(ticket));
+
+        verify(mongoOperations).updateMulti(any(Query.class), any(Update.class), eq(Ticket.class));
+    }
+
+    @Test
+    void testMovePending_FailureLeavesMessagesOnTicket() {
+        Ticket ticket = ticketWithPending("1", outboxService.toOutboxMessage("", "ticket-queue", "Olá"));
+        when(bulkOperations.execute()).thenThrow(bulkFailure(91));
+
+        outboxService.movePending(List.of(ticket));
+
+        verify(mongoOperations, never()).updateMulti(any(Query.class), any(Update.class), eq(Ticket.class));
+    }
+
+    @Test
+    void testMovePendingOlderThan_OnlyLooksAtTicketsWithOldMessages() {
+        Ticket ticket = ticketWithPending("1", outboxService.toOutboxMessage("", "ticket-queue", "Olá"));
+        when(mongoOperations.find(any(Query.class), eq(Ticket.class))).thenReturn(List.of(ticket));
+        Instant createdBefore = Instant.now().minusSeconds(30);
+
+        assertEquals(1, outboxService.movePendingOlderThan(createdBefore, 200));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoOperations).find(query.capture(), eq(Ticket.class));
+        assertEquals(new Document("$lt", createdBefore), query.getValue().getQueryObject().get("pendingOutbox.createdAt"));
+        assertEquals(200, query.getValue().getLimit());
+        verify(bulkOperations).insert(anyList());
+    }
+
+    private static Ticket ticketWithPending(String ticketId, OutboxMessage message) {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(ticketId);
+        ticket.setPendingOutbox(List.of(PendingOutboxMessage.of(message)));
+        return ticket;
+    }
+
+    private static BulkOperationException bulkFailure(int code) {
+        BulkWriteError error = new BulkWriteError(code, "falha", new BsonDocument(), 0);
+        return new BulkOperationException("falha", new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()), List.of(error), null, new ServerAddress(), Set.of()));
+    }
+}
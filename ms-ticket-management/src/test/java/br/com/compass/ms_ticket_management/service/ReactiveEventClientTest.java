@@ -0,0 +1,103 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.web.dto.EventResponse;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ReactiveEventClientTest {
+
+    private static final String EVENT_JSON = """
+            {"id":"666","eventName":"Show da Banda Quarto 666","dateTime":"2024-12-30T21:00:00",
+             "logradouro":"Rua Fulano","bairro":"Bairro Tal","cidade":"Cidade Catumbi","uf":"CI"}""";
+
+    private final Deque<ClientResponse> responses = new ArrayDeque<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private ReactiveEventClient client(Duration expireAfterWrite) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            requests.incrementAndGet();
+            return Mono.just(responses.isEmpty() ? serverError() : responses.poll());
+        });
+        return new ReactiveEventClient(builder, meterRegistry, CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.ofDefaults(), "http://localhost:8080", Duration.ofSeconds(1), Duration.ofSeconds(2),
+                100, expireAfterWrite, expireAfterWrite);
+    }
+
+    private ClientResponse event() {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(EVENT_JSON)
+                .build();
+    }
+
+    private ClientResponse serverError() {
+        return ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+
+    @Test
+    void testGetEventById_SecondCallIsServedFromCache() {
+        ReactiveEventClient client = client(Duration.ofMinutes(5));
+        responses.add(event());
+
+        StepVerifier.create(client.getEventById("666"))
+                .assertNext(event -> {
+                    assertEquals("Show da Banda Quarto 666", event.getEventName());
+                    assertEquals("CI", event.getUf());
+                })
+                .verifyComplete();
+        StepVerifier.create(client.getEventById("666"))
+                .assertNext(event -> assertEquals("666", event.getId()))
+                .verifyComplete();
+
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void testGetEventById_NotFoundIsPropagated() {
+        ReactiveEventClient client = client(Duration.ofMinutes(5));
+        responses.add(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+
+        StepVerifier.create(client.getEventById("404"))
+                .expectError(WebClientResponseException.NotFound.class)
+                .verify();
+    }
+
+    @Test
+    void testGetEventById_ServesLastKnownEventWhenUpstreamFails() throws Exception {
+        ReactiveEventClient client = client(Duration.ofMillis(1));
+        responses.add(event());
+
+        StepVerifier.create(client.getEventById("666")).expectNextCount(1).verifyComplete();
+        Thread.sleep(5);
+
+        StepVerifier.create(client.getEventById("666"))
+                .assertNext(event -> assertEquals("Show da Banda Quarto 666", event.getEventName()))
+                .verifyComplete();
+        assertEquals(2, requests.get());
+        assertEquals(1.0, meterRegistry.counter("event.client.fallback").count());
+    }
+}
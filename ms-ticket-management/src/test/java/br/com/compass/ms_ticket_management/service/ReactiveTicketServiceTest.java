@@ -0,0 +1,252 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.config.TicketConfirmationTopology;
+import br.com.compass.ms_ticket_management.config.TicketConfirmationTopologyTest;
+import br.com.compass.ms_ticket_management.domain.EventTicketStats;
+import br.com.compass.ms_ticket_management.domain.OutboxMessage;
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.domain.TicketHold;
+import br.com.compass.ms_ticket_management.domain.TicketInventory;
+import br.com.compass.ms_ticket_management.exception.TicketsSoldOutException;
+import br.com.compass.ms_ticket_management.exception.TicketNotFoundException;
+import br.com.compass.ms_ticket_management.repository.ReactiveTicketRepository;
+import br.com.compass.ms_ticket_management.web.dto.EventResponse;
+import br.com.compass.ms_ticket_management.web.dto.TicketLifecycleEvent;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ReactiveTicketServiceTest {
+    @InjectMocks
+    private ReactiveTicketService ticketService;
+
+    @Mock
+    private ReactiveTicketRepository ticketRepository;
+
+    @Mock
+    private ReactiveEventClient eventClient;
+
+    @Mock
+    private ReactiveMongoOperations mongoOperations;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private TicketIdAllocator ticketIdAllocator;
+
+    @Spy
+    private TicketMessageFormatter messageFormatter = new TicketMessageFormatter();
+
+    @Spy
+    private TicketQueuePayloadFactory payloadFactory =
+            new TicketQueuePayloadFactory(messageFormatter, TicketQueuePayloadFactory.Format.TEXT);
+
+    @Spy
+    private TicketConfirmationTopology confirmationTopology = TicketConfirmationTopologyTest.defaultTopology();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testCreateTicket_Success() {
+        Ticket ticket = new Ticket();
+        ticket.setEventId("666");
+        ticket.setCustomerName("João");
+        ticket.setCpf("12345678900");
+        ticket.setBrlAmount(100.0);
+        ticket.setUsdAmount(100.0);
+
+        EventResponse eventResponse = EventResponse.builder()
+                .id("666")
+                .eventName("Show da Banda Quarto 666")
+                .dateTime("2024-12-30T21:00:00")
+                .logradouro("Rua Fulano")
+                .bairro("Bairro Tal")
+                .cidade("Cidade Catumbi")
+                .uf("CI")
+                .build();
+
+        when(ticketIdAllocator.nextId()).thenReturn(789L);
+        when(eventClient.getEventById("666")).thenReturn(Mono.just(eventResponse));
+        when(ticketRepository.save(ticket)).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(mongoOperations.updateFirst(any(Query.class), any(Update.class), eq(EventTicketStats.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        when(mongoOperations.insertAll(anyCollection())).thenAnswer(invocation ->
+                Flux.fromIterable(invocation.<Collection<?>>getArgument(0)));
+        when(mongoOperations.updateFirst(any(Query.class), any(Update.class), eq(Ticket.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        when(outboxService.toOutboxMessage(anyString(), anyString(), any())).thenReturn(new OutboxMessage());
+        when(outboxService.toJsonOutboxMessage(anyString(), anyString(), any())).thenReturn(new OutboxMessage());
+
+        StepVerifier.create(ticketService.createTicket(ticket))
+                .assertNext(response -> {
+                    assertEquals("789", response.getTicketId());
+                    assertEquals("João", response.getCustomerName());
+                    assertEquals("Concluído", response.getStatus());
+                    assertEquals("R$\u00a0100,00", response.getBrlTotalAmount());
+                    assertEquals("$100.00", response.getUsdTotalAmount());
+                    assertEquals("Show da Banda Quarto 666", response.getEvent().getEventName());
+                })
+                .verifyComplete();
+
+        verify(outboxService).toOutboxMessage(eq("ticket.confirmations"), eq("ticket.confirmation.2"),
+                argThat(message -> message.toString().startsWith("🎉 Ei João, seu ingresso está confirmado!")));
+        verify(outboxService).toJsonOutboxMessage(eq("ticket.events"), eq("ticket.created"),
+                argThat(event -> event instanceof TicketLifecycleEvent lifecycle
+                        && TicketLifecycleEvent.TICKET_CREATED.equals(lifecycle.getType())
+                        && "789".equals(lifecycle.getTicketId())));
+        verify(mongoOperations).updateFirst(any(Query.class), any(Update.class), eq(EventTicketStats.class));
+        assertEquals(2, ticket.getPendingOutbox().size());
+        verify(ticketRepository).save(argThat(saved -> saved.getPendingOutbox().size() == 2));
+        verify(mongoOperations).insertAll(argThat((Collection<?> messages) -> messages.size() == 2));
+        ArgumentCaptor<Update> unset = ArgumentCaptor.forClass(Update.class);
+        verify(mongoOperations).updateFirst(any(Query.class), unset.capture(), eq(Ticket.class));
+        assertTrue(unset.getValue().getUpdateObject().get("$unset", Document.class).containsKey("pendingOutbox"));
+    }
+
+    @Test
+    void testCreateTicket_OutboxFailureAfterSaveKeepsMessagesOnTicket() {
+        Ticket ticket = new Ticket();
+        ticket.setEventId("666");
+        ticket.setCustomerName("João");
+        ticket.setBrlAmount(100.0);
+        ticket.setUsdAmount(100.0);
+        EventResponse eventResponse = EventResponse.builder().id("666").eventName("Show da Banda Quarto 666").build();
+        when(ticketIdAllocator.nextId()).thenReturn(790L);
+        when(eventClient.getEventById("666")).thenReturn(Mono.just(eventResponse));
+        when(ticketRepository.save(ticket)).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(mongoOperations.updateFirst(any(Query.class), any(Update.class), eq(EventTicketStats.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        when(mongoOperations.insertAll(anyCollection())).thenReturn(Flux.error(new RuntimeException("Mongo indisponível")));
+        when(outboxService.toOutboxMessage(anyString(), anyString(), any())).thenReturn(new OutboxMessage());
+        when(outboxService.toJsonOutboxMessage(anyString(), anyString(), any())).thenReturn(new OutboxMessage());
+
+        StepVerifier.create(ticketService.createTicket(ticket))
+                .assertNext(response -> assertEquals("790", response.getTicketId()))
+                .verifyComplete();
+
+        verify(ticketRepository).save(argThat(saved -> saved.getPendingOutbox().size() == 2));
+        verify(mongoOperations, never()).updateFirst(any(Query.class), any(Update.class), eq(Ticket.class));
+    }
+
+    @Test
+    void testCreateTicket_EventNotFoundSavesNothing() {
+        Ticket ticket = new Ticket();
+        ticket.setEventId("404");
+        when(ticketIdAllocator.nextId()).thenReturn(1L);
+        when(eventClient.getEventById("404")).thenReturn(Mono.error(new RuntimeException("Evento não encontrado")));
+
+        StepVerifier.create(ticketService.createTicket(ticket))
+                .expectErrorMessage("Evento não encontrado")
+                .verify();
+
+        verifyNoInteractions(ticketRepository, mongoOperations);
+    }
+
+    @Test
+    void testCreateTicket_SoldOutSavesNothing() {
+        Ticket ticket = new Ticket();
+        ticket.setEventId("666");
+        EventResponse eventResponse = EventResponse.builder()
+                .id("666")
+                .eventName("Show da Banda Quarto 666")
+                .capacity(100)
+                .build();
+        when(ticketIdAllocator.nextId()).thenReturn(2L);
+        when(eventClient.getEventById("666")).thenReturn(Mono.just(eventResponse));
+        when(mongoOperations.updateFirst(any(Query.class), any(Update.class), eq(TicketInventory.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(0, 0L, null)));
+        when(mongoOperations.exists(any(Query.class), eq(TicketInventory.class))).thenReturn(Mono.just(true));
+
+        StepVerifier.create(ticketService.createTicket(ticket))
+                .expectErrorMatches(ex -> ex instanceof TicketsSoldOutException
+                        && "Ingressos esgotados para o evento 666".equals(ex.getMessage()))
+                .verify();
+
+        verifyNoInteractions(ticketRepository);
+        verify(mongoOperations, never()).insertAll(anyCollection());
+    }
+
+    @Test
+    void testCreateTicket_NewCounterStartsWithUncountedTicketsAndSaveFailureReleasesIt() {
+        Ticket ticket = new Ticket();
+        ticket.setEventId("666");
+        EventResponse eventResponse = EventResponse.builder()
+                .id("666")
+                .eventName("Show da Banda Quarto 666")
+                .capacity(100)
+                .build();
+        ticket.setBrlAmount(100.0);
+        ticket.setUsdAmount(20.0);
+        when(ticketIdAllocator.nextId()).thenReturn(3L);
+        when(eventClient.getEventById("666")).thenReturn(Mono.just(eventResponse));
+        when(mongoOperations.updateFirst(any(Query.class), any(Update.class), eq(TicketInventory.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(0, 0L, null)), Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        when(mongoOperations.exists(any(Query.class), eq(TicketInventory.class))).thenReturn(Mono.just(false));
+        when(mongoOperations.count(any(Query.class), eq(Ticket.class))).thenReturn(Mono.just(3L));
+        when(mongoOperations.find(any(Query.class), eq(TicketHold.class))).thenReturn(Flux.empty());
+        when(mongoOperations.insert(any(TicketInventory.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(mongoOperations.updateMulti(any(Query.class), any(Update.class), eq(TicketInventory.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        when(ticketRepository.save(ticket)).thenReturn(Mono.error(new RuntimeException("Mongo indisponível")));
+        when(outboxService.toOutboxMessage(anyString(), anyString(), any())).thenReturn(new OutboxMessage());
+        when(outboxService.toJsonOutboxMessage(anyString(), anyString(), any())).thenReturn(new OutboxMessage());
+
+        StepVerifier.create(ticketService.createTicket(ticket))
+                .expectErrorMessage("Mongo indisponível")
+                .verify();
+
+        ArgumentCaptor<TicketInventory> counter = ArgumentCaptor.forClass(TicketInventory.class);
+        verify(mongoOperations).insert(counter.capture());
+        assertEquals(3, counter.getValue().getSold());
+        assertEquals(List.of("666"), ticket.getInventorySlots());
+        verify(mongoOperations).updateMulti(any(Query.class), any(Update.class), eq(TicketInventory.class));
+        verify(mongoOperations, never()).insertAll(anyCollection());
+    }
+
+    @Test
+    void testGetTicketById_Success() {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId("1");
+        when(ticketRepository.findById("1")).thenReturn(Mono.just(ticket));
+
+        StepVerifier.create(ticketService.getTicketById("1"))
+                .expectNext(ticket)
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetTicketById_NotFound() {
+        when(ticketRepository.findById("1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(ticketService.getTicketById("1"))
+                .expectErrorSatisfies(ex -> {
+                    assertEquals(TicketNotFoundException.class, ex.getClass());
+                    assertEquals("Ticket não encontrado com ID: 1", ex.getMessage());
+                })
+                .verify();
+    }
+}
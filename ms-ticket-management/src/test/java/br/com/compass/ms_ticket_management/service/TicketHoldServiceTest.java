@@ -0,0 +1,280 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.domain.TicketHold;
+import br.com.compass.ms_ticket_management.exception.HoldNotActiveException;
+import br.com.compass.ms_ticket_management.exception.TicketsSoldOutException;
+import br.com.compass.ms_ticket_management.web.dto.EventResponse;
+import br.com.compass.ms_ticket_management.web.dto.TicketHoldConfirmRequest;
+import br.com.compass.ms_ticket_management.web.dto.TicketHoldRequest;
+import br.com.compass.ms_ticket_management.web.dto.TicketResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TicketHoldServiceTest {
+    @Mock
+    private MongoOperations mongoOperations;
+
+    @Mock
+    private CachedEventClient eventClient;
+
+    @Mock
+    private TicketInventoryService inventoryService;
+
+    @Mock
+    private TicketService ticketService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TicketHoldService holdService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        holdService = new TicketHoldService(mongoOperations, eventClient, inventoryService, ticketService, meterRegistry,
+                Duration.ofMinutes(5), Duration.ofDays(1), 1000, 64, 4, 500);
+    }
+
+    @Test
+    void testCreateHold_ReservesSeatsAndSchedulesExpiry() {
+        when(eventClient.getEventById("666")).thenReturn(event());
+
+        TicketHold hold = holdService.createHold(new TicketHoldRequest("666", "VIP", 3));
+
+        List<TicketInventoryService.Slot> slots = List.of(
+                new TicketInventoryService.Slot("666/VIP", "666", "VIP", 200),
+                new TicketInventoryService.Slot("666", "666", null, 1000));
+        verify(inventoryService).reserve(slots, 3);
+        verify(mongoOperations).insert(hold);
+        assertEquals(List.of("666/VIP", "666"), hold.getInventorySlots());
+        assertEquals(TicketHold.Status.ACTIVE, hold.getStatus());
+        assertEquals(Duration.ofMinutes(5), Duration.between(hold.getCreatedAt(), hold.getExpiresAt()));
+        assertEquals(1, holdService.wheel().size());
+        assertEquals(1.0, meterRegistry.counter("ticket.hold.created").count());
+    }
+
+    @Test
+    void testCreateHold_SoldOutStoresNothing() {
+        when(eventClient.getEventById("666")).thenReturn(event());
+        doThrow(new TicketsSoldOutException("Ingressos esgotados para o setor VIP do evento 666"))
+                .when(inventoryService).reserve(any(), eq(3));
+
+        assertThrows(TicketsSoldOutException.class, () -> holdService.createHold(new TicketHoldRequest("666", "VIP", 3)));
+
+        verify(mongoOperations, never()).insert(any(TicketHold.class));
+        assertEquals(0, holdService.wheel().size());
+    }
+
+    @Test
+    void testConfirmHold_IssuesTicketsAndCancelsExpiry() {
+        TicketHold hold = activeHold();
+        holdService.wheel().schedule(hold.getId(), hold.getExpiresAt().toEpochMilli());
+        TicketHoldConfirmRequest buyer = new TicketHoldConfirmRequest("João", "12345678900", "joao@email.com", 100.0, 20.0);
+        when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TicketHold.class)))
+                .thenReturn(hold);
+        when(ticketService.createHeldTickets(hold, buyer)).thenReturn(List.of(
+                TicketResponse.builder().ticketId("300").build(),
+                TicketResponse.builder().ticketId("301").build()));
+
+        List<TicketResponse> tickets = holdService.confirmHold(hold.getId(), buyer);
+
+        assertEquals(2, tickets.size());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoOperations).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(TicketHold.class));
+        assertEquals(TicketHold.Status.ACTIVE, query.getValue().getQueryObject().get("status"));
+        assertTrue(query.getValue().getQueryObject().containsKey("expiresAt"));
+        assertEquals(TicketHold.Status.CONFIRMED, update.getValue().getUpdateObject().get("$set", Document.class).get("status"));
+        verify(inventoryService, never()).releaseSlots(any(), anyInt());
+        assertEquals(0, holdService.wheel().size());
+        assertEquals(1.0, meterRegistry.counter("ticket.hold.confirmed").count());
+    }
+
+    @Test
+    void testConfirmHold_FailureReactivatesHold() {
+        TicketHold hold = activeHold();
+        TicketHoldConfirmRequest buyer = new TicketHoldConfirmRequest("João", "12345678900", "joao@email.com", 100.0, 20.0);
+        when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TicketHold.class)))
+                .thenReturn(hold);
+        when(ticketService.createHeldTickets(hold, buyer)).thenThrow(new RuntimeException("Mongo indisponível"));
+
+        assertThrows(RuntimeException.class, () -> holdService.confirmHold(hold.getId(), buyer));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoOperations).updateFirst(any(Query.class), update.capture(), eq(TicketHold.class));
+        assertEquals(TicketHold.Status.ACTIVE, update.getValue().getUpdateObject().get("$set", Document.class).get("status"));
+        assertEquals(1, holdService.wheel().size());
+        assertEquals(0.0, meterRegistry.counter("ticket.hold.confirmed").count());
+    }
+
+    @Test
+    void testConfirmHold_FailureAfterInsertKeepsHoldConfirmed() {
+        TicketHold hold = activeHold();
+        TicketHoldConfirmRequest buyer = new TicketHoldConfirmRequest("João", "12345678900", "joao@email.com", 100.0, 20.0);
+        when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TicketHold.class)))
+                .thenReturn(hold);
+        when(ticketService.createHeldTickets(hold, buyer)).thenAnswer(invocation -> {
+            hold.setTicketIds(List.of("300", "301"));
+            throw new RuntimeException("Falha ao gravar o outbox");
+        });
+        when(mongoOperations.find(any(Query.class), eq(Ticket.class))).thenReturn(List.of(ticket("300"), ticket("301")));
+
+        assertThrows(RuntimeException.class, () -> holdService.confirmHold(hold.getId(), buyer));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoOperations).updateFirst(any(Query.class), update.capture(), eq(TicketHold.class));
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals(List.of("300", "301"), set.get("ticketIds"));
+        assertFalse(set.containsKey("status"));
+        assertEquals(0, holdService.wheel().size());
+        verify(inventoryService, never()).releaseSlots(any(), anyInt());
+    }
+
+    @Test
+    void testConfirmHold_PartialInsertKeepsOnlyWrittenTickets() {
+        TicketHold hold = activeHold();
+        TicketHoldConfirmRequest buyer = new TicketHoldConfirmRequest("João", "12345678900", "joao@email.com", 100.0, 20.0);
+        when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TicketHold.class)))
+                .thenReturn(hold);
+        when(ticketService.createHeldTickets(hold, buyer)).thenAnswer(invocation -> {
+            hold.setTicketIds(List.of("300", "301"));
+            throw new RuntimeException("E11000 duplicate key");
+        });
+        when(mongoOperations.find(any(Query.class), eq(Ticket.class))).thenReturn(List.of(ticket("300")));
+
+        assertThrows(RuntimeException.class, () -> holdService.confirmHold(hold.getId(), buyer));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoOperations).updateFirst(any(Query.class), update.capture(), eq(TicketHold.class));
+        assertEquals(List.of("300"), update.getValue().getUpdateObject().get("$set", Document.class).get("ticketIds"));
+        assertEquals(0, holdService.wheel().size());
+    }
+
+    @Test
+    void testConfirmHold_NothingInsertedReactivatesHold() {
+        TicketHold hold = activeHold();
+        TicketHoldConfirmRequest buyer = new TicketHoldConfirmRequest("João", "12345678900", "joao@email.com", 100.0, 20.0);
+        when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TicketHold.class)))
+                .thenReturn(hold);
+        when(ticketService.createHeldTickets(hold, buyer)).thenAnswer(invocation -> {
+            hold.setTicketIds(List.of("300", "301"));
+            throw new RuntimeException("Mongo indisponível");
+        });
+        when(mongoOperations.find(any(Query.class), eq(Ticket.class))).thenReturn(List.of());
+
+        assertThrows(RuntimeException.class, () -> holdService.confirmHold(hold.getId(), buyer));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoOperations).updateFirst(any(Query.class), update.capture(), eq(TicketHold.class));
+        assertEquals(TicketHold.Status.ACTIVE, update.getValue().getUpdateObject().get("$set", Document.class).get("status"));
+        assertEquals(1, holdService.wheel().size());
+    }
+
+    @Test
+    void testConfirmHold_ExpiredHoldIsConflict() {
+        TicketHold hold = activeHold();
+        hold.setExpiresAt(Instant.now().minusSeconds(1));
+        when(mongoOperations.findById(hold.getId(), TicketHold.class)).thenReturn(hold);
+
+        HoldNotActiveException exception = assertThrows(HoldNotActiveException.class,
+                () -> holdService.confirmHold(hold.getId(), new TicketHoldConfirmRequest()));
+
+        assertEquals("A reserva hold-1 expirou", exception.getMessage());
+        verifyNoInteractions(ticketService);
+    }
+
+    @Test
+    void testReleaseHold_ReturnsSeats() {
+        TicketHold hold = activeHold();
+        when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TicketHold.class)))
+                .thenReturn(hold);
+
+        holdService.releaseHold(hold.getId());
+
+        verify(inventoryService).releaseSlots(List.of("666/VIP", "666"), 2);
+        assertEquals(1.0, meterRegistry.counter("ticket.hold.released").count());
+    }
+
+    @Test
+    void testExpireDue_ReturnsSeatsOfExpiredHoldsOnly() {
+        TicketHold expired = activeHold();
+        holdService.wheel().schedule("hold-1", 0);
+        holdService.wheel().schedule("hold-2", 0);
+        holdService.wheel().schedule("hold-3", Instant.now().plusSeconds(300).toEpochMilli());
+        // hold-2 já foi confirmada por outra instância: o findAndModify condicionado não a encontra.
+        when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TicketHold.class)))
+                .thenReturn(expired, (TicketHold) null);
+
+        holdService.expireDue(System.currentTimeMillis() + 2000);
+
+        verify(mongoOperations, times(2)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TicketHold.class));
+        verify(inventoryService, times(1)).releaseSlots(List.of("666/VIP", "666"), 2);
+        assertEquals(1, holdService.wheel().size());
+        assertEquals(1.0, meterRegistry.counter("ticket.hold.expired", "source", "wheel").count());
+    }
+
+    @Test
+    void testSweepExpired_ExpiresHoldsMissingFromWheel() {
+        TicketHold stale = new TicketHold();
+        stale.setId("hold-1");
+        when(mongoOperations.find(any(Query.class), eq(TicketHold.class))).thenReturn(List.of(stale));
+        when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TicketHold.class)))
+                .thenReturn(activeHold());
+
+        holdService.sweepExpired();
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoOperations).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(TicketHold.class));
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals(TicketHold.Status.EXPIRED, set.get("status"));
+        assertNotNull(set.get("purgeAt"));
+        verify(inventoryService).releaseSlots(List.of("666/VIP", "666"), 2);
+        assertEquals(1.0, meterRegistry.counter("ticket.hold.expired", "source", "sweep").count());
+    }
+
+    private static Ticket ticket(String ticketId) {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(ticketId);
+        return ticket;
+    }
+
+    private static TicketHold activeHold() {
+        TicketHold hold = new TicketHold();
+        hold.setId("hold-1");
+        hold.setEventId("666");
+        hold.setSector("VIP");
+        hold.setQuantity(2);
+        hold.setInventorySlots(List.of("666/VIP", "666"));
+        hold.setStatus(TicketHold.Status.ACTIVE);
+        hold.setExpiresAt(Instant.now().plusSeconds(300));
+        return hold;
+    }
+
+    private static EventResponse event() {
+        return EventResponse.builder()
+                .id("666")
+                .eventName("Show da Banda Quarto 666")
+                .capacity(1000)
+                .sectors(List.of(new EventResponse.Sector("Pista", 800), new EventResponse.Sector("VIP", 200)))
+                .build();
+    }
+}
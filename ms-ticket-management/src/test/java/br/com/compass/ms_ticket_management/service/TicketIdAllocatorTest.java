@@ -0,0 +1,126 @@
+package br.com.compass.ms_ticket_management.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TicketIdAllocatorTest {
+    @Mock
+    private SequenceGeneratorService sequenceGeneratorService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testNextId_ReservesOneBlockForManyIds() {
+        when(sequenceGeneratorService.reserveBlock("ticket_sequence", 10)).thenReturn(10L, 20L);
+        TicketIdAllocator allocator = new TicketIdAllocator(sequenceGeneratorService, meterRegistry, 10);
+
+        for (long expected = 1; expected <= 10; expected++) {
+            assertEquals(expected, allocator.nextId());
+        }
+        assertEquals(0, allocator.getRemainingInBlock());
+        assertEquals(11, allocator.nextId());
+        assertEquals(9, allocator.getRemainingInBlock());
+
+        verify(sequenceGeneratorService, times(2)).reserveBlock("ticket_sequence", 10);
+    }
+
+    @Test
+    void testTryNextId_NeverGoesToMongo() {
+        when(sequenceGeneratorService.reserveBlock("ticket_sequence", 2)).thenReturn(2L);
+        TicketIdAllocator allocator = new TicketIdAllocator(sequenceGeneratorService, meterRegistry, 2);
+
+        assertTrue(allocator.tryNextId().isEmpty());
+        verifyNoInteractions(sequenceGeneratorService);
+
+        assertEquals(1, allocator.nextId());
+        assertEquals(2, allocator.tryNextId().getAsLong());
+        assertTrue(allocator.tryNextId().isEmpty());
+        verify(sequenceGeneratorService, times(1)).reserveBlock("ticket_sequence", 2);
+    }
+
+    @Test
+    void testNextId_ContinuesFromExistingCounter() {
+        when(sequenceGeneratorService.reserveBlock("ticket_sequence", 50)).thenReturn(1050L);
+        TicketIdAllocator allocator = new TicketIdAllocator(sequenceGeneratorService, meterRegistry, 50);
+
+        assertEquals(1001, allocator.nextId());
+        assertEquals(49, allocator.getRemainingInBlock());
+        assertEquals(49.0, meterRegistry.get("ticket.sequence.block.remaining").gauge().value());
+    }
+
+    @Test
+    void testNextId_ConcurrentCallersNeverReceiveDuplicates() throws InterruptedException {
+        AtomicLong counter = new AtomicLong();
+        when(sequenceGeneratorService.reserveBlock(eq("ticket_sequence"), anyInt()))
+                .thenAnswer(invocation -> counter.addAndGet(invocation.<Integer>getArgument(1)));
+        TicketIdAllocator allocator = new TicketIdAllocator(sequenceGeneratorService, meterRegistry, 7);
+
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    ids.add(allocator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(8000, ids.size());
+        assertTrue(counter.get() >= 8000);
+    }
+
+    @Test
+    void testNextIds_SmallBatchComesFromCurrentBlock() {
+        when(sequenceGeneratorService.reserveBlock("ticket_sequence", 10)).thenReturn(10L, 20L);
+        TicketIdAllocator allocator = new TicketIdAllocator(sequenceGeneratorService, meterRegistry, 10);
+
+        assertArrayEquals(new long[]{1, 2, 3}, allocator.nextIds(3));
+        assertArrayEquals(new long[]{4, 5, 6, 7, 8, 9}, allocator.nextIds(6));
+        assertArrayEquals(new long[]{11, 12}, allocator.nextIds(2));
+
+        verify(sequenceGeneratorService, times(2)).reserveBlock("ticket_sequence", 10);
+    }
+
+    @Test
+    void testNextIds_LargeBatchReservesDedicatedRangeInOneUpdate() {
+        when(sequenceGeneratorService.reserveBlock("ticket_sequence", 1000)).thenReturn(1500L);
+        TicketIdAllocator allocator = new TicketIdAllocator(sequenceGeneratorService, meterRegistry, 50);
+
+        long[] ids = allocator.nextIds(1000);
+
+        assertEquals(1000, ids.length);
+        assertEquals(501, ids[0]);
+        assertEquals(1500, ids[999]);
+        verify(sequenceGeneratorService, times(1)).reserveBlock("ticket_sequence", 1000);
+        verifyNoMoreInteractions(sequenceGeneratorService);
+    }
+
+    @Test
+    void testConstructor_InvalidBlockSize_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TicketIdAllocator(sequenceGeneratorService, meterRegistry, 0));
+    }
+}
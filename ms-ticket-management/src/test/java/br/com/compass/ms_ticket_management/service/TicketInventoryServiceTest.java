@@ -0,0 +1,181 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.domain.TicketHold;
+import br.com.compass.ms_ticket_management.domain.TicketInventory;
+import br.com.compass.ms_ticket_management.exception.InvalidSectorException;
+import br.com.compass.ms_ticket_management.exception.TicketsSoldOutException;
+import br.com.compass.ms_ticket_management.web.dto.EventResponse;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TicketInventoryServiceTest {
+    @Mock
+    private MongoOperations mongoOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TicketInventoryService inventoryService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        inventoryService = new TicketInventoryService(mongoOperations, meterRegistry);
+    }
+
+    @Test
+    void testSlotsFor_EventWithoutLimit() {
+        assertTrue(TicketInventoryService.slotsFor(event(null), null).isEmpty());
+    }
+
+    @Test
+    void testSlotsFor_SectorAndTotal() {
+        EventResponse event = event(1000, new EventResponse.Sector("Pista", 800), new EventResponse.Sector("VIP", 200));
+
+        List<TicketInventoryService.Slot> slots = TicketInventoryService.slotsFor(event, "VIP");
+
+        assertEquals(List.of(
+                new TicketInventoryService.Slot("666/VIP", "666", "VIP", 200),
+                new TicketInventoryService.Slot("666", "666", null, 1000)), slots);
+    }
+
+    @Test
+    void testSlotsFor_InvalidSector() {
+        EventResponse withSectors = event(null, new EventResponse.Sector("Pista", 800));
+
+        assertThrows(InvalidSectorException.class, () -> TicketInventoryService.slotsFor(withSectors, null));
+        assertThrows(InvalidSectorException.class, () -> TicketInventoryService.slotsFor(withSectors, "Camarote"));
+        assertThrows(InvalidSectorException.class, () -> TicketInventoryService.slotsFor(event(100), "Pista"));
+    }
+
+    @Test
+    void testReserve_IsASingleConditionalUpdate() {
+        when(mongoOperations.updateFirst(any(Query.class), any(Update.class), eq(TicketInventory.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        inventoryService.reserve(List.of(slot("666", 100)), 3);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoOperations).updateFirst(query.capture(), update.capture(), eq(TicketInventory.class));
+        assertEquals(new Document("_id", "666").append("sold", new Document("$lte", 97L)), query.getValue().getQueryObject());
+        assertEquals(new Document("sold", 3), update.getValue().getUpdateObject().get("$inc"));
+        verify(mongoOperations, never()).insert(any(TicketInventory.class));
+    }
+
+    @Test
+    void testReserve_NewCounterStartsWithUncountedTicketsAndHolds() {
+        TicketInventoryService.Slot vip = new TicketInventoryService.Slot("666/VIP", "666", "VIP", 200);
+        TicketHold hold = new TicketHold();
+        hold.setQuantity(2);
+        when(mongoOperations.updateFirst(any(Query.class), any(Update.class), eq(TicketInventory.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null), UpdateResult.acknowledged(1, 1L, null));
+        when(mongoOperations.count(any(Query.class), eq(Ticket.class))).thenReturn(5L);
+        when(mongoOperations.find(any(Query.class), eq(TicketHold.class))).thenReturn(List.of(hold));
+
+        inventoryService.reserve(List.of(vip), 1);
+
+        ArgumentCaptor<TicketInventory> counter = ArgumentCaptor.forClass(TicketInventory.class);
+        verify(mongoOperations).insert(counter.capture());
+        assertEquals("666/VIP", counter.getValue().getId());
+        assertEquals(7, counter.getValue().getSold());
+        ArgumentCaptor<Query> tickets = ArgumentCaptor.forClass(Query.class);
+        verify(mongoOperations).count(tickets.capture(), eq(Ticket.class));
+        assertEquals(new Document("eventId", "666")
+                .append("status", new Document("$ne", "Cancelado"))
+                .append("inventorySlots", new Document("$ne", "666/VIP"))
+                .append("sector", "VIP"), tickets.getValue().getQueryObject());
+        verify(mongoOperations, times(2)).updateFirst(any(Query.class), any(Update.class), eq(TicketInventory.class));
+    }
+
+    @Test
+    void testReserve_CounterCreatedByAnotherInstanceIsReused() {
+        when(mongoOperations.updateFirst(any(Query.class), any(Update.class), eq(TicketInventory.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null), UpdateResult.acknowledged(1, 1L, null));
+        when(mongoOperations.insert(any(TicketInventory.class))).thenThrow(new DuplicateKeyException("E11000"));
+
+        inventoryService.reserve(List.of(slot("666", 100)), 1);
+
+        verify(mongoOperations, times(2)).updateFirst(any(Query.class), any(Update.class), eq(TicketInventory.class));
+        assertEquals(0.0, meterRegistry.get("ticket.inventory.rejected").counter().count());
+    }
+
+    @Test
+    void testReserve_SoldOutReleasesEarlierSlots() {
+        TicketInventoryService.Slot sector = new TicketInventoryService.Slot("666/VIP", "666", "VIP", 200);
+        TicketInventoryService.Slot total = slot("666", 1000);
+        when(mongoOperations.updateFirst(argThat(query -> query != null && query.getQueryObject().get("_id").equals("666/VIP")),
+                any(Update.class), eq(TicketInventory.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        when(mongoOperations.updateFirst(argThat(query -> query != null && query.getQueryObject().get("_id").equals("666")),
+                any(Update.class), eq(TicketInventory.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        when(mongoOperations.exists(any(Query.class), eq(TicketInventory.class))).thenReturn(true);
+
+        TicketsSoldOutException exception = assertThrows(TicketsSoldOutException.class,
+                () -> inventoryService.reserve(List.of(sector, total), 2));
+
+        assertEquals("Ingressos esgotados para o evento 666", exception.getMessage());
+        ArgumentCaptor<Query> release = ArgumentCaptor.forClass(Query.class);
+        verify(mongoOperations).updateMulti(release.capture(), any(Update.class), eq(TicketInventory.class));
+        assertEquals(new Document("_id", new Document("$in", List.of("666/VIP"))).append("sold", new Document("$gte", 2)),
+                release.getValue().getQueryObject());
+        verify(mongoOperations, never()).insert(any(TicketInventory.class));
+        assertEquals(2.0, meterRegistry.get("ticket.inventory.rejected").counter().count());
+    }
+
+    @Test
+    void testReserve_MoreThanCapacityDoesNotTouchMongo() {
+        assertThrows(TicketsSoldOutException.class, () -> inventoryService.reserve(List.of(slot("666", 2)), 3));
+
+        verifyNoInteractions(mongoOperations);
+    }
+
+    @Test
+    void testReleaseSlots_ReturnsOnlyTheCountersThatWereReserved() {
+        inventoryService.releaseSlots(List.of("666/VIP", "666"), 1);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoOperations).updateMulti(query.capture(), update.capture(), eq(TicketInventory.class));
+        assertEquals(new Document("$in", List.of("666/VIP", "666")), query.getValue().getQueryObject().get("_id"));
+        assertEquals(new Document("sold", -1), update.getValue().getUpdateObject().get("$inc"));
+    }
+
+    @Test
+    void testReleaseSlots_TicketSoldWithoutCountersReleasesNothing() {
+        inventoryService.releaseSlots(null, 1);
+
+        verifyNoInteractions(mongoOperations);
+    }
+
+    private static TicketInventoryService.Slot slot(String eventId, int capacity) {
+        return new TicketInventoryService.Slot(eventId, eventId, null, capacity);
+    }
+
+    private static EventResponse event(Integer capacity, EventResponse.Sector... sectors) {
+        return EventResponse.builder()
+                .id("666")
+                .eventName("Show da Banda Quarto 666")
+                .capacity(capacity)
+                .sectors(sectors.length > 0 ? List.of(sectors) : null)
+                .build();
+    }
+}
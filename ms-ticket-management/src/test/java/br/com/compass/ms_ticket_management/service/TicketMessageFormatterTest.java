@@ -0,0 +1,95 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.web.dto.EventResponse;
+import org.junit.jupiter.api.Test;
+
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketMessageFormatterTest {
+
+    private static final String ORIGINAL_TEMPLATE = "🎉 Ei %s, seu ingresso está confirmado! 🎟️\n" +
+            "Detalhes:\n" +
+            "🎤 Evento: %s\n" +
+            "📅 Data: %s\n" +
+            "📍 Local: %s, %s - %s/%s\n" +
+            "💰 Valor: %s (ou %s)\n\n" +
+            "Aproveite o show e não esqueça de contar pros amigos! 🤩";
+
+    private final TicketMessageFormatter formatter = new TicketMessageFormatter();
+    private final NumberFormat brlFormat = NumberFormat.getCurrencyInstance(new Locale("pt", "BR"));
+    private final NumberFormat usdFormat = NumberFormat.getCurrencyInstance(Locale.US);
+
+    @Test
+    void testFormatCurrency_MatchesNumberFormatForEdgeCases() {
+        double[] amounts = {0.0, -0.0, -0.001, 0.004, 0.005, 0.015, 0.025, 0.125, 0.135, 1.005, 2.675, 9.995, 99.995,
+                100.0, 999.999, 1000.0, 1234.56, 999999.995, 1234567.125, -5.5, -1234.565, 0.1 + 0.2,
+                9_999_999_999_999.99, 1e13, 1e15, 1e20, Double.MAX_VALUE, Double.MIN_VALUE,
+                Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (double amount : amounts) {
+            assertSameFormat(amount);
+        }
+    }
+
+    @Test
+    void testFormatCurrency_MatchesNumberFormatForRandomAmounts() {
+        Random random = new Random(42);
+        List<Double> amounts = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            amounts.add(random.nextInt(1_000_000) / 1000.0);
+            amounts.add((random.nextInt(2_000_000) - 1_000_000) / 200.0);
+            amounts.add(random.nextDouble() * Math.pow(10, random.nextInt(14)));
+        }
+        for (double amount : amounts) {
+            assertSameFormat(amount);
+        }
+    }
+
+    @Test
+    void testFormatCurrency_NullIsRejectedLikeNumberFormat() {
+        assertThrows(IllegalArgumentException.class, () -> brlFormat.format(null));
+        assertThrows(IllegalArgumentException.class, () -> formatter.formatBrl(null));
+        assertThrows(IllegalArgumentException.class, () -> formatter.formatUsd(null));
+    }
+
+    @Test
+    void testConfirmationMessage_MatchesOriginalTemplate() {
+        Ticket ticket = new Ticket();
+        ticket.setCustomerName("João");
+        EventResponse event = EventResponse.builder()
+                .eventName("Show da Banda Quarto 666")
+                .dateTime("2024-12-30T21:00:00")
+                .logradouro("Rua Fulano")
+                .bairro("Bairro Tal")
+                .cidade("Cidade Catumbi")
+                .uf("CI")
+                .build();
+
+        assertEquals(original(ticket, event, "R$\u00a0100,00", "$20.00"),
+                formatter.confirmationMessage(ticket, event, "R$\u00a0100,00", "$20.00"));
+    }
+
+    @Test
+    void testConfirmationMessage_NullFieldsMatchOriginalTemplate() {
+        Ticket ticket = new Ticket();
+        EventResponse event = EventResponse.builder().build();
+
+        assertEquals(original(ticket, event, null, null), formatter.confirmationMessage(ticket, event, null, null));
+    }
+
+    private void assertSameFormat(double amount) {
+        assertEquals(brlFormat.format(amount), formatter.formatBrl(amount), () -> "BRL " + amount);
+        assertEquals(usdFormat.format(amount), formatter.formatUsd(amount), () -> "USD " + amount);
+    }
+
+    private String original(Ticket ticket, EventResponse event, String brlAmount, String usdAmount) {
+        return String.format(ORIGINAL_TEMPLATE, ticket.getCustomerName(), event.getEventName(), event.getDateTime(),
+                event.getLogradouro(), event.getBairro(), event.getCidade(), event.getUf(), brlAmount, usdAmount);
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.web.dto.EventResponse;
+import br.com.compass.ms_ticket_management.web.dto.TicketConfirmationMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketQueuePayloadFactoryTest {
+
+    private final TicketMessageFormatter formatter = new TicketMessageFormatter();
+    private Ticket ticket;
+    private EventResponse event;
+
+    @BeforeEach
+    void setUp() {
+        ticket = new Ticket();
+        ticket.setTicketId("789");
+        ticket.setEventId("666");
+        ticket.setCustomerName("João");
+        ticket.setCpf("12345678900");
+        ticket.setCustomerMail("joao@email.com");
+        ticket.setBrlAmount(100.0);
+        ticket.setUsdAmount(20.0);
+        event = EventResponse.builder()
+                .id("666")
+                .eventName("Show da Banda Quarto 666")
+                .dateTime("2024-12-30T21:00:00")
+                .cidade("Cidade Catumbi")
+                .uf("CI")
+                .build();
+    }
+
+    @Test
+    void testCreate_TextFormatRendersLegacyMessage() {
+        TicketQueuePayloadFactory factory = new TicketQueuePayloadFactory(formatter, TicketQueuePayloadFactory.Format.TEXT);
+
+        Object payload = factory.create(ticket, event, "R$ 100,00", "$20.00");
+
+        assertEquals(formatter.confirmationMessage(ticket, event, "R$ 100,00", "$20.00"), payload);
+    }
+
+    @Test
+    void testCreate_AvroFormatBuildsStructuredMessage() {
+        TicketQueuePayloadFactory factory = new TicketQueuePayloadFactory(formatter, TicketQueuePayloadFactory.Format.AVRO);
+
+        TicketConfirmationMessage payload = (TicketConfirmationMessage) factory.create(ticket, event, "R$ 100,00", "$20.00");
+
+        assertEquals("789", payload.getTicketId());
+        assertEquals("666", payload.getEventId());
+        assertEquals("João", payload.getCustomer().getName());
+        assertEquals("joao@email.com", payload.getCustomer().getEmail());
+        assertEquals(100.0, payload.getBrlAmount());
+        assertEquals(20.0, payload.getUsdAmount());
+        assertEquals("Show da Banda Quarto 666", payload.getEvent().getEventName());
+        assertEquals("CI", payload.getEvent().getUf());
+        assertNotNull(payload.getCreatedAt());
+    }
+}
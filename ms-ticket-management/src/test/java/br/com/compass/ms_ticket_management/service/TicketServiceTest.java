@@ -1,42 +1,83 @@
 package br.com.compass.ms_ticket_management.service;
 
+import br.com.compass.ms_ticket_management.config.TicketConfirmationTopologyTest;
+import br.com.compass.ms_ticket_management.domain.EventTicketStats;
+import br.com.compass.ms_ticket_management.domain.OutboxMessage;
 import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.domain.TicketHold;
 import br.com.compass.ms_ticket_management.exception.TicketNotFoundException;
+import br.com.compass.ms_ticket_management.exception.TicketsSoldOutException;
 import br.com.compass.ms_ticket_management.repository.TicketRepository;
 import br.com.compass.ms_ticket_management.web.dto.EventResponse;
+import br.com.compass.ms_ticket_management.web.dto.TicketBatchResponse;
+import br.com.compass.ms_ticket_management.web.dto.TicketHoldConfirmRequest;
+import br.com.compass.ms_ticket_management.web.dto.TicketLifecycleEvent;
 import br.com.compass.ms_ticket_management.web.dto.TicketResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.OptionalLong;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class TicketServiceTest {
-    @InjectMocks
     private TicketService ticketService;
 
     @Mock
     private TicketRepository ticketRepository;
 
     @Mock
-    private EventClient eventClient;
+    private MongoOperations mongoOperations;
+
+    @Mock
+    private CachedEventClient eventClient;
+
+    @Mock
+    private OutboxService outboxService;
 
     @Mock
-    private RabbitTemplate rabbitTemplate;
+    private TicketIdAllocator ticketIdAllocator;
 
     @Mock
-    private SequenceGeneratorService sequenceGeneratorService;
+    private EventTicketStatsService eventTicketStatsService;
+
+    @Mock
+    private TicketInventoryService inventoryService;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        TicketMessageFormatter formatter = new TicketMessageFormatter();
+        ticketService = new TicketService(ticketRepository, mongoOperations, eventClient, outboxService, ticketIdAllocator,
+                eventTicketStatsService, inventoryService, formatter,
+                new TicketQueuePayloadFactory(formatter, TicketQueuePayloadFactory.Format.TEXT),
+                TicketConfirmationTopologyTest.defaultTopology(), meterRegistry, executor);
+        when(outboxService.toOutboxMessage(anyString(), anyString(), any())).thenAnswer(invocation -> new OutboxMessage());
+        when(outboxService.toJsonOutboxMessage(anyString(), anyString(), any())).thenAnswer(invocation -> new OutboxMessage());
     }
 
     @Test
@@ -67,7 +108,7 @@ public class TicketServiceTest {
         savedTicket.setUsdAmount(ticket.getUsdAmount());
         savedTicket.setStatus("Concluído");
 
-        when(sequenceGeneratorService.generateSequence("tickets_sequence")).thenReturn(789L);
+        when(ticketIdAllocator.nextId()).thenReturn(789L);
         when(eventClient.getEventById("666")).thenReturn(eventResponse);
         when(ticketRepository.save(ticket)).thenReturn(savedTicket);
 
@@ -98,10 +139,240 @@ public class TicketServiceTest {
                 "R$ 100,00",
                 "$100.00"
         );
-        verify(rabbitTemplate, times(1)).convertAndSend("ticket-queue", expectedMessage);
+        verify(outboxService, times(1)).toOutboxMessage("ticket.confirmations", "ticket.confirmation.2", expectedMessage);
 
         verify(eventClient, times(1)).getEventById("666");
         verify(ticketRepository, times(1)).save(ticket);
+        verify(eventTicketStatsService, times(1)).recordCreated(savedTicket);
+        verify(outboxService, times(1)).toJsonOutboxMessage(eq("ticket.events"), eq("ticket.created"),
+                argThat(event -> event instanceof TicketLifecycleEvent lifecycle
+                        && lifecycle.getTicketId().equals("789")
+                        && lifecycle.getType().equals(TicketLifecycleEvent.TICKET_CREATED)));
+        assertEquals(2, ticket.getPendingOutbox().size());
+        verify(outboxService, times(1)).movePending(List.of(savedTicket));
+        verify(outboxService, never()).enqueue(anyString(), anyString(), any());
+        for (String stage : List.of("id", "event", "save", "outbox")) {
+            assertEquals(1, meterRegistry.get("ticket.purchase.stage").tag("stage", stage).timer().count());
+        }
+    }
+
+    @Test
+    void testCreateTicket_RefillsIdBlockWhileEventIsBeingFetched() {
+        Ticket ticket = new Ticket();
+        ticket.setEventId("666");
+        ticket.setBrlAmount(100.0);
+        ticket.setUsdAmount(20.0);
+        CountDownLatch idAllocated = new CountDownLatch(1);
+        when(ticketIdAllocator.nextId()).thenAnswer(invocation -> {
+            idAllocated.countDown();
+            return 1L;
+        });
+        when(eventClient.getEventById("666")).thenAnswer(invocation -> {
+            assertTrue(idAllocated.await(5, TimeUnit.SECONDS), "ID deveria ser reservado durante a busca do evento");
+            return EventResponse.builder().id("666").eventName("Show").build();
+        });
+        when(ticketRepository.save(ticket)).thenReturn(ticket);
+
+        TicketResponse response = ticketService.createTicket(ticket);
+
+        assertEquals("1", response.getTicketId());
+    }
+
+    @Test
+    void testCreateTicket_TakesIdFromBlockWithoutThreadHop() {
+        Ticket ticket = new Ticket();
+        ticket.setEventId("666");
+        ticket.setBrlAmount(100.0);
+        ticket.setUsdAmount(20.0);
+        when(ticketIdAllocator.tryNextId()).thenReturn(OptionalLong.of(42L));
+        when(eventClient.getEventById("666")).thenReturn(EventResponse.builder().id("666").eventName("Show").build());
+        when(ticketRepository.save(ticket)).thenReturn(ticket);
+
+        TicketResponse response = ticketService.createTicket(ticket);
+
+        assertEquals("42", response.getTicketId());
+        verify(ticketIdAllocator, never()).nextId();
+    }
+
+    @Test
+    void testCreateTicket_UnknownEventSavesNothing() {
+        Ticket ticket = new Ticket();
+        ticket.setEventId("404");
+        when(ticketIdAllocator.nextId()).thenReturn(1L);
+        when(eventClient.getEventById("404")).thenThrow(new RuntimeException("Evento não encontrado com ID: 404"));
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> ticketService.createTicket(ticket));
+
+        assertEquals("Evento não encontrado com ID: 404", exception.getMessage());
+        assertNull(ticket.getTicketId());
+        verifyNoInteractions(ticketRepository, eventTicketStatsService, outboxService);
+    }
+
+    @Test
+    void testCreateTickets_ResolvesEachEventOnceAndKeepsOrder() {
+        EventResponse eventResponse = EventResponse.builder()
+                .id("666")
+                .eventName("Show da Banda Quarto 666")
+                .dateTime("2024-12-30T21:00:00")
+                .build();
+        when(eventClient.getEventById("666")).thenReturn(eventResponse);
+        when(eventClient.getEventById("404")).thenThrow(new RuntimeException("Evento não encontrado com ID: 404"));
+        when(ticketIdAllocator.nextIds(2)).thenReturn(new long[]{100L, 101L});
+
+        List<Ticket> tickets = List.of(
+                batchTicket("666", "João"),
+                batchTicket("404", "Maria"),
+                batchTicket("666", "José"));
+
+        TicketBatchResponse response = ticketService.createTickets(tickets);
+
+        assertEquals(3, response.getRequested());
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getFailed());
+        assertEquals("CREATED", response.getResults().get(0).getStatus());
+        assertEquals("100", response.getResults().get(0).getTicket().getTicketId());
+        assertEquals("FAILED", response.getResults().get(1).getStatus());
+        assertEquals("Evento não encontrado com ID: 404", response.getResults().get(1).getError());
+        assertEquals("101", response.getResults().get(2).getTicket().getTicketId());
+        assertEquals("José", response.getResults().get(2).getTicket().getCustomerName());
+        assertEquals("R$\u00a0100,00", response.getResults().get(2).getTicket().getBrlTotalAmount());
+
+        verify(eventClient, times(1)).getEventById("666");
+        verify(eventClient, times(1)).getEventById("404");
+        verify(ticketIdAllocator, times(1)).nextIds(2);
+        verify(ticketRepository, times(1)).insert(List.of(tickets.get(0), tickets.get(2)));
+        verify(outboxService, times(2)).toOutboxMessage(eq("ticket.confirmations"), eq("ticket.confirmation.2"), any());
+        verify(outboxService, times(2)).toJsonOutboxMessage(eq("ticket.events"), eq("ticket.created"), any());
+        assertEquals(2, tickets.get(0).getPendingOutbox().size());
+        assertNull(tickets.get(1).getPendingOutbox());
+        verify(eventTicketStatsService, times(1)).recordCreated(List.of(tickets.get(0), tickets.get(2)));
+        verify(outboxService, times(1)).movePending(List.of(tickets.get(0), tickets.get(2)));
+    }
+
+    @Test
+    void testCreateTicket_SoldOutSavesNothing() {
+        Ticket ticket = batchTicket("666", "João");
+        when(ticketIdAllocator.nextId()).thenReturn(790L);
+        when(eventClient.getEventById("666")).thenReturn(limitedEvent(100));
+        doThrow(new TicketsSoldOutException("Ingressos esgotados para o evento 666"))
+                .when(inventoryService).reserve(anyList(), eq(1));
+
+        assertThrows(TicketsSoldOutException.class, () -> ticketService.createTicket(ticket));
+
+        verify(ticketRepository, never()).save(any());
+        verifyNoInteractions(outboxService, eventTicketStatsService);
+    }
+
+    @Test
+    void testCreateTicket_SaveFailureReleasesSeat() {
+        Ticket ticket = batchTicket("666", "João");
+        when(ticketIdAllocator.nextId()).thenReturn(791L);
+        when(eventClient.getEventById("666")).thenReturn(limitedEvent(100));
+        when(ticketRepository.save(ticket)).thenThrow(new RuntimeException("Mongo indisponível"));
+
+        assertThrows(RuntimeException.class, () -> ticketService.createTicket(ticket));
+
+        List<TicketInventoryService.Slot> slots = List.of(new TicketInventoryService.Slot("666", "666", null, 100));
+        verify(inventoryService).reserve(slots, 1);
+        verify(inventoryService).release(slots, 1);
+        verify(outboxService, never()).movePending(any());
+        verifyNoInteractions(eventTicketStatsService);
+    }
+
+    @Test
+    void testCreateTicket_OutboxMessagesAreSavedWithTheTicket() {
+        Ticket ticket = batchTicket("666", "João");
+        when(ticketIdAllocator.tryNextId()).thenReturn(OptionalLong.of(792L));
+        when(eventClient.getEventById("666")).thenReturn(limitedEvent(100));
+        when(ticketRepository.save(ticket)).thenReturn(ticket);
+        doThrow(new RuntimeException("Mongo indisponível")).when(eventTicketStatsService).recordCreated(ticket);
+
+        assertThrows(RuntimeException.class, () -> ticketService.createTicket(ticket));
+
+        verify(ticketRepository).save(argThat(saved -> saved.getPendingOutbox().size() == 2));
+        verify(inventoryService, never()).release(anyList(), anyInt());
+    }
+
+    @Test
+    void testCreateTickets_ReservesEachSectorOnceAndRejectsSoldOutGroups() {
+        EventResponse eventResponse = EventResponse.builder()
+                .id("666")
+                .eventName("Show da Banda Quarto 666")
+                .sectors(List.of(new EventResponse.Sector("Pista", 800), new EventResponse.Sector("VIP", 10)))
+                .build();
+        when(eventClient.getEventById("666")).thenReturn(eventResponse);
+        when(ticketIdAllocator.nextIds(2)).thenReturn(new long[]{200L, 201L});
+        List<TicketInventoryService.Slot> vip = List.of(new TicketInventoryService.Slot("666/VIP", "666", "VIP", 10));
+        doThrow(new TicketsSoldOutException("Ingressos esgotados para o setor VIP do evento 666"))
+                .when(inventoryService).reserve(vip, 1);
+
+        List<Ticket> tickets = List.of(
+                sectorTicket("Pista", "João"),
+                sectorTicket("VIP", "Maria"),
+                sectorTicket("Pista", "José"),
+                sectorTicket("Camarote", "Ana"));
+
+        TicketBatchResponse response = ticketService.createTickets(tickets);
+
+        assertEquals(2, response.getCreated());
+        assertEquals("CREATED", response.getResults().get(0).getStatus());
+        assertEquals("Pista", response.getResults().get(0).getTicket().getSector());
+        assertEquals("Ingressos esgotados para o setor VIP do evento 666", response.getResults().get(1).getError());
+        assertEquals("201", response.getResults().get(2).getTicket().getTicketId());
+        assertEquals("Setor Camarote não existe no evento 666", response.getResults().get(3).getError());
+        verify(inventoryService).reserve(List.of(new TicketInventoryService.Slot("666/Pista", "666", "Pista", 800)), 2);
+        verify(ticketRepository).insert(List.of(tickets.get(0), tickets.get(2)));
+        assertEquals(List.of("666/Pista"), tickets.get(2).getInventorySlots());
+        assertNull(tickets.get(1).getInventorySlots());
+    }
+
+    @Test
+    void testCreateHeldTickets_IssuesOneTicketPerSeatWithoutReserving() {
+        TicketHold hold = new TicketHold();
+        hold.setId("hold-1");
+        hold.setEventId("666");
+        hold.setSector("Pista");
+        hold.setQuantity(2);
+        hold.setInventorySlots(List.of("666"));
+        when(eventClient.getEventById("666")).thenReturn(limitedEvent(100));
+        when(ticketIdAllocator.nextIds(2)).thenReturn(new long[]{300L, 301L});
+
+        List<TicketResponse> responses = ticketService.createHeldTickets(hold,
+                new TicketHoldConfirmRequest("João", "12345678900", "joao@email.com", 100.0, 20.0));
+
+        assertEquals(List.of("300", "301"), responses.stream().map(TicketResponse::getTicketId).toList());
+        assertEquals("Pista", responses.get(1).getSector());
+        assertEquals("Concluído", responses.get(0).getStatus());
+        ArgumentCaptor<List<Ticket>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(ticketRepository).insert(inserted.capture());
+        assertEquals(2, inserted.getValue().size());
+        assertEquals("Show da Banda Quarto 666", inserted.getValue().get(0).getEventName());
+        assertEquals(List.of("666"), inserted.getValue().get(1).getInventorySlots());
+        verify(eventTicketStatsService).recordCreated(inserted.getValue());
+        assertEquals(2, inserted.getValue().get(0).getPendingOutbox().size());
+        verify(outboxService).movePending(inserted.getValue());
+        verifyNoInteractions(inventoryService);
+    }
+
+    @Test
+    void testCreateHeldTickets_RecordsTicketIdsOnHoldBeforeInsert() {
+        TicketHold hold = new TicketHold();
+        hold.setId("hold-1");
+        hold.setEventId("666");
+        hold.setSector("Pista");
+        hold.setQuantity(2);
+        hold.setInventorySlots(List.of("666"));
+        when(eventClient.getEventById("666")).thenReturn(limitedEvent(100));
+        when(ticketIdAllocator.nextIds(2)).thenReturn(new long[]{300L, 301L});
+        doThrow(new RuntimeException("Falha ao atualizar os contadores"))
+                .when(eventTicketStatsService).recordCreated(anyList());
+
+        assertThrows(RuntimeException.class, () -> ticketService.createHeldTickets(hold,
+                new TicketHoldConfirmRequest("João", "12345678900", "joao@email.com", 100.0, 20.0)));
+
+        verify(ticketRepository).insert(anyList());
+        verify(outboxService).movePending(anyList());
+        assertEquals(List.of("300", "301"), hold.getTicketIds());
     }
 
     @Test
@@ -134,11 +405,14 @@ public class TicketServiceTest {
         String ticketId = "123";
         Ticket existingTicket = new Ticket();
         existingTicket.setTicketId(ticketId);
+        existingTicket.setEventId("666");
         existingTicket.setCustomerName("João");
         existingTicket.setCpf("12345678900");
         existingTicket.setCustomerMail("joao@email.com");
         existingTicket.setBrlAmount(100.0);
         existingTicket.setUsdAmount(20.0);
+        existingTicket.setStatus("Concluído");
+        existingTicket.setVersion(4L);
 
         Ticket updatedTicket = new Ticket();
         updatedTicket.setCustomerName("Maria");
@@ -147,16 +421,8 @@ public class TicketServiceTest {
         updatedTicket.setBrlAmount(150.0);
         updatedTicket.setUsdAmount(30.0);
 
-        Ticket savedTicket = new Ticket();
-        savedTicket.setTicketId(ticketId);
-        savedTicket.setCustomerName("Maria");
-        savedTicket.setCpf("98765432100");
-        savedTicket.setCustomerMail("maria@email.com");
-        savedTicket.setBrlAmount(150.0);
-        savedTicket.setUsdAmount(30.0);
-
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(existingTicket));
-        when(ticketRepository.save(existingTicket)).thenReturn(savedTicket);
+        when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Ticket.class)))
+                .thenReturn(existingTicket);
 
         Ticket result = ticketService.updateTicket(ticketId, updatedTicket);
 
@@ -166,15 +432,69 @@ public class TicketServiceTest {
         assertEquals("maria@email.com", result.getCustomerMail());
         assertEquals(150.0, result.getBrlAmount());
         assertEquals(30.0, result.getUsdAmount());
+        assertEquals("666", result.getEventId());
+        assertEquals(5L, result.getVersion());
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoOperations).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Ticket.class));
+        assertEquals(new Document("_id", ticketId), query.getValue().getQueryObject());
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals("Maria", set.get("customerName"));
+        assertEquals(150.0, set.get("brlAmount"));
+        assertEquals(new Document("version", 1), update.getValue().getUpdateObject().get("$inc"));
+        verify(ticketRepository, never()).findById(anyString());
+        verify(ticketRepository, never()).save(any());
+        verify(eventTicketStatsService, times(1)).recordAmountChange("666", 50.0, 10.0);
+    }
 
-        verify(ticketRepository, times(1)).findById(ticketId);
-        verify(ticketRepository, times(1)).save(existingTicket);
+    @Test
+    void testUpdateTicket_OnlyProvidedFieldsAreSet() {
+        Ticket existingTicket = new Ticket();
+        existingTicket.setTicketId("124");
+        existingTicket.setEventId("666");
+        existingTicket.setCustomerName("João");
+        existingTicket.setBrlAmount(100.0);
+        existingTicket.setUsdAmount(20.0);
+        existingTicket.setStatus("Concluído");
+
+        Ticket updatedTicket = new Ticket();
+        updatedTicket.setCustomerMail("joao@novo.com");
+
+        when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Ticket.class)))
+                .thenReturn(existingTicket);
+
+        Ticket result = ticketService.updateTicket("124", updatedTicket);
+
+        assertEquals("João", result.getCustomerName());
+        assertEquals("joao@novo.com", result.getCustomerMail());
+        assertEquals(100.0, result.getBrlAmount());
+        assertEquals(1L, result.getVersion());
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoOperations).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(Ticket.class));
+        assertEquals(new Document("customerMail", "joao@novo.com"), update.getValue().getUpdateObject().get("$set"));
+        verify(eventTicketStatsService, times(1)).recordAmountChange("666", 0.0, 0.0);
+    }
+
+    @Test
+    void testUpdateTicket_StaleVersion() {
+        Ticket updatedTicket = new Ticket();
+        updatedTicket.setCustomerName("Maria");
+        updatedTicket.setVersion(2L);
+        when(ticketRepository.existsById("125")).thenReturn(true);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> ticketService.updateTicket("125", updatedTicket));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoOperations).findAndModify(query.capture(), any(Update.class), any(FindAndModifyOptions.class), eq(Ticket.class));
+        assertEquals(new Document("_id", "125").append("version", 2L), query.getValue().getQueryObject());
+        verifyNoInteractions(eventTicketStatsService);
     }
 
     @Test
     void testUpdateTicket_NotFound() {
         String ticketId = "3";
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(TicketNotFoundException.class, () -> {
             Ticket updatedTicket = new Ticket();
@@ -183,28 +503,52 @@ public class TicketServiceTest {
 
         assertEquals("Ticket não encontrado com ID: " + ticketId, exception.getMessage());
 
-        verify(ticketRepository, times(1)).findById(ticketId);
-        verify(ticketRepository, never()).save(any());
+        verify(mongoOperations, times(1)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Ticket.class));
+        verifyNoInteractions(eventTicketStatsService);
     }
 
     @Test
     void testCancelTicket() {
-        Ticket mockTicket = new Ticket();
-        mockTicket.setTicketId("4");
-        mockTicket.setStatus("ATIVO");
+        Ticket cancelledTicket = new Ticket();
+        cancelledTicket.setTicketId("4");
+        cancelledTicket.setEventId("666");
+        cancelledTicket.setSector("VIP");
+        cancelledTicket.setStatus("Cancelado");
+        cancelledTicket.setInventorySlots(List.of("666/VIP", "666"));
 
-        when(ticketRepository.findById("4")).thenReturn(Optional.of(mockTicket));
+        when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Ticket.class)))
+                .thenReturn(cancelledTicket);
 
         ticketService.cancelTicket("4");
 
-        assertEquals("Cancelado", mockTicket.getStatus());
-        verify(ticketRepository, times(1)).save(mockTicket);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoOperations).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Ticket.class));
+        assertEquals(new Document("_id", "4").append("status", new Document("$ne", "Cancelado")), query.getValue().getQueryObject());
+        assertEquals(new Document("status", "Cancelado"), update.getValue().getUpdateObject().get("$set"));
+        verify(ticketRepository, never()).save(any());
+        verify(eventTicketStatsService, times(1)).recordCancelled(cancelledTicket);
+        verify(inventoryService, times(1)).releaseSlots(List.of("666/VIP", "666"), 1);
+        verify(outboxService, times(1)).enqueueJson(eq("ticket.events"), eq("ticket.cancelled"),
+                argThat(event -> event instanceof TicketLifecycleEvent lifecycle
+                        && lifecycle.getType().equals(TicketLifecycleEvent.TICKET_CANCELLED)));
+    }
+
+    @Test
+    void testCancelTicket_AlreadyCancelledDoesNotCountTwice() {
+        when(ticketRepository.existsById("4")).thenReturn(true);
+
+        ticketService.cancelTicket("4");
+
+        verify(ticketRepository, never()).save(any());
+        verify(eventTicketStatsService, never()).recordCancelled(any());
+        verifyNoInteractions(outboxService, inventoryService);
     }
 
     @Test
     void testCancelTicket_NotFound() {
         String ticketId = "5";
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.empty());
+        when(ticketRepository.existsById(ticketId)).thenReturn(false);
 
         Exception exception = assertThrows(TicketNotFoundException.class, () -> {
             ticketService.cancelTicket(ticketId);
@@ -212,7 +556,7 @@ public class TicketServiceTest {
 
         assertEquals("Ticket não encontrado com ID: " + ticketId, exception.getMessage());
 
-        verify(ticketRepository, times(1)).findById(ticketId);
+        verify(ticketRepository, times(1)).existsById(ticketId);
         verify(ticketRepository, never()).save(any());
     }
 
@@ -229,4 +573,53 @@ public class TicketServiceTest {
 
         verify(ticketRepository).existsByEventId(eventId);
     }
+
+    @Test
+    void testCheckTicketsByEvent_UsesMaterializedStats() {
+        String eventId = "10";
+        when(eventTicketStatsService.findByEventId(eventId)).thenReturn(Optional.of(
+                EventTicketStats.builder().eventId(eventId).sold(0).cancelled(2).build()));
+
+        Map<String, Object> response = ticketService.checkTicketsByEvent(eventId);
+
+        assertEquals(true, response.get("hasTickets"));
+        verify(ticketRepository, never()).existsByEventId(any());
+    }
+
+    @Test
+    void testGetEventStats_FallsBackToTicketsWhenNoCountersExist() {
+        EventTicketStats computed = EventTicketStats.builder().eventId("10").sold(3).brlRevenue(300.0).build();
+        when(eventTicketStatsService.findByEventId("10")).thenReturn(Optional.empty());
+        when(eventTicketStatsService.computeFromTickets("10")).thenReturn(computed);
+
+        EventTicketStats stats = ticketService.getEventStats("10");
+
+        assertEquals(3, stats.getSold());
+        assertEquals(300.0, stats.getBrlRevenue());
+    }
+
+    private static Ticket batchTicket(String eventId, String customerName) {
+        Ticket ticket = new Ticket();
+        ticket.setEventId(eventId);
+        ticket.setCustomerName(customerName);
+        ticket.setCpf("12345678900");
+        ticket.setCustomerMail("cliente@email.com");
+        ticket.setBrlAmount(100.0);
+        ticket.setUsdAmount(20.0);
+        return ticket;
+    }
+
+    private static Ticket sectorTicket(String sector, String customerName) {
+        Ticket ticket = batchTicket("666", customerName);
+        ticket.setSector(sector);
+        return ticket;
+    }
+
+    private static EventResponse limitedEvent(int capacity) {
+        return EventResponse.builder()
+                .id("666")
+                .eventName("Show da Banda Quarto 666")
+                .capacity(capacity)
+                .build();
+    }
 }
@@ -0,0 +1,149 @@
+package br.com.compass.ms_ticket_management.service;
+
+import br.com.compass.ms_ticket_management.exception.InvalidQueueTokenException;
+import br.com.compass.ms_ticket_management.exception.NotAdmittedException;
+import br.com.compass.ms_ticket_management.web.dto.WaitingRoomStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WaitingRoomServiceTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private SimpleMeterRegistry meterRegistry;
+    private WaitingRoomService waitingRoomService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 10 admissões por segundo, rajada de 2.
+        waitingRoomService = new WaitingRoomService(meterRegistry, true, 10, 2, Duration.ofMinutes(30), "segredo", now::get);
+    }
+
+    @Test
+    void testJoin_AdmitsUpToBurstAndQueuesTheRest() {
+        List<WaitingRoomStatus> joined = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            joined.add(waitingRoomService.join("666"));
+        }
+
+        assertTrue(joined.get(0).isAdmitted());
+        assertTrue(joined.get(1).isAdmitted());
+        assertEquals(1, joined.get(2).getPosition());
+        assertEquals(3, joined.get(4).getPosition());
+        assertEquals(1, joined.get(2).getEstimatedWaitSeconds());
+        assertFalse(joined.get(4).isAdmitted());
+        assertEquals(3.0, meterRegistry.get("waiting.room.queued").gauge().value());
+    }
+
+    @Test
+    void testGetStatus_AdvancesAtAdmitRate() {
+        waitingRoomService.join("666");
+        waitingRoomService.join("666");
+        String third = waitingRoomService.join("666").getToken();
+        String fourth = waitingRoomService.join("666").getToken();
+
+        now.addAndGet(100);
+
+        assertTrue(waitingRoomService.getStatus("666", third).isAdmitted());
+        WaitingRoomStatus status = waitingRoomService.getStatus("666", fourth);
+        assertFalse(status.isAdmitted());
+        assertEquals(1, status.getPosition());
+
+        now.addAndGet(100);
+
+        assertTrue(waitingRoomService.getStatus("666", fourth).isAdmitted());
+        assertEquals(4.0, meterRegistry.counter("waiting.room.admitted", "path", "queue").count());
+    }
+
+    @Test
+    void testCheckAdmission_RejectsTokenNotYetAdmitted() {
+        waitingRoomService.join("666");
+        waitingRoomService.join("666");
+        String waiting = waitingRoomService.join("666").getToken();
+
+        NotAdmittedException exception = assertThrows(NotAdmittedException.class,
+                () -> waitingRoomService.checkAdmission("666", waiting));
+
+        assertEquals(1, exception.getRetryAfterSeconds());
+        now.addAndGet(100);
+        assertDoesNotThrow(() -> waitingRoomService.checkAdmission("666", waiting));
+        assertEquals(1.0, meterRegistry.counter("waiting.room.rejected").count());
+    }
+
+    @Test
+    void testWithAdmission_TokenIsSingleUse() {
+        String token = waitingRoomService.join("666").getToken();
+
+        assertEquals("789", waitingRoomService.withAdmission("666", token, () -> "789"));
+
+        InvalidQueueTokenException exception = assertThrows(InvalidQueueTokenException.class,
+                () -> waitingRoomService.withAdmission("666", token, () -> "790"));
+        assertEquals("Token de fila já usado em outra compra; entre na fila novamente", exception.getMessage());
+        assertEquals(1.0, meterRegistry.counter("waiting.room.rejected").count());
+    }
+
+    @Test
+    void testWithAdmission_FailedPurchaseGivesTheTokenBack() {
+        String token = waitingRoomService.join("666").getToken();
+
+        assertThrows(IllegalStateException.class, () -> waitingRoomService.withAdmission("666", token, () -> {
+            throw new IllegalStateException("Mongo indisponível");
+        }));
+
+        assertEquals("789", waitingRoomService.withAdmission("666", token, () -> "789"));
+    }
+
+    @Test
+    void testCheckAdmission_WithoutTokenUsesBucketOnlyWhileNoOneIsQueued() {
+        assertDoesNotThrow(() -> waitingRoomService.checkAdmission("666", null));
+        assertDoesNotThrow(() -> waitingRoomService.checkAdmission("666", null));
+        NotAdmittedException exception = assertThrows(NotAdmittedException.class,
+                () -> waitingRoomService.checkAdmission("666", null));
+        assertEquals(1, exception.getRetryAfterSeconds());
+
+        // Com gente na fila, quem chega sem token não fura a fila mesmo com o balde reposto.
+        waitingRoomService.join("666");
+        waitingRoomService.join("666");
+        now.addAndGet(100);
+        assertThrows(NotAdmittedException.class, () -> waitingRoomService.checkAdmission("666", null));
+        assertEquals(2.0, meterRegistry.counter("waiting.room.admitted", "path", "direct").count());
+    }
+
+    @Test
+    void testCheckAdmission_EventsHaveSeparateBuckets() {
+        waitingRoomService.checkAdmission("666", null);
+        waitingRoomService.checkAdmission("666", null);
+
+        assertDoesNotThrow(() -> waitingRoomService.checkAdmission("777", null));
+    }
+
+    @Test
+    void testCheckAdmission_RejectsTamperedExpiredOrForeignToken() {
+        String token = waitingRoomService.join("666").getToken();
+        String[] parts = token.split("\\.");
+
+        assertThrows(InvalidQueueTokenException.class, () -> waitingRoomService.checkAdmission("777", token));
+        assertThrows(InvalidQueueTokenException.class,
+                () -> waitingRoomService.checkAdmission("666", "0." + parts[1] + "." + parts[2]));
+        assertThrows(InvalidQueueTokenException.class, () -> waitingRoomService.getStatus("666", "lixo"));
+        now.addAndGet(Duration.ofMinutes(31).toMillis());
+        assertThrows(InvalidQueueTokenException.class, () -> waitingRoomService.checkAdmission("666", token));
+    }
+
+    @Test
+    void testCheckAdmission_DisabledLetsEveryoneIn() {
+        WaitingRoomService disabled = new WaitingRoomService(meterRegistry, false, 10, 2, Duration.ofMinutes(30), "segredo", now::get);
+
+        for (int i = 0; i < 10; i++) {
+            assertDoesNotThrow(() -> disabled.checkAdmission("666", null));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.compass.ms_ticket_management.web.controller;
+
+import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.exception.NotAdmittedException;
+import br.com.compass.ms_ticket_management.exception.TicketNotFoundException;
+import br.com.compass.ms_ticket_management.service.ReactiveTicketService;
+import br.com.compass.ms_ticket_management.service.WaitingRoomService;
+import br.com.compass.ms_ticket_management.web.dto.TicketResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ActiveProfiles({"local", "reactive"})
+@WebMvcTest(ReactiveTicketController.class)
+@Import(SimpleMeterRegistry.class)
+public class ReactiveTicketControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReactiveTicketService ticketService;
+
+    @MockitoBean
+    private WaitingRoomService waitingRoomService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testCreateTicket_Success() throws Exception {
+        Ticket ticket = new Ticket();
+        ticket.setEventId("123");
+        ticket.setCustomerName("João");
+        ticket.setCpf("12345678900");
+        ticket.setCustomerMail("joao@email.com");
+        ticket.setBrlAmount(100.0);
+        ticket.setUsdAmount(20.0);
+
+        when(ticketService.createTicket(any(Ticket.class))).thenReturn(Mono.just(TicketResponse.builder()
+                .ticketId("1")
+                .customerName("João")
+                .status("Concluído")
+                .build()));
+
+        MvcResult result = mockMvc.perform(post("/br/com/compass/ticketmanagement/reactive/v1/create-ticket")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ticket)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ticketId").value("1"))
+                .andExpect(jsonPath("$.status").value("Concluído"));
+    }
+
+    @Test
+    void testGetTicketById_NotFoundUsesGlobalExceptionHandler() throws Exception {
+        when(ticketService.getTicketById("1"))
+                .thenReturn(Mono.error(new TicketNotFoundException("Ticket não encontrado com ID: 1")));
+
+        MvcResult result = mockMvc.perform(get("/br/com/compass/ticketmanagement/reactive/v1/get-ticket/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Ticket não encontrado com ID: 1"));
+    }
+
+    @Test
+    void testCreateTicket_NotAdmittedByWaitingRoom() throws Exception {
+        Ticket ticket = new Ticket();
+        ticket.setEventId("666");
+        ticket.setCustomerName("João");
+        ticket.setCpf("12345678900");
+        ticket.setCustomerMail("joao@email.com");
+        ticket.setBrlAmount(100.0);
+        ticket.setUsdAmount(20.0);
+        doThrow(new NotAdmittedException("Ainda não é a sua vez na fila do evento 666; posição 40", 4))
+                .when(waitingRoomService).checkAdmission("666", "40.1000.assinatura");
+
+        mockMvc.perform(post("/br/com/compass/ticketmanagement/reactive/v1/create-ticket")
+                        .header(WaitingRoomService.HEADER, "40.1000.assinatura")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ticket)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "4"));
+
+        verifyNoInteractions(ticketService);
+    }
+}
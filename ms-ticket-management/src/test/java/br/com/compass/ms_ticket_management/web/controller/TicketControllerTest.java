@@ -1,31 +1,51 @@
 package br.com.compass.ms_ticket_management.web.controller;
 
+import br.com.compass.ms_ticket_management.domain.EventTicketStats;
 import br.com.compass.ms_ticket_management.domain.Ticket;
+import br.com.compass.ms_ticket_management.domain.TicketHold;
+import br.com.compass.ms_ticket_management.exception.HoldNotActiveException;
+import br.com.compass.ms_ticket_management.exception.NotAdmittedException;
 import br.com.compass.ms_ticket_management.exception.TicketNotFoundException;
 import br.com.compass.ms_ticket_management.repository.TicketRepository;
+import br.com.compass.ms_ticket_management.service.IdempotencyService;
+import br.com.compass.ms_ticket_management.service.TicketHoldService;
 import br.com.compass.ms_ticket_management.service.TicketService;
+import br.com.compass.ms_ticket_management.service.WaitingRoomService;
+import br.com.compass.ms_ticket_management.web.dto.TicketBatchRequest;
+import br.com.compass.ms_ticket_management.web.dto.TicketBatchResponse;
+import br.com.compass.ms_ticket_management.web.dto.TicketHoldConfirmRequest;
+import br.com.compass.ms_ticket_management.web.dto.TicketHoldRequest;
 import br.com.compass.ms_ticket_management.web.dto.TicketResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TicketController.class)
+@Import(SimpleMeterRegistry.class)
 public class TicketControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -33,6 +53,15 @@ public class TicketControllerTest {
     @MockitoBean
     private TicketService ticketService;
 
+    @MockitoBean
+    private TicketHoldService holdService;
+
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
+    @MockitoBean
+    private WaitingRoomService waitingRoomService;
+
     @MockitoBean
     private TicketRepository ticketRepository;
 
@@ -42,6 +71,12 @@ public class TicketControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(idempotencyService.execute(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(4).get());
+        when(waitingRoomService.withAdmission(anyString(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+        when(waitingRoomService.withAdmission(anyList(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
     }
 
     @Test
@@ -74,6 +109,52 @@ public class TicketControllerTest {
         verify(ticketService, times(1)).createTicket(any(Ticket.class));
     }
 
+    @Test
+    void testCreateTickets_Success() throws Exception {
+        Ticket ticket = new Ticket();
+        ticket.setEventId("123");
+        ticket.setCustomerName("João");
+        ticket.setCpf("12345678900");
+        ticket.setCustomerMail("joao@email.com");
+        ticket.setBrlAmount(100.0);
+        ticket.setUsdAmount(20.0);
+        TicketBatchRequest request = new TicketBatchRequest();
+        request.setTickets(List.of(ticket, ticket));
+
+        TicketBatchResponse response = TicketBatchResponse.builder()
+                .requested(2)
+                .created(2)
+                .failed(0)
+                .results(List.of(
+                        TicketBatchResponse.Item.builder().index(0).status("CREATED")
+                                .ticket(TicketResponse.builder().ticketId("1").build()).build(),
+                        TicketBatchResponse.Item.builder().index(1).status("CREATED")
+                                .ticket(TicketResponse.builder().ticketId("2").build()).build()))
+                .build();
+
+        when(ticketService.createTickets(anyList())).thenReturn(response);
+
+        mockMvc.perform(post("/br/com/compass/ticketmanagement/v1/create-tickets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.results[0].ticket.ticketId").value("1"))
+                .andExpect(jsonPath("$.results[1].ticket.ticketId").value("2"));
+    }
+
+    @Test
+    void testCreateTickets_InvalidItem() throws Exception {
+        TicketBatchRequest request = new TicketBatchRequest();
+        request.setTickets(List.of(new Ticket()));
+
+        mockMvc.perform(post("/br/com/compass/ticketmanagement/v1/create-tickets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(ticketService, never()).createTickets(anyList());
+    }
 
     @Test
     void testGetTicketById_Success() throws Exception {
@@ -163,4 +244,123 @@ public class TicketControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.tickets").value(9));
     }
+
+    @Test
+    void testGetEventStats() throws Exception {
+        EventTicketStats stats = EventTicketStats.builder()
+                .eventId("123")
+                .sold(5)
+                .cancelled(1)
+                .brlRevenue(500.0)
+                .usdRevenue(100.0)
+                .build();
+
+        when(ticketService.getEventStats("123")).thenReturn(stats);
+
+        mockMvc.perform(get("/br/com/compass/ticketmanagement/v1/event-stats/{eventId}", "123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sold").value(5))
+                .andExpect(jsonPath("$.cancelled").value(1))
+                .andExpect(jsonPath("$.brlRevenue").value(500.0));
+    }
+
+    @Test
+    void testCreateHold_Created() throws Exception {
+        TicketHold hold = new TicketHold();
+        hold.setId("hold-1");
+        hold.setEventId("123");
+        hold.setQuantity(2);
+        hold.setStatus(TicketHold.Status.ACTIVE);
+        when(holdService.createHold(any(TicketHoldRequest.class))).thenReturn(hold);
+
+        mockMvc.perform(post("/br/com/compass/ticketmanagement/v1/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TicketHoldRequest("123", null, 2))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value("hold-1"))
+                .andExpect(jsonPath("$.status").value("ACTIVE"));
+    }
+
+    @Test
+    void testCreateHold_QuantityOutOfRange() throws Exception {
+        mockMvc.perform(post("/br/com/compass/ticketmanagement/v1/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TicketHoldRequest("123", null, 50))))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(holdService);
+    }
+
+    @Test
+    void testConfirmHold_Expired() throws Exception {
+        when(holdService.confirmHold(eq("hold-1"), any(TicketHoldConfirmRequest.class)))
+                .thenThrow(new HoldNotActiveException("A reserva hold-1 expirou"));
+
+        mockMvc.perform(post("/br/com/compass/ticketmanagement/v1/holds/hold-1/confirm")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new TicketHoldConfirmRequest("João", "12345678900", "joao@email.com", 100.0, 20.0))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("A reserva hold-1 expirou"));
+    }
+
+    @Test
+    void testCreateTicket_PassesIdempotencyKey() throws Exception {
+        Ticket ticket = new Ticket();
+        ticket.setEventId("123");
+        ticket.setCustomerName("João");
+        ticket.setCpf("12345678900");
+        ticket.setCustomerMail("joao@email.com");
+        ticket.setBrlAmount(100.0);
+        ticket.setUsdAmount(20.0);
+        when(ticketService.createTicket(any(Ticket.class))).thenReturn(TicketResponse.builder().ticketId("1").build());
+
+        mockMvc.perform(post("/br/com/compass/ticketmanagement/v1/create-ticket")
+                        .header(IdempotencyService.HEADER, "compra-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ticket)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ticketId").value("1"));
+
+        verify(idempotencyService).execute(eq("create-ticket"), eq("compra-123"), any(Ticket.class), any(), any());
+    }
+
+    @Test
+    void testCreateHold_NotAdmittedByWaitingRoom() throws Exception {
+        when(waitingRoomService.withAdmission(eq("666"), eq("40.1000.assinatura"), any()))
+                .thenThrow(new NotAdmittedException("Ainda não é a sua vez na fila do evento 666; posição 40", 4));
+
+        mockMvc.perform(post("/br/com/compass/ticketmanagement/v1/holds")
+                        .header(WaitingRoomService.HEADER, "40.1000.assinatura")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TicketHoldRequest("666", null, 2))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "4"))
+                .andExpect(jsonPath("$.error").value("Ainda não é a sua vez na fila do evento 666; posição 40"));
+
+        verifyNoInteractions(holdService);
+    }
+
+    @Test
+    void testCreateTicket_IdempotentReplaySkipsWaitingRoom() throws Exception {
+        Ticket ticket = new Ticket();
+        ticket.setEventId("666");
+        ticket.setCustomerName("João");
+        ticket.setCpf("12345678900");
+        ticket.setCustomerMail("joao@email.com");
+        ticket.setBrlAmount(100.0);
+        ticket.setUsdAmount(20.0);
+        doReturn(ResponseEntity.ok(TicketResponse.builder().ticketId("1").build()))
+                .when(idempotencyService).execute(eq("create-ticket"), eq("compra-123"), any(Ticket.class), any(), any());
+
+        mockMvc.perform(post("/br/com/compass/ticketmanagement/v1/create-ticket")
+                        .header(IdempotencyService.HEADER, "compra-123")
+                        .header(WaitingRoomService.HEADER, "40.1000.assinatura")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ticket)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ticketId").value("1"));
+
+        verifyNoInteractions(waitingRoomService, ticketService);
+    }
 }
@@ -0,0 +1,70 @@
+package br.com.compass.ms_ticket_management.web.controller;
+
+import br.com.compass.ms_ticket_management.exception.InvalidQueueTokenException;
+import br.com.compass.ms_ticket_management.service.WaitingRoomService;
+import br.com.compass.ms_ticket_management.web.dto.WaitingRoomStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(WaitingRoomController.class)
+@Import(SimpleMeterRegistry.class)
+public class WaitingRoomControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private WaitingRoomService waitingRoomService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testJoin_ReturnsTokenAndPollHint() throws Exception {
+        when(waitingRoomService.join("666")).thenReturn(WaitingRoomStatus.builder()
+                .eventId("666").token("12.1000.assinatura").position(12).estimatedWaitSeconds(30).build());
+
+        mockMvc.perform(post("/br/com/compass/ticketmanagement/v1/waiting-room/666"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(jsonPath("$.token").value("12.1000.assinatura"))
+                .andExpect(jsonPath("$.position").value(12));
+    }
+
+    @Test
+    void testGetStatus_Admitted() throws Exception {
+        when(waitingRoomService.getStatus("666", "12.1000.assinatura")).thenReturn(WaitingRoomStatus.builder()
+                .eventId("666").position(0).admitted(true).build());
+
+        mockMvc.perform(get("/br/com/compass/ticketmanagement/v1/waiting-room/666")
+                        .header(WaitingRoomService.HEADER, "12.1000.assinatura"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Retry-After"))
+                .andExpect(jsonPath("$.admitted").value(true));
+    }
+
+    @Test
+    void testGetStatus_InvalidToken() throws Exception {
+        when(waitingRoomService.getStatus("666", "lixo"))
+                .thenThrow(new InvalidQueueTokenException("Token de fila inválido ou expirado; entre na fila novamente"));
+
+        mockMvc.perform(get("/br/com/compass/ticketmanagement/v1/waiting-room/666")
+                        .header(WaitingRoomService.HEADER, "lixo"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Token de fila inválido ou expirado; entre na fila novamente"));
+    }
+}
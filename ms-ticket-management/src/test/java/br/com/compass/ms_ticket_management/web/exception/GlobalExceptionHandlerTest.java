@@ -1,10 +1,13 @@
 package br.com.compass.ms_ticket_management.web.exception;
 
+import br.com.compass.ms_ticket_management.exception.TicketNotFoundException;
+import br.com.compass.ms_ticket_management.exception.TicketsSoldOutException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
-import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -13,12 +16,13 @@ import java.util.Map;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class GlobalExceptionHandlerTest {
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
     private GlobalExceptionHandler globalExceptionHandler;
 
     @BeforeEach
     void setUp() {
-        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        globalExceptionHandler = new GlobalExceptionHandler(meterRegistry);
     }
 
     @Test
@@ -29,6 +33,8 @@ public class GlobalExceptionHandlerTest {
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertEquals("Erro de validação no payload: Campo obrigatório ausente", response.getBody().get("error"));
+        assertEquals(1.0, meterRegistry.counter("api.errors",
+                "outcome", "validation", "exception", "ConstraintViolationException").count());
     }
 
     @Test
@@ -40,4 +46,27 @@ public class GlobalExceptionHandlerTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertEquals("Erro inesperado!", response.getBody().get("error"));
     }
+
+    @Test
+    void testHandleDownstreamUnavailable() {
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("ms-event-management");
+        circuitBreaker.transitionToOpenState();
+
+        ResponseEntity<Map<String, String>> response = globalExceptionHandler.handleDownstreamUnavailable(
+                CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    }
+
+    @Test
+    void testHandleTicketNotFound_CountsOutcome() {
+        globalExceptionHandler.handleTicketNotFoundException(new TicketNotFoundException("Ticket não encontrado"));
+        globalExceptionHandler.handleTicketNotFoundException(new TicketNotFoundException("Ticket não encontrado"));
+        globalExceptionHandler.handleTicketsSoldOut(new TicketsSoldOutException("Ingressos esgotados para o evento 666"));
+
+        assertEquals(2.0, meterRegistry.counter("api.errors",
+                "outcome", "not_found", "exception", "TicketNotFoundException").count());
+        assertEquals(1.0, meterRegistry.counter("api.errors",
+                "outcome", "conflict", "exception", "TicketsSoldOutException").count());
+    }
 }